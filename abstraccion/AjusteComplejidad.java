@@ -0,0 +1,234 @@
+package abstraccion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ajuste empírico de la complejidad de una serie (algoritmo, tipo de clave y caso) por mínimos cuadrados.
+ * <p>Se ajustan los modelos c·n, c·n log n y c·n² de {@link Complejidad} y una ley de potencias libre
+ * a·n^k. Como los tiempos crecen varios órdenes de magnitud entre el tamaño menor y el mayor, el error
+ * que se minimiza es el relativo ((medido - modelo) / medido), para que los tamaños chicos también
+ * cuenten; la ley de potencias se ajusta con una recta en escala log-log.
+ * <p>El mejor modelo es el de menor error relativo entre los tres fijos; el exponente k de la ley de
+ * potencias dice cómo crece la serie en realidad (1 lineal, ~1.1 n log n en estos tamaños, 2 cuadrático).
+ * Solo se usan los resultados medidos, no los extrapolados.
+ */
+public final class AjusteComplejidad
+    {
+        private final String serie;
+        private final int puntos;
+        private final int tamanoMaximo;
+
+        // Constante y error relativo (RMS) de cada modelo fijo, por ordinal de Complejidad
+        private final double[] constantes = new double[Complejidad.values().length];
+        private final double[] errores = new double[Complejidad.values().length];
+        private final Complejidad mejorModelo;
+
+        // Ley de potencias a·n^k
+        private final double coeficientePotencia;
+        private final double exponente;
+        private final double errorPotencia;
+
+        private AjusteComplejidad(String serie, double[] n, double[] ms)
+            {
+                this.serie = serie;
+                this.puntos = n.length;
+                double maximo = 0;
+                for (double x : n)
+                    maximo = Math.max(maximo, x);
+                this.tamanoMaximo = (int) maximo;
+
+                // Modelos fijos: con r = f(n) / medido, minimizar la suma de (1 - c·r)² da c = Σr / Σr²
+                Complejidad mejor = null;
+                for (Complejidad modelo : Complejidad.values())
+                    {
+                        double suma = 0, sumaCuadrados = 0;
+                        for (int i = 0; i < puntos; i++)
+                            {
+                                double r = modelo.costo(n[i]) / ms[i];
+                                suma += r;
+                                sumaCuadrados += r * r;
+                            }
+                        double c = suma / sumaCuadrados;
+                        double error = 0;
+                        for (int i = 0; i < puntos; i++)
+                            {
+                                double relativo = 1 - c * modelo.costo(n[i]) / ms[i];
+                                error += relativo * relativo;
+                            }
+                        constantes[modelo.ordinal()] = c;
+                        errores[modelo.ordinal()] = Math.sqrt(error / puntos);
+                        if (mejor == null || errores[modelo.ordinal()] < errores[mejor.ordinal()])
+                            mejor = modelo;
+                    }
+                this.mejorModelo = mejor;
+
+                // Ley de potencias: recta log(ms) = log(a) + k·log(n)
+                double sx = 0, sy = 0, sxx = 0, sxy = 0;
+                for (int i = 0; i < puntos; i++)
+                    {
+                        double x = Math.log(n[i]);
+                        double y = Math.log(ms[i]);
+                        sx += x;
+                        sy += y;
+                        sxx += x * x;
+                        sxy += x * y;
+                    }
+                double denominador = puntos * sxx - sx * sx;
+                double k = denominador == 0 ? Double.NaN : (puntos * sxy - sx * sy) / denominador;
+                this.exponente = k;
+                this.coeficientePotencia = Double.isNaN(k) ? Double.NaN : Math.exp((sy - k * sx) / puntos);
+
+                double error = 0;
+                for (int i = 0; i < puntos; i++)
+                    {
+                        double relativo = 1 - coeficientePotencia * Math.pow(n[i], k) / ms[i];
+                        error += relativo * relativo;
+                    }
+                this.errorPotencia = Double.isNaN(k) ? Double.NaN : Math.sqrt(error / puntos);
+            }
+
+        /**
+         * Ajusta los modelos a los resultados de una serie.
+         * @param serie Nombre de la serie (para los reportes).
+         * @param resultados Resultados de la serie; se ignoran los extrapolados y los de tiempo 0.
+         * @return El ajuste, o {@code null} si hay menos de dos tamaños distintos medidos.
+         */
+        public static AjusteComplejidad ajustar(String serie, List<Resultado> resultados)
+            {
+                List<Resultado> medidos = new ArrayList<>();
+                for (Resultado r : resultados)
+                    {
+                        if (!r.isExtrapolado() && r.getTamano() > 0 && r.getTiempoMs() > 0)
+                            medidos.add(r);
+                    }
+                if (medidos.stream().mapToInt(Resultado::getTamano).distinct().count() < 2)
+                    return null;
+
+                double[] n = new double[medidos.size()];
+                double[] ms = new double[medidos.size()];
+                for (int i = 0; i < n.length; i++)
+                    {
+                        n[i] = medidos.get(i).getTamano();
+                        ms[i] = medidos.get(i).getTiempoMs();
+                    }
+                return new AjusteComplejidad(serie, n, ms);
+            }
+
+        public String getSerie()
+            {
+                return serie;
+            }
+
+        public int getPuntos()
+            {
+                return puntos;
+            }
+
+        /**
+         * @return El mayor tamaño medido; predecir mucho más allá es extrapolar.
+         */
+        public int getTamanoMaximo()
+            {
+                return tamanoMaximo;
+            }
+
+        /**
+         * @return El modelo fijo (c·n, c·n log n o c·n²) con menor error relativo.
+         */
+        public Complejidad getMejorModelo()
+            {
+                return mejorModelo;
+            }
+
+        /**
+         * @param modelo Uno de los modelos fijos.
+         * @return La constante c en ms por unidad de {@link Complejidad#costo(double)}.
+         */
+        public double getConstante(Complejidad modelo)
+            {
+                return constantes[modelo.ordinal()];
+            }
+
+        /**
+         * @param modelo Uno de los modelos fijos.
+         * @return Raíz del error relativo cuadrático medio del modelo (0.05 = 5 %).
+         */
+        public double getErrorRelativo(Complejidad modelo)
+            {
+                return errores[modelo.ordinal()];
+            }
+
+        /**
+         * @return El exponente k de la ley de potencias a·n^k.
+         */
+        public double getExponente()
+            {
+                return exponente;
+            }
+
+        /**
+         * @return El coeficiente a de la ley de potencias, en ms.
+         */
+        public double getCoeficientePotencia()
+            {
+                return coeficientePotencia;
+            }
+
+        public double getErrorPotencia()
+            {
+                return errorPotencia;
+            }
+
+        /**
+         * @param n Tamaño, normalmente mayor que los medidos.
+         * @return Tiempo estimado en ms con el mejor modelo fijo.
+         */
+        public double predecirMs(double n)
+            {
+                return predecirMs(mejorModelo, n);
+            }
+
+        /**
+         * @param modelo Uno de los modelos fijos.
+         * @param n Tamaño.
+         * @return Tiempo estimado en ms con ese modelo.
+         */
+        public double predecirMs(Complejidad modelo, double n)
+            {
+                return constantes[modelo.ordinal()] * modelo.costo(n);
+            }
+
+        /**
+         * @param n Tamaño.
+         * @return Tiempo estimado en ms con la ley de potencias.
+         */
+        public double predecirPotenciaMs(double n)
+            {
+                return coeficientePotencia * Math.pow(n, exponente);
+            }
+
+        /**
+         * @return Nombre corto del modelo para los reportes: "c·n", "c·n log n" o "c·n²".
+         */
+        public static String nombreModelo(Complejidad modelo)
+            {
+                switch (modelo)
+                    {
+                        case LINEAL:
+                            return "c·n";
+                        case N_LOG_N:
+                            return "c·n log n";
+                        default:
+                            return "c·n²";
+                    }
+            }
+
+        @Override
+        public String toString()
+            {
+                return String.format("%s: %s (c = %.4e ms, error %.1f %%), n^k con k = %.3f (error %.1f %%), %d puntos",
+                                     serie, nombreModelo(mejorModelo), getConstante(mejorModelo), getErrorRelativo(mejorModelo) * 100,
+                                     exponente, errorPotencia * 100, puntos);
+            }
+    }
@@ -1,7 +1,25 @@
 package abstraccion;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Orquesta la ejecución de las pruebas de rendimiento para un conjunto de algoritmos de ordenamiento.
@@ -9,9 +27,18 @@ import java.util.List;
  * <ul>
  * <li>Preparar los "escalones" de tamaños de arreglos (basado en 'n').</li>
  * <li>Realizar un "calentamiento" (warm-up) de la JVM para activar el JIT.</li>
- * <li>Ejecutar cada {@link EstrategiaOrdenamiento} múltiples veces por cada tamaño.</li>
+ * <li>Ejecutar cada {@link EstrategiaOrdenamiento} por cada tamaño hasta que su promedio alcance la precisión objetivo (ver {@link #setObjetivoIntervalo(double)}).</li>
+ * <li>Generar los datos de cada caso con una {@link Distribucion} y una semilla explícita (ver {@link #setCasos(String...)} y {@link #setSemilla(long)}).</li>
+ * <li>Opcionalmente, repetir cada celda con claves short, long o double (ver {@link #setTiposClave(TipoClave...)}).</li>
+ * <li>Opcionalmente, repartir las celdas entre varios hilos (ver {@link #setHilos(int)}).</li>
+ * <li>Respetar presupuestos de tiempo y extrapolar las celdas que no caben (ver {@link ExtrapoladorTiempos}).</li>
+ * <li>Registrar las celdas que fallan (ver {@link #getCeldasFallidas()}) y seguir con las demás.</li>
  * <li>Calcular el tiempo promedio de ejecución y mostrarlo en consola.</li>
- * <li>Delegar el almacenamiento de cada {@link Resultado} al {@link GestorResultados}.</li>
+ * <li>Registrar cada repetición en un {@link HistogramaLatencias} para conocer su distribución.</li>
+ * <li>Opcionalmente, contar comparaciones, intercambios y escrituras con la versión instrumentada de cada estrategia (ver {@link #setContarOperaciones(boolean)}).</li>
+ * <li>Opcionalmente, medir el rendimiento de ordenar muchos arreglos a la vez con {@link OrdenamientoPorLotes} (ver {@link #medirLotes(String, int, int, int)}).</li>
+ * <li>Medir los bytes asignados por cada ordenamiento (ver {@link MedidorAsignacion}), su tiempo de CPU y las recolecciones de basura durante la celda (ver {@link MedidorRecursos}).</li>
+ * <li>Entregar cada {@link Resultado} al {@link GestorResultados} en cuanto se mide, para que sus receptores lo procesen de inmediato.</li>
  * </ul>
  *
  * @see EstrategiaOrdenamiento
@@ -20,24 +47,94 @@ import java.util.List;
  */
 public class AnalizadorEficiencia 
     {
-        // Definimos los tres casos que vamos a probar
-        private enum TipoCaso { Promedio, Mejor, Peor }
+        // Semilla por omisión: sin cambiarla, dos corridas miden exactamente los mismos datos
+        public static final long SEMILLA_POR_OMISION = 42L;
 
-        private final List<EstrategiaOrdenamiento> algoritmos = Arrays.asList
-            (
-                new BubbleSort(),
-                new InsertionSort(), 
-                new SelectionSort(),
-                new MergeSort(),
-                new QuickSort()
-            );
+        // Casos que vamos a probar (por omisión Promedio, Mejor y Peor) y semilla de sus datos
+        private List<Distribucion> casos = Distribucion.getCasosClasicos();
+        private long semilla = SEMILLA_POR_OMISION;
 
-        // Número de repeticiones por tamaño
-        private static final int REPETICIONES = 50;
+        // Algoritmos a medir; por omisión todo el catálogo (ver setAlgoritmos)
+        private List<EstrategiaOrdenamiento> algoritmos = crearAlgoritmos();
+
+        // Tipos de clave a medir; por omisión solo int, como el análisis original
+        private List<TipoClave> tiposClave = Arrays.asList(TipoClave.INT);
+
+        // Repeticiones adaptativas: cada celda repite hasta que el intervalo de confianza al 95 % de su
+        // promedio sea menor que objetivoIntervalo (relativo), entre repeticionesMin y repeticionesMax
+        private int repeticionesMin = 5;
+        private int repeticionesMax = 1000;
+        private double objetivoIntervalo = 0.02;
+        // Tiempo medido tras el cual una celda deja de buscar el objetivo (ya cumplido el mínimo): evita que
+        // celdas de varios ms con ruido de cola lleguen al máximo de repeticiones
+        private static final long TIEMPO_MAXIMO_ADAPTATIVO_NS = 1_000_000_000L;
 
         // Tamaños que se usarán
         private final int[] tamanios;
 
+        // Hilos para repartir las celdas (1 = secuencial) y modo aislado
+        private int hilos = 1;
+        private boolean aislado = false;
+
+        // Presupuestos de tiempo en ms (0 = sin límite) y cancelación cooperativa
+        private long presupuestoCeldaMs = 0;
+        private long presupuestoTotalMs = 0;
+        private volatile boolean cancelado = false;
+        private long inicioCorridaNs;
+        private final ExtrapoladorTiempos extrapolador = new ExtrapoladorTiempos();
+
+        // Celdas que lanzaron una excepción (p. ej. un desbordamiento de pila con cierta distribución)
+        private final List<String> celdasFallidas = Collections.synchronizedList(new ArrayList<>());
+        // Celdas que no cupieron en el presupuesto y no tenían mediciones previas para extrapolar
+        private final AtomicInteger celdasOmitidas = new AtomicInteger();
+
+        // Si se cuentan las operaciones de cada celda con la versión instrumentada (pasada aparte, sin cronometrar)
+        private boolean contarOperaciones = false;
+
+        // Arreglos de trabajo de las repeticiones, reutilizados para que medir no asigne memoria
+        private final ReservaArreglos reserva = new ReservaArreglos();
+
+        /**
+         * Crea una instancia nueva de cada algoritmo registrado en el análisis.
+         * <p>Es el único lugar donde se listan las estrategias, de modo que el análisis,
+         * el módulo de benchmarks JMH y cualquier otro cliente comparten el mismo catálogo.
+         * @return Lista con una instancia de cada {@link EstrategiaOrdenamiento}.
+         */
+        public static List<EstrategiaOrdenamiento> crearAlgoritmos()
+            {
+                return Arrays.asList
+                    (
+                        new BubbleSort(),
+                        new InsertionSort(), 
+                        new SelectionSort(),
+                        new MergeSort(),
+                        new QuickSort(),
+                        new ParallelMergeSort(),
+                        new BottomUpMergeSort(),
+                        new PdqSort(),
+                        new CountingSort(),
+                        new RadixSort(),
+                        new TimSort(),
+                        new ParallelQuickSort()
+                    );
+            }
+
+        /**
+         * Busca un algoritmo registrado por su nombre.
+         * @param nombre Nombre devuelto por {@link EstrategiaOrdenamiento#getNombre()}.
+         * @return Una instancia nueva de la estrategia.
+         * @throws IllegalArgumentException si no existe un algoritmo con ese nombre.
+         */
+        public static EstrategiaOrdenamiento buscarAlgoritmo(String nombre)
+            {
+                for (EstrategiaOrdenamiento estrategia : crearAlgoritmos())
+                    {
+                        if (estrategia.getNombre().equals(nombre))
+                            return estrategia;
+                    }
+                throw new IllegalArgumentException("Algoritmo desconocido: " + nombre);
+            }
+
         /**
          * Constructor que genera los tamaños basado en 'n' (10 segmentos).
          * @param n Tamaño máximo.
@@ -72,99 +169,820 @@ public class AnalizadorEficiencia
                     }
             }
 
+        /**
+         * Constructor con una lista explícita de tamaños (p. ej. una escalera geométrica, ver
+         * {@link #escaleraGeometrica(int, int, double)}). Se ordenan y se descartan repetidos y no positivos.
+         * @param tamanos Tamaños a medir.
+         * @throws IllegalArgumentException si no queda ningún tamaño positivo.
+         */
+        public AnalizadorEficiencia(int[] tamanos)
+            {
+                this.tamanios = Arrays.stream(tamanos).filter(t -> t > 0).distinct().sorted().toArray();
+                if (this.tamanios.length == 0)
+                    throw new IllegalArgumentException("Hace falta al menos un tamaño mayor que 0");
+            }
+
+        /**
+         * Tamaños que crecen en progresión geométrica: inicio, inicio·factor, inicio·factor², ... hasta fin
+         * (que siempre se incluye). Sirven para ver el crecimiento en varios órdenes de magnitud con pocas celdas.
+         * @param inicio Primer tamaño (mayor que 0).
+         * @param fin Último tamaño (al menos inicio).
+         * @param factor Razón entre un tamaño y el anterior (mayor que 1).
+         * @return Los tamaños, de menor a mayor y sin repetidos.
+         * @throws IllegalArgumentException si los parámetros no forman una escalera.
+         */
+        public static int[] escaleraGeometrica(int inicio, int fin, double factor)
+            {
+                if (inicio <= 0 || fin < inicio || !(factor > 1))
+                    throw new IllegalArgumentException("Escalera inválida: inicio " + inicio + ", fin " + fin + ", factor " + factor);
+                List<Integer> tamanos = new ArrayList<>();
+                for (double t = inicio; t < fin; t *= factor)
+                    {
+                        int tamano = (int) Math.round(t);
+                        if (tamanos.isEmpty() || tamanos.get(tamanos.size() - 1) != tamano)
+                            tamanos.add(tamano);
+                    }
+                if (tamanos.isEmpty() || tamanos.get(tamanos.size() - 1) != fin)
+                    tamanos.add(fin);
+                return tamanos.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+        /**
+         * @return Los tamaños que medirá el análisis, de menor a mayor.
+         */
+        public int[] getTamanos()
+            {
+                return tamanios.clone();
+            }
+
+        /**
+         * @return Una descripción por cada celda que falló durante el análisis (algoritmo, caso, tipo, tamaño y error).
+         *         Las celdas fallidas no producen {@link Resultado}.
+         */
+        public List<String> getCeldasFallidas()
+            {
+                synchronized (celdasFallidas)
+                    {
+                        return new ArrayList<>(celdasFallidas);
+                    }
+            }
+
+
+        /**
+         * @return Número de celdas (tamaño × algoritmo × caso) que medirá el análisis.
+         */
+        public int getTotalCeldas()
+            {
+                int tamaniosValidos = 0;
+                for (int n : tamanios)
+                    {
+                        if (n > 0) tamaniosValidos++;
+                    }
+                return tamaniosValidos * algoritmos.size() * casos.size() * tiposClave.size();
+            }
+
+        /**
+         * @return Suma del costo estimado de todas las celdas (ver {@link #costoEstimado(String, String, int)}).
+         */
+        public double getCostoEstimadoTotal()
+            {
+                double total = 0;
+                for (int n : tamanios)
+                    {
+                        if (n <= 0) continue;
+                        for (EstrategiaOrdenamiento algoritmo : algoritmos)
+                            {
+                                for (Distribucion caso : casos)
+                                    total += algoritmo.getComplejidad(caso.getNombre()).costo(n) * tiposClave.size();
+                            }
+                    }
+                return total;
+            }
+
+        /**
+         * Costo relativo de una celda según la complejidad del algoritmo en ese caso.
+         * @param algoritmo Nombre del algoritmo.
+         * @param caso "Promedio", "Mejor", "Peor" u otra distribución registrada.
+         * @param n Tamaño del arreglo.
+         * @return El costo estimado, o 0 si el algoritmo no está registrado.
+         */
+        public static double costoEstimado(String algoritmo, String caso, int n)
+            {
+                for (EstrategiaOrdenamiento estrategia : crearAlgoritmos())
+                    {
+                        if (estrategia.getNombre().equals(algoritmo))
+                            return estrategia.getComplejidad(caso).costo(n);
+                    }
+                return 0;
+            }
+
+        /**
+         * Define qué algoritmos del catálogo ({@link #crearAlgoritmos()}) se miden.
+         * @param nombres Nombres de las estrategias; sin argumentos se vuelve a todo el catálogo.
+         * @throws IllegalArgumentException si algún nombre no está registrado.
+         */
+        public void setAlgoritmos(String... nombres)
+            {
+                if (nombres == null || nombres.length == 0)
+                    {
+                        this.algoritmos = crearAlgoritmos();
+                        return;
+                    }
+                List<EstrategiaOrdenamiento> elegidos = new ArrayList<>();
+                for (String nombre : nombres)
+                    elegidos.add(buscarAlgoritmo(nombre));
+                this.algoritmos = elegidos;
+            }
+
+        /**
+         * Define los casos del análisis: cualquier {@link Distribucion} registrada, por nombre.
+         * @param nombres Nombres de las distribuciones; sin argumentos se vuelve a Promedio, Mejor y Peor.
+         * @throws IllegalArgumentException si algún nombre no está registrado.
+         */
+        public void setCasos(String... nombres)
+            {
+                if (nombres == null || nombres.length == 0)
+                    {
+                        this.casos = Distribucion.getCasosClasicos();
+                        return;
+                    }
+                List<Distribucion> elegidos = new ArrayList<>();
+                for (String nombre : nombres)
+                    elegidos.add(Distribucion.buscar(nombre));
+                this.casos = elegidos;
+            }
+
+        /**
+         * Semilla de los datos. Cada tamaño usa una semilla derivada de esta, así que con la misma semilla
+         * se repiten exactamente los mismos datos en todas las celdas.
+         * @param semilla La semilla.
+         */
+        public void setSemilla(long semilla)
+            {
+                this.semilla = semilla;
+            }
+
+        public long getSemilla()
+            {
+                return semilla;
+            }
+
+        // Semilla de los datos de un tamaño
+        private long semillaTamano(int n)
+            {
+                return semilla ^ (n * 0x9E3779B97F4A7C15L);
+            }
+
+        /**
+         * Cuenta las comparaciones, intercambios y escrituras de cada celda medida. El conteo se hace con la
+         * versión instrumentada de la estrategia ({@link EstrategiaOrdenamientoContado}) en una pasada extra
+         * después de las repeticiones, así que no cambia los tiempos; solo se cuenta con claves int.
+         * @param contar {@code true} para contar las operaciones.
+         */
+        public void setContarOperaciones(boolean contar)
+            {
+                this.contarOperaciones = contar;
+            }
+
+        /**
+         * Define con qué tipos primitivos se mide cada celda. Los valores son los mismos en todos los tipos
+         * (enteros 0-9999), así que la diferencia entre ellos se debe al ancho de cada elemento.
+         * @param tipos Uno o más tipos de clave; sin argumentos se vuelve a solo int.
+         */
+        public void setTiposClave(TipoClave... tipos)
+            {
+                this.tiposClave = tipos == null || tipos.length == 0 ? Arrays.asList(TipoClave.INT) : Arrays.asList(tipos.clone());
+            }
+
+        /**
+         * Define cuántos hilos reparten las celdas (tamaño × algoritmo × caso) del análisis.
+         * Con 1 (valor por omisión) todo se ejecuta en orden en el hilo que llama.
+         * @param hilos Número de hilos de trabajo.
+         */
+        public void setHilos(int hilos)
+            {
+                this.hilos = Math.max(1, hilos);
+            }
+
+        /**
+         * Activa el modo aislado para la ejecución en paralelo: se usa como máximo la mitad de los
+         * procesadores (para no compartir núcleo físico entre dos mediciones) y las estrategias paralelas
+         * se miden solas, sin otras celdas corriendo al mismo tiempo.
+         * @param aislado {@code true} para priorizar la calidad de la medición sobre el tiempo total.
+         */
+        public void setAislado(boolean aislado)
+            {
+                this.aislado = aislado;
+            }
+
+        /**
+         * Límites de repeticiones por celda. Con el mismo valor en ambos se vuelve al conteo fijo.
+         * @param minimo Repeticiones que siempre se hacen antes de evaluar el intervalo (al menos 2).
+         * @param maximo Tope de repeticiones aunque no se alcance el objetivo.
+         */
+        public void setRepeticiones(int minimo, int maximo)
+            {
+                this.repeticionesMin = Math.max(2, minimo);
+                this.repeticionesMax = Math.max(this.repeticionesMin, maximo);
+            }
+
+        /**
+         * Precisión que se busca en cada celda: se deja de repetir cuando el semiancho del intervalo de
+         * confianza al 95 % del promedio es menor que esta fracción del promedio, o cuando la celda ya
+         * lleva un segundo medido (el intervalo alcanzado queda en {@link Resultado#getIntervaloRelativo()}).
+         * @param objetivo Intervalo relativo (0.02 = ±2 %), o 0 para hacer siempre el máximo de repeticiones.
+         */
+        public void setObjetivoIntervalo(double objetivo)
+            {
+                this.objetivoIntervalo = Math.max(0, objetivo);
+            }
+
+        /**
+         * Tiempo máximo por celda. Una celda deja de repetir en cuanto lo supera (con al menos una repetición),
+         * y no se ejecuta si se predice que una sola repetición lo superará; en ese caso se reporta
+         * el tiempo extrapolado de los tamaños ya medidos.
+         * @param presupuestoMs Milisegundos por celda, o 0 para no limitar.
+         */
+        public void setPresupuestoCeldaMs(long presupuestoMs)
+            {
+                this.presupuestoCeldaMs = Math.max(0, presupuestoMs);
+            }
+
+        /**
+         * Tiempo máximo de toda la corrida, contado desde el final del calentamiento. Las celdas que no caben
+         * en lo que queda se extrapolan en lugar de medirse; las que no tienen ningún tamaño menor medido con
+         * qué extrapolar se omiten (no producen resultado).
+         * @param presupuestoMs Milisegundos para el análisis completo, o 0 para no limitar.
+         */
+        public void setPresupuestoTotalMs(long presupuestoMs)
+            {
+                this.presupuestoTotalMs = Math.max(0, presupuestoMs);
+            }
+
+        /**
+         * Pide detener el análisis. La celda en curso termina su repetición actual y se descarta;
+         * las celdas ya medidas se conservan. Se puede llamar desde cualquier hilo.
+         */
+        public void cancelar()
+            {
+                this.cancelado = true;
+            }
+
+        /**
+         * @return {@code true} si el análisis se detuvo con {@link #cancelar()}.
+         */
+        public boolean isCancelado()
+            {
+                return cancelado;
+            }
 
         /**
          * Ejecuta el análisis para los tamaños definidos.
          */
         public void ejecutarAnalisis() 
             {
-                GestorResultados gestor = GestorResultados.getInstancia();
+                System.out.println("Semilla de los datos: " + semilla);
 
-                // Warm-up para el sistema
+                // Warm-up para el sistema, con las mismas instancias que después se miden: en paralelo,
+                // un catálogo propio para cada hilo del pool
                 int warmUpSize = Math.max(1000, (tamanios.length > 0 ? tamanios[0] : 1000));
-                Arreglo warm = new Arreglo(warmUpSize);
+                Arreglo warm = new Arreglo(warmUpSize, semilla);
+                ConcurrentLinkedQueue<Map<String, EstrategiaOrdenamiento>> catalogos = new ConcurrentLinkedQueue<>();
+                if (hilos <= 1)
+                    calentar(algoritmos, warm, warmUpSize);
+                else
+                    {
+                        for (int i = 0; i < hilosEfectivos(); i++)
+                            {
+                                Map<String, EstrategiaOrdenamiento> catalogo = crearCatalogo();
+                                calentar(catalogo.values(), warm, warmUpSize);
+                                catalogos.add(catalogo);
+                            }
+                    }
+
+                // El presupuesto de la corrida no incluye el calentamiento
+                inicioCorridaNs = System.nanoTime();
+
+                try
+                    {
+                        if (hilos <= 1)
+                            ejecutarSecuencial();
+                        else
+                            ejecutarParalelo(catalogos);
+                    }
+                finally
+                    {
+                        reserva.vaciar();
+                    }
+
+                if (celdasOmitidas.get() > 0)
+                    System.out.println("\n" + celdasOmitidas.get() + " celda(s) omitidas: se acabó el presupuesto de la corrida antes de medir un tamaño con qué extrapolarlas.");
+                if (cancelado)
+                    System.out.println("\nAnálisis cancelado. Se conservan las celdas terminadas.");
+                else
+                    System.out.println("\nAnálisis completado (" + casos + "). Resultados en memoria.");
+            }
 
-                for (EstrategiaOrdenamiento estrategia : algoritmos) 
+        // Ordena una vez, sin medir, el caso Promedio con cada estrategia; cada tipo de clave tiene su propio código que calentar
+        private void calentar(Collection<EstrategiaOrdenamiento> estrategias, Arreglo warm, int warmUpSize)
+            {
+                for (EstrategiaOrdenamiento estrategia : estrategias) 
                     {
-                        int[] copia = Arrays.copyOf(warm.getDatos(), warm.getDatos().length);
-                        estrategia.ordenar(copia); // sin medir
+                        for (TipoClave tipo : tiposClave)
+                            {
+                                Object copia = reserva.obtener(tipo, warmUpSize);
+                                tipo.rellenar(warm.getDatosCaso(Distribucion.PROMEDIO.getNombre(), tipo), copia);
+                                tipo.ordenar(estrategia, copia); // sin medir
+                            }
                     }
-                
+            }
+
+        // Una instancia nueva de cada algoritmo del análisis, por nombre
+        private Map<String, EstrategiaOrdenamiento> crearCatalogo()
+            {
+                Map<String, EstrategiaOrdenamiento> catalogo = new LinkedHashMap<>();
+                for (EstrategiaOrdenamiento estrategia : crearAlgoritmos())
+                    {
+                        if (posicionAlgoritmo(estrategia.getNombre()) != Integer.MAX_VALUE)
+                            catalogo.put(estrategia.getNombre(), estrategia);
+                    }
+                return catalogo;
+            }
+
+        // Hilos del pool en paralelo: en modo aislado, a lo sumo la mitad de los núcleos
+        private int hilosEfectivos()
+            {
+                if (aislado)
+                    return Math.min(hilos, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+                return hilos;
+            }
+
+        // Ejecución original: una celda tras otra en el hilo actual
+        private void ejecutarSecuencial()
+            {
+                GestorResultados gestor = GestorResultados.getInstancia();
+
                 // Itera sobre los tamaños generados
                 for (int n : tamanios) 
                     {
                         if (n == 0) continue; 
+                        if (cancelado) return;
                         
                         System.out.println("\nTamaño del arreglo: " + n);
 
-                        // Generar un arreglo base (lo creamos una vez por tamaño)
-                        Arreglo base = new Arreglo(n);
+                        // Generar un arreglo base (lo creamos una vez por tamaño; guarda los datos de cada caso
+                        // y tipo de clave, así que todos los algoritmos comparten los mismos arreglos)
+                        Arreglo base = new Arreglo(n, semillaTamano(n));
 
                         for (EstrategiaOrdenamiento algoritmo : algoritmos) 
                             {
-                                String nombre = algoritmo.getNombre();
-
-                                for (TipoCaso caso : TipoCaso.values())
+                                for (Distribucion caso : casos)
                                     {
-                                        // 1. Obtenemos el arreglo correcto para cdcada caso
-                                        int[] datosBaseCaso;
-                                        String nombreCaso = caso.toString();
-
-                                        switch (caso)
+                                        for (TipoClave tipo : tiposClave)
                                             {
-                                                case Mejor:
-                                                    datosBaseCaso = base.getDatosOrdenados();
-                                                    break;
-                                                case Peor:
-                                                    datosBaseCaso = base.getDatosOrdenadosInversos();
-                                                    break;
-                                                case Promedio:
-                                                default:
-                                                    datosBaseCaso = base.getDatos();
-                                                    break;
+                                                // Obtenemos el arreglo correcto para cada caso, en el tipo de clave pedido
+                                                Object datosBaseCaso = base.getDatosCaso(caso.getNombre(), tipo);
+
+                                                Resultado resultado = procesarCelda(algoritmo, n, caso.getNombre(), tipo, datosBaseCaso);
+                                                if (cancelado)
+                                                    return;
+                                                if (resultado != null)
+                                                    gestor.agregarResultado(resultado);
                                             }
+                                    } // Fin delciclo de casos
+                            } // Fin del bucle de algoritmoss
+                    } // Fin del bucle de los tamaños
+            }
 
-                                        // 2. Ejecutamos las repeticiones
-                                        long totalNs = 0L;
-                                        for (int r = 0; r < REPETICIONES; r++) 
-                                            {
-                                                // Usamos la copia del caso correspondiente
-                                                int[] copia = Arrays.copyOf(datosBaseCaso, datosBaseCaso.length);
+        /**
+         * Reparte las celdas entre un pool de hilos, de la más costosa a la más barata (según
+         * {@link EstrategiaOrdenamiento#getComplejidad(String)}), para que las celdas largas
+         * no queden al final con los demás hilos ociosos.
+         * <p>Cada hilo del pool mide con su propio catálogo de estrategias, creado y calentado antes de empezar,
+         * porque algunas guardan estado entre llamadas (p. ej. el búfer de {@link BottomUpMergeSort}).
+         * Cada resultado se entrega al gestor en cuanto termina su celda; al final, la lista en memoria
+         * se reordena como en la ejecución secuencial.
+         * <p>Como las celdas grandes van primero, casi nunca hay tamaños menores ya medidos para extrapolar:
+         * aquí los presupuestos actúan sobre todo cortando las repeticiones de cada celda.
+         */
+        private void ejecutarParalelo(ConcurrentLinkedQueue<Map<String, EstrategiaOrdenamiento>> catalogos)
+            {
+                GestorResultados gestor = GestorResultados.getInstancia();
 
-                                                long inicio = System.nanoTime();
-                                                algoritmo.ordenar(copia);
-                                                long fin = System.nanoTime();
+                int hilosEfectivos = hilosEfectivos();
+                // Cada hilo toma uno de los catálogos calentados la primera vez que atiende una celda
+                Map<Thread, Map<String, EstrategiaOrdenamiento>> catalogoPorHilo = new ConcurrentHashMap<>();
 
-                                                long deltaNs = fin - inicio;
-                                                totalNs += deltaNs;
-                                            }
+                // 1. Construimos todas las celdas; los datos de cada caso se generan una vez por tamaño y se comparten (solo lectura)
+                List<Celda> celdas = new ArrayList<>();
+                for (int n : tamanios)
+                    {
+                        if (n == 0) continue;
+
+                        Arreglo base = new Arreglo(n, semillaTamano(n));
+                        for (EstrategiaOrdenamiento algoritmo : algoritmos)
+                            {
+                                for (Distribucion caso : casos)
+                                    {
+                                        String nombreCaso = caso.getNombre();
+                                        double costo = algoritmo.getComplejidad(nombreCaso).costo(n);
+                                        for (TipoClave tipo : tiposClave)
+                                            celdas.add(new Celda(algoritmo.getNombre(), n, nombreCaso, tipo, base.getDatosCaso(nombreCaso, tipo), costo));
+                                    }
+                            }
+                    }
+
+                System.out.println("\nEjecutando " + celdas.size() + " celdas con " + hilosEfectivos + " hilos"
+                                   + (aislado ? " (modo aislado)" : "") + "...");
+
+                // 2. Las más costosas primero: el pool atiende las tareas en el orden en que se envían
+                List<Celda> porCosto = new ArrayList<>(celdas);
+                porCosto.sort(Comparator.comparingDouble((Celda c) -> c.costo).reversed());
+
+                // Las estrategias paralelas toman el candado de escritura para medirse sin otras celdas en curso
+                ReadWriteLock candado = new ReentrantReadWriteLock();
+                ExecutorService pool = Executors.newFixedThreadPool(hilosEfectivos);
+                try
+                    {
+                        List<Future<?>> pendientes = new ArrayList<>();
+                        for (Celda celda : porCosto)
+                            {
+                                pendientes.add(pool.submit(() ->
+                                    {
+                                        Map<String, EstrategiaOrdenamiento> catalogo = catalogoPorHilo.computeIfAbsent(Thread.currentThread(), h ->
+                                            {
+                                                Map<String, EstrategiaOrdenamiento> calentado = catalogos.poll();
+                                                return calentado != null ? calentado : crearCatalogo();
+                                            });
+                                        EstrategiaOrdenamiento estrategia = catalogo.get(celda.algoritmo);
+                                        boolean exclusiva = aislado && estrategia.getReferenciaSecuencial() != null;
+                                        Lock lock = exclusiva ? candado.writeLock() : candado.readLock();
 
-                                        // 3. Calculamos promedios
-                                        double promedioNs = totalNs / (double) REPETICIONES;
-                                        double promedioMs = promedioNs / 1_000_000.0;
+                                        if (cancelado)
+                                            return;
 
-                                        // 4. Imprimimos en consola
-                                        if (promedioNs < 1_000_000.0) 
+                                        Resultado resultado;
+                                        lock.lock();
+                                        try
                                             {
-                                                double promedioUs = promedioNs / 1000.0;
-                                                System.out.printf("   %-12s (%-8s) → %8.3f µs (promedio de %d ejecuciones)%n",
-                                                        nombre, nombreCaso, promedioUs, REPETICIONES);
-                                            } 
-                                        else 
+                                                resultado = procesarCelda(estrategia, celda.tamano, celda.caso, celda.tipo, celda.datos);
+                                            }
+                                        finally
                                             {
-                                                System.out.printf("   %-12s (%-8s) → %8.3f ms (promedio de %d ejecuciones)%n",
-                                                    nombre, nombreCaso, promedioMs, REPETICIONES);
+                                                lock.unlock();
                                             }
 
-                                        // 5. Guardar en gestor
-                                        gestor.agregarResultado(new Resultado(nombre, n, promedioMs, nombreCaso));
-                                    
-                                    } // Fin delciclo de casos
-                            } // Fin del bucle de algoritmoss
-                    } // Fin del bucle de los tamaños
+                                        // Se publica en cuanto termina la celda (fuera del candado)
+                                        if (resultado != null)
+                                            gestor.agregarResultado(resultado);
+                                    }));
+                            }
+
+                        for (Future<?> pendiente : pendientes)
+                            pendiente.get();
+                    }
+                catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("El análisis en paralelo fue interrumpido", e);
+                    }
+                catch (ExecutionException e)
+                    {
+                        throw new IllegalStateException("Falló una celda del análisis en paralelo", e.getCause());
+                    }
+                finally
+                    {
+                        pool.shutdownNow();
+                    }
+
+                // 3. En memoria quedan en el mismo orden que la ejecución secuencial (tamaño, algoritmo, caso, tipo de clave)
+                gestor.ordenarResultados(Comparator.comparingInt(Resultado::getTamano)
+                    .thenComparingInt(r -> posicionAlgoritmo(r.getAlgoritmo()))
+                    .thenComparingInt(r -> posicionCaso(r.getCaso()))
+                    .thenComparingInt(r -> tiposClave.indexOf(TipoClave.buscar(r.getTipoClave()))));
+            }
 
-                System.out.println("\nAnálisis completado (Mejor, Peor y Promedio). Resultados en memoria.");
+        // Posición del caso en la lista del análisis
+        private int posicionCaso(String nombre)
+            {
+                for (int i = 0; i < casos.size(); i++)
+                    {
+                        if (casos.get(i).getNombre().equals(nombre))
+                            return i;
+                    }
+                return Integer.MAX_VALUE;
+            }
 
+        // Posición del algoritmo en la lista del análisis (los desconocidos van al final)
+        private int posicionAlgoritmo(String nombre)
+            {
+                for (int i = 0; i < algoritmos.size(); i++)
+                    {
+                        if (algoritmos.get(i).getNombre().equals(nombre))
+                            return i;
+                    }
+                return Integer.MAX_VALUE;
             }
-    }
 
+        /**
+         * Decide si una celda se mide o se extrapola según los presupuestos, y la mide si corresponde.
+         * Cada tipo de clave se extrapola por separado, con sus propias mediciones.
+         * <p>Si la estrategia lanza una excepción o desborda la pila con estos datos, la celda se anota en
+         * {@link #getCeldasFallidas()} y el análisis sigue con las demás.
+         * @return El resultado (medido o extrapolado), o {@code null} si el análisis se canceló, la celda se omitió o falló.
+         */
+        private Resultado procesarCelda(EstrategiaOrdenamiento algoritmo, int n, String nombreCaso, TipoClave tipo, Object datosBaseCaso)
+            {
+                if (cancelado)
+                    return null;
+
+                String nombre = algoritmo.getNombre();
+                String serie = nombre + "_" + tipo;
+                double prediccionMs = extrapolador.predecirMs(serie, nombreCaso, n, algoritmo.getComplejidad(nombreCaso));
+                double transcurridoMs = (System.nanoTime() - inicioCorridaNs) / 1_000_000.0;
+
+                boolean excedeCelda = presupuestoCeldaMs > 0 && prediccionMs > presupuestoCeldaMs;
+                boolean excedeCorrida = presupuestoTotalMs > 0
+                        && (transcurridoMs >= presupuestoTotalMs
+                            || transcurridoMs + (Double.isNaN(prediccionMs) ? 0 : prediccionMs) > presupuestoTotalMs);
+
+                if (excedeCorrida && Double.isNaN(prediccionMs))
+                    {
+                        // Sin ningún tamaño medido no hay estimación: la celda se omite en lugar de reportar NaN
+                        System.out.printf("   %-12s (%-8s) → omitida (sin tiempo en el presupuesto de la corrida ni mediciones para extrapolar)%n",
+                                nombre, nombreCaso);
+                        celdasOmitidas.incrementAndGet();
+                        return null;
+                    }
+                if (excedeCelda || excedeCorrida)
+                    {
+                        System.out.printf("   %-12s (%-8s) → extrapolado ~ %.3f ms (excede el presupuesto de %s)%n",
+                                nombre, nombreCaso, prediccionMs, excedeCelda ? "la celda" : "la corrida");
+                        Resultado resultado = new Resultado(nombre, n, prediccionMs, nombreCaso);
+                        resultado.setTipoClave(tipo.getNombre());
+                        resultado.setExtrapolado(true);
+                        return resultado;
+                    }
+
+                Resultado resultado;
+                try
+                    {
+                        resultado = medirCelda(algoritmo, n, nombreCaso, tipo, datosBaseCaso);
+                    }
+                catch (RuntimeException | StackOverflowError e)
+                    {
+                        String celda = String.format("%s (%s, %s, n=%d): %s", nombre, nombreCaso, tipo, n, e);
+                        System.err.println("   Falló la celda " + celda);
+                        celdasFallidas.add(celda);
+                        return null;
+                    }
+                if (resultado != null)
+                    extrapolador.registrar(serie, nombreCaso, n, resultado.getTiempoMs());
+                return resultado;
+            }
+
+        /**
+         * Mide una celda: ejecuta repeticiones sobre copias de los datos del caso hasta alcanzar el intervalo
+         * de confianza objetivo (o el máximo de repeticiones) y promedia. Las copias se hacen en un arreglo
+         * de la {@link ReservaArreglos} del hilo, sin asignar memoria entre repeticiones.
+         * @param algoritmo Estrategia a medir.
+         * @param n Tamaño del arreglo.
+         * @param nombreCaso Nombre del caso (la distribución de los datos).
+         * @param tipo Tipo de clave de los datos.
+         * @param datosBaseCaso Datos del caso (arreglo primitivo del tipo de clave); no se modifican.
+         * @return El resultado de la celda, o {@code null} si el análisis se canceló a la mitad.
+         */
+        private Resultado medirCelda(EstrategiaOrdenamiento algoritmo, int n, String nombreCaso, TipoClave tipo, Object datosBaseCaso)
+            {
+                String nombre = algoritmo.getNombre();
+
+                // 1. Ejecutamos las repeticiones (el histograma y el arreglo de trabajo se preparan antes;
+                //    registrar y rellenar no asignan memoria)
+                HistogramaLatencias histograma = new HistogramaLatencias();
+                Object copia = reserva.obtener(tipo, n);
+                algoritmo.reservar(tipo, n); // Su espacio auxiliar tampoco se asigna dentro de la medición
+                long totalNs = 0L;
+                long totalBytes = 0L;
+                long totalCpuNs = 0L;
+                long totalRecolecciones = 0L;
+                long totalRecoleccionMs = 0L;
+                int repeticiones = 0;
+                // Las estrategias paralelas trabajan en el pool común: su CPU y sus bytes se suman a los del hilo actual.
+                // Si otra celda puede estar usando el pool a la vez (varios hilos sin modo aislado) no se pueden atribuir
+                boolean paralela = algoritmo.getReferenciaSecuencial() != null;
+                boolean atribuible = !paralela || hilos <= 1 || aislado;
+                for (int r = 0; r < repeticionesMax; r++) 
+                    {
+                        if (cancelado)
+                            return null;
+
+                        // Precisión alcanzada: el histograma ya lleva el promedio y la varianza de lo medido
+                        if (r >= repeticionesMin && objetivoIntervalo > 0
+                                && (histograma.getIntervaloRelativo() <= objetivoIntervalo || totalNs >= TIEMPO_MAXIMO_ADAPTATIVO_NS))
+                            break;
+
+                        // Presupuesto de la celda: siempre al menos una repetición
+                        if (presupuestoCeldaMs > 0 && r > 0 && totalNs / 1_000_000 >= presupuestoCeldaMs)
+                            break;
+
+                        // Restauramos los datos del caso en el arreglo de trabajo, fuera de la ventana de tiempo
+                        tipo.rellenar(datosBaseCaso, copia);
+
+                        // La lectura de los contadores (bytes, CPU y recolecciones) queda fuera de la ventana de tiempo
+                        ContadoresPoolComun poolAntes = paralela && atribuible ? ContadoresPoolComun.leer() : null;
+                        long recoleccionesAntes = MedidorRecursos.recolecciones();
+                        long recoleccionMsAntes = MedidorRecursos.tiempoRecoleccionMs();
+                        long cpuAntes = MedidorRecursos.tiempoCpuNs();
+                        long bytesAntes = MedidorAsignacion.bytesAsignados();
+                        long inicio = System.nanoTime();
+                        tipo.ordenar(algoritmo, copia);
+                        long fin = System.nanoTime();
+                        long bytesDespues = MedidorAsignacion.bytesAsignados();
+                        long cpuDespues = MedidorRecursos.tiempoCpuNs();
+                        long recoleccionMsDespues = MedidorRecursos.tiempoRecoleccionMs();
+                        long recoleccionesDespues = MedidorRecursos.recolecciones();
+                        if (poolAntes != null)
+                            {
+                                ContadoresPoolComun poolDespues = ContadoresPoolComun.leer();
+                                bytesDespues += poolDespues.bytesDesde(poolAntes);
+                                cpuDespues += poolDespues.cpuNsDesde(poolAntes);
+                            }
+
+                        long deltaNs = fin - inicio;
+                        totalNs += deltaNs;
+                        totalBytes += bytesDespues - bytesAntes;
+                        totalCpuNs += cpuDespues - cpuAntes;
+                        totalRecolecciones += recoleccionesDespues - recoleccionesAntes;
+                        totalRecoleccionMs += recoleccionMsDespues - recoleccionMsAntes;
+                        histograma.registrar(deltaNs);
+                        repeticiones++;
+                    }
+
+                // 2. Calculamos promedios
+                double promedioNs = totalNs / (double) repeticiones;
+                double promedioMs = promedioNs / 1_000_000.0;
+                // Con una sola repetición (presupuesto de celda) no hay intervalo
+                double intervalo = repeticiones > 1 ? histograma.getIntervaloRelativo() : Double.NaN;
+
+                // 3. Imprimimos en consola (en paralelo se incluye el tamaño, porque las celdas se intercalan)
+                String nombreSerie = tipo == TipoClave.INT ? nombre : nombre + " [" + tipo + "]";
+                String etiqueta = hilos > 1 ? String.format("n=%-9d %-12s", n, nombreSerie) : String.format("%-12s", nombreSerie);
+                if (promedioNs < 1_000_000.0) 
+                    {
+                        double promedioUs = promedioNs / 1000.0;
+                        System.out.printf("   %s (%-8s) → %8.3f µs ±%5.2f %% (promedio de %d ejecuciones)%n",
+                                etiqueta, nombreCaso, promedioUs, intervalo * 100, repeticiones);
+                    } 
+                else 
+                    {
+                        System.out.printf("   %s (%-8s) → %8.3f ms ±%5.2f %% (promedio de %d ejecuciones)%n",
+                            etiqueta, nombreCaso, promedioMs, intervalo * 100, repeticiones);
+                    }
+
+                // 4. Armamos el resultado
+                Resultado resultado = new Resultado(nombre, n, promedioMs, nombreCaso);
+                resultado.setTipoClave(tipo.getNombre());
+                resultado.setDistribucion(histograma);
+                resultado.setRepeticiones(repeticiones);
+                resultado.setIntervaloRelativo(intervalo);
+                if (MedidorAsignacion.disponible() && atribuible)
+                    resultado.setBytesPorOrdenamiento(totalBytes / repeticiones);
+                if (MedidorRecursos.cpuDisponible() && atribuible)
+                    resultado.setCpuMs(totalCpuNs / (double) repeticiones / 1_000_000.0);
+                if (MedidorRecursos.recolecciones() >= 0)
+                    resultado.setRecoleccionesGc(totalRecolecciones, totalRecoleccionMs);
+
+                // 5. Conteo de operaciones, fuera de las mediciones
+                if (contarOperaciones && tipo == TipoClave.INT)
+                    {
+                        ArregloContado contado = new ArregloContado(((int[]) datosBaseCaso).clone());
+                        algoritmo.ordenar(contado);
+                        resultado.setOperaciones(contado.getContador());
+                    }
+                return resultado;
+            }
+
+        /**
+         * Mide el rendimiento de ordenar muchos arreglos independientes con {@link OrdenamientoPorLotes},
+         * comparado con llamar a la estrategia en un ciclo arreglo por arreglo.
+         * <p>Los tamaños de los arreglos siguen una distribución log-uniforme entre el mínimo y el máximo
+         * (muchos chicos y pocos grandes) y sus valores son los del caso "Promedio"; todo se deriva de la
+         * semilla. Las repeticiones siguen la misma política adaptativa que las celdas del análisis
+         * ({@link #setRepeticiones(int, int)} y {@link #setObjetivoIntervalo(double)}). El resultado se
+         * entrega a {@link GestorResultados}.
+         * @param algoritmo Nombre de la estrategia.
+         * @param arreglos Número de arreglos del lote.
+         * @param tamanoMin Tamaño del arreglo más chico posible.
+         * @param tamanoMax Tamaño del arreglo más grande posible.
+         * @return El resultado, con arreglos/s y elementos/s.
+         * @throws IllegalArgumentException si el algoritmo no existe o los tamaños no son válidos.
+         */
+        public ResultadoLotes medirLotes(String algoritmo, int arreglos, int tamanoMin, int tamanoMax)
+            {
+                if (arreglos <= 0 || tamanoMin < 0 || tamanoMax < tamanoMin)
+                    throw new IllegalArgumentException("Lote inválido: " + arreglos + " arreglos de " + tamanoMin + " a " + tamanoMax);
+                EstrategiaOrdenamiento estrategia = buscarAlgoritmo(algoritmo);
+                OrdenamientoPorLotes lotes = OrdenamientoPorLotes.con(algoritmo);
+
+                // 1. Tamaños log-uniformes y datos del lote, una sola vez
+                SplittableRandom aleatorio = new SplittableRandom(semilla);
+                int[] tamanos = new int[arreglos];
+                long elementos = 0;
+                double logMin = Math.log(Math.max(1, tamanoMin));
+                double logMax = Math.log(Math.max(1, tamanoMax));
+                for (int i = 0; i < arreglos; i++)
+                    {
+                        double t = Math.exp(logMin + aleatorio.nextDouble() * (logMax - logMin));
+                        tamanos[i] = Math.max(tamanoMin, Math.min(tamanoMax, (int) Math.round(t)));
+                        elementos += tamanos[i];
+                    }
+                if (elementos > Integer.MAX_VALUE - 8)
+                    throw new IllegalArgumentException("El lote tiene demasiados elementos: " + elementos);
+                int[] base = Distribucion.PROMEDIO.generar((int) elementos, semillaTamano((int) elementos));
+                int[][] trabajo = new int[arreglos][];
+                for (int i = 0; i < arreglos; i++)
+                    trabajo[i] = new int[tamanos[i]];
+
+                // 2. Calentamiento de las dos formas
+                for (int k = 0; k < 2; k++)
+                    {
+                        rellenarLote(base, trabajo);
+                        for (int[] a : trabajo)
+                            estrategia.ordenar(a);
+                        rellenarLote(base, trabajo);
+                        lotes.ordenar(trabajo);
+                    }
+
+                // 3. Repeticiones: ciclo y lote alternados, cada uno con los mismos datos
+                HistogramaLatencias histograma = new HistogramaLatencias();
+                long totalLoteNs = 0L;
+                long totalCicloNs = 0L;
+                int repeticiones = 0;
+                for (int r = 0; r < repeticionesMax; r++)
+                    {
+                        if (r >= repeticionesMin && objetivoIntervalo > 0
+                                && (histograma.getIntervaloRelativo() <= objetivoIntervalo || totalLoteNs >= TIEMPO_MAXIMO_ADAPTATIVO_NS))
+                            break;
+
+                        rellenarLote(base, trabajo);
+                        long inicio = System.nanoTime();
+                        for (int[] a : trabajo)
+                            estrategia.ordenar(a);
+                        totalCicloNs += System.nanoTime() - inicio;
+
+                        rellenarLote(base, trabajo);
+                        inicio = System.nanoTime();
+                        lotes.ordenar(trabajo);
+                        long deltaNs = System.nanoTime() - inicio;
+                        totalLoteNs += deltaNs;
+                        histograma.registrar(deltaNs);
+                        repeticiones++;
+                    }
+
+                // 4. Resultado
+                ResultadoLotes resultado = new ResultadoLotes(algoritmo, arreglos, elementos,
+                                                              totalLoteNs / (double) repeticiones / 1_000_000.0,
+                                                              totalCicloNs / (double) repeticiones / 1_000_000.0);
+                resultado.setHilos(ForkJoinPool.getCommonPoolParallelism());
+                resultado.setDistribucion(histograma);
+                resultado.setRepeticiones(repeticiones);
+                resultado.setIntervaloRelativo(repeticiones > 1 ? histograma.getIntervaloRelativo() : Double.NaN);
+                System.out.println("   " + resultado);
+                GestorResultados.getInstancia().agregarResultado(resultado);
+                return resultado;
+            }
+
+        // Copia los datos del lote a sus arreglos de trabajo, uno tras otro
+        private static void rellenarLote(int[] base, int[][] trabajo)
+            {
+                int posicion = 0;
+                for (int[] a : trabajo)
+                    {
+                        System.arraycopy(base, posicion, a, 0, a.length);
+                        posicion += a.length;
+                    }
+            }
+
+        /**
+         * Una celda de la matriz de análisis pendiente de medir.
+         */
+        private static final class Celda
+            {
+                final String algoritmo;
+                final int tamano;
+                final String caso;
+                final TipoClave tipo;
+                final Object datos;
+                final double costo;
+
+                Celda(String algoritmo, int tamano, String caso, TipoClave tipo, Object datos, double costo)
+                    {
+                        this.algoritmo = algoritmo;
+                        this.tamano = tamano;
+                        this.caso = caso;
+                        this.tipo = tipo;
+                        this.datos = datos;
+                        this.costo = costo;
+                    }
+            }
+    }
@@ -1,35 +1,64 @@
 package abstraccion;
 
 import java.util.Arrays;
-import java.util.Random;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 /**
- * Representa un arreglo de enteros que se llena aleatoriamente.
+ * Representa un arreglo de enteros que se llena aleatoriamente a partir de una semilla.
+ * <p>Los casos de análisis son las {@link Distribucion} registradas; todas se generan con la misma
+ * semilla del arreglo, así que dos arreglos con el mismo tamaño y semilla dan exactamente los mismos datos.
+ * <p>Los datos de cada caso (y su conversión a cada tipo de clave) se calculan una sola vez y se guardan:
+ * todos los algoritmos de un tamaño comparten los mismos arreglos, que por eso no deben modificarse.
  */
 public class Arreglo 
     {
         private int[] datos;
+        private final long semilla;
+
+        // Datos ya generados por caso, y por caso y tipo de clave
+        private final Map<String, int[]> datosPorCaso = new HashMap<>();
+        private final Map<String, Object> datosPorCasoYTipo = new HashMap<>();
 
         /**
-         * Crea un arreglo con la cantidad de elementos especificada y lo llena aleatoriamente.
+         * Crea un arreglo con la cantidad de elementos especificada y lo llena aleatoriamente
+         * con una semilla elegida al azar (los datos no se pueden repetir; ver {@link #getSemilla()}).
          * @param elementos número de elementos del arreglo.
          */
         public Arreglo(int elementos) 
             {
+                this(elementos, new SplittableRandom().nextLong());
+            }
+
+        /**
+         * Crea un arreglo con la cantidad de elementos especificada y lo llena con la semilla dada.
+         * @param elementos número de elementos del arreglo.
+         * @param semilla semilla del generador.
+         */
+        public Arreglo(int elementos, long semilla) 
+            {
+                this.semilla = semilla;
                 datos = new int[elementos];
                 llenarAleatorio();
             }
 
         /**
-         * Llena el arreglo con números aleatorios entre 0 y 9999.
+         * Llena el arreglo con números aleatorios entre 0 y 9999 (en paralelo, ver {@link Distribucion#PROMEDIO}).
          */
         public void llenarAleatorio() 
             {
-                Random rand = new Random();
-                for (int i = 0; i < datos.length; i++) 
-                    {
-                        datos[i] = rand.nextInt(10000);
-                    }
+                Distribucion.PROMEDIO.llenar(datos, semilla);
+                datosPorCaso.clear();
+                datosPorCasoYTipo.clear();
+            }
+
+        /**
+         * @return La semilla con la que se generan los datos de todos los casos.
+         */
+        public long getSemilla()
+            {
+                return semilla;
             }
 
         /**
@@ -69,4 +98,58 @@ public class Arreglo
                 
                 return copiaInversa;
             }
+    
+        /**
+         * Devuelve los datos que corresponden a un caso de análisis.
+         * @param caso "Mejor" (ordenado), "Peor" (ordenado al revés), "Promedio" (aleatorio)
+         *             o cualquier otra {@link Distribucion} registrada, generada con la semilla del arreglo.
+         * @return El arreglo del caso, generado la primera vez y compartido después (no una copia: no se debe
+         *         modificar); para "Promedio" son los datos originales.
+         * @throws IllegalArgumentException si el caso no existe.
+         */
+        public int[] getDatosCaso(String caso)
+            {
+                int[] guardados = datosPorCaso.get(caso);
+                if (guardados != null)
+                    return guardados;
+
+                int[] generados;
+                switch (caso)
+                    {
+                        case "Mejor":
+                            generados = getDatosOrdenados();
+                            break;
+                        case "Peor":
+                            // Se invierte una copia del mejor caso en lugar de volver a ordenar
+                            generados = getDatosCaso("Mejor").clone();
+                            for (int i = 0, j = generados.length - 1; i < j; i++, j--)
+                                {
+                                    int temp = generados[i];
+                                    generados[i] = generados[j];
+                                    generados[j] = temp;
+                                }
+                            break;
+                        case "Promedio":
+                            generados = getDatos();
+                            break;
+                        default:
+                            generados = Distribucion.buscar(caso).generar(datos.length, semilla);
+                            break;
+                    }
+                datosPorCaso.put(caso, generados);
+                return generados;
+            }
+
+        /**
+         * Devuelve los datos de un caso convertidos a un tipo de clave, con los mismos valores.
+         * @param caso "Mejor", "Peor", "Promedio" u otra distribución registrada.
+         * @param tipo Tipo primitivo de los elementos.
+         * @return Un arreglo del tipo pedido ({@code short[]}, {@code int[]}, {@code long[]} o {@code double[]}),
+         *         convertido la primera vez y compartido después (no se debe modificar).
+         * @throws IllegalArgumentException si el caso no existe.
+         */
+        public Object getDatosCaso(String caso, TipoClave tipo)
+            {
+                return datosPorCasoYTipo.computeIfAbsent(caso + "|" + tipo.getNombre(), k -> tipo.convertir(getDatosCaso(caso)));
+            }
     }
@@ -0,0 +1,105 @@
+package abstraccion;
+
+/**
+ * Arreglo de enteros que cuenta las comparaciones, intercambios y escrituras que hace un ordenamiento.
+ * <p>Es lo que reciben las versiones instrumentadas de las estrategias ({@link EstrategiaOrdenamientoContado}):
+ * el mismo algoritmo que {@code ordenar(int[])}, pero cada acceso que cuenta pasa por aquí. La clase es final
+ * y sus métodos triviales, así que el JIT los integra en el ciclo del algoritmo y el costo es solo el de
+ * sumar al contador. Las versiones sin instrumentar no usan esta clase, por lo que sus tiempos no cambian.
+ * <p>Los auxiliares creados con {@link #auxiliar(int)} comparten el contador, así que las escrituras en
+ * búferes de mezcla o de cubetas también se cuentan. Leer no se cuenta.
+ */
+public final class ArregloContado
+    {
+        private final int[] datos;
+        private final ContadorOperaciones contador;
+
+        /**
+         * @param datos Arreglo a ordenar (se ordena en su lugar).
+         */
+        public ArregloContado(int[] datos)
+            {
+                this(datos, new ContadorOperaciones());
+            }
+
+        private ArregloContado(int[] datos, ContadorOperaciones contador)
+            {
+                this.datos = datos;
+                this.contador = contador;
+            }
+
+        /**
+         * @param n Número de elementos.
+         * @return Un arreglo auxiliar nuevo que suma al mismo contador.
+         */
+        public ArregloContado auxiliar(int n)
+            {
+                return new ArregloContado(new int[n], contador);
+            }
+
+        public int longitud()
+            {
+                return datos.length;
+            }
+
+        public int leer(int i)
+            {
+                return datos[i];
+            }
+
+        public void escribir(int i, int valor)
+            {
+                contador.sumarEscrituras(1);
+                datos[i] = valor;
+            }
+
+        /**
+         * Compara dos claves ya leídas y cuenta una comparación.
+         * @return {@code x < y}
+         */
+        public boolean menor(int x, int y)
+            {
+                contador.sumarComparacion();
+                return x < y;
+            }
+
+        /**
+         * Compara dos claves ya leídas y cuenta una comparación.
+         * @return {@code x <= y}
+         */
+        public boolean menorOIgual(int x, int y)
+            {
+                contador.sumarComparacion();
+                return x <= y;
+            }
+
+        public void intercambiar(int i, int j)
+            {
+                contador.sumarIntercambio();
+                int tmp = datos[i];
+                datos[i] = datos[j];
+                datos[j] = tmp;
+            }
+
+        /**
+         * Copia un tramo con {@link System#arraycopy}, contando una escritura por elemento.
+         */
+        public void copiarA(int desde, ArregloContado destino, int destinoDesde, int cantidad)
+            {
+                contador.sumarEscrituras(cantidad);
+                System.arraycopy(datos, desde, destino.datos, destinoDesde, cantidad);
+            }
+
+        /**
+         * @return El arreglo de enteros (leerlo o escribirlo directamente no se cuenta).
+         */
+        public int[] getDatos()
+            {
+                return datos;
+            }
+
+        public ContadorOperaciones getContador()
+            {
+                return contador;
+            }
+    }
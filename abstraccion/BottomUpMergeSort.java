@@ -0,0 +1,444 @@
+package abstraccion;
+
+/**
+ * Implementación de Merge Sort ascendente (bottom-up) sin asignación de memoria por ordenamiento.
+ * <p>A diferencia de {@link MergeSort}, que crea dos arreglos en cada mezcla, esta versión:
+ * <ul>
+ * <li>Ordena tramos pequeños con inserción directa.</li>
+ * <li>Mezcla los tramos por pasadas, alternando ("ping-pong") entre el arreglo y un búfer auxiliar.</li>
+ * <li>Conserva el búfer entre llamadas (uno por tipo de elemento) y solo lo agranda cuando llega un arreglo más grande,
+ * o antes de tiempo con {@link #reservar(TipoClave, int)}.</li>
+ * </ul>
+ * Por conservar el búfer, una misma instancia no debe usarse desde varios hilos a la vez.
+ */
+public class BottomUpMergeSort implements EstrategiaOrdenamiento
+    {
+        // Tamaño de los tramos iniciales que se ordenan por inserción
+        private static final int TRAMO_INSERCION = 32;
+
+        private int[] buffer = new int[0];
+        private long[] bufferLong = new long[0];
+        private double[] bufferDouble = new double[0];
+        private short[] bufferShort = new short[0];
+
+        @Override
+        public void reservar(TipoClave tipo, int n)
+            {
+                switch (tipo)
+                    {
+                        case INT:
+                            if (buffer.length < n)
+                                buffer = new int[n];
+                            break;
+                        case LONG:
+                            if (bufferLong.length < n)
+                                bufferLong = new long[n];
+                            break;
+                        case DOUBLE:
+                            if (bufferDouble.length < n)
+                                bufferDouble = new double[n];
+                            break;
+                        case SHORT:
+                            if (bufferShort.length < n)
+                                bufferShort = new short[n];
+                            break;
+                    }
+            }
+
+        @Override
+        public void ordenar(int[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                // 1. Tramos iniciales ordenados por inserción
+                for (int lo = 0; lo < n; lo += TRAMO_INSERCION)
+                    {
+                        insercion(arreglo, lo, Math.min(lo + TRAMO_INSERCION, n));
+                    }
+
+                if (n <= TRAMO_INSERCION)
+                    return;
+
+                if (buffer.length < n)
+                    buffer = new int[n];
+
+                // 2. Pasadas de mezcla: cada una duplica el ancho de los tramos y cambia de origen/destino
+                int[] origen = arreglo;
+                int[] destino = buffer;
+                for (int ancho = TRAMO_INSERCION; ancho < n; ancho *= 2)
+                    {
+                        for (int lo = 0; lo < n; lo += 2 * ancho)
+                            {
+                                int m = Math.min(lo + ancho, n);
+                                int hi = Math.min(lo + 2 * ancho, n);
+                                mezclar(origen, destino, lo, m, hi);
+                            }
+                        int[] tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                // 3. Si la última pasada quedó en el búfer, se copia de vuelta
+                if (origen != arreglo)
+                    System.arraycopy(origen, 0, arreglo, 0, n);
+            }
+
+        // Inserción directa sobre a[lo, hi)
+        private static void insercion(int[] a, int lo, int hi)
+            {
+                for (int i = lo + 1; i < hi; i++)
+                    {
+                        int key = a[i];
+                        int j = i - 1;
+                        while (j >= lo && a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Mezcla origen[lo, m) y origen[m, hi) en destino[lo, hi)
+        private static void mezclar(int[] origen, int[] destino, int lo, int m, int hi)
+            {
+                // Si los tramos ya están en orden (o solo hay uno) basta con copiar
+                if (m >= hi || origen[m - 1] <= origen[m])
+                    {
+                        System.arraycopy(origen, lo, destino, lo, hi - lo);
+                        return;
+                    }
+
+                int i = lo, j = m, k = lo;
+                while (i < m && j < hi)
+                    {
+                        if (origen[i] <= origen[j])
+                            destino[k++] = origen[i++];
+                        else destino[k++] = origen[j++];
+                    }
+                while (i < m)
+                    destino[k++] = origen[i++];
+                while (j < hi)
+                    destino[k++] = origen[j++];
+            }
+
+        // Versiones para long[], double[] y short[]: el mismo algoritmo con el tipo de elemento cambiado
+
+        @Override
+        public void ordenar(long[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                // 1. Tramos iniciales ordenados por inserción
+                for (int lo = 0; lo < n; lo += TRAMO_INSERCION)
+                    {
+                        insercion(arreglo, lo, Math.min(lo + TRAMO_INSERCION, n));
+                    }
+
+                if (n <= TRAMO_INSERCION)
+                    return;
+
+                if (bufferLong.length < n)
+                    bufferLong = new long[n];
+
+                // 2. Pasadas de mezcla: cada una duplica el ancho de los tramos y cambia de origen/destino
+                long[] origen = arreglo;
+                long[] destino = bufferLong;
+                for (int ancho = TRAMO_INSERCION; ancho < n; ancho *= 2)
+                    {
+                        for (int lo = 0; lo < n; lo += 2 * ancho)
+                            {
+                                int m = Math.min(lo + ancho, n);
+                                int hi = Math.min(lo + 2 * ancho, n);
+                                mezclar(origen, destino, lo, m, hi);
+                            }
+                        long[] tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                // 3. Si la última pasada quedó en el búfer, se copia de vuelta
+                if (origen != arreglo)
+                    System.arraycopy(origen, 0, arreglo, 0, n);
+            }
+
+        private static void insercion(long[] a, int lo, int hi)
+            {
+                for (int i = lo + 1; i < hi; i++)
+                    {
+                        long key = a[i];
+                        int j = i - 1;
+                        while (j >= lo && a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        private static void mezclar(long[] origen, long[] destino, int lo, int m, int hi)
+            {
+                // Si los tramos ya están en orden (o solo hay uno) basta con copiar
+                if (m >= hi || origen[m - 1] <= origen[m])
+                    {
+                        System.arraycopy(origen, lo, destino, lo, hi - lo);
+                        return;
+                    }
+
+                int i = lo, j = m, k = lo;
+                while (i < m && j < hi)
+                    {
+                        if (origen[i] <= origen[j])
+                            destino[k++] = origen[i++];
+                        else destino[k++] = origen[j++];
+                    }
+                while (i < m)
+                    destino[k++] = origen[i++];
+                while (j < hi)
+                    destino[k++] = origen[j++];
+            }
+
+        @Override
+        public void ordenar(double[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int n = OrdenDouble.moverNaNAlFinal(arreglo);
+
+                // 1. Tramos iniciales ordenados por inserción
+                for (int lo = 0; lo < n; lo += TRAMO_INSERCION)
+                    {
+                        insercion(arreglo, lo, Math.min(lo + TRAMO_INSERCION, n));
+                    }
+
+                if (n <= TRAMO_INSERCION)
+                    {
+                        OrdenDouble.colocarCerosNegativos(arreglo, n);
+                        return;
+                    }
+
+                if (bufferDouble.length < n)
+                    bufferDouble = new double[n];
+
+                // 2. Pasadas de mezcla: cada una duplica el ancho de los tramos y cambia de origen/destino
+                double[] origen = arreglo;
+                double[] destino = bufferDouble;
+                for (int ancho = TRAMO_INSERCION; ancho < n; ancho *= 2)
+                    {
+                        for (int lo = 0; lo < n; lo += 2 * ancho)
+                            {
+                                int m = Math.min(lo + ancho, n);
+                                int hi = Math.min(lo + 2 * ancho, n);
+                                mezclar(origen, destino, lo, m, hi);
+                            }
+                        double[] tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                // 3. Si la última pasada quedó en el búfer, se copia de vuelta
+                if (origen != arreglo)
+                    System.arraycopy(origen, 0, arreglo, 0, n);
+
+                OrdenDouble.colocarCerosNegativos(arreglo, n);
+            }
+
+        private static void insercion(double[] a, int lo, int hi)
+            {
+                for (int i = lo + 1; i < hi; i++)
+                    {
+                        double key = a[i];
+                        int j = i - 1;
+                        while (j >= lo && a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        private static void mezclar(double[] origen, double[] destino, int lo, int m, int hi)
+            {
+                // Si los tramos ya están en orden (o solo hay uno) basta con copiar
+                if (m >= hi || origen[m - 1] <= origen[m])
+                    {
+                        System.arraycopy(origen, lo, destino, lo, hi - lo);
+                        return;
+                    }
+
+                int i = lo, j = m, k = lo;
+                while (i < m && j < hi)
+                    {
+                        if (origen[i] <= origen[j])
+                            destino[k++] = origen[i++];
+                        else destino[k++] = origen[j++];
+                    }
+                while (i < m)
+                    destino[k++] = origen[i++];
+                while (j < hi)
+                    destino[k++] = origen[j++];
+            }
+
+        @Override
+        public void ordenar(short[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                // 1. Tramos iniciales ordenados por inserción
+                for (int lo = 0; lo < n; lo += TRAMO_INSERCION)
+                    {
+                        insercion(arreglo, lo, Math.min(lo + TRAMO_INSERCION, n));
+                    }
+
+                if (n <= TRAMO_INSERCION)
+                    return;
+
+                if (bufferShort.length < n)
+                    bufferShort = new short[n];
+
+                // 2. Pasadas de mezcla: cada una duplica el ancho de los tramos y cambia de origen/destino
+                short[] origen = arreglo;
+                short[] destino = bufferShort;
+                for (int ancho = TRAMO_INSERCION; ancho < n; ancho *= 2)
+                    {
+                        for (int lo = 0; lo < n; lo += 2 * ancho)
+                            {
+                                int m = Math.min(lo + ancho, n);
+                                int hi = Math.min(lo + 2 * ancho, n);
+                                mezclar(origen, destino, lo, m, hi);
+                            }
+                        short[] tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                // 3. Si la última pasada quedó en el búfer, se copia de vuelta
+                if (origen != arreglo)
+                    System.arraycopy(origen, 0, arreglo, 0, n);
+            }
+
+        private static void insercion(short[] a, int lo, int hi)
+            {
+                for (int i = lo + 1; i < hi; i++)
+                    {
+                        short key = a[i];
+                        int j = i - 1;
+                        while (j >= lo && a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        private static void mezclar(short[] origen, short[] destino, int lo, int m, int hi)
+            {
+                // Si los tramos ya están en orden (o solo hay uno) basta con copiar
+                if (m >= hi || origen[m - 1] <= origen[m])
+                    {
+                        System.arraycopy(origen, lo, destino, lo, hi - lo);
+                        return;
+                    }
+
+                int i = lo, j = m, k = lo;
+                while (i < m && j < hi)
+                    {
+                        if (origen[i] <= origen[j])
+                            destino[k++] = origen[i++];
+                        else destino[k++] = origen[j++];
+                    }
+                while (i < m)
+                    destino[k++] = origen[i++];
+                while (j < hi)
+                    destino[k++] = origen[j++];
+            }
+
+        // Versión instrumentada: el mismo algoritmo contando comparaciones y escrituras (con un auxiliar propio)
+
+        @Override
+        public void ordenar(ArregloContado arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.longitud();
+                if (n < 2)
+                    return;
+
+                for (int lo = 0; lo < n; lo += TRAMO_INSERCION)
+                    {
+                        insercion(arreglo, lo, Math.min(lo + TRAMO_INSERCION, n));
+                    }
+
+                if (n <= TRAMO_INSERCION)
+                    return;
+
+                ArregloContado origen = arreglo;
+                ArregloContado destino = arreglo.auxiliar(n);
+                for (int ancho = TRAMO_INSERCION; ancho < n; ancho *= 2)
+                    {
+                        for (int lo = 0; lo < n; lo += 2 * ancho)
+                            {
+                                int m = Math.min(lo + ancho, n);
+                                int hi = Math.min(lo + 2 * ancho, n);
+                                mezclar(origen, destino, lo, m, hi);
+                            }
+                        ArregloContado tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                if (origen != arreglo)
+                    origen.copiarA(0, arreglo, 0, n);
+            }
+
+        private static void insercion(ArregloContado a, int lo, int hi)
+            {
+                for (int i = lo + 1; i < hi; i++)
+                    {
+                        int key = a.leer(i);
+                        int j = i - 1;
+                        while (j >= lo && a.menor(key, a.leer(j)))
+                            {
+                                a.escribir(j + 1, a.leer(j));
+                                j--;
+                            }
+                        a.escribir(j + 1, key);
+                    }
+            }
+
+        private static void mezclar(ArregloContado origen, ArregloContado destino, int lo, int m, int hi)
+            {
+                if (m >= hi || origen.menorOIgual(origen.leer(m - 1), origen.leer(m)))
+                    {
+                        origen.copiarA(lo, destino, lo, hi - lo);
+                        return;
+                    }
+
+                int i = lo, j = m, k = lo;
+                while (i < m && j < hi)
+                    {
+                        if (origen.menorOIgual(origen.leer(i), origen.leer(j)))
+                            destino.escribir(k++, origen.leer(i++));
+                        else destino.escribir(k++, origen.leer(j++));
+                    }
+                while (i < m)
+                    destino.escribir(k++, origen.leer(i++));
+                while (j < hi)
+                    destino.escribir(k++, origen.leer(j++));
+            }
+
+        @Override
+        public String getNombre()
+            {
+                return "BottomUpMergeSort";
+            }
+    }
@@ -27,9 +27,106 @@ public class BubbleSort implements EstrategiaOrdenamiento
                     }
             }
 
+        @Override
+        public void ordenar(long[] arreglo) 
+            {
+                int n = arreglo.length;
+                boolean swapped;
+                for (int i = 0; i < n - 1; i++) 
+                    {
+                        swapped = false;
+                        for (int j = 0; j < n - 1 - i; j++) 
+                            {
+                                if (arreglo[j] > arreglo[j + 1]) 
+                                    {
+                                        long tmp = arreglo[j];
+                                        arreglo[j] = arreglo[j + 1];
+                                        arreglo[j + 1] = tmp;
+                                        swapped = true;
+                                    }
+                            }
+                        if (!swapped) break;
+                    }
+            }
+
+        @Override
+        public void ordenar(double[] arreglo) 
+            {
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int n = OrdenDouble.moverNaNAlFinal(arreglo);
+                boolean swapped;
+                for (int i = 0; i < n - 1; i++) 
+                    {
+                        swapped = false;
+                        for (int j = 0; j < n - 1 - i; j++) 
+                            {
+                                if (arreglo[j] > arreglo[j + 1]) 
+                                    {
+                                        double tmp = arreglo[j];
+                                        arreglo[j] = arreglo[j + 1];
+                                        arreglo[j + 1] = tmp;
+                                        swapped = true;
+                                    }
+                            }
+                        if (!swapped) break;
+                    }
+                OrdenDouble.colocarCerosNegativos(arreglo, n);
+            }
+
+        @Override
+        public void ordenar(short[] arreglo) 
+            {
+                int n = arreglo.length;
+                boolean swapped;
+                for (int i = 0; i < n - 1; i++) 
+                    {
+                        swapped = false;
+                        for (int j = 0; j < n - 1 - i; j++) 
+                            {
+                                if (arreglo[j] > arreglo[j + 1]) 
+                                    {
+                                        short tmp = arreglo[j];
+                                        arreglo[j] = arreglo[j + 1];
+                                        arreglo[j + 1] = tmp;
+                                        swapped = true;
+                                    }
+                            }
+                        if (!swapped) break;
+                    }
+            }
+
+        // Versión instrumentada: el mismo algoritmo contando comparaciones, intercambios y escrituras
+
+        @Override
+        public void ordenar(ArregloContado arreglo) 
+            {
+                int n = arreglo.longitud();
+                boolean swapped;
+                for (int i = 0; i < n - 1; i++) 
+                    {
+                        swapped = false;
+                        for (int j = 0; j < n - 1 - i; j++) 
+                            {
+                                if (arreglo.menor(arreglo.leer(j + 1), arreglo.leer(j))) 
+                                    {
+                                        arreglo.intercambiar(j, j + 1);
+                                        swapped = true;
+                                    }
+                            }
+                        if (!swapped) break;
+                    }
+            }
+
         @Override
         public String getNombre() 
             {
                 return "BubbleSort";
             }
+
+        @Override
+        public Complejidad getComplejidad(String caso)
+            {
+                // Con el arreglo ya ordenado basta una pasada
+                return "Mejor".equals(caso) ? Complejidad.LINEAL : Complejidad.CUADRATICA;
+            }
     }
@@ -0,0 +1,122 @@
+package abstraccion;
+
+/**
+ * Una celda (algoritmo, caso, tamaño y tipo de clave) medida en dos corridas del historial
+ * (o en una corrida base y la actual, ver {@link VerificadorRegresiones}).
+ * Si la celda falta en alguna de las dos, el resultado correspondiente es {@code null}.
+ * <p>La diferencia de promedios se prueba con la t de Welch: usa el promedio, la desviación estándar y
+ * las repeticiones de cada lado, sin suponer que las dos varianzas sean iguales.
+ */
+public final class ComparacionCelda
+    {
+        private final Resultado anterior;
+        private final Resultado nuevo;
+
+        ComparacionCelda(Resultado anterior, Resultado nuevo)
+            {
+                this.anterior = anterior;
+                this.nuevo = nuevo;
+            }
+
+        private Resultado cualquiera() {
+            return anterior != null ? anterior : nuevo;
+        }
+
+        public String getAlgoritmo() {
+            return cualquiera().getAlgoritmo();
+        }
+
+        public String getCaso() {
+            return cualquiera().getCaso();
+        }
+
+        public int getTamano() {
+            return cualquiera().getTamano();
+        }
+
+        public String getTipoClave() {
+            return cualquiera().getTipoClave();
+        }
+
+        public String getSerie() {
+            return cualquiera().getSerie();
+        }
+
+        /**
+         * @return El resultado de la primera corrida, o null si no midió esta celda.
+         */
+        public Resultado getAnterior() {
+            return anterior;
+        }
+
+        /**
+         * @return El resultado de la segunda corrida, o null si no midió esta celda.
+         */
+        public Resultado getNuevo() {
+            return nuevo;
+        }
+
+        /**
+         * @return Cambio del tiempo promedio en porcentaje (negativo = más rápido en la segunda corrida),
+         *         o NaN si la celda falta en alguna de las dos.
+         */
+        public double getCambioPorcentual() {
+            if (anterior == null || nuevo == null || anterior.getTiempoMs() <= 0)
+                return Double.NaN;
+            return (nuevo.getTiempoMs() - anterior.getTiempoMs()) / anterior.getTiempoMs() * 100.0;
+        }
+
+        /**
+         * @return {@code true} si los dos lados tienen promedio, desviación y al menos dos repeticiones medidas,
+         *         es decir, si se puede aplicar la prueba de Welch.
+         */
+        public boolean isComparable() {
+            return conEstadistica(anterior) && conEstadistica(nuevo);
+        }
+
+        private static boolean conEstadistica(Resultado r) {
+            return r != null && !r.isExtrapolado() && r.getRepeticiones() >= 2
+                && r.getTiempoMs() > 0 && !Double.isNaN(r.getDesviacionMs());
+        }
+
+        // Varianza del promedio de un lado: s² / n
+        private static double varianzaPromedio(Resultado r) {
+            double s = r.getDesviacionMs();
+            return s * s / r.getRepeticiones();
+        }
+
+        /**
+         * @return El estadístico t de Welch (positivo = más lento en la segunda corrida), o NaN si no es comparable.
+         */
+        public double getEstadisticoT() {
+            if (!isComparable())
+                return Double.NaN;
+            double diferencia = nuevo.getTiempoMs() - anterior.getTiempoMs();
+            double error = Math.sqrt(varianzaPromedio(anterior) + varianzaPromedio(nuevo));
+            if (error == 0)
+                return diferencia == 0 ? 0.0 : Math.copySign(Double.POSITIVE_INFINITY, diferencia);
+            return diferencia / error;
+        }
+
+        /**
+         * @return Grados de libertad de Welch-Satterthwaite, o NaN si no es comparable.
+         */
+        public double getGradosLibertad() {
+            if (!isComparable())
+                return Double.NaN;
+            double va = varianzaPromedio(anterior);
+            double vn = varianzaPromedio(nuevo);
+            double denominador = va * va / (anterior.getRepeticiones() - 1) + vn * vn / (nuevo.getRepeticiones() - 1);
+            if (denominador == 0)
+                return anterior.getRepeticiones() + nuevo.getRepeticiones() - 2;
+            return (va + vn) * (va + vn) / denominador;
+        }
+
+        /**
+         * @return {@code true} si la diferencia de promedios es significativa al 95 % (prueba de Welch de dos colas).
+         */
+        public boolean isSignificativa() {
+            double t = getEstadisticoT();
+            return !Double.isNaN(t) && Math.abs(t) > HistogramaLatencias.cuantilT975(getGradosLibertad());
+        }
+    }
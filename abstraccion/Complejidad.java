@@ -0,0 +1,42 @@
+package abstraccion;
+
+/**
+ * Clases de complejidad usadas para estimar cuánto tardará una celda del análisis.
+ * <p>Por sí solas no predicen tiempos reales, solo ordenan las celdas de mayor a menor costo
+ * para repartirlas mejor entre los hilos; {@link AjusteComplejidad} les ajusta una constante
+ * con los tiempos medidos para predecir.
+ */
+public enum Complejidad
+    {
+        LINEAL
+            {
+                @Override
+                public double costo(double n)
+                    {
+                        return n;
+                    }
+            },
+        N_LOG_N
+            {
+                @Override
+                public double costo(double n)
+                    {
+                        return n * (Math.log(Math.max(n, 2)) / Math.log(2));
+                    }
+            },
+        CUADRATICA
+            {
+                @Override
+                public double costo(double n)
+                    {
+                        return n * n;
+                    }
+            };
+
+        /**
+         * Costo relativo de ordenar n elementos.
+         * @param n Tamaño del arreglo (puede pasar del máximo de int al predecir).
+         * @return Número aproximado de operaciones (sin constante).
+         */
+        public abstract double costo(double n);
+    }
@@ -0,0 +1,61 @@
+package abstraccion;
+
+/**
+ * Cuenta las operaciones de un ordenamiento instrumentado (ver {@link ArregloContado}).
+ * <ul>
+ * <li>Comparaciones: entre dos claves (incluye las comparaciones contra el pivote, el mínimo o el máximo).</li>
+ * <li>Intercambios: pares de elementos que se intercambian.</li>
+ * <li>Escrituras: elementos escritos en el arreglo o en sus auxiliares; cada intercambio son dos.</li>
+ * </ul>
+ * Los contadores no son atómicos: cada ordenamiento instrumentado corre en un solo hilo.
+ */
+public final class ContadorOperaciones
+    {
+        private long comparaciones;
+        private long intercambios;
+        private long escrituras;
+
+        void sumarComparacion()
+            {
+                comparaciones++;
+            }
+
+        void sumarIntercambio()
+            {
+                intercambios++;
+                escrituras += 2;
+            }
+
+        void sumarEscrituras(long cantidad)
+            {
+                escrituras += cantidad;
+            }
+
+        public long getComparaciones() {
+            return comparaciones;
+        }
+
+        public long getIntercambios() {
+            return intercambios;
+        }
+
+        public long getEscrituras() {
+            return escrituras;
+        }
+
+        /**
+         * Pone los tres contadores en cero.
+         */
+        public void reiniciar()
+            {
+                comparaciones = 0;
+                intercambios = 0;
+                escrituras = 0;
+            }
+
+        @Override
+        public String toString()
+            {
+                return String.format("%,d comparaciones, %,d intercambios, %,d escrituras", comparaciones, intercambios, escrituras);
+            }
+    }
@@ -0,0 +1,91 @@
+package abstraccion;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Instantánea del tiempo de CPU y los bytes asignados de los hilos trabajadores del pool común de ForkJoin.
+ * <p>Las estrategias paralelas hacen casi todo su trabajo en esos hilos, así que los contadores del hilo
+ * que llama no bastan: la diferencia entre dos instantáneas ({@link #cpuNsDesde(ContadoresPoolComun)} y
+ * {@link #bytesDesde(ContadoresPoolComun)}) se suma a la del hilo actual. Los trabajadores que nacen entre
+ * las dos instantáneas cuentan completos (sus contadores empiezan en 0); el trabajo de los que terminan en
+ * medio se pierde, pero el pool común solo retira hilos tras un minuto ocioso.
+ * <p>Los contadores son de cada hilo, no de cada tarea: si otra celda usa el pool al mismo tiempo, su
+ * trabajo también se suma.
+ */
+final class ContadoresPoolComun
+    {
+        private final long[] ids;
+        private final long[] cpuNs;
+        private final long[] bytes;
+
+        private ContadoresPoolComun(long[] ids)
+            {
+                this.ids = ids;
+                this.cpuNs = MedidorRecursos.tiemposCpuNs(ids);
+                this.bytes = MedidorAsignacion.bytesAsignados(ids);
+            }
+
+        /**
+         * @return Los contadores actuales de los trabajadores vivos del pool común (sin el hilo actual).
+         */
+        static ContadoresPoolComun leer()
+            {
+                ThreadGroup raiz = Thread.currentThread().getThreadGroup();
+                while (raiz.getParent() != null)
+                    raiz = raiz.getParent();
+
+                Thread[] hilos = new Thread[raiz.activeCount() + 16];
+                int cantidad = raiz.enumerate(hilos, true);
+                ForkJoinPool comun = ForkJoinPool.commonPool();
+                long[] ids = new long[cantidad];
+                int trabajadores = 0;
+                for (int i = 0; i < cantidad; i++)
+                    {
+                        Thread hilo = hilos[i];
+                        if (hilo != Thread.currentThread() && hilo instanceof ForkJoinWorkerThread
+                                && ((ForkJoinWorkerThread) hilo).getPool() == comun)
+                            ids[trabajadores++] = hilo.getId();
+                    }
+                return new ContadoresPoolComun(Arrays.copyOf(ids, trabajadores));
+            }
+
+        /**
+         * @return Nanosegundos de CPU de los trabajadores desde la instantánea anterior, o -1 si no se puede medir.
+         */
+        long cpuNsDesde(ContadoresPoolComun antes)
+            {
+                return cpuNs == null ? -1L : diferencia(antes.ids, antes.cpuNs, cpuNs);
+            }
+
+        /**
+         * @return Bytes asignados por los trabajadores desde la instantánea anterior, o -1 si no se puede medir.
+         */
+        long bytesDesde(ContadoresPoolComun antes)
+            {
+                return bytes == null ? -1L : diferencia(antes.ids, antes.bytes, bytes);
+            }
+
+        // Suma, por hilo vivo ahora, su contador actual menos el de antes (0 si el hilo no existía)
+        private long diferencia(long[] idsAntes, long[] valoresAntes, long[] valores)
+            {
+                long total = 0;
+                for (int i = 0; i < ids.length; i++)
+                    {
+                        if (valores[i] < 0)
+                            continue; // Terminó entre la enumeración y la lectura
+                        long previo = 0;
+                        for (int j = 0; j < idsAntes.length; j++)
+                            {
+                                if (idsAntes[j] == ids[i])
+                                    {
+                                        previo = Math.max(0, valoresAntes[j]);
+                                        break;
+                                    }
+                            }
+                        total += valores[i] - previo;
+                    }
+                return total;
+            }
+    }
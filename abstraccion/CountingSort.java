@@ -0,0 +1,185 @@
+package abstraccion;
+
+/**
+ * Implementación de Counting Sort para enteros en un rango acotado.
+ * <p>Busca el mínimo y el máximo, cuenta las apariciones de cada valor y reescribe el arreglo en orden:
+ * O(n + k) para k = máximo - mínimo + 1, sin comparaciones entre elementos. Con los datos de
+ * {@link Arreglo} (valores 0-9999) k es fijo y el costo es lineal en n.
+ * <p>Si el rango es demasiado grande respecto a n, la tabla de conteos costaría más que ordenar,
+ * así que se delega en {@link RadixSort}.
+ * <p>Con short el rango nunca pasa de 65536 valores y siempre se cuenta. Los double no tienen un rango
+ * de valores enumerable, así que siempre se ordenan con {@link RadixSort} (por la clave de bits).
+ */
+public class CountingSort implements EstrategiaOrdenamiento
+    {
+        // Rango máximo absoluto (16 MB de conteos) y rango máximo relativo a n
+        private static final long RANGO_MAXIMO = 1 << 22;
+        private static final int FACTOR_RANGO = 8;
+        // Rango que siempre se acepta aunque n sea pequeño (p. ej. 0-9999 con n = 100)
+        private static final int CUBETAS_MINIMAS = 1 << 16;
+
+        private final RadixSort respaldo = new RadixSort();
+
+        @Override
+        public void ordenar(int[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                int min = arreglo[0];
+                int max = arreglo[0];
+                for (int i = 1; i < n; i++)
+                    {
+                        int v = arreglo[i];
+                        if (v < min) min = v;
+                        if (v > max) max = v;
+                    }
+
+                long rango = (long) max - min + 1;
+                if (rango > RANGO_MAXIMO || rango > (long) FACTOR_RANGO * n + CUBETAS_MINIMAS)
+                    {
+                        respaldo.ordenar(arreglo);
+                        return;
+                    }
+
+                int[] conteo = new int[(int) rango];
+                for (int i = 0; i < n; i++)
+                    conteo[arreglo[i] - min]++;
+
+                int k = 0;
+                for (int c = 0; c < conteo.length; c++)
+                    {
+                        int veces = conteo[c];
+                        int valor = c + min;
+                        while (veces-- > 0)
+                            arreglo[k++] = valor;
+                    }
+            }
+
+        @Override
+        public void ordenar(long[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                long min = arreglo[0];
+                long max = arreglo[0];
+                for (int i = 1; i < n; i++)
+                    {
+                        long v = arreglo[i];
+                        if (v < min) min = v;
+                        if (v > max) max = v;
+                    }
+
+                // max - min puede desbordar con valores de signo opuesto: en ese caso el rango es enorme
+                long rango = max - min + 1;
+                if (rango <= 0 || rango > RANGO_MAXIMO || rango > (long) FACTOR_RANGO * n + CUBETAS_MINIMAS)
+                    {
+                        respaldo.ordenar(arreglo);
+                        return;
+                    }
+
+                int[] conteo = new int[(int) rango];
+                for (int i = 0; i < n; i++)
+                    conteo[(int) (arreglo[i] - min)]++;
+
+                int k = 0;
+                for (int c = 0; c < conteo.length; c++)
+                    {
+                        int veces = conteo[c];
+                        long valor = c + min;
+                        while (veces-- > 0)
+                            arreglo[k++] = valor;
+                    }
+            }
+
+        @Override
+        public void ordenar(double[] arreglo)
+            {
+                respaldo.ordenar(arreglo);
+            }
+
+        @Override
+        public void ordenar(short[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                int min = arreglo[0];
+                int max = arreglo[0];
+                for (int i = 1; i < n; i++)
+                    {
+                        int v = arreglo[i];
+                        if (v < min) min = v;
+                        if (v > max) max = v;
+                    }
+
+                int[] conteo = new int[max - min + 1];
+                for (int i = 0; i < n; i++)
+                    conteo[arreglo[i] - min]++;
+
+                int k = 0;
+                for (int c = 0; c < conteo.length; c++)
+                    {
+                        int veces = conteo[c];
+                        short valor = (short) (c + min);
+                        while (veces-- > 0)
+                            arreglo[k++] = valor;
+                    }
+            }
+
+        // Versión instrumentada: el mismo algoritmo; las únicas comparaciones son las del mínimo y el máximo
+
+        @Override
+        public void ordenar(ArregloContado arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.longitud();
+                if (n < 2)
+                    return;
+
+                int min = arreglo.leer(0);
+                int max = arreglo.leer(0);
+                for (int i = 1; i < n; i++)
+                    {
+                        int v = arreglo.leer(i);
+                        if (arreglo.menor(v, min)) min = v;
+                        if (arreglo.menor(max, v)) max = v;
+                    }
+
+                long rango = (long) max - min + 1;
+                if (rango > RANGO_MAXIMO || rango > (long) FACTOR_RANGO * n + CUBETAS_MINIMAS)
+                    {
+                        respaldo.ordenar(arreglo);
+                        return;
+                    }
+
+                // La tabla de conteos no guarda elementos: sus incrementos no son escrituras del arreglo
+                int[] conteo = new int[(int) rango];
+                for (int i = 0; i < n; i++)
+                    conteo[arreglo.leer(i) - min]++;
+
+                int k = 0;
+                for (int c = 0; c < conteo.length; c++)
+                    {
+                        int veces = conteo[c];
+                        int valor = c + min;
+                        while (veces-- > 0)
+                            arreglo.escribir(k++, valor);
+                    }
+            }
+
+        @Override
+        public String getNombre()
+            {
+                return "CountingSort";
+            }
+
+        @Override
+        public Complejidad getComplejidad(String caso)
+            {
+                return Complejidad.LINEAL;
+            }
+    }
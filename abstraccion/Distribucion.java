@@ -0,0 +1,354 @@
+package abstraccion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Distribución de los datos de entrada: cada una es un caso del análisis ("Promedio", "Mejor", "Peor",
+ * "CasiOrdenado", ...).
+ * <p>Todas generan valores entre 0 y {@value #VALOR_MAXIMO} a partir de una semilla explícita, así que
+ * la misma semilla produce siempre los mismos datos. Las que usan números aleatorios parten el arreglo
+ * en bloques fijos, cada uno con su propio {@link SplittableRandom} derivado de la semilla, y los llenan
+ * en paralelo; el resultado no depende del número de hilos.
+ * <p>Las distribuciones se registran por nombre con {@link #registrar(Distribucion)}; el análisis y la
+ * interfaz usan cualquier distribución registrada como caso.
+ */
+public abstract class Distribucion
+    {
+        public static final int VALOR_MAXIMO = 9999;
+
+        // Elementos por bloque del llenado en paralelo (cada bloque tiene su generador)
+        private static final int TAMANO_BLOQUE = 1 << 16;
+
+        /** Valores uniformes, el caso promedio original. */
+        public static final Distribucion PROMEDIO = new Distribucion("Promedio", "Aleatorio uniforme")
+            {
+                @Override
+                public void llenar(int[] destino, long semilla)
+                    {
+                        llenarUniforme(destino, semilla, VALOR_MAXIMO + 1);
+                    }
+            };
+
+        /** Los valores del caso promedio ordenados ascendentemente. */
+        public static final Distribucion MEJOR = new Distribucion("Mejor", "Ordenado ascendentemente")
+            {
+                @Override
+                public void llenar(int[] destino, long semilla)
+                    {
+                        PROMEDIO.llenar(destino, semilla);
+                        Arrays.parallelSort(destino);
+                    }
+            };
+
+        /** Los valores del caso promedio ordenados descendentemente. */
+        public static final Distribucion PEOR = new Distribucion("Peor", "Ordenado descendentemente")
+            {
+                @Override
+                public void llenar(int[] destino, long semilla)
+                    {
+                        MEJOR.llenar(destino, semilla);
+                        invertir(destino);
+                    }
+            };
+
+        private static final Map<String, Distribucion> REGISTRO = new LinkedHashMap<>();
+
+        static
+            {
+                registrar(PROMEDIO);
+                registrar(MEJOR);
+                registrar(PEOR);
+                registrar(casiOrdenado("CasiOrdenado", 0.01));
+                registrar(pocosUnicos("PocosUnicos", 10));
+                registrar(dienteDeSierra("DienteSierra", 8));
+                registrar(organo("Organo"));
+                registrar(zipf("Zipf", 1.0));
+                registrar(iguales("Iguales"));
+            }
+
+        private final String nombre;
+        private final String descripcion;
+
+        protected Distribucion(String nombre, String descripcion)
+            {
+                this.nombre = nombre;
+                this.descripcion = descripcion;
+            }
+
+        /**
+         * Llena el arreglo completo con esta distribución.
+         * @param destino Arreglo a llenar; su longitud es el tamaño del caso.
+         * @param semilla Semilla; la misma semilla y longitud dan siempre los mismos valores.
+         */
+        public abstract void llenar(int[] destino, long semilla);
+
+        /**
+         * @param n Número de elementos.
+         * @param semilla Semilla del generador.
+         * @return Un arreglo nuevo con esta distribución.
+         */
+        public int[] generar(int n, long semilla)
+            {
+                int[] datos = new int[n];
+                llenar(datos, semilla);
+                return datos;
+            }
+
+        public String getNombre()
+            {
+                return nombre;
+            }
+
+        public String getDescripcion()
+            {
+                return descripcion;
+            }
+
+        @Override
+        public String toString()
+            {
+                return nombre;
+            }
+
+        // ---- Registro ----
+
+        /**
+         * Registra una distribución para usarla como caso del análisis. Si ya había una con el mismo nombre, la reemplaza.
+         * @param distribucion La distribución.
+         */
+        public static synchronized void registrar(Distribucion distribucion)
+            {
+                REGISTRO.put(distribucion.getNombre(), distribucion);
+            }
+
+        /**
+         * @param nombre Nombre de la distribución (es el nombre del caso en los resultados).
+         * @return La distribución registrada.
+         * @throws IllegalArgumentException si no hay ninguna con ese nombre.
+         */
+        public static synchronized Distribucion buscar(String nombre)
+            {
+                Distribucion distribucion = REGISTRO.get(nombre);
+                if (distribucion == null)
+                    throw new IllegalArgumentException("Caso desconocido: " + nombre);
+                return distribucion;
+            }
+
+        /**
+         * @return Todas las distribuciones registradas, en el orden en que se registraron.
+         */
+        public static synchronized List<Distribucion> getRegistradas()
+            {
+                return new ArrayList<>(REGISTRO.values());
+            }
+
+        /**
+         * @return Los tres casos del análisis original: "Promedio", "Mejor" y "Peor".
+         */
+        public static List<Distribucion> getCasosClasicos()
+            {
+                return Arrays.asList(PROMEDIO, MEJOR, PEOR);
+            }
+
+        // ---- Distribuciones con parámetros ----
+
+        /**
+         * Ordenado ascendentemente con algunos pares de elementos intercambiados al azar.
+         * @param nombre Nombre del caso.
+         * @param fraccionIntercambios Intercambios como fracción de n (al menos uno).
+         */
+        public static Distribucion casiOrdenado(String nombre, double fraccionIntercambios)
+            {
+                return new Distribucion(nombre, String.format("Ordenado con %.1f %% de intercambios", fraccionIntercambios * 100))
+                    {
+                        @Override
+                        public void llenar(int[] destino, long semilla)
+                            {
+                                MEJOR.llenar(destino, semilla);
+                                int n = destino.length;
+                                if (n < 2)
+                                    return;
+
+                                // Generador distinto del de los valores
+                                SplittableRandom aleatorio = new SplittableRandom(semilla).split();
+                                long intercambios = Math.max(1, Math.round(n * fraccionIntercambios));
+                                for (long k = 0; k < intercambios; k++)
+                                    {
+                                        int i = aleatorio.nextInt(n);
+                                        int j = aleatorio.nextInt(n);
+                                        int temp = destino[i];
+                                        destino[i] = destino[j];
+                                        destino[j] = temp;
+                                    }
+                            }
+                    };
+            }
+
+        /**
+         * Pocos valores distintos repartidos al azar (muchos duplicados).
+         * @param nombre Nombre del caso.
+         * @param distintos Número de valores distintos.
+         */
+        public static Distribucion pocosUnicos(String nombre, int distintos)
+            {
+                int paso = (VALOR_MAXIMO + 1) / Math.max(1, distintos);
+                return new Distribucion(nombre, distintos + " valores distintos")
+                    {
+                        @Override
+                        public void llenar(int[] destino, long semilla)
+                            {
+                                llenarUniforme(destino, semilla, distintos);
+                                IntStream.range(0, destino.length).parallel().forEach(i -> destino[i] *= paso);
+                            }
+                    };
+            }
+
+        /**
+         * Varios tramos ascendentes seguidos (0 ... máximo, 0 ... máximo, ...).
+         * @param nombre Nombre del caso.
+         * @param dientes Número de tramos ascendentes.
+         */
+        public static Distribucion dienteDeSierra(String nombre, int dientes)
+            {
+                return new Distribucion(nombre, dientes + " tramos ascendentes")
+                    {
+                        @Override
+                        public void llenar(int[] destino, long semilla)
+                            {
+                                int periodo = Math.max(1, (destino.length + dientes - 1) / Math.max(1, dientes));
+                                IntStream.range(0, destino.length).parallel()
+                                         .forEach(i -> destino[i] = (int) ((long) (i % periodo) * (VALOR_MAXIMO + 1) / periodo));
+                            }
+                    };
+            }
+
+        /**
+         * Sube hasta la mitad y baja de vuelta (tubos de órgano).
+         * @param nombre Nombre del caso.
+         */
+        public static Distribucion organo(String nombre)
+            {
+                return new Distribucion(nombre, "Ascendente y luego descendente")
+                    {
+                        @Override
+                        public void llenar(int[] destino, long semilla)
+                            {
+                                int n = destino.length;
+                                int mitad = Math.max(1, (n + 1) / 2);
+                                IntStream.range(0, n).parallel()
+                                         .forEach(i -> destino[i] = (int) ((long) Math.min(i, n - 1 - i) * VALOR_MAXIMO / mitad));
+                            }
+                    };
+            }
+
+        /**
+         * Valores con sesgo de Zipf: el valor k aparece con probabilidad proporcional a 1 / (k + 1)^exponente,
+         * así unos pocos valores pequeños concentran la mayoría de los elementos.
+         * @param nombre Nombre del caso.
+         * @param exponente Exponente de la ley de Zipf (más grande = más sesgo).
+         */
+        public static Distribucion zipf(String nombre, double exponente)
+            {
+                // Distribución acumulada de los valores 0 ... VALOR_MAXIMO
+                double[] acumulada = new double[VALOR_MAXIMO + 1];
+                double suma = 0;
+                for (int k = 0; k <= VALOR_MAXIMO; k++)
+                    {
+                        suma += 1.0 / Math.pow(k + 1, exponente);
+                        acumulada[k] = suma;
+                    }
+                for (int k = 0; k <= VALOR_MAXIMO; k++)
+                    acumulada[k] /= suma;
+
+                return new Distribucion(nombre, String.format("Zipf con exponente %.2f", exponente))
+                    {
+                        @Override
+                        public void llenar(int[] destino, long semilla)
+                            {
+                                llenarPorBloques(destino, semilla, (aleatorio, desde, hasta) ->
+                                    {
+                                        for (int i = desde; i < hasta; i++)
+                                            {
+                                                int k = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+                                                destino[i] = Math.min(VALOR_MAXIMO, k >= 0 ? k : -k - 1);
+                                            }
+                                    });
+                            }
+                    };
+            }
+
+        /**
+         * Todos los elementos iguales.
+         * @param nombre Nombre del caso.
+         */
+        public static Distribucion iguales(String nombre)
+            {
+                return new Distribucion(nombre, "Todos los elementos iguales")
+                    {
+                        @Override
+                        public void llenar(int[] destino, long semilla)
+                            {
+                                Arrays.fill(destino, (VALOR_MAXIMO + 1) / 2);
+                            }
+                    };
+            }
+
+        // ---- Ayudas para el llenado en paralelo ----
+
+        /**
+         * Llena un rango del arreglo con el generador de su bloque.
+         */
+        @FunctionalInterface
+        protected interface LlenadoBloque
+            {
+                void llenar(SplittableRandom aleatorio, int desde, int hasta);
+            }
+
+        /**
+         * Parte el arreglo en bloques de tamaño fijo y llena cada uno en paralelo con un generador propio.
+         * Los generadores se derivan en orden de la semilla, así que el resultado es el mismo con cualquier número de hilos.
+         * @param destino Arreglo a llenar.
+         * @param semilla Semilla del generador raíz.
+         * @param llenado Qué hacer con cada bloque.
+         */
+        protected static void llenarPorBloques(int[] destino, long semilla, LlenadoBloque llenado)
+            {
+                int bloques = (destino.length + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE;
+                SplittableRandom raiz = new SplittableRandom(semilla);
+                SplittableRandom[] generadores = new SplittableRandom[bloques];
+                for (int b = 0; b < bloques; b++)
+                    generadores[b] = raiz.split();
+
+                IntStream.range(0, bloques).parallel().forEach(b ->
+                    llenado.llenar(generadores[b], b * TAMANO_BLOQUE, Math.min(destino.length, (b + 1) * TAMANO_BLOQUE)));
+            }
+
+        /**
+         * Llena el arreglo con enteros uniformes en [0, limite).
+         */
+        protected static void llenarUniforme(int[] destino, long semilla, int limite)
+            {
+                llenarPorBloques(destino, semilla, (aleatorio, desde, hasta) ->
+                    {
+                        for (int i = desde; i < hasta; i++)
+                            destino[i] = aleatorio.nextInt(limite);
+                    });
+            }
+
+        // Invierte el arreglo en su lugar
+        private static void invertir(int[] datos)
+            {
+                for (int i = 0, j = datos.length - 1; i < j; i++, j--)
+                    {
+                        int temp = datos[i];
+                        datos[i] = datos[j];
+                        datos[j] = temp;
+                    }
+            }
+    }
@@ -0,0 +1,266 @@
+package abstraccion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escribe un archivo CSV con un búfer propio, formateando los números directamente en bytes.
+ * <p>El texto queda idéntico al de {@code FileWriter} con {@code String.format(Locale.ROOT, "%d")}, {@code "%.6f"} y
+ * {@code "%b"}: mismo juego de caracteres y siempre punto decimal, sin importar el idioma del sistema, porque
+ * una coma decimal rompería las columnas del CSV y el archivo no se podría volver a leer. Cuando el búfer se llena
+ * se entrega al {@link Executor} para escribirlo con {@link FileChannel} mientras se sigue formateando
+ * en otro búfer; las escrituras de un mismo archivo se encadenan, así que salen en orden.
+ */
+final class EscritorCSV
+    {
+        private static final int TAMANO_BUFER = 64 * 1024;
+        // Búferes pendientes de escribir por archivo antes de esperar al disco
+        private static final int MAXIMO_EN_VUELO = 4;
+
+        private static final Charset JUEGO = Charset.defaultCharset();
+        // Con un juego de caracteres que no extiende ASCII se deja todo a String.format
+        private static final boolean JUEGO_ASCII = "a~".getBytes(JUEGO).length == 2;
+        private static final char SEPARADOR_DECIMAL = '.';
+
+        private final Path archivo;
+        private final FileChannel canal;
+        private final Executor ejecutor;
+        private final ConcurrentLinkedQueue<ByteBuffer> libres = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger enVuelo = new AtomicInteger();
+        private CompletableFuture<Void> pendiente = CompletableFuture.completedFuture(null);
+        private ByteBuffer bufer = ByteBuffer.allocate(TAMANO_BUFER);
+        private long posicion;
+
+        EscritorCSV(String nombreArchivo, Executor ejecutor) throws IOException
+            {
+                this.archivo = Paths.get(nombreArchivo);
+                this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                              StandardOpenOption.TRUNCATE_EXISTING);
+                this.ejecutor = ejecutor;
+            }
+
+        String getNombre()
+            {
+                return archivo.toString();
+            }
+
+        /**
+         * @return Bytes escritos (o en camino al disco) hasta ahora.
+         */
+        long getBytes()
+            {
+                return posicion + bufer.position();
+            }
+
+        void texto(String s)
+            {
+                int n = s.length();
+                asegurar(n);
+                for (int i = 0; i < n; i++)
+                    {
+                        char c = s.charAt(i);
+                        if (c >= 0x80 || !JUEGO_ASCII)
+                            {
+                                // Hay caracteres fuera de ASCII: se codifica la cadena completa
+                                bufer.position(bufer.position() - i);
+                                byte[] bytes = s.getBytes(JUEGO);
+                                asegurar(bytes.length);
+                                bufer.put(bytes);
+                                return;
+                            }
+                        bufer.put((byte) c);
+                    }
+            }
+
+        void caracter(char c)
+            {
+                asegurar(1);
+                bufer.put((byte) c);
+            }
+
+        /**
+         * Igual que {@code String.format(Locale.ROOT, "%d", valor)}.
+         */
+        void entero(long valor)
+            {
+                if (!JUEGO_ASCII || valor == Long.MIN_VALUE)
+                    {
+                        texto(String.format(Locale.ROOT, "%d", valor));
+                        return;
+                    }
+                asegurar(20);
+                if (valor < 0)
+                    {
+                        bufer.put((byte) '-');
+                        valor = -valor;
+                    }
+                escribirDigitos(valor, 1);
+            }
+
+        /**
+         * Igual que {@code String.format(Locale.ROOT, "%.6f", valor)}. Los valores que caen casi a la mitad entre dos
+         * resultados posibles (donde el redondeo decimal de {@code Formatter} y el binario podrían diferir)
+         * y los muy grandes se dejan a {@code String.format}.
+         */
+        void decimal(double valor)
+            {
+                double magnitud = Math.abs(valor);
+                if (!JUEGO_ASCII || Double.isNaN(valor) || magnitud >= 1e15)
+                    {
+                        texto(String.format(Locale.ROOT, "%.6f", valor));
+                        return;
+                    }
+
+                // La parte entera se resta sin error; la fracción escalada a millonésimas queda casi exacta.
+                // La ventana cubre también la diferencia entre el valor binario y su representación decimal más corta.
+                long entero = (long) magnitud;
+                double escalado = (magnitud - entero) * 1e6;
+                double fraccion = escalado - Math.floor(escalado);
+                if (Math.abs(fraccion - 0.5) < 1e-3 + Math.ulp(magnitud) * 1e6)
+                    {
+                        texto(String.format(Locale.ROOT, "%.6f", valor));
+                        return;
+                    }
+
+                long millonesimas = Math.round(escalado);
+                if (millonesimas == 1_000_000)
+                    {
+                        entero++;
+                        millonesimas = 0;
+                    }
+                asegurar(24);
+                if (valor < 0 || (valor == 0 && 1 / valor < 0))
+                    bufer.put((byte) '-');
+                escribirDigitos(entero, 1);
+                bufer.put((byte) SEPARADOR_DECIMAL);
+                escribirDigitos(millonesimas, 6);
+            }
+
+        /**
+         * Igual que {@code String.format("%b", valor)}.
+         */
+        void booleano(boolean valor)
+            {
+                texto(valor ? "true" : "false");
+            }
+
+        void finLinea()
+            {
+                caracter('\n');
+            }
+
+        // Escribe el valor (no negativo) con al menos minimoDigitos dígitos, rellenando con ceros a la izquierda
+        private void escribirDigitos(long valor, int minimoDigitos)
+            {
+                int digitos = 1;
+                for (long v = valor / 10; v > 0; v /= 10)
+                    digitos++;
+                digitos = Math.max(digitos, minimoDigitos);
+
+                int inicio = bufer.position();
+                for (int i = inicio + digitos - 1; i >= inicio; i--)
+                    {
+                        bufer.put(i, (byte) ('0' + valor % 10));
+                        valor /= 10;
+                    }
+                bufer.position(inicio + digitos);
+            }
+
+        private void asegurar(int bytes)
+            {
+                if (bufer.remaining() < bytes)
+                    {
+                        enviar();
+                        if (bufer.capacity() < bytes)
+                            bufer = ByteBuffer.allocate(bytes);
+                    }
+            }
+
+        // Entrega el búfer lleno al ejecutor y continúa con uno libre
+        private void enviar()
+            {
+                if (bufer.position() == 0)
+                    return;
+
+                ByteBuffer lleno = bufer;
+                lleno.flip();
+                long destino = posicion;
+                posicion += lleno.remaining();
+
+                // Si el disco va más lento que el formateo, se espera en lugar de acumular búferes
+                if (enVuelo.incrementAndGet() > MAXIMO_EN_VUELO)
+                    esperar();
+
+                pendiente = pendiente.thenRunAsync(() ->
+                    {
+                        try
+                            {
+                                long p = destino;
+                                while (lleno.hasRemaining())
+                                    p += canal.write(lleno, p);
+                            }
+                        catch (IOException e)
+                            {
+                                throw new UncheckedIOException(e);
+                            }
+                        finally
+                            {
+                                lleno.clear();
+                                if (lleno.capacity() == TAMANO_BUFER)
+                                    libres.add(lleno);
+                                enVuelo.decrementAndGet();
+                            }
+                    }, ejecutor);
+
+                ByteBuffer libre = libres.poll();
+                bufer = libre != null ? libre : ByteBuffer.allocate(TAMANO_BUFER);
+            }
+
+        private void esperar()
+            {
+                try
+                    {
+                        pendiente.join();
+                    }
+                catch (CompletionException e)
+                    {
+                        // El error se vuelve a lanzar en cerrar()
+                    }
+            }
+
+        /**
+         * Escribe lo que falta, espera a que termine y cierra el archivo.
+         * @throws IOException si falló alguna escritura.
+         */
+        void cerrar() throws IOException
+            {
+                try
+                    {
+                        enviar();
+                        pendiente.join();
+                    }
+                catch (CompletionException e)
+                    {
+                        Throwable causa = e.getCause();
+                        if (causa instanceof UncheckedIOException)
+                            throw ((UncheckedIOException) causa).getCause();
+                        throw new IOException("Error al escribir " + archivo, causa);
+                    }
+                finally
+                    {
+                        canal.close();
+                    }
+            }
+    }
@@ -2,9 +2,43 @@ package abstraccion;
 
 /**
  * Define el comportamiento de una estrategia de ordenamiento.
+ * <p>Además de {@code int[]}, cada estrategia ordena {@code long[]}, {@code double[]} y {@code short[]}
+ * con versiones especializadas para cada tipo primitivo (ver {@link TipoClave}), y tiene una versión
+ * instrumentada que cuenta sus operaciones (ver {@link EstrategiaOrdenamientoContado}).
  */
-public interface EstrategiaOrdenamiento 
+public interface EstrategiaOrdenamiento extends EstrategiaOrdenamientoLong, EstrategiaOrdenamientoDouble, EstrategiaOrdenamientoShort,
+                                                EstrategiaOrdenamientoContado
     {
         void ordenar(int[] arreglo);
         String getNombre();
+
+        /**
+         * Para las versiones paralelas, nombre del algoritmo secuencial contra el que se mide su aceleración.
+         * @return Nombre de la estrategia secuencial equivalente, o {@code null} si no aplica.
+         */
+        default String getReferenciaSecuencial()
+            {
+                return null;
+            }
+
+        /**
+         * Complejidad esperada para un caso del análisis, usada para planificar la ejecución en paralelo.
+         * @param caso "Promedio", "Mejor" o "Peor".
+         * @return La clase de complejidad; por omisión O(n log n).
+         */
+        default Complejidad getComplejidad(String caso)
+            {
+                return Complejidad.N_LOG_N;
+            }
+
+        /**
+         * Prepara de antemano el espacio auxiliar que la estrategia conserva entre llamadas, para ordenar
+         * arreglos de hasta {@code n} elementos del tipo de clave dado. El análisis lo llama antes de medir
+         * cada celda, así esa asignación única no se cuenta en el tiempo ni en los bytes por ordenamiento.
+         * @param tipo Tipo de clave de los arreglos.
+         * @param n Tamaño máximo de los arreglos.
+         */
+        default void reservar(TipoClave tipo, int n)
+            {
+            }
     }
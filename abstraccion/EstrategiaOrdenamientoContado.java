@@ -0,0 +1,12 @@
+package abstraccion;
+
+/**
+ * Versión instrumentada del ordenamiento de {@code int[]}: el mismo algoritmo sobre un {@link ArregloContado},
+ * para contar comparaciones, intercambios y escrituras.
+ * <p>Todas las {@link EstrategiaOrdenamiento} la implementan. Es código aparte del de {@code ordenar(int[])},
+ * así que el análisis solo la usa cuando se piden los conteos y en una pasada que no se cronometra.
+ */
+public interface EstrategiaOrdenamientoContado
+    {
+        void ordenar(ArregloContado arreglo);
+    }
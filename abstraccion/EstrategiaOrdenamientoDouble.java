@@ -0,0 +1,12 @@
+package abstraccion;
+
+/**
+ * Ordenamiento especializado para arreglos de {@code double}, sin convertir los elementos a objetos.
+ * <p>El orden es el de {@link Double#compare(double, double)} (igual que {@code Arrays.sort(double[])}):
+ * -0.0 va antes que 0.0 y los NaN van al final. Ver {@link OrdenDouble}.
+ * <p>Todas las {@link EstrategiaOrdenamiento} lo implementan; ver {@link TipoClave}.
+ */
+public interface EstrategiaOrdenamientoDouble
+    {
+        void ordenar(double[] arreglo);
+    }
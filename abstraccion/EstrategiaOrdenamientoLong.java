@@ -0,0 +1,10 @@
+package abstraccion;
+
+/**
+ * Ordenamiento especializado para arreglos de {@code long}, sin convertir los elementos a objetos.
+ * <p>Todas las {@link EstrategiaOrdenamiento} lo implementan; ver {@link TipoClave}.
+ */
+public interface EstrategiaOrdenamientoLong
+    {
+        void ordenar(long[] arreglo);
+    }
@@ -0,0 +1,318 @@
+package abstraccion;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exporta los resultados a todos los CSV en una sola pasada.
+ * <p>Cada resultado se formatea una vez por archivo de destino directamente en el búfer de ese archivo
+ * ({@link EscritorCSV}), sin {@code String.format} ni cadenas intermedias; los búferes llenos se escriben
+ * en paralelo en un grupo de hilos mientras se sigue formateando. Los archivos quedan con el mismo
+ * formato de siempre:
+ * <ul>
+ * <li>el archivo completo (p. ej. {@code resultados_completos.csv}), con {@link GestorResultados#CABECERA_CSV};</li>
+ * <li>{@code grafica_consolidada.csv} y un {@code grafica_<algoritmo>[_<tipo>]_<caso>.csv} por serie, los de {@link Grafica}.</li>
+ * </ul>
+ * Al terminar informa filas, bytes, tiempo y MB/s.
+ */
+public class ExportadorCSV
+    {
+        public static final String ARCHIVO_CONSOLIDADO = "grafica_consolidada.csv";
+        private static final String CABECERA_CONSOLIDADO = "tamano,algoritmo,caso,tiempo_ms,min_ms,p50_ms,p90_ms,p99_ms,max_ms,desv_ms,tipo_clave\n";
+        private static final String CABECERA_SERIE = "tamano,tiempo_ms\n";
+
+        private String archivoCompleto;
+        private boolean graficas;
+
+        // Datos de la última exportación
+        private long filas;
+        private long bytes;
+        private int archivos;
+        private double tiempoMs;
+        private final List<Serie> series = new ArrayList<>();
+
+        /**
+         * @param archivoCompleto Archivo con todas las columnas de cada resultado, o null para no generarlo.
+         */
+        public void setArchivoCompleto(String archivoCompleto)
+            {
+                this.archivoCompleto = archivoCompleto;
+            }
+
+        /**
+         * @param graficas {@code true} para generar también los archivos de {@link Grafica}.
+         */
+        public void setGraficas(boolean graficas)
+            {
+                this.graficas = graficas;
+            }
+
+        /**
+         * Escribe los archivos configurados.
+         * @param resultados Los resultados a exportar.
+         * @throws IOException si falla la escritura de algún archivo (los demás se terminan de escribir igual).
+         */
+        public void exportar(List<Resultado> resultados) throws IOException
+            {
+                filas = 0;
+                bytes = 0;
+                series.clear();
+
+                long inicio = System.nanoTime();
+                int hilos = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+                ExecutorService escritura = Executors.newFixedThreadPool(hilos);
+                List<EscritorCSV> abiertos = new ArrayList<>();
+                try
+                    {
+                        EscritorCSV completo = null;
+                        if (archivoCompleto != null)
+                            {
+                                completo = new EscritorCSV(archivoCompleto, escritura);
+                                abiertos.add(completo);
+                                completo.texto(GestorResultados.CABECERA_CSV);
+                            }
+
+                        EscritorCSV consolidado = null;
+                        // Serie por algoritmo, tipo de clave y caso (sin armar una clave por fila)
+                        Map<String, Map<String, Map<String, Serie>>> indiceSeries = new HashMap<>();
+                        if (graficas)
+                            {
+                                consolidado = new EscritorCSV(ARCHIVO_CONSOLIDADO, escritura);
+                                abiertos.add(consolidado);
+                                consolidado.texto(CABECERA_CONSOLIDADO);
+                            }
+
+                        for (Resultado r : resultados)
+                            {
+                                if (completo != null)
+                                    escribirCompleto(completo, r);
+
+                                if (graficas)
+                                    {
+                                        escribirConsolidado(consolidado, r);
+
+                                        Map<String, Serie> porCaso = indiceSeries
+                                            .computeIfAbsent(r.getAlgoritmo(), k -> new HashMap<>())
+                                            .computeIfAbsent(r.getTipoClave(), k -> new HashMap<>());
+                                        Serie serie = porCaso.get(r.getCaso());
+                                        if (serie == null)
+                                            {
+                                                serie = abrirSerie(r, escritura, abiertos);
+                                                porCaso.put(r.getCaso(), serie);
+                                            }
+                                        serie.escritor.entero(r.getTamano());
+                                        serie.escritor.caracter(',');
+                                        serie.escritor.decimal(r.getTiempoMs());
+                                        serie.escritor.finLinea();
+                                        serie.muestras++;
+                                        serie.sumaMs += r.getTiempoMs();
+                                    }
+                                filas++;
+                            }
+                    }
+                finally
+                    {
+                        IOException error = null;
+                        for (EscritorCSV escritor : abiertos)
+                            {
+                                try
+                                    {
+                                        escritor.cerrar();
+                                        bytes += escritor.getBytes();
+                                    }
+                                catch (IOException e)
+                                    {
+                                        System.err.println("Error al escribir " + escritor.getNombre() + ": " + e.getMessage());
+                                        if (error == null)
+                                            error = e;
+                                    }
+                            }
+                        escritura.shutdown();
+                        archivos = abiertos.size();
+                        tiempoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+                        if (error != null)
+                            throw error;
+                    }
+            }
+
+        // Clave de la serie, la misma que usa Grafica para el ajuste: "<algoritmo>[_<tipo>]_<caso>"
+        static String claveSerie(Resultado r)
+            {
+                String tipo = "int".equals(r.getTipoClave()) ? "" : "_" + r.getTipoClave();
+                return r.getAlgoritmo() + tipo + "_" + r.getCaso();
+            }
+
+        private Serie abrirSerie(Resultado r, ExecutorService escritura, List<EscritorCSV> abiertos) throws IOException
+            {
+                String clave = claveSerie(r);
+                EscritorCSV escritor = new EscritorCSV("grafica_" + clave.replaceAll("\\s+", "_") + ".csv", escritura);
+                abiertos.add(escritor);
+                escritor.texto(CABECERA_SERIE);
+                Serie serie = new Serie(clave, escritor);
+                series.add(serie);
+                return serie;
+            }
+
+        // Misma fila que GestorResultados.filaCSV
+        private static void escribirCompleto(EscritorCSV e, Resultado r)
+            {
+                e.entero(r.getTamano());
+                e.caracter(',');
+                e.texto(r.getAlgoritmo());
+                e.caracter(',');
+                e.texto(r.getCaso());
+                e.caracter(',');
+                e.decimal(r.getTiempoMs());
+                e.caracter(',');
+                e.entero(r.getBytesPorOrdenamiento());
+                e.caracter(',');
+                escribirDistribucion(e, r);
+                e.caracter(',');
+                e.entero(r.getRepeticiones());
+                e.caracter(',');
+                e.decimal(r.getIntervaloRelativo());
+                e.caracter(',');
+                e.booleano(r.isExtrapolado());
+                e.caracter(',');
+                e.texto(r.getTipoClave());
+                e.caracter(',');
+                e.decimal(r.getCpuMs());
+                e.caracter(',');
+                e.entero(r.getRecoleccionesGc());
+                e.caracter(',');
+                e.entero(r.getTiempoGcMs());
+                e.caracter(',');
+                e.entero(r.getComparaciones());
+                e.caracter(',');
+                e.entero(r.getIntercambios());
+                e.caracter(',');
+                e.entero(r.getEscrituras());
+                e.finLinea();
+            }
+
+        private static void escribirConsolidado(EscritorCSV e, Resultado r)
+            {
+                e.entero(r.getTamano());
+                e.caracter(',');
+                e.texto(r.getAlgoritmo());
+                e.caracter(',');
+                e.texto(r.getCaso());
+                e.caracter(',');
+                e.decimal(r.getTiempoMs());
+                e.caracter(',');
+                escribirDistribucion(e, r);
+                e.caracter(',');
+                e.texto(r.getTipoClave());
+                e.finLinea();
+            }
+
+        // min,p50,p90,p99,max,desv
+        private static void escribirDistribucion(EscritorCSV e, Resultado r)
+            {
+                e.decimal(r.getMinMs());
+                e.caracter(',');
+                e.decimal(r.getP50Ms());
+                e.caracter(',');
+                e.decimal(r.getP90Ms());
+                e.caracter(',');
+                e.decimal(r.getP99Ms());
+                e.caracter(',');
+                e.decimal(r.getMaxMs());
+                e.caracter(',');
+                e.decimal(r.getDesviacionMs());
+            }
+
+        public long getFilas()
+            {
+                return filas;
+            }
+
+        public long getBytes()
+            {
+                return bytes;
+            }
+
+        public int getArchivos()
+            {
+                return archivos;
+            }
+
+        public double getTiempoMs()
+            {
+                return tiempoMs;
+            }
+
+        /**
+         * @return Megabytes escritos por segundo en la última exportación.
+         */
+        public double getRendimientoMBs()
+            {
+                return tiempoMs <= 0 ? 0.0 : bytes / (1024.0 * 1024.0) / (tiempoMs / 1000.0);
+            }
+
+        /**
+         * @return Archivos por serie creados en la última exportación, en el orden en que aparecieron.
+         */
+        public List<String> getArchivosSerie()
+            {
+                List<String> nombres = new ArrayList<>(series.size());
+                for (Serie serie : series)
+                    nombres.add(serie.escritor.getNombre());
+                return nombres;
+            }
+
+        /**
+         * @return Número de resultados de cada serie ("algoritmo[_tipo]_caso"), en el orden en que aparecieron.
+         */
+        public Map<String, Integer> getMuestrasPorSerie()
+            {
+                Map<String, Integer> muestras = new LinkedHashMap<>();
+                for (Serie serie : series)
+                    muestras.put(serie.clave, serie.muestras);
+                return muestras;
+            }
+
+        /**
+         * @param clave Clave de la serie, como en {@link #getMuestrasPorSerie()}.
+         * @return Tiempo promedio de la serie en ms.
+         */
+        public double getPromedioSerie(String clave)
+            {
+                for (Serie serie : series)
+                    {
+                        if (serie.clave.equals(clave))
+                            return serie.sumaMs / Math.max(1, serie.muestras);
+                    }
+                return 0.0;
+            }
+
+        /**
+         * @return Resumen de la última exportación para la consola.
+         */
+        public String getResumen()
+            {
+                return String.format("Exportadas %d filas a %d archivos (%.1f KB) en %.1f ms: %.1f MB/s",
+                                     filas, archivos, bytes / 1024.0, tiempoMs, getRendimientoMBs());
+            }
+
+        // Archivo de una serie y sus totales para el resumen
+        private static final class Serie
+            {
+                private final String clave;
+                private final EscritorCSV escritor;
+                private int muestras;
+                private double sumaMs;
+
+                Serie(String clave, EscritorCSV escritor)
+                    {
+                        this.clave = clave;
+                        this.escritor = escritor;
+                    }
+            }
+    }
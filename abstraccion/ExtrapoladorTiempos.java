@@ -0,0 +1,85 @@
+package abstraccion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Predice el tiempo de una celda a partir de los tamaños ya medidos del mismo algoritmo y caso.
+ * <p>Con dos o más mediciones ajusta una ley de potencia t = c·n^k por mínimos cuadrados en escala
+ * log-log, usando solo las últimas mediciones (el exponente local es más fiel que el global cuando
+ * los tamaños pequeños están dominados por costos fijos). Con una sola medición escala por la
+ * {@link Complejidad} esperada del algoritmo.
+ * <p>Es seguro usarlo desde varios hilos.
+ */
+public class ExtrapoladorTiempos
+    {
+        // Mediciones que se usan en el ajuste (las de mayor tamaño)
+        private static final int PUNTOS_AJUSTE = 3;
+        // Exponentes fuera de este rango vienen de ruido en tiempos muy pequeños
+        private static final double EXPONENTE_MIN = 0.5;
+        private static final double EXPONENTE_MAX = 3.0;
+
+        private final Map<String, List<double[]>> mediciones = new HashMap<>();
+
+        /**
+         * Registra el tiempo medido de una celda.
+         * @param algoritmo Nombre del algoritmo.
+         * @param caso Caso del análisis.
+         * @param n Tamaño del arreglo.
+         * @param tiempoMs Tiempo por ordenamiento en ms.
+         */
+        public synchronized void registrar(String algoritmo, String caso, int n, double tiempoMs)
+            {
+                if (n <= 0 || !(tiempoMs > 0))
+                    return;
+                mediciones.computeIfAbsent(algoritmo + "_" + caso, k -> new ArrayList<>()).add(new double[] {n, tiempoMs});
+            }
+
+        /**
+         * Predice el tiempo por ordenamiento para un tamaño.
+         * @param algoritmo Nombre del algoritmo.
+         * @param caso Caso del análisis.
+         * @param n Tamaño a predecir.
+         * @param complejidad Complejidad esperada, usada cuando solo hay una medición.
+         * @return El tiempo estimado en ms, o NaN si no hay mediciones.
+         */
+        public synchronized double predecirMs(String algoritmo, String caso, int n, Complejidad complejidad)
+            {
+                List<double[]> puntos = mediciones.get(algoritmo + "_" + caso);
+                if (puntos == null || puntos.isEmpty())
+                    return Double.NaN;
+
+                List<double[]> ordenados = new ArrayList<>(puntos);
+                ordenados.sort((a, b) -> Double.compare(a[0], b[0]));
+
+                if (ordenados.size() == 1)
+                    {
+                        double[] p = ordenados.get(0);
+                        return p[1] * complejidad.costo(n) / complejidad.costo((int) p[0]);
+                    }
+
+                // Mínimos cuadrados de log t = log c + k·log n sobre las últimas mediciones
+                List<double[]> ultimos = ordenados.subList(Math.max(0, ordenados.size() - PUNTOS_AJUSTE), ordenados.size());
+                double sx = 0, sy = 0, sxx = 0, sxy = 0;
+                for (double[] p : ultimos)
+                    {
+                        double x = Math.log(p[0]);
+                        double y = Math.log(p[1]);
+                        sx += x;
+                        sy += y;
+                        sxx += x * x;
+                        sxy += x * y;
+                    }
+                int m = ultimos.size();
+                double denominador = m * sxx - sx * sx;
+                if (denominador == 0)
+                    return ultimos.get(m - 1)[1];
+
+                double k = (m * sxy - sx * sy) / denominador;
+                k = Math.max(EXPONENTE_MIN, Math.min(EXPONENTE_MAX, k));
+                double logC = (sy - k * sx) / m;
+                return Math.exp(logC + k * Math.log(n));
+            }
+    }
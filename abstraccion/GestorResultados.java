@@ -1,38 +1,165 @@
 package abstraccion;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.io.BufferedReader;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Gestiona todos los resultados obtenidos (Patrón Singleton).
+ * <p>Cada resultado se reparte, en cuanto llega, a los {@link ReceptorResultados} registrados.
+ * Por omisión solo está el {@link ReceptorMemoria} propio del gestor, que alimenta la interfaz y las exportaciones.
  */
 public class GestorResultados 
     {
+        // Formato compartido por exportarResultadosCSV y ReceptorCSV
+        static final String CABECERA_CSV = "Tamaño,Algoritmo,Caso,PromedioMs,BytesPorOrdenamiento,MinMs,P50Ms,P90Ms,P99Ms,MaxMs,DesvEstMs,Repeticiones,IC95Relativo,Extrapolado,TipoClave,CpuMs,RecoleccionesGc,TiempoGcMs,Comparaciones,Intercambios,Escrituras\n";
+
+        // Historial binario de todas las corridas; se abre la primera vez que se usa
+        public static final String ARCHIVO_HISTORIAL = "historial_resultados.bin";
+
         private static GestorResultados instancia; // Singleton
-        private List<Resultado> resultados;
+        private final ReceptorMemoria memoria;
+        private final List<ReceptorResultados> receptores = new CopyOnWriteArrayList<>();
+        private boolean retenerEnMemoria = true;
+        private HistorialResultados historial;
 
         private GestorResultados() 
             {
-                resultados = new ArrayList<>(); // Aquí "prohibimos" que cualquier otra clase cree una nueva instancia de GestorResulrados
+                memoria = new ReceptorMemoria(); // Aquí "prohibimos" que cualquier otra clase cree una nueva instancia de GestorResulrados
             }
 
-        public static GestorResultados getInstancia() 
+        public static synchronized GestorResultados getInstancia() 
             {
                 if (instancia == null)
                     instancia = new GestorResultados();
                 return instancia;
             }
 
-        public void agregarResultado(Resultado r) 
+        /**
+         * Guarda el resultado (si se retienen en memoria) y lo entrega a todos los receptores registrados.
+         * <p>Si un receptor lanza una excepción (p. ej. un {@link ReceptorCSV} con el disco lleno), se avisa
+         * por la salida de error y ese receptor se quita; el análisis y los demás receptores siguen.
+         * @param r El resultado recién medido
+         */
+        public synchronized void agregarResultado(Resultado r) 
             {
-                resultados.add(r);
+                if (retenerEnMemoria)
+                    memoria.recibir(r);
+                for (ReceptorResultados receptor : receptores)
+                    {
+                        try
+                            {
+                                receptor.recibir(r);
+                            }
+                        catch (RuntimeException e)
+                            {
+                                System.err.println("El receptor " + receptor.getClass().getSimpleName() + " falló y se desactiva: " + e.getMessage());
+                                quitarReceptor(receptor);
+                            }
+                    }
             }
 
+        /**
+         * @return Una copia de los resultados en memoria. Durante un análisis en paralelo los hilos siguen
+         *         agregando resultados, así que cada llamada devuelve lo que había en ese momento.
+         */
         public List<Resultado> getResultados() 
             {
-                return resultados;
+                return memoria.getResultados();
+            }
+
+        /**
+         * Registra un receptor que recibirá cada resultado nuevo.
+         * @param receptor El receptor a agregar
+         */
+        public void agregarReceptor(ReceptorResultados receptor)
+            {
+                receptores.add(receptor);
+            }
+
+        /**
+         * Quita un receptor y lo cierra.
+         * @param receptor El receptor a quitar
+         */
+        public void quitarReceptor(ReceptorResultados receptor)
+            {
+                if (receptores.remove(receptor))
+                    receptor.cerrar();
+            }
+
+        /**
+         * Indica si los resultados se guardan en memoria. En corridas muy grandes se puede desactivar
+         * y dejar que los receptores (p. ej. un {@link ReceptorCSV}) los lleven directo a disco.
+         * @param retener {@code false} para no acumular resultados en memoria
+         */
+        public void setRetenerEnMemoria(boolean retener)
+            {
+                this.retenerEnMemoria = retener;
+            }
+
+        /**
+         * Reordena los resultados en memoria, p. ej. después de una ejecución en paralelo
+         * donde llegan en el orden en que terminan las celdas.
+         * @param orden Criterio de orden
+         */
+        public synchronized void ordenarResultados(Comparator<Resultado> orden)
+            {
+                memoria.ordenar(orden);
+            }
+
+        /**
+         * Devuelve el historial de corridas ({@value #ARCHIVO_HISTORIAL}), abriéndolo la primera vez.
+         * @return El historial compartido.
+         * @throws IOException si no se puede abrir.
+         */
+        public synchronized HistorialResultados getHistorial() throws IOException
+            {
+                if (historial == null)
+                    historial = new HistorialResultados(Paths.get(ARCHIVO_HISTORIAL));
+                return historial;
+            }
+
+        /**
+         * @return Las corridas guardadas en el historial, de la más antigua a la más reciente.
+         * @throws IOException si no se puede abrir el historial.
+         */
+        public List<MetadatosCorrida> getCorridas() throws IOException
+            {
+                return getHistorial().getCorridas();
+            }
+
+        /**
+         * Compara dos corridas del historial celda por celda.
+         * @param idAnterior Corrida de referencia.
+         * @param idNueva Corrida a comparar.
+         * @return Una comparación por celda, con el cambio porcentual del tiempo promedio.
+         * @throws IOException si no se puede leer el historial.
+         */
+        public List<ComparacionCelda> compararCorridas(long idAnterior, long idNueva) throws IOException
+            {
+                return getHistorial().comparar(idAnterior, idNueva);
+            }
+
+        /**
+         * Busca una celda en todas las corridas del historial.
+         * @param algoritmo Nombre del algoritmo
+         * @param caso Caso de prueba
+         * @param tamano Tamaño del arreglo
+         * @return Los resultados de la celda por id de corrida.
+         * @throws IOException si no se puede leer el historial.
+         */
+        public Map<Long, List<Resultado>> buscarEnHistorial(String algoritmo, String caso, int tamano) throws IOException
+            {
+                return getHistorial().buscar(algoritmo, caso, tamano);
             }
 
         /**
@@ -41,26 +168,20 @@ public class GestorResultados
          */
         public void exportarResultadosCSV(String nombreArchivo)
             {
+                List<Resultado> resultados = getResultados();
                 if (resultados.isEmpty())
                     {
                         System.err.println("No hay resultados para exportar.");
                         return;
                     }
                 
-                try (FileWriter writer = new FileWriter(nombreArchivo)) 
+                try 
                     {
-                        writer.write("Tamaño,Algoritmo,Caso,PromedioMs\n");
-
-                        for (Resultado r : resultados)
-                            {
-                                writer.write(String.format("%d,%s,%s,%.6f\n", 
-                                    r.getTamano(), 
-                                    r.getAlgoritmo(), 
-                                    r.getCaso(),
-                                    r.getTiempoMs()));
-                            }
+                        ExportadorCSV exportador = new ExportadorCSV();
+                        exportador.setArchivoCompleto(nombreArchivo);
+                        exportador.exportar(resultados);
                         
-                        System.out.println("\nResultados exportados a '" + nombreArchivo + "'.");
+                        System.out.println("\nResultados exportados a '" + nombreArchivo + "'. " + exportador.getResumen());
 
                     } 
                 catch (IOException e) 
@@ -70,9 +191,370 @@ public class GestorResultados
                     }
             }
 
+        // Una fila de resultados_completos.csv (ReceptorCSV; ExportadorCSV escribe la misma fila sin String.format).
+        // Siempre con punto decimal: con coma, los decimales se mezclarían con las columnas
+        static String filaCSV(Resultado r)
+            {
+                return String.format(Locale.ROOT, "%d,%s,%s,%.6f,%d,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f,%d,%.6f,%b,%s,%.6f,%d,%d,%d,%d,%d\n", 
+                    r.getTamano(), 
+                    r.getAlgoritmo(), 
+                    r.getCaso(),
+                    r.getTiempoMs(),
+                    r.getBytesPorOrdenamiento(),
+                    r.getMinMs(),
+                    r.getP50Ms(),
+                    r.getP90Ms(),
+                    r.getP99Ms(),
+                    r.getMaxMs(),
+                    r.getDesviacionMs(),
+                    r.getRepeticiones(),
+                    r.getIntervaloRelativo(),
+                    r.isExtrapolado(),
+                    r.getTipoClave(),
+                    r.getCpuMs(),
+                    r.getRecoleccionesGc(),
+                    r.getTiempoGcMs(),
+                    r.getComparaciones(),
+                    r.getIntercambios(),
+                    r.getEscrituras());
+            }
+
+        /**
+         * Escribe los resultados en JSON para procesarlos con otras herramientas (p. ej. las corridas nocturnas).
+         * <p>Un objeto con el arreglo "resultados"; cada elemento tiene las mismas columnas que
+         * {@link #exportarResultadosCSV(String)}. Los números usan punto decimal sin importar el idioma
+         * del sistema, y los valores no medidos (NaN) se escriben como null.
+         * @param nombreArchivo El nombre del archivo a crear
+         * @return Número de resultados escritos.
+         * @throws IOException si el archivo no se puede escribir.
+         */
+        public int exportarResultadosJSON(String nombreArchivo) throws IOException
+            {
+                List<Resultado> resultados = getResultados();
+                try (FileWriter writer = new FileWriter(nombreArchivo))
+                    {
+                        writer.write("{\n  \"resultados\": [");
+                        for (int i = 0; i < resultados.size(); i++)
+                            {
+                                writer.write(i == 0 ? "\n" : ",\n");
+                                writer.write(objetoJSON(resultados.get(i)));
+                            }
+                        writer.write(resultados.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+                    }
+                System.out.println("\nResultados exportados a '" + nombreArchivo + "'.");
+                return resultados.size();
+            }
+
+        // Un elemento de "resultados", en una sola línea
+        private static String objetoJSON(Resultado r)
+            {
+                return "    {\"tamano\": " + r.getTamano()
+                    + ", \"algoritmo\": " + textoJSON(r.getAlgoritmo())
+                    + ", \"caso\": " + textoJSON(r.getCaso())
+                    + ", \"tipoClave\": " + textoJSON(r.getTipoClave())
+                    + ", \"promedioMs\": " + numeroJSON(r.getTiempoMs())
+                    + ", \"bytesPorOrdenamiento\": " + r.getBytesPorOrdenamiento()
+                    + ", \"minMs\": " + numeroJSON(r.getMinMs())
+                    + ", \"p50Ms\": " + numeroJSON(r.getP50Ms())
+                    + ", \"p90Ms\": " + numeroJSON(r.getP90Ms())
+                    + ", \"p99Ms\": " + numeroJSON(r.getP99Ms())
+                    + ", \"maxMs\": " + numeroJSON(r.getMaxMs())
+                    + ", \"desvEstMs\": " + numeroJSON(r.getDesviacionMs())
+                    + ", \"repeticiones\": " + r.getRepeticiones()
+                    + ", \"ic95Relativo\": " + numeroJSON(r.getIntervaloRelativo())
+                    + ", \"extrapolado\": " + r.isExtrapolado()
+                    + ", \"cpuMs\": " + numeroJSON(r.getCpuMs())
+                    + ", \"recoleccionesGc\": " + r.getRecoleccionesGc()
+                    + ", \"tiempoGcMs\": " + r.getTiempoGcMs()
+                    + ", \"comparaciones\": " + r.getComparaciones()
+                    + ", \"intercambios\": " + r.getIntercambios()
+                    + ", \"escrituras\": " + r.getEscrituras()
+                    + "}";
+            }
+
+        private static String numeroJSON(double valor)
+            {
+                if (Double.isNaN(valor) || Double.isInfinite(valor))
+                    return "null";
+                return String.format(Locale.ROOT, "%.6f", valor);
+            }
+
+        private static String textoJSON(String texto)
+            {
+                if (texto == null)
+                    return "null";
+                StringBuilder sb = new StringBuilder("\"");
+                for (char c : texto.toCharArray())
+                    {
+                        if (c == '"' || c == '\\')
+                            sb.append('\\').append(c);
+                        else if (c < 0x20)
+                            sb.append(String.format("\\u%04x", (int) c));
+                        else
+                            sb.append(c);
+                    }
+                return sb.append('"').toString();
+            }
+
+        /**
+         * Escribe los resultados de ordenamiento externo ({@link ResultadoExterno}) con el detalle de
+         * cada fase y de la entrada/salida. Los demás resultados se ignoran. Los números usan punto decimal
+         * sin importar el idioma del sistema.
+         * @param nombreArchivo El nombre del archivo a crear
+         * @return Número de filas escritas.
+         */
+        public int exportarResultadosExternosCSV(String nombreArchivo)
+            {
+                int filas = 0;
+                try (FileWriter writer = new FileWriter(nombreArchivo))
+                    {
+                        writer.write("Algoritmo,Elementos,TiempoMs,Tramos,PasadasMezcla,BytesLeidos,BytesEscritos,"
+                                + "LecturaMs,OrdenamientoMs,EscrituraTramosMs,MezclaMs,MBPorSegundo\n");
+                        for (Resultado r : getResultados())
+                            {
+                                if (!(r instanceof ResultadoExterno))
+                                    continue;
+                                ResultadoExterno e = (ResultadoExterno) r;
+                                writer.write(String.format(Locale.ROOT, "%s,%d,%.6f,%d,%d,%d,%d,%.6f,%.6f,%.6f,%.6f,%.3f\n",
+                                    e.getAlgoritmo(),
+                                    e.getElementos(),
+                                    e.getTiempoMs(),
+                                    e.getTramos(),
+                                    e.getPasadasMezcla(),
+                                    e.getBytesLeidos(),
+                                    e.getBytesEscritos(),
+                                    e.getLecturaMs(),
+                                    e.getOrdenamientoMs(),
+                                    e.getEscrituraTramosMs(),
+                                    e.getMezclaMs(),
+                                    e.getRendimientoMBs()));
+                                filas++;
+                            }
+                        System.out.println("\nResultados externos exportados a '" + nombreArchivo + "'.");
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("Error al escribir " + nombreArchivo + ": " + e.getMessage());
+                    }
+                return filas;
+            }
+
+        /**
+         * Importa los resultados de una corrida del módulo de benchmarks JMH.
+         * <p>Espera el CSV que genera JMH con {@code -rf csv}: columnas "Benchmark", "Mode", ..., "Score",
+         * "Unit" y una columna "Param: ..." por cada parámetro ({@code algoritmo}, {@code caso}, {@code tamanio}).
+         * Cada fila se convierte a milisegundos por operación y se agrega como un {@link Resultado} más,
+         * así la interfaz y las exportaciones CSV muestran los números de JMH igual que los propios.
+         * <p>Con {@code -prof gc} JMH agrega filas secundarias ("ordenar:gc.alloc.rate", en versiones anteriores
+         * "ordenar:·gc.alloc.rate", ...) después de cada fila principal. De ellas solo se usa
+         * {@code gc.alloc.rate.norm} (B/op), que pasa a los bytes por ordenamiento de su fila principal;
+         * las demás, y cualquier fila cuya unidad no sea "por operación", se omiten.
+         * @param nombreArchivo Ruta del CSV de JMH.
+         * @return Número de resultados importados.
+         * @throws IOException si el archivo no se puede leer o no tiene las columnas esperadas.
+         */
+        public int importarResultadosJMH(String nombreArchivo) throws IOException
+            {
+                int importados = 0;
+                int omitidas = 0;
+
+                try (BufferedReader reader = new BufferedReader(new FileReader(nombreArchivo)))
+                    {
+                        String linea = reader.readLine();
+                        if (linea == null)
+                            return 0;
+
+                        List<String> cabecera = separarCamposCSV(linea);
+                        int colBenchmark = cabecera.indexOf("Benchmark");
+                        int colScore = cabecera.indexOf("Score");
+                        int colUnidad = cabecera.indexOf("Unit");
+                        int colAlgoritmo = cabecera.indexOf("Param: algoritmo");
+                        int colCaso = cabecera.indexOf("Param: caso");
+                        int colTamanio = cabecera.indexOf("Param: tamanio");
+                        int colTipoClave = cabecera.indexOf("Param: tipoClave"); // Opcional: corridas anteriores no lo tienen
+
+                        if (colBenchmark < 0 || colScore < 0 || colUnidad < 0 || colAlgoritmo < 0 || colCaso < 0 || colTamanio < 0)
+                            throw new IOException("El archivo " + nombreArchivo + " no tiene el formato CSV de JMH esperado.");
+
+                        // Las filas secundarias se emparejan con su principal por benchmark, modo y parámetros
+                        List<Integer> colsClave = new ArrayList<>();
+                        for (int i = 0; i < cabecera.size(); i++)
+                            if (cabecera.get(i).equals("Mode") || cabecera.get(i).startsWith("Param: "))
+                                colsClave.add(i);
+                        // Fila principal de cada combinación, en el orden del archivo
+                        Map<String, Resultado> principales = new LinkedHashMap<>();
+
+                        while ((linea = reader.readLine()) != null)
+                            {
+                                if (linea.trim().isEmpty())
+                                    continue;
+
+                                List<String> campos = separarCamposCSV(linea);
+                                String benchmark = campos.get(colBenchmark);
+                                String unidad = campos.get(colUnidad);
+                                int separador = benchmark.indexOf(':');
+                                StringBuilder clave = new StringBuilder(separador < 0 ? benchmark : benchmark.substring(0, separador));
+                                for (int col : colsClave)
+                                    clave.append(',').append(campos.get(col));
+                                double score = Double.parseDouble(campos.get(colScore).replace(',', '.'));
+
+                                if (separador >= 0)
+                                    {
+                                        Resultado principal = principales.get(clave.toString());
+                                        if (benchmark.endsWith("gc.alloc.rate.norm") && unidad.equals("B/op") && principal != null && !Double.isNaN(score))
+                                            principal.setBytesPorOrdenamiento(Math.round(score));
+                                        else
+                                            omitidas++;
+                                        continue;
+                                    }
+                                if (!unidad.endsWith("/op"))
+                                    {
+                                        omitidas++; // Modo de throughput (ops/s), sin tiempo por operación
+                                        continue;
+                                    }
+
+                                Resultado resultado = new Resultado(
+                                    campos.get(colAlgoritmo),
+                                    Integer.parseInt(campos.get(colTamanio)),
+                                    score * factorAMilisegundos(unidad),
+                                    campos.get(colCaso));
+                                if (colTipoClave >= 0)
+                                    resultado.setTipoClave(TipoClave.buscar(campos.get(colTipoClave)).getNombre());
+                                principales.put(clave.toString(), resultado);
+                            }
+
+                        // Se agregan al final, cuando ya tienen los bytes de sus filas secundarias
+                        for (Resultado resultado : principales.values())
+                            {
+                                agregarResultado(resultado);
+                                importados++;
+                            }
+                    }
+
+                System.out.println("Se importaron " + importados + " resultados de JMH desde '" + nombreArchivo + "'"
+                                   + (omitidas > 0 ? " (" + omitidas + " filas de otras métricas omitidas)." : "."));
+                return importados;
+            }
+
+        /**
+         * Lee un archivo con el formato de {@link #exportarResultadosCSV(String)} (p. ej. una corrida base guardada
+         * para {@link VerificadorRegresiones}) sin agregarlo al gestor.
+         * <p>Las columnas se buscan por nombre, así que también se leen archivos de versiones anteriores:
+         * las que falten quedan sin medir (NaN o -1).
+         * <p>Los números se leen con punto decimal. Un archivo escrito por una versión anterior con el locale
+         * del sistema en un idioma con coma decimal tiene más campos que columnas y se rechaza.
+         * @param nombreArchivo Ruta del CSV.
+         * @return Los resultados del archivo, en orden.
+         * @throws IOException si el archivo no se puede leer, no tiene tamaño, algoritmo y promedio, o usa coma decimal.
+         */
+        public List<Resultado> leerResultadosCSV(String nombreArchivo) throws IOException
+            {
+                List<Resultado> resultados = new ArrayList<>();
+                try (BufferedReader reader = new BufferedReader(new FileReader(nombreArchivo)))
+                    {
+                        String linea = reader.readLine();
+                        if (linea == null)
+                            return resultados;
+
+                        List<String> cabecera = separarCamposCSV(linea);
+                        // La primera columna es "Tamaño"; se acepta aunque la ñ se haya leído con otro juego de caracteres
+                        int colTamano = cabecera.get(0).startsWith("Tama") ? 0 : -1;
+                        int colAlgoritmo = cabecera.indexOf("Algoritmo");
+                        int colPromedio = cabecera.indexOf("PromedioMs");
+                        if (colTamano < 0 || colAlgoritmo < 0 || colPromedio < 0)
+                            throw new IOException("El archivo " + nombreArchivo + " no tiene el formato de resultados_completos.csv.");
+                        int colCaso = cabecera.indexOf("Caso");
+                        int colTipo = cabecera.indexOf("TipoClave");
+                        int colRepeticiones = cabecera.indexOf("Repeticiones");
+                        int colIntervalo = cabecera.indexOf("IC95Relativo");
+                        int colExtrapolado = cabecera.indexOf("Extrapolado");
+                        int colBytes = cabecera.indexOf("BytesPorOrdenamiento");
+                        int colMin = cabecera.indexOf("MinMs");
+                        int colDesviacion = cabecera.indexOf("DesvEstMs");
+
+                        int numeroLinea = 1;
+                        while ((linea = reader.readLine()) != null)
+                            {
+                                numeroLinea++;
+                                if (linea.trim().isEmpty())
+                                    continue;
+                                try
+                                    {
+                                        List<String> campos = separarCamposCSV(linea);
+                                        if (campos.size() > cabecera.size())
+                                            throw new IOException("La línea " + numeroLinea + " de " + nombreArchivo + " tiene " + campos.size()
+                                                                  + " campos para " + cabecera.size() + " columnas: parece escrita con coma decimal."
+                                                                  + " Vuelva a generar la base con esta versión, que escribe siempre punto decimal.");
+                                        Resultado r = new Resultado(campos.get(colAlgoritmo), Integer.parseInt(campos.get(colTamano)),
+                                                                    Double.parseDouble(campos.get(colPromedio)),
+                                                                    colCaso >= 0 ? campos.get(colCaso) : "Promedio");
+                                        if (colTipo >= 0)
+                                            r.setTipoClave(TipoClave.buscar(campos.get(colTipo)).getNombre());
+                                        if (colRepeticiones >= 0)
+                                            r.setRepeticiones(Integer.parseInt(campos.get(colRepeticiones)));
+                                        if (colIntervalo >= 0)
+                                            r.setIntervaloRelativo(Double.parseDouble(campos.get(colIntervalo)));
+                                        if (colExtrapolado >= 0)
+                                            r.setExtrapolado(Boolean.parseBoolean(campos.get(colExtrapolado)));
+                                        if (colBytes >= 0)
+                                            r.setBytesPorOrdenamiento(Long.parseLong(campos.get(colBytes)));
+                                        // MinMs, P50Ms, P90Ms, P99Ms, MaxMs y DesvEstMs van juntas
+                                        if (colMin >= 0 && colDesviacion == colMin + 5)
+                                            r.setDistribucion(Double.parseDouble(campos.get(colMin)), Double.parseDouble(campos.get(colMin + 1)),
+                                                              Double.parseDouble(campos.get(colMin + 2)), Double.parseDouble(campos.get(colMin + 3)),
+                                                              Double.parseDouble(campos.get(colMin + 4)), Double.parseDouble(campos.get(colDesviacion)));
+                                        resultados.add(r);
+                                    }
+                                catch (RuntimeException e)
+                                    {
+                                        throw new IOException("Línea " + numeroLinea + " de " + nombreArchivo + " inválida: " + e.getMessage(), e);
+                                    }
+                            }
+                    }
+                return resultados;
+            }
+
+        // Separa una línea CSV respetando los campos entre comillas (JMH entrecomilla textos y, según el locale, números)
+        private static List<String> separarCamposCSV(String linea)
+            {
+                List<String> campos = new ArrayList<>();
+                StringBuilder actual = new StringBuilder();
+                boolean entreComillas = false;
+
+                for (int i = 0; i < linea.length(); i++)
+                    {
+                        char c = linea.charAt(i);
+                        if (c == '"')
+                            entreComillas = !entreComillas;
+                        else if (c == ',' && !entreComillas)
+                            {
+                                campos.add(actual.toString().trim());
+                                actual.setLength(0);
+                            }
+                        else
+                            actual.append(c);
+                    }
+                campos.add(actual.toString().trim());
+                return campos;
+            }
+
+        // Convierte la unidad de JMH (modo AverageTime o SingleShotTime) a milisegundos por operación
+        private static double factorAMilisegundos(String unidad) throws IOException
+            {
+                switch (unidad)
+                    {
+                        case "ns/op": return 1.0 / 1_000_000.0;
+                        case "us/op": return 1.0 / 1000.0;
+                        case "ms/op": return 1.0;
+                        case "s/op":  return 1000.0;
+                        default:
+                            throw new IOException("Unidad de JMH no soportada: " + unidad + " (use -bm avgt o ss)");
+                    }
+            }
+
             public void limpiar()
                 {
-                    resultados.clear();
+                    memoria.limpiar();
                     System.out.println("El gestor de resultados fue depurado");
                 }
     }
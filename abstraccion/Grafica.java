@@ -2,8 +2,10 @@ package abstraccion;
 
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -11,90 +13,142 @@ import java.util.Map;
  * para facilitar la graficación externa.
  *
  * Por ahora no genera imágenes; en su lugar crea archivos CSV por algoritmo y un resumen en consola.
+ * El resumen ajusta cada serie a los modelos c·n, c·n log n, c·n² y n^k ({@link AjusteComplejidad}),
+ * predice el tiempo para los tamaños de {@link #setTamanosPrediccion(long...)} y lo guarda
+ * también en {@value #ARCHIVO_AJUSTE}.
  */
 public class Grafica 
     {
 
+        public static final String ARCHIVO_AJUSTE = "ajuste_complejidad.csv";
+        public static final long[] TAMANOS_PREDICCION_POR_OMISION = { 10_000_000L, 50_000_000L };
+
         private final GestorResultados gestor = GestorResultados.getInstancia();
+        private long[] tamanosPrediccion = TAMANOS_PREDICCION_POR_OMISION.clone();
+
+        /**
+         * @param tamanos Tamaños (normalmente más grandes que los medidos) para los que se predice el tiempo de cada serie.
+         */
+        public void setTamanosPrediccion(long... tamanos)
+            {
+                this.tamanosPrediccion = tamanos.clone();
+            }
 
         /**
          * Genera la "gráfica" (resumen y archivos CSV por algoritmo).
          */
         public void generarGrafica() 
+            {
+                generarGrafica(null);
+            }
+
+        /**
+         * Genera la "gráfica" y, en la misma pasada sobre los resultados, el CSV completo.
+         * @param archivoCompleto Archivo con todas las columnas (formato de {@link GestorResultados#exportarResultadosCSV(String)}), o null.
+         * @return El resumen de la exportación (filas, bytes, tiempo y MB/s), o null si no se escribió nada.
+         */
+        public String generarGrafica(String archivoCompleto) 
             {
                 List<Resultado> resultados = gestor.getResultados();
                 if (resultados.isEmpty()) 
                     {
                         System.out.println("No hay resultados para graficar.");
-                        return;
+                        return null;
                     }
 
-                // Agrupar por algoritmo y caso
-                Map<String, StringBuilder> mapas = new HashMap<>();
-                Map<String, Integer> cuenta = new HashMap<>();
-                Map<String, Double> suma = new HashMap<>();
-
-                for (Resultado r : resultados) 
+                // Un archivo por algoritmo, tipo de clave (si no es int) y caso, más el consolidado
+                ExportadorCSV exportador = new ExportadorCSV();
+                exportador.setArchivoCompleto(archivoCompleto);
+                exportador.setGraficas(true);
+                try
                     {
-                        // La clave única ahora incluye el algoritmo y el caso
-                        String claveUnica = r.getAlgoritmo() + "_" + r.getCaso();
-                        
-                        mapas.computeIfAbsent(claveUnica, k -> 
-                            {
-                                StringBuilder sb = new StringBuilder();
-                                sb.append("tamano,tiempo_ms\n"); // Cabecera para los archivos individuales
-                                return sb;
-                            }).append(r.getTamano()).append(",").append(String.format("%.6f", r.getTiempoMs())).append("\n");
-
-                        cuenta.put(claveUnica, cuenta.getOrDefault(claveUnica, 0) + 1);
-                        suma.put(claveUnica, suma.getOrDefault(claveUnica, 0.0) + r.getTiempoMs());
+                        exportador.exportar(resultados);
+                    }
+                catch (IOException ex)
+                    {
+                        System.err.println("Error escribiendo los archivos para graficar: " + ex.getMessage());
+                        return null;
                     }
 
-                // Escribimos archivos CSV por algoritmo y caos
-                for (Map.Entry<String, StringBuilder> e : mapas.entrySet()) 
+                for (String archivo : exportador.getArchivosSerie())
+                    System.out.println("Archivo para graficar creado: " + archivo);
+                if (archivoCompleto != null)
+                    System.out.println("\nResultados exportados a '" + archivoCompleto + "'.");
+
+                // Ajuste de complejidad por serie, en lugar del promedio entre tamaños (que mezcla n chicos y grandes)
+                List<AjusteComplejidad> ajustes = ajustarSeries(resultados);
+                System.out.println("\n--- Ajuste de complejidad por algoritmo y caso ---");
+                for (AjusteComplejidad ajuste : ajustes)
                     {
-                        String nombre = e.getKey().replaceAll("\\s+", "_");
-                        String archivo = "grafica_" + nombre + ".csv";
-                        try (FileWriter fw = new FileWriter(archivo)) 
-                            {
-                                fw.write(e.getValue().toString());
-                                System.out.println("Archivo para graficar creado: " + archivo);
-                            } 
-                        catch (IOException ex) 
-                            {
-                                System.err.println("Error escribiendo " + archivo + ": " + ex.getMessage());
-                            }
+                        System.out.printf("%-24s -> %-10s c = %.4e ms, error %5.1f %% | k = %.3f, error %5.1f %%%n",
+                                          ajuste.getSerie(), AjusteComplejidad.nombreModelo(ajuste.getMejorModelo()),
+                                          ajuste.getConstante(ajuste.getMejorModelo()), ajuste.getErrorRelativo(ajuste.getMejorModelo()) * 100,
+                                          ajuste.getExponente(), ajuste.getErrorPotencia() * 100);
+                        for (long n : tamanosPrediccion)
+                            System.out.printf("%-24s    n = %,d: %.1f ms (n^k: %.1f ms)%n", "", n, ajuste.predecirMs(n), ajuste.predecirPotenciaMs(n));
                     }
+                if (ajustes.isEmpty())
+                    System.out.println("Hace falta medir al menos dos tamaños por serie para ajustar la complejidad.");
+                else
+                    escribirAjustes(ajustes);
 
-                // Mostrar resumen por algoritmo 
-                System.out.println("\n--- Resumen por algoritmo y caso (promedio) ---");
-                for (String claveUnica : mapas.keySet()) 
+                System.out.println("Archivo consolidado para graficar: " + ExportadorCSV.ARCHIVO_CONSOLIDADO);
+                System.out.println(exportador.getResumen());
+
+                System.out.println("\nSe pueden usar 'grafica_<algoritmo>_<caso>.csv' o 'grafica_consolidada.csv' para crear gráficas.");
+                return exportador.getResumen();
+            }
+
+        /**
+         * Agrupa los resultados por serie y ajusta cada una.
+         * @param resultados Los resultados del análisis.
+         * @return Un ajuste por serie con al menos dos tamaños medidos, en el orden en que aparecen las series.
+         */
+        public static List<AjusteComplejidad> ajustarSeries(List<Resultado> resultados)
+            {
+                Map<String, List<Resultado>> series = new LinkedHashMap<>();
+                for (Resultado r : resultados)
+                    series.computeIfAbsent(ExportadorCSV.claveSerie(r), k -> new ArrayList<>()).add(r);
+
+                List<AjusteComplejidad> ajustes = new ArrayList<>();
+                for (Map.Entry<String, List<Resultado>> e : series.entrySet())
                     {
-                        int c = cuenta.getOrDefault(claveUnica, 0);
-                        double avg = suma.getOrDefault(claveUnica, 0.0) / Math.max(1, c);
-                        // Ajustamos el espacio de formato para la clave más larga
-                        System.out.printf("%-24s -> muestras: %2d, promedio: %8.4f ms%n", claveUnica, c, avg);
+                        AjusteComplejidad ajuste = AjusteComplejidad.ajustar(e.getKey(), e.getValue());
+                        if (ajuste != null)
+                            ajustes.add(ajuste);
                     }
+                return ajustes;
+            }
 
-                // También generamos un CSV consolidado
-                try (FileWriter fw = new FileWriter("grafica_consolidada.csv")) 
+        // Una fila por serie: modelo, constantes, errores y una columna por tamaño a predecir.
+        // Siempre con punto decimal: con coma, los decimales se mezclarían con las columnas
+        private void escribirAjustes(List<AjusteComplejidad> ajustes)
+            {
+                try (FileWriter writer = new FileWriter(ARCHIVO_AJUSTE))
                     {
-                        // Añadimos la columna "caso"
-                        fw.write("tamano,algoritmo,caso,tiempo_ms\n");
-                        for (Resultado r : resultados) 
+                        StringBuilder cabecera = new StringBuilder("serie,puntos,tamano_max,modelo,constante_ms,error_rel,"
+                                + "c_lineal,c_nlogn,c_cuadratica,error_lineal,error_nlogn,error_cuadratica,exponente_k,coeficiente_potencia,error_potencia");
+                        for (long n : tamanosPrediccion)
+                            cabecera.append(",pred_ms_").append(n);
+                        writer.write(cabecera.append('\n').toString());
+
+                        for (AjusteComplejidad a : ajustes)
                             {
-                                fw.write(r.getTamano() + "," + 
-                                         r.getAlgoritmo() + "," +
-                                         r.getCaso() + "," +
-                                         String.format("%.6f", r.getTiempoMs()) + "\n");
+                                Complejidad mejor = a.getMejorModelo();
+                                StringBuilder fila = new StringBuilder(String.format(Locale.ROOT, "%s,%d,%d,%s,%.6e,%.4f,%.6e,%.6e,%.6e,%.4f,%.4f,%.4f,%.4f,%.6e,%.4f",
+                                        a.getSerie(), a.getPuntos(), a.getTamanoMaximo(), mejor.name(), a.getConstante(mejor), a.getErrorRelativo(mejor),
+                                        a.getConstante(Complejidad.LINEAL), a.getConstante(Complejidad.N_LOG_N), a.getConstante(Complejidad.CUADRATICA),
+                                        a.getErrorRelativo(Complejidad.LINEAL), a.getErrorRelativo(Complejidad.N_LOG_N), a.getErrorRelativo(Complejidad.CUADRATICA),
+                                        a.getExponente(), a.getCoeficientePotencia(), a.getErrorPotencia()));
+                                for (long n : tamanosPrediccion)
+                                    fila.append(String.format(Locale.ROOT, ",%.3f", a.predecirMs(n)));
+                                writer.write(fila.append('\n').toString());
                             }
-                        System.out.println("Archivo consolidado para graficar: grafica_consolidada.csv");
-                    } 
-                catch (IOException ex) 
+                        System.out.println("Ajuste de complejidad exportado a '" + ARCHIVO_AJUSTE + "'.");
+                    }
+                catch (IOException e)
                     {
-                        System.err.println("Error creando grafica_consolidada.csv: " + ex.getMessage());
+                        System.err.println("Error al escribir " + ARCHIVO_AJUSTE + ": " + e.getMessage());
                     }
-
-                System.out.println("\nSe pueden usar 'grafica_<algoritmo>_<caso>.csv' o 'grafica_consolidada.csv' para crear gráficas.");
             }
     }
@@ -0,0 +1,391 @@
+package abstraccion;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Historial de corridas en un archivo binario al que solo se agregan registros; nunca se reescribe.
+ * <p>Formato: una cabecera ({@code "HIST"} y la versión) seguida de registros
+ * {@code [tipo:1 byte][longitud:4 bytes][contenido]}. Hay dos tipos de registro: el inicio de una corrida
+ * con sus {@link MetadatosCorrida} y un {@link Resultado} de una corrida. Si el programa se cae a mitad de
+ * un registro, al abrir el archivo se descarta ese registro incompleto y se conserva todo lo anterior.
+ * <p>Al abrir se construye en memoria un índice por (algoritmo, caso, tamaño) con la posición de cada
+ * resultado en el archivo, así que buscar una celda no recorre el historial; los resultados se leen del
+ * disco solo cuando se piden.
+ */
+public class HistorialResultados
+    {
+        private static final int MAGICO = 0x48495354; // "HIST"
+        private static final int VERSION = 1;
+        private static final int TAMANO_CABECERA = 8;
+
+        private static final byte REGISTRO_CORRIDA = 1;
+        private static final byte REGISTRO_RESULTADO = 2;
+
+        private final Path archivo;
+        private final FileChannel canal;
+
+        private final Map<Long, MetadatosCorrida> corridas = new LinkedHashMap<>();
+        private final Map<Long, List<Long>> posicionesPorCorrida = new HashMap<>();
+        private final Map<ClaveCelda, List<Entrada>> indice = new HashMap<>();
+        private long siguienteId = 1;
+
+        /**
+         * Abre el historial (o lo crea si no existe) y construye el índice.
+         * @param archivo Ruta del archivo binario.
+         * @throws IOException si no se puede abrir o no es un archivo de historial.
+         */
+        public HistorialResultados(Path archivo) throws IOException
+            {
+                this.archivo = archivo;
+                this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                try
+                    {
+                        if (canal.size() == 0)
+                            {
+                                ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA).putInt(MAGICO).putInt(VERSION);
+                                cabecera.flip();
+                                escribirTodo(cabecera, 0);
+                            }
+                        else
+                            {
+                                indexar();
+                            }
+                    }
+                catch (IOException e)
+                    {
+                        canal.close();
+                        throw e;
+                    }
+            }
+
+        // Recorre el archivo una vez, leyendo solo lo necesario para el índice
+        private void indexar() throws IOException
+            {
+                long tamano = canal.size();
+                canal.position(0);
+                InputStream flujo = new BufferedInputStream(Channels.newInputStream(canal), 1 << 16);
+                DataInputStream entrada = new DataInputStream(flujo);
+
+                if (tamano < TAMANO_CABECERA || entrada.readInt() != MAGICO)
+                    throw new IOException(archivo + " no es un archivo de historial de resultados.");
+                int version = entrada.readInt();
+                if (version != VERSION)
+                    throw new IOException("Versión de historial no soportada: " + version);
+
+                long posicion = TAMANO_CABECERA;
+                while (posicion + 5 <= tamano)
+                    {
+                        byte tipo = entrada.readByte();
+                        int longitud = entrada.readInt();
+                        if (longitud < 0 || posicion + 5 + longitud > tamano)
+                            break; // Registro incompleto al final
+
+                        byte[] contenido = new byte[longitud];
+                        entrada.readFully(contenido);
+                        DataInputStream registro = new DataInputStream(new ByteArrayInputStream(contenido));
+                        if (tipo == REGISTRO_CORRIDA)
+                            registrarCorrida(leerCorrida(registro));
+                        else if (tipo == REGISTRO_RESULTADO)
+                            indexarResultado(registro.readLong(), leerResultado(registro), posicion);
+                        posicion += 5 + longitud;
+                    }
+
+                if (posicion < tamano)
+                    {
+                        System.err.println("Se descartó un registro incompleto al final de " + archivo + ".");
+                        canal.truncate(posicion);
+                    }
+            }
+
+        /**
+         * Registra el inicio de una corrida con los datos del proceso actual.
+         * @return Los metadatos de la corrida; su id se usa en {@link #agregar(long, Resultado)}.
+         * @throws IOException si no se puede escribir.
+         */
+        public synchronized MetadatosCorrida iniciarCorrida() throws IOException
+            {
+                MetadatosCorrida corrida = MetadatosCorrida.actual(siguienteId);
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream salida = new DataOutputStream(bytes);
+                salida.writeLong(corrida.getId());
+                salida.writeLong(corrida.getMarcaTiempo());
+                salida.writeUTF(corrida.getVersionJvm());
+                salida.writeUTF(corrida.getBanderasJvm());
+                salida.writeInt(corrida.getNucleos());
+                salida.writeUTF(corrida.getRevisionGit());
+                agregarRegistro(REGISTRO_CORRIDA, bytes.toByteArray());
+                registrarCorrida(corrida);
+                return corrida;
+            }
+
+        /**
+         * Agrega un resultado a una corrida.
+         * @param idCorrida Id devuelto por {@link #iniciarCorrida()}.
+         * @param r El resultado.
+         * @throws IOException si no se puede escribir.
+         */
+        public synchronized void agregar(long idCorrida, Resultado r) throws IOException
+            {
+                if (!corridas.containsKey(idCorrida))
+                    throw new IllegalArgumentException("No existe la corrida " + idCorrida);
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+                DataOutputStream salida = new DataOutputStream(bytes);
+                salida.writeLong(idCorrida);
+                salida.writeUTF(r.getAlgoritmo());
+                salida.writeUTF(r.getCaso());
+                salida.writeInt(r.getTamano());
+                salida.writeUTF(r.getTipoClave());
+                salida.writeDouble(r.getTiempoMs());
+                salida.writeLong(r.getBytesPorOrdenamiento());
+                salida.writeDouble(r.getMinMs());
+                salida.writeDouble(r.getP50Ms());
+                salida.writeDouble(r.getP90Ms());
+                salida.writeDouble(r.getP99Ms());
+                salida.writeDouble(r.getMaxMs());
+                salida.writeDouble(r.getDesviacionMs());
+                salida.writeInt(r.getRepeticiones());
+                salida.writeDouble(r.getIntervaloRelativo());
+                salida.writeBoolean(r.isExtrapolado());
+                salida.writeDouble(r.getCpuMs());
+                salida.writeLong(r.getRecoleccionesGc());
+                salida.writeLong(r.getTiempoGcMs());
+                salida.writeLong(r.getComparaciones());
+                salida.writeLong(r.getIntercambios());
+                salida.writeLong(r.getEscrituras());
+                long posicion = agregarRegistro(REGISTRO_RESULTADO, bytes.toByteArray());
+                indexarResultado(idCorrida, r, posicion);
+            }
+
+        /**
+         * @return Las corridas del historial, de la más antigua a la más reciente.
+         */
+        public synchronized List<MetadatosCorrida> getCorridas()
+            {
+                return new ArrayList<>(corridas.values());
+            }
+
+        /**
+         * @param idCorrida Id de la corrida.
+         * @return Todos sus resultados, en el orden en que se midieron.
+         * @throws IOException si no se pueden leer.
+         */
+        public synchronized List<Resultado> getResultados(long idCorrida) throws IOException
+            {
+                List<Resultado> resultados = new ArrayList<>();
+                for (long posicion : posicionesPorCorrida.getOrDefault(idCorrida, new ArrayList<>()))
+                    resultados.add(leerResultadoEn(posicion));
+                return resultados;
+            }
+
+        /**
+         * Busca una celda en todas las corridas usando el índice.
+         * @param algoritmo Nombre del algoritmo.
+         * @param caso Caso ("Mejor", "Promedio", ...).
+         * @param tamano Tamaño del arreglo.
+         * @return Los resultados de esa celda por id de corrida (puede haber varios por corrida, uno por tipo de clave).
+         * @throws IOException si no se pueden leer.
+         */
+        public synchronized Map<Long, List<Resultado>> buscar(String algoritmo, String caso, int tamano) throws IOException
+            {
+                Map<Long, List<Resultado>> porCorrida = new LinkedHashMap<>();
+                for (Entrada e : indice.getOrDefault(new ClaveCelda(algoritmo, caso, tamano), new ArrayList<>()))
+                    porCorrida.computeIfAbsent(e.idCorrida, k -> new ArrayList<>()).add(leerResultadoEn(e.posicion));
+                return porCorrida;
+            }
+
+        /**
+         * Compara dos corridas celda por celda (algoritmo, caso, tamaño y tipo de clave).
+         * @param idAnterior Corrida de referencia.
+         * @param idNueva Corrida a comparar contra la referencia.
+         * @return Una comparación por celda presente en alguna de las dos, ordenadas por algoritmo, caso, tipo y tamaño.
+         * @throws IOException si no se pueden leer.
+         */
+        public synchronized List<ComparacionCelda> comparar(long idAnterior, long idNueva) throws IOException
+            {
+                Map<String, Resultado[]> celdas = new LinkedHashMap<>();
+                for (Resultado r : getResultados(idAnterior))
+                    celdas.computeIfAbsent(claveCompleta(r), k -> new Resultado[2])[0] = r;
+                for (Resultado r : getResultados(idNueva))
+                    celdas.computeIfAbsent(claveCompleta(r), k -> new Resultado[2])[1] = r;
+
+                List<ComparacionCelda> comparaciones = new ArrayList<>(celdas.size());
+                for (Resultado[] par : celdas.values())
+                    comparaciones.add(new ComparacionCelda(par[0], par[1]));
+                comparaciones.sort(Comparator.comparing(ComparacionCelda::getAlgoritmo)
+                                             .thenComparing(ComparacionCelda::getCaso)
+                                             .thenComparing(ComparacionCelda::getTipoClave)
+                                             .thenComparingInt(ComparacionCelda::getTamano));
+                return comparaciones;
+            }
+
+        public synchronized void cerrar()
+            {
+                try
+                    {
+                        canal.close();
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("Error al cerrar " + archivo + ": " + e.getMessage());
+                    }
+            }
+
+        private static String claveCompleta(Resultado r)
+            {
+                return r.getAlgoritmo() + "|" + r.getCaso() + "|" + r.getTamano() + "|" + r.getTipoClave();
+            }
+
+        private void registrarCorrida(MetadatosCorrida corrida)
+            {
+                corridas.put(corrida.getId(), corrida);
+                posicionesPorCorrida.putIfAbsent(corrida.getId(), new ArrayList<>());
+                siguienteId = Math.max(siguienteId, corrida.getId() + 1);
+            }
+
+        private void indexarResultado(long idCorrida, Resultado r, long posicion)
+            {
+                posicionesPorCorrida.computeIfAbsent(idCorrida, k -> new ArrayList<>()).add(posicion);
+                indice.computeIfAbsent(new ClaveCelda(r.getAlgoritmo(), r.getCaso(), r.getTamano()), k -> new ArrayList<>())
+                      .add(new Entrada(idCorrida, posicion));
+            }
+
+        // Escribe el registro al final del archivo y devuelve su posición
+        private long agregarRegistro(byte tipo, byte[] contenido) throws IOException
+            {
+                long posicion = canal.size();
+                ByteBuffer registro = ByteBuffer.allocate(5 + contenido.length);
+                registro.put(tipo).putInt(contenido.length).put(contenido);
+                registro.flip();
+                escribirTodo(registro, posicion);
+                return posicion;
+            }
+
+        private void escribirTodo(ByteBuffer bufer, long posicion) throws IOException
+            {
+                while (bufer.hasRemaining())
+                    posicion += canal.write(bufer, posicion);
+            }
+
+        private Resultado leerResultadoEn(long posicion) throws IOException
+            {
+                ByteBuffer cabecera = ByteBuffer.allocate(5);
+                leerTodo(cabecera, posicion);
+                cabecera.flip();
+                cabecera.get(); // tipo
+                ByteBuffer contenido = ByteBuffer.allocate(cabecera.getInt());
+                leerTodo(contenido, posicion + 5);
+
+                DataInputStream registro = new DataInputStream(new ByteArrayInputStream(contenido.array()));
+                registro.readLong(); // id de la corrida
+                return leerResultado(registro);
+            }
+
+        private void leerTodo(ByteBuffer bufer, long posicion) throws IOException
+            {
+                while (bufer.hasRemaining())
+                    {
+                        int leidos = canal.read(bufer, posicion);
+                        if (leidos < 0)
+                            throw new EOFException("Registro incompleto en " + archivo);
+                        posicion += leidos;
+                    }
+            }
+
+        private static MetadatosCorrida leerCorrida(DataInputStream entrada) throws IOException
+            {
+                long id = entrada.readLong();
+                long marcaTiempo = entrada.readLong();
+                String versionJvm = entrada.readUTF();
+                String banderasJvm = entrada.readUTF();
+                int nucleos = entrada.readInt();
+                String revisionGit = entrada.readUTF();
+                return new MetadatosCorrida(id, marcaTiempo, versionJvm, banderasJvm, nucleos, revisionGit);
+            }
+
+        // Lee un resultado a partir del algoritmo (el id de la corrida ya se leyó)
+        private static Resultado leerResultado(DataInputStream entrada) throws IOException
+            {
+                String algoritmo = entrada.readUTF();
+                String caso = entrada.readUTF();
+                int tamano = entrada.readInt();
+                String tipoClave = entrada.readUTF();
+                Resultado r = new Resultado(algoritmo, tamano, entrada.readDouble(), caso);
+                r.setTipoClave(tipoClave);
+                r.setBytesPorOrdenamiento(entrada.readLong());
+                r.setDistribucion(entrada.readDouble(), entrada.readDouble(), entrada.readDouble(),
+                                  entrada.readDouble(), entrada.readDouble(), entrada.readDouble());
+                r.setRepeticiones(entrada.readInt());
+                r.setIntervaloRelativo(entrada.readDouble());
+                r.setExtrapolado(entrada.readBoolean());
+                // CPU, recolecciones y operaciones se agregaron después: los registros anteriores terminan antes
+                if (entrada.available() > 0)
+                    {
+                        r.setCpuMs(entrada.readDouble());
+                        r.setRecoleccionesGc(entrada.readLong(), entrada.readLong());
+                    }
+                if (entrada.available() > 0)
+                    r.setOperaciones(entrada.readLong(), entrada.readLong(), entrada.readLong());
+                return r;
+            }
+
+        private static final class ClaveCelda
+            {
+                private final String algoritmo;
+                private final String caso;
+                private final int tamano;
+
+                ClaveCelda(String algoritmo, String caso, int tamano)
+                    {
+                        this.algoritmo = algoritmo;
+                        this.caso = caso;
+                        this.tamano = tamano;
+                    }
+
+                @Override
+                public boolean equals(Object o)
+                    {
+                        if (!(o instanceof ClaveCelda))
+                            return false;
+                        ClaveCelda otra = (ClaveCelda) o;
+                        return tamano == otra.tamano && algoritmo.equals(otra.algoritmo) && caso.equals(otra.caso);
+                    }
+
+                @Override
+                public int hashCode()
+                    {
+                        return Objects.hash(algoritmo, caso, tamano);
+                    }
+            }
+
+        private static final class Entrada
+            {
+                private final long idCorrida;
+                private final long posicion;
+
+                Entrada(long idCorrida, long posicion)
+                    {
+                        this.idCorrida = idCorrida;
+                        this.posicion = posicion;
+                    }
+            }
+    }
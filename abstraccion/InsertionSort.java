@@ -21,9 +21,85 @@ public class InsertionSort implements EstrategiaOrdenamiento
                     }
             }
 
+        @Override
+        public void ordenar(long[] arreglo) 
+            {
+                for (int i = 1; i < arreglo.length; i++) 
+                    {
+                        long key = arreglo[i];
+                        int j = i - 1;
+                        while (j >= 0 && arreglo[j] > key) 
+                            {
+                                arreglo[j + 1] = arreglo[j];
+                                j--;
+                            }
+                        arreglo[j + 1] = key;
+                    }
+            }
+
+        @Override
+        public void ordenar(double[] arreglo) 
+            {
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int n = OrdenDouble.moverNaNAlFinal(arreglo);
+                for (int i = 1; i < n; i++) 
+                    {
+                        double key = arreglo[i];
+                        int j = i - 1;
+                        while (j >= 0 && arreglo[j] > key) 
+                            {
+                                arreglo[j + 1] = arreglo[j];
+                                j--;
+                            }
+                        arreglo[j + 1] = key;
+                    }
+                OrdenDouble.colocarCerosNegativos(arreglo, n);
+            }
+
+        @Override
+        public void ordenar(short[] arreglo) 
+            {
+                for (int i = 1; i < arreglo.length; i++) 
+                    {
+                        short key = arreglo[i];
+                        int j = i - 1;
+                        while (j >= 0 && arreglo[j] > key) 
+                            {
+                                arreglo[j + 1] = arreglo[j];
+                                j--;
+                            }
+                        arreglo[j + 1] = key;
+                    }
+            }
+
+        // Versión instrumentada: el mismo algoritmo contando comparaciones y escrituras (no hace intercambios)
+
+        @Override
+        public void ordenar(ArregloContado arreglo) 
+            {
+                for (int i = 1; i < arreglo.longitud(); i++) 
+                    {
+                        int key = arreglo.leer(i);
+                        int j = i - 1;
+                        while (j >= 0 && arreglo.menor(key, arreglo.leer(j))) 
+                            {
+                                arreglo.escribir(j + 1, arreglo.leer(j));
+                                j--;
+                            }
+                        arreglo.escribir(j + 1, key);
+                    }
+            }
+
         @Override
         public String getNombre() 
             {
                 return "InsertionSort";
             }
+
+        @Override
+        public Complejidad getComplejidad(String caso)
+            {
+                // Con el arreglo ya ordenado basta una pasada
+                return "Mejor".equals(caso) ? Complejidad.LINEAL : Complejidad.CUADRATICA;
+            }
     }
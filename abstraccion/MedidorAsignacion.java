@@ -0,0 +1,57 @@
+package abstraccion;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Lee los bytes asignados en el heap por el hilo actual.
+ * <p>Usa la extensión {@code com.sun.management.ThreadMXBean} de HotSpot. Si la JVM no la ofrece
+ * (o la medición está desactivada), {@link #bytesAsignados()} devuelve -1 y el análisis
+ * reporta la memoria como "no disponible".
+ */
+public final class MedidorAsignacion
+    {
+        private static final com.sun.management.ThreadMXBean HILOS = crearBean();
+
+        private MedidorAsignacion() {}
+
+        private static com.sun.management.ThreadMXBean crearBean()
+            {
+                java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (!(bean instanceof com.sun.management.ThreadMXBean))
+                    return null;
+
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+                if (!hotspot.isThreadAllocatedMemorySupported())
+                    return null;
+                if (!hotspot.isThreadAllocatedMemoryEnabled())
+                    hotspot.setThreadAllocatedMemoryEnabled(true);
+                return hotspot;
+            }
+
+        /**
+         * @return {@code true} si la JVM permite medir la asignación por hilo.
+         */
+        public static boolean disponible()
+            {
+                return HILOS != null;
+            }
+
+        /**
+         * Bytes asignados por el hilo actual desde que inició (contador acumulado).
+         * @return Total de bytes, o -1 si no se puede medir.
+         */
+        public static long bytesAsignados()
+            {
+                return HILOS == null ? -1L : HILOS.getCurrentThreadAllocatedBytes();
+            }
+
+        /**
+         * Bytes asignados por varios hilos (ver {@link ContadoresPoolComun}).
+         * @param ids Identificadores de los hilos.
+         * @return Bytes de cada hilo (-1 si ya terminó), o {@code null} si no se puede medir.
+         */
+        static long[] bytesAsignados(long[] ids)
+            {
+                return HILOS == null ? null : HILOS.getThreadAllocatedBytes(ids);
+            }
+    }
@@ -0,0 +1,96 @@
+package abstraccion;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Lee el tiempo de CPU del hilo actual y los contadores de las recolecciones de basura.
+ * <p>El tiempo de CPU viene del {@link ThreadMXBean}; si la JVM no lo ofrece, {@link #tiempoCpuNs()}
+ * devuelve -1. Las recolecciones se suman sobre todos los {@link GarbageCollectorMXBean}: son de todo
+ * el proceso, así que con varios hilos incluyen las que provocan las otras celdas.
+ * <p>Los bytes asignados por el hilo se leen con {@link MedidorAsignacion}; los de los trabajadores
+ * del pool común, que usan las estrategias paralelas, con {@link ContadoresPoolComun}.
+ */
+public final class MedidorRecursos
+    {
+        private static final ThreadMXBean HILOS = crearBean();
+        private static final List<GarbageCollectorMXBean> RECOLECTORES = ManagementFactory.getGarbageCollectorMXBeans();
+
+        private MedidorRecursos() {}
+
+        private static ThreadMXBean crearBean()
+            {
+                ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (!bean.isCurrentThreadCpuTimeSupported())
+                    return null;
+                if (!bean.isThreadCpuTimeEnabled())
+                    bean.setThreadCpuTimeEnabled(true);
+                return bean;
+            }
+
+        /**
+         * @return {@code true} si la JVM permite medir el tiempo de CPU por hilo.
+         */
+        public static boolean cpuDisponible()
+            {
+                return HILOS != null;
+            }
+
+        /**
+         * Tiempo de CPU (usuario y sistema) consumido por el hilo actual desde que inició.
+         * @return Nanosegundos acumulados, o -1 si no se puede medir.
+         */
+        public static long tiempoCpuNs()
+            {
+                return HILOS == null ? -1L : HILOS.getCurrentThreadCpuTime();
+            }
+
+        /**
+         * Tiempo de CPU de varios hilos (ver {@link ContadoresPoolComun}).
+         * @param ids Identificadores de los hilos.
+         * @return Nanosegundos de cada hilo (-1 si ya terminó), o {@code null} si no se puede medir.
+         */
+        static long[] tiemposCpuNs(long[] ids)
+            {
+                if (HILOS == null)
+                    return null;
+                long[] tiempos = new long[ids.length];
+                for (int i = 0; i < ids.length; i++)
+                    tiempos[i] = HILOS.getThreadCpuTime(ids[i]);
+                return tiempos;
+            }
+
+        /**
+         * @return Recolecciones de basura del proceso desde que inició (todas las generaciones), o -1 si no se conocen.
+         */
+        public static long recolecciones()
+            {
+                long total = 0;
+                for (GarbageCollectorMXBean recolector : RECOLECTORES)
+                    {
+                        long cuenta = recolector.getCollectionCount();
+                        if (cuenta < 0)
+                            return -1L;
+                        total += cuenta;
+                    }
+                return total;
+            }
+
+        /**
+         * @return Milisegundos acumulados en recolecciones de basura desde que inició el proceso, o -1 si no se conocen.
+         */
+        public static long tiempoRecoleccionMs()
+            {
+                long total = 0;
+                for (GarbageCollectorMXBean recolector : RECOLECTORES)
+                    {
+                        long tiempo = recolector.getCollectionTime();
+                        if (tiempo < 0)
+                            return -1L;
+                        total += tiempo;
+                    }
+                return total;
+            }
+    }
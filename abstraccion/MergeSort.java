@@ -45,6 +45,173 @@ public class MergeSort implements EstrategiaOrdenamiento
                 a[k++] = right[j++];
         }
 
+    // Versiones para long[], double[] y short[]: el mismo algoritmo con el tipo de elemento cambiado
+
+    @Override
+    public void ordenar(long[] arreglo) 
+        {
+            if (arreglo == null || arreglo.length < 2) 
+                return;
+            mergeSort(arreglo, 0, arreglo.length - 1);
+        }
+
+    private void mergeSort(long[] a, int l, int r) 
+        {
+            if (l >= r) 
+                return;
+            int m = (l + r) / 2;
+            mergeSort(a, l, m);
+            mergeSort(a, m + 1, r);
+            merge(a, l, m, r);
+        }
+
+    private void merge(long[] a, int l, int m, int r) 
+        {
+            int n1 = m - l + 1;
+            int n2 = r - m;
+            long[] left = new long[n1];
+            long[] right = new long[n2];
+            System.arraycopy(a, l, left, 0, n1);
+            System.arraycopy(a, m + 1, right, 0, n2);
+
+            int i = 0, j = 0, k = l;
+            while (i < n1 && j < n2) 
+                {
+                    if (left[i] <= right[j]) 
+                        a[k++] = left[i++];
+                    else a[k++] = right[j++];
+                }
+            while (i < n1) 
+                a[k++] = left[i++];
+            while (j < n2) 
+                a[k++] = right[j++];
+        }
+
+    @Override
+    public void ordenar(double[] arreglo) 
+        {
+            if (arreglo == null || arreglo.length < 2) 
+                return;
+            // Los NaN quedan al final, fuera del tramo que se ordena
+            int fin = OrdenDouble.moverNaNAlFinal(arreglo);
+            mergeSort(arreglo, 0, fin - 1);
+            OrdenDouble.colocarCerosNegativos(arreglo, fin);
+        }
+
+    private void mergeSort(double[] a, int l, int r) 
+        {
+            if (l >= r) 
+                return;
+            int m = (l + r) / 2;
+            mergeSort(a, l, m);
+            mergeSort(a, m + 1, r);
+            merge(a, l, m, r);
+        }
+
+    private void merge(double[] a, int l, int m, int r) 
+        {
+            int n1 = m - l + 1;
+            int n2 = r - m;
+            double[] left = new double[n1];
+            double[] right = new double[n2];
+            System.arraycopy(a, l, left, 0, n1);
+            System.arraycopy(a, m + 1, right, 0, n2);
+
+            int i = 0, j = 0, k = l;
+            while (i < n1 && j < n2) 
+                {
+                    if (left[i] <= right[j]) 
+                        a[k++] = left[i++];
+                    else a[k++] = right[j++];
+                }
+            while (i < n1) 
+                a[k++] = left[i++];
+            while (j < n2) 
+                a[k++] = right[j++];
+        }
+
+    @Override
+    public void ordenar(short[] arreglo) 
+        {
+            if (arreglo == null || arreglo.length < 2) 
+                return;
+            mergeSort(arreglo, 0, arreglo.length - 1);
+        }
+
+    private void mergeSort(short[] a, int l, int r) 
+        {
+            if (l >= r) 
+                return;
+            int m = (l + r) / 2;
+            mergeSort(a, l, m);
+            mergeSort(a, m + 1, r);
+            merge(a, l, m, r);
+        }
+
+    private void merge(short[] a, int l, int m, int r) 
+        {
+            int n1 = m - l + 1;
+            int n2 = r - m;
+            short[] left = new short[n1];
+            short[] right = new short[n2];
+            System.arraycopy(a, l, left, 0, n1);
+            System.arraycopy(a, m + 1, right, 0, n2);
+
+            int i = 0, j = 0, k = l;
+            while (i < n1 && j < n2) 
+                {
+                    if (left[i] <= right[j]) 
+                        a[k++] = left[i++];
+                    else a[k++] = right[j++];
+                }
+            while (i < n1) 
+                a[k++] = left[i++];
+            while (j < n2) 
+                a[k++] = right[j++];
+        }
+
+    // Versión instrumentada: el mismo algoritmo contando comparaciones y escrituras (incluidas las copias a los auxiliares)
+
+    @Override
+    public void ordenar(ArregloContado arreglo) 
+        {
+            if (arreglo == null || arreglo.longitud() < 2) 
+                return;
+            mergeSort(arreglo, 0, arreglo.longitud() - 1);
+        }
+
+    private void mergeSort(ArregloContado a, int l, int r) 
+        {
+            if (l >= r) 
+                return;
+            int m = (l + r) / 2;
+            mergeSort(a, l, m);
+            mergeSort(a, m + 1, r);
+            merge(a, l, m, r);
+        }
+
+    private void merge(ArregloContado a, int l, int m, int r) 
+        {
+            int n1 = m - l + 1;
+            int n2 = r - m;
+            ArregloContado left = a.auxiliar(n1);
+            ArregloContado right = a.auxiliar(n2);
+            a.copiarA(l, left, 0, n1);
+            a.copiarA(m + 1, right, 0, n2);
+
+            int i = 0, j = 0, k = l;
+            while (i < n1 && j < n2) 
+                {
+                    if (a.menorOIgual(left.leer(i), right.leer(j))) 
+                        a.escribir(k++, left.leer(i++));
+                    else a.escribir(k++, right.leer(j++));
+                }
+            while (i < n1) 
+                a.escribir(k++, left.leer(i++));
+            while (j < n2) 
+                a.escribir(k++, right.leer(j++));
+        }
+
     @Override
     public String getNombre() 
         {
@@ -0,0 +1,133 @@
+package abstraccion;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Describe el entorno de una corrida guardada en el {@link HistorialResultados}: cuándo se hizo,
+ * con qué JVM y banderas, cuántos núcleos tenía la máquina y en qué revisión de git estaba el código.
+ * Con esto se puede saber, al comparar dos corridas, qué cambió entre una y otra.
+ */
+public final class MetadatosCorrida
+    {
+        private final long id;
+        private final long marcaTiempo;
+        private final String versionJvm;
+        private final String banderasJvm;
+        private final int nucleos;
+        private final String revisionGit;
+
+        MetadatosCorrida(long id, long marcaTiempo, String versionJvm, String banderasJvm, int nucleos, String revisionGit)
+            {
+                this.id = id;
+                this.marcaTiempo = marcaTiempo;
+                this.versionJvm = versionJvm;
+                this.banderasJvm = banderasJvm;
+                this.nucleos = nucleos;
+                this.revisionGit = revisionGit;
+            }
+
+        /**
+         * Toma los datos del proceso actual.
+         * @param id Identificador de la corrida dentro del historial.
+         */
+        static MetadatosCorrida actual(long id)
+            {
+                List<String> banderas = ManagementFactory.getRuntimeMXBean().getInputArguments();
+                return new MetadatosCorrida(id,
+                                            System.currentTimeMillis(),
+                                            System.getProperty("java.vm.name") + " " + System.getProperty("java.version"),
+                                            String.join(" ", banderas),
+                                            Runtime.getRuntime().availableProcessors(),
+                                            leerRevisionGit(Paths.get("").toAbsolutePath()));
+            }
+
+        /**
+         * Busca la revisión actual leyendo directamente el directorio .git (sin depender del ejecutable git).
+         * @param directorio Directorio de trabajo; se busca .git en él y en sus padres.
+         * @return El hash del commit, o "desconocida" si no es un repositorio.
+         */
+        static String leerRevisionGit(Path directorio)
+            {
+                for (Path d = directorio; d != null; d = d.getParent())
+                    {
+                        Path git = d.resolve(".git");
+                        if (!Files.isDirectory(git))
+                            continue;
+                        try
+                            {
+                                String head = new String(Files.readAllBytes(git.resolve("HEAD")), StandardCharsets.UTF_8).trim();
+                                if (!head.startsWith("ref: "))
+                                    return head; // HEAD separado: ya es el hash
+
+                                String referencia = head.substring(5);
+                                Path archivoReferencia = git.resolve(referencia);
+                                if (Files.exists(archivoReferencia))
+                                    return new String(Files.readAllBytes(archivoReferencia), StandardCharsets.UTF_8).trim();
+
+                                // Referencias empaquetadas: "<hash> <referencia>" por línea
+                                Path empaquetadas = git.resolve("packed-refs");
+                                if (Files.exists(empaquetadas))
+                                    {
+                                        for (String linea : Files.readAllLines(empaquetadas, StandardCharsets.UTF_8))
+                                            {
+                                                if (linea.endsWith(" " + referencia))
+                                                    return linea.substring(0, linea.indexOf(' '));
+                                            }
+                                    }
+                            }
+                        catch (IOException e)
+                            {
+                                System.err.println("No se pudo leer la revisión de git: " + e.getMessage());
+                            }
+                        break;
+                    }
+                return "desconocida";
+            }
+
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * @return Inicio de la corrida en milisegundos desde la época Unix.
+         */
+        public long getMarcaTiempo() {
+            return marcaTiempo;
+        }
+
+        public String getVersionJvm() {
+            return versionJvm;
+        }
+
+        /**
+         * @return Argumentos de la JVM (p. ej. {@code -Xmx4g -XX:+UseZGC}), separados por espacios.
+         */
+        public String getBanderasJvm() {
+            return banderasJvm;
+        }
+
+        public int getNucleos() {
+            return nucleos;
+        }
+
+        public String getRevisionGit() {
+            return revisionGit;
+        }
+
+        @Override
+        public String toString()
+            {
+                String fecha = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(marcaTiempo));
+                String revision = revisionGit.matches("[0-9a-f]{40,}") ? revisionGit.substring(0, 7) : revisionGit;
+                return String.format("#%d  %s  %s  %d núcleos  %s%s", id, fecha, versionJvm, nucleos, revision,
+                                     banderasJvm.isEmpty() ? "" : "  [" + banderasJvm + "]");
+            }
+    }
@@ -0,0 +1,84 @@
+package abstraccion;
+
+/**
+ * Pasos previos y posteriores para ordenar {@code double[]} con comparaciones simples ({@code <}, {@code <=}).
+ * <p>Los operadores de Java no dan un orden total sobre double: toda comparación con NaN es falsa
+ * y -0.0 == 0.0. Igual que {@code Arrays.sort(double[])}, las estrategias:
+ * <ol>
+ * <li>Mueven los NaN al final con {@link #moverNaNAlFinal(double[])} y ordenan solo el tramo sin NaN.</li>
+ * <li>Ordenan ese tramo tratando -0.0 y 0.0 como iguales.</li>
+ * <li>Ponen los -0.0 antes que los 0.0 con {@link #colocarCerosNegativos(double[], int)}.</li>
+ * </ol>
+ * El resultado coincide con {@link Double#compare(double, double)}.
+ */
+final class OrdenDouble
+    {
+        private OrdenDouble()
+            {
+            }
+
+        /**
+         * Mueve todos los NaN al final del arreglo (en cualquier orden entre ellos).
+         * @param a Arreglo a preparar.
+         * @return Número de elementos que no son NaN: el tramo a ordenar es a[0, fin).
+         */
+        static int moverNaNAlFinal(double[] a)
+            {
+                int fin = a.length;
+                while (fin > 0 && Double.isNaN(a[fin - 1]))
+                    fin--;
+                for (int k = fin - 2; k >= 0; k--)
+                    {
+                        double v = a[k];
+                        if (v != v)
+                            {
+                                a[k] = a[--fin];
+                                a[fin] = v;
+                            }
+                    }
+                return fin;
+            }
+
+        /**
+         * En un tramo ordenado a[0, fin) donde -0.0 y 0.0 quedaron mezclados, pone los -0.0 primero.
+         * @param a Arreglo ordenado salvo por el signo de los ceros.
+         * @param fin Fin (exclusivo) del tramo sin NaN.
+         */
+        static void colocarCerosNegativos(double[] a, int fin)
+            {
+                // Primer elemento >= 0 (el inicio de los ceros, si los hay)
+                int lo = 0, hi = fin;
+                while (lo < hi)
+                    {
+                        int m = (lo + hi) >>> 1;
+                        if (a[m] < 0.0)
+                            lo = m + 1;
+                        else
+                            hi = m;
+                    }
+
+                // Los -0.0 se cuentan y se reescriben al inicio del grupo de ceros
+                int negativos = 0;
+                int k = lo;
+                while (k < fin && a[k] == 0.0)
+                    {
+                        if (Double.doubleToRawLongBits(a[k]) < 0)
+                            negativos++;
+                        k++;
+                    }
+                for (int i = lo; i < k; i++)
+                    a[i] = i < lo + negativos ? -0.0 : 0.0;
+            }
+
+        /**
+         * Clave entera con el mismo orden que {@link Double#compare(double, double)}, para ordenar por bits
+         * ({@link RadixSort}): en los negativos se invierten todos los bits y en los positivos solo el signo.
+         * @param v Valor que no es NaN (los NaN se deben haber apartado antes).
+         * @return La clave; comparada sin signo respeta el orden de los double.
+         */
+        static long clave(double v)
+            {
+                long bits = Double.doubleToRawLongBits(v);
+                return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+            }
+    }
@@ -0,0 +1,445 @@
+package abstraccion;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Ordena un archivo binario de enteros más grande que el heap (merge sort externo).
+ * <p>El archivo es una secuencia de {@code int} de 4 bytes, por omisión en orden big-endian (el de
+ * {@code DataOutputStream}). El ordenamiento tiene dos fases:
+ * <ol>
+ * <li>Formación de tramos: se lee el archivo en bloques que caben en memoria, cada bloque se ordena
+ * con la {@link EstrategiaOrdenamiento} elegida y se escribe a un archivo temporal con {@link FileChannel}.</li>
+ * <li>Mezcla de k vías: los tramos se leen a la vez con un búfer cada uno y se mezclan con un montículo
+ * de mínimos. Si hay más tramos de los que caben con un búfer mínimo, o más de {@value #MAXIMO_VIAS} (para no
+ * abrir demasiados archivos a la vez), se mezclan por grupos en varias pasadas.
+ * La lectura puede ser con búferes directos o con archivos mapeados en memoria.</li>
+ * </ol>
+ * La memoria se acota con {@link #setMemoriaBytes(long)}: la mitad para el bloque de enteros y la otra mitad
+ * para el espacio auxiliar que usan estrategias como {@link MergeSort} o {@link RadixSort}. En la mezcla
+ * ese mismo presupuesto se reparte entre los búferes de los tramos y el de salida.
+ * <p>Al terminar se entrega un {@link ResultadoExterno} a {@link GestorResultados} con los bytes leídos y
+ * escritos y el tiempo de cada fase.
+ */
+public class OrdenamientoExterno
+    {
+        // Búfer de E/S de la fase de tramos y búfer mínimo por tramo en la mezcla
+        private static final int BUFER_ES = 1 << 20;
+        private static final int BUFER_MINIMO_TRAMO = 64 * 1024;
+        // Tramos abiertos a la vez en una mezcla: con más memoria no pasa de aquí, para no chocar
+        // con el límite de archivos abiertos del proceso (suele ser 1024)
+        private static final int MAXIMO_VIAS = 256;
+
+        private final EstrategiaOrdenamiento estrategia;
+        private long memoriaBytes = 256L * 1024 * 1024;
+        private boolean mapeado = false;
+        private ByteOrder ordenBytes = ByteOrder.BIG_ENDIAN;
+        private Path directorioTemporal;
+
+        // Contadores de la corrida en curso
+        private long bytesLeidos;
+        private long bytesEscritos;
+
+        /**
+         * @param estrategia Estrategia que ordena cada bloque en memoria.
+         */
+        public OrdenamientoExterno(EstrategiaOrdenamiento estrategia)
+            {
+                this.estrategia = estrategia;
+            }
+
+        /**
+         * Memoria máxima que usa el ordenamiento (bloque en memoria más búferes).
+         * @param memoriaBytes Bytes; se usa al menos 1 MB.
+         */
+        public void setMemoriaBytes(long memoriaBytes)
+            {
+                this.memoriaBytes = Math.max(1L << 20, memoriaBytes);
+            }
+
+        /**
+         * @param mapeado {@code true} para leer los tramos en la mezcla con archivos mapeados en memoria
+         *                en lugar de búferes directos.
+         */
+        public void setMapeado(boolean mapeado)
+            {
+                this.mapeado = mapeado;
+            }
+
+        /**
+         * @param ordenBytes Orden de bytes de los enteros del archivo de entrada y del de salida.
+         */
+        public void setOrdenBytes(ByteOrder ordenBytes)
+            {
+                this.ordenBytes = ordenBytes;
+            }
+
+        /**
+         * @param directorioTemporal Directorio para los tramos; por omisión, el del archivo de salida.
+         */
+        public void setDirectorioTemporal(Path directorioTemporal)
+            {
+                this.directorioTemporal = directorioTemporal;
+            }
+
+        /**
+         * Ordena el archivo de entrada y escribe el resultado en el de salida. Los tramos temporales se borran al terminar.
+         * @param entrada Archivo binario de enteros.
+         * @param salida Archivo donde se escribe el resultado (se reemplaza si existe).
+         * @return El resultado, que también se entrega a {@link GestorResultados}.
+         * @throws IOException si falla la lectura o escritura, o si el tamaño de la entrada no es múltiplo de 4.
+         */
+        public ResultadoExterno ordenar(Path entrada, Path salida) throws IOException
+            {
+                long bytesEntrada = Files.size(entrada);
+                if (bytesEntrada % Integer.BYTES != 0)
+                    throw new IOException("El archivo " + entrada + " no contiene un número entero de int (" + bytesEntrada + " bytes).");
+
+                long elementos = bytesEntrada / Integer.BYTES;
+                Path dirTemporal = directorioTemporal != null ? directorioTemporal
+                        : salida.toAbsolutePath().getParent();
+                bytesLeidos = 0;
+                bytesEscritos = 0;
+
+                long inicio = System.nanoTime();
+                List<Path> tramos = new ArrayList<>();
+                List<Path> siguientes = new ArrayList<>(); // Tramos que va creando la pasada de mezcla en curso
+                long[] fases = new long[3]; // lectura, ordenamiento, escritura (ns)
+                int pasadas = 0;
+                long inicioMezcla;
+                try
+                    {
+                        // 1. Formación de tramos ordenados
+                        formarTramos(entrada, elementos, dirTemporal, tramos, fases);
+
+                        // 2. Mezcla (por grupos si hay demasiados tramos para la memoria o para MAXIMO_VIAS)
+                        inicioMezcla = System.nanoTime();
+                        int maximoVias = (int) Math.max(2, Math.min(MAXIMO_VIAS, memoriaBytes / BUFER_MINIMO_TRAMO - 1));
+                        while (tramos.size() > maximoVias)
+                            {
+                                for (int i = 0; i < tramos.size(); i += maximoVias)
+                                    {
+                                        List<Path> grupo = tramos.subList(i, Math.min(i + maximoVias, tramos.size()));
+                                        Path destino = Files.createTempFile(dirTemporal, "tramo", ".bin");
+                                        siguientes.add(destino);
+                                        mezclar(grupo, destino);
+                                        borrar(grupo);
+                                    }
+                                tramos = siguientes;
+                                siguientes = new ArrayList<>();
+                                pasadas++;
+                            }
+                        mezclar(tramos, salida);
+                        pasadas++;
+                    }
+                finally
+                    {
+                        // Si la mezcla falla a mitad de una pasada quedan tramos en las dos listas
+                        borrar(tramos);
+                        borrar(siguientes);
+                    }
+                long fin = System.nanoTime();
+
+                int numeroTramos = (int) ((elementos + elementosPorBloque() - 1) / elementosPorBloque());
+                ResultadoExterno resultado = new ResultadoExterno(estrategia.getNombre(), elementos, (fin - inicio) / 1_000_000.0);
+                resultado.setTramos(numeroTramos, pasadas);
+                resultado.setBytes(bytesLeidos, bytesEscritos);
+                resultado.setFases(fases[0] / 1_000_000.0, fases[1] / 1_000_000.0, fases[2] / 1_000_000.0,
+                                   (fin - inicioMezcla) / 1_000_000.0);
+                GestorResultados.getInstancia().agregarResultado(resultado);
+                return resultado;
+            }
+
+        // Enteros por bloque: la mitad de la memoria, el resto queda para el espacio auxiliar de la estrategia
+        private int elementosPorBloque()
+            {
+                return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, memoriaBytes / 2 / Integer.BYTES));
+            }
+
+        /**
+         * Lee la entrada por bloques, ordena cada uno y lo escribe como tramo temporal.
+         * @param fases Acumula los ns de lectura, ordenamiento y escritura.
+         */
+        private void formarTramos(Path entrada, long elementos, Path dirTemporal, List<Path> tramos, long[] fases) throws IOException
+            {
+                ByteBuffer bufer = ByteBuffer.allocateDirect(BUFER_ES).order(ordenBytes);
+                int porBloque = elementosPorBloque();
+                int[] bloque = null;
+
+                try (FileChannel canal = FileChannel.open(entrada, StandardOpenOption.READ))
+                    {
+                        long restantes = elementos;
+                        while (restantes > 0)
+                            {
+                                int cantidad = (int) Math.min(porBloque, restantes);
+                                // El bloque se reutiliza; solo el último (más corto) necesita uno nuevo,
+                                // porque las estrategias ordenan el arreglo completo
+                                if (bloque == null || bloque.length != cantidad)
+                                    bloque = new int[cantidad];
+
+                                long t0 = System.nanoTime();
+                                leerEnteros(canal, bufer, bloque, cantidad);
+                                long t1 = System.nanoTime();
+                                estrategia.ordenar(bloque);
+                                long t2 = System.nanoTime();
+
+                                Path tramo = Files.createTempFile(dirTemporal, "tramo", ".bin");
+                                tramos.add(tramo);
+                                try (FileChannel salida = FileChannel.open(tramo, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+                                    {
+                                        escribirEnteros(salida, bufer, bloque, cantidad);
+                                    }
+                                long t3 = System.nanoTime();
+
+                                fases[0] += t1 - t0;
+                                fases[1] += t2 - t1;
+                                fases[2] += t3 - t2;
+                                restantes -= cantidad;
+                            }
+                    }
+            }
+
+        // Llena destino[0, cantidad) con los siguientes enteros del canal
+        private void leerEnteros(FileChannel canal, ByteBuffer bufer, int[] destino, int cantidad) throws IOException
+            {
+                int leidos = 0;
+                while (leidos < cantidad)
+                    {
+                        bufer.clear();
+                        bufer.limit((int) Math.min(bufer.capacity(), (long) (cantidad - leidos) * Integer.BYTES));
+                        while (bufer.hasRemaining())
+                            {
+                                if (canal.read(bufer) < 0)
+                                    throw new EOFException("El archivo terminó antes de lo esperado.");
+                            }
+                        bufer.flip();
+                        int k = bufer.remaining() / Integer.BYTES;
+                        bufer.asIntBuffer().get(destino, leidos, k);
+                        leidos += k;
+                        bytesLeidos += (long) k * Integer.BYTES;
+                    }
+            }
+
+        // Escribe origen[0, cantidad) al canal
+        private void escribirEnteros(FileChannel canal, ByteBuffer bufer, int[] origen, int cantidad) throws IOException
+            {
+                int escritos = 0;
+                while (escritos < cantidad)
+                    {
+                        int k = Math.min(bufer.capacity() / Integer.BYTES, cantidad - escritos);
+                        bufer.clear();
+                        bufer.asIntBuffer().put(origen, escritos, k);
+                        bufer.limit(k * Integer.BYTES);
+                        while (bufer.hasRemaining())
+                            canal.write(bufer);
+                        escritos += k;
+                        bytesEscritos += (long) k * Integer.BYTES;
+                    }
+            }
+
+        /**
+         * Mezcla de k vías de los tramos en destino con un montículo de mínimos sobre el valor actual de cada tramo.
+         */
+        private void mezclar(List<Path> tramos, Path destino) throws IOException
+            {
+                int k = tramos.size();
+                // Un búfer por tramo y uno de salida, repartiendo la memoria
+                int tamBufer = (int) Math.min(BUFER_ES * 8L, Math.max(BUFER_MINIMO_TRAMO, memoriaBytes / (k + 1)));
+                tamBufer -= tamBufer % Integer.BYTES;
+
+                List<LectorTramo> lectores = new ArrayList<>(k);
+                try (FileChannel salida = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                           StandardOpenOption.TRUNCATE_EXISTING))
+                    {
+                        for (Path tramo : tramos)
+                            lectores.add(new LectorTramo(tramo, tamBufer));
+
+                        // Montículo con los lectores que aún tienen datos
+                        int[] monticulo = new int[k];
+                        int tamano = 0;
+                        for (int i = 0; i < k; i++)
+                            {
+                                if (lectores.get(i).avanzar())
+                                    monticulo[tamano++] = i;
+                            }
+                        for (int i = tamano / 2 - 1; i >= 0; i--)
+                            hundir(monticulo, tamano, i, lectores);
+
+                        ByteBuffer bufSalida = ByteBuffer.allocateDirect(tamBufer).order(ordenBytes);
+                        while (tamano > 0)
+                            {
+                                LectorTramo menor = lectores.get(monticulo[0]);
+                                bufSalida.putInt(menor.actual);
+                                if (!bufSalida.hasRemaining())
+                                    vaciar(salida, bufSalida);
+
+                                if (!menor.avanzar())
+                                    monticulo[0] = monticulo[--tamano];
+                                hundir(monticulo, tamano, 0, lectores);
+                            }
+                        vaciar(salida, bufSalida);
+                    }
+                finally
+                    {
+                        for (LectorTramo lector : lectores)
+                            lector.cerrar();
+                    }
+            }
+
+        private static void hundir(int[] monticulo, int tamano, int i, List<LectorTramo> lectores)
+            {
+                int elemento = monticulo[i];
+                int valor = lectores.get(elemento).actual;
+                while (true)
+                    {
+                        int hijo = 2 * i + 1;
+                        if (hijo >= tamano)
+                            break;
+                        if (hijo + 1 < tamano && lectores.get(monticulo[hijo + 1]).actual < lectores.get(monticulo[hijo]).actual)
+                            hijo++;
+                        if (valor <= lectores.get(monticulo[hijo]).actual)
+                            break;
+                        monticulo[i] = monticulo[hijo];
+                        i = hijo;
+                    }
+                monticulo[i] = elemento;
+            }
+
+        private void vaciar(FileChannel canal, ByteBuffer bufer) throws IOException
+            {
+                bufer.flip();
+                bytesEscritos += bufer.remaining();
+                while (bufer.hasRemaining())
+                    canal.write(bufer);
+                bufer.clear();
+            }
+
+        private static void borrar(List<Path> archivos)
+            {
+                for (Path archivo : archivos)
+                    {
+                        try
+                            {
+                                Files.deleteIfExists(archivo);
+                            }
+                        catch (IOException e)
+                            {
+                                System.err.println("No se pudo borrar el tramo temporal " + archivo + ": " + e.getMessage());
+                            }
+                    }
+            }
+
+        /**
+         * Lee un tramo entero por entero, con un búfer directo que se rellena o con ventanas mapeadas del archivo.
+         */
+        private final class LectorTramo
+            {
+                private final FileChannel canal;
+                private final long tamanoArchivo;
+                private final int tamVentana;
+                private long posicion;
+                private ByteBuffer ventana;
+
+                // Valor actual, válido después de que avanzar() devuelve true
+                int actual;
+
+                LectorTramo(Path tramo, int tamVentana) throws IOException
+                    {
+                        this.canal = FileChannel.open(tramo, StandardOpenOption.READ);
+                        this.tamanoArchivo = canal.size();
+                        this.tamVentana = tamVentana;
+                        if (!mapeado)
+                            {
+                                ventana = ByteBuffer.allocateDirect(tamVentana).order(ordenBytes);
+                                ventana.limit(0);
+                            }
+                    }
+
+                boolean avanzar() throws IOException
+                    {
+                        if (ventana == null || !ventana.hasRemaining())
+                            {
+                                if (posicion >= tamanoArchivo)
+                                    return false;
+                                rellenar();
+                            }
+                        actual = ventana.getInt();
+                        return true;
+                    }
+
+                private void rellenar() throws IOException
+                    {
+                        int longitud = (int) Math.min(tamVentana, tamanoArchivo - posicion);
+                        if (mapeado)
+                            {
+                                ventana = canal.map(FileChannel.MapMode.READ_ONLY, posicion, longitud).order(ordenBytes);
+                            }
+                        else
+                            {
+                                ventana.clear();
+                                ventana.limit(longitud);
+                                while (ventana.hasRemaining())
+                                    {
+                                        if (canal.read(ventana, posicion + ventana.position()) < 0)
+                                            throw new EOFException("El tramo terminó antes de lo esperado.");
+                                    }
+                                ventana.flip();
+                            }
+                        posicion += longitud;
+                        bytesLeidos += longitud;
+                    }
+
+                void cerrar()
+                    {
+                        try
+                            {
+                                canal.close();
+                            }
+                        catch (IOException e)
+                            {
+                                System.err.println("Error al cerrar un tramo: " + e.getMessage());
+                            }
+                    }
+            }
+
+        /**
+         * Genera un archivo de enteros aleatorios para probar el ordenamiento externo.
+         * @param archivo Archivo a crear (se reemplaza si existe).
+         * @param elementos Número de enteros.
+         * @param semilla Semilla del generador, para repetir exactamente la misma entrada.
+         * @param ordenBytes Orden de bytes de los enteros.
+         * @throws IOException si no se puede escribir el archivo.
+         */
+        public static void generarArchivo(Path archivo, long elementos, long semilla, ByteOrder ordenBytes) throws IOException
+            {
+                SplittableRandom aleatorio = new SplittableRandom(semilla);
+                ByteBuffer bufer = ByteBuffer.allocateDirect(BUFER_ES).order(ordenBytes);
+                try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                          StandardOpenOption.TRUNCATE_EXISTING))
+                    {
+                        for (long i = 0; i < elementos; i++)
+                            {
+                                bufer.putInt(aleatorio.nextInt());
+                                if (!bufer.hasRemaining())
+                                    {
+                                        bufer.flip();
+                                        while (bufer.hasRemaining())
+                                            canal.write(bufer);
+                                        bufer.clear();
+                                    }
+                            }
+                        bufer.flip();
+                        while (bufer.hasRemaining())
+                            canal.write(bufer);
+                    }
+            }
+    }
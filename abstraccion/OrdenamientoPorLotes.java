@@ -0,0 +1,236 @@
+package abstraccion;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Ordena muchos arreglos independientes a la vez sobre un {@link ForkJoinPool}.
+ * <p>Recibe los arreglos como {@code int[][]} o como un solo arreglo plano con un índice de desplazamientos
+ * (el segmento i va de {@code desplazamientos[i]} a {@code desplazamientos[i + 1]}). El lote se reparte
+ * en tareas por número de elementos, no por número de arreglos: un rango de arreglos se parte en dos
+ * mitades de peso parecido hasta que suma como mucho {@value #ELEMENTOS_POR_TAREA} elementos, y entonces
+ * se ordena completo en un solo hilo (así los arreglos diminutos se agrupan y no pagan una tarea cada uno).
+ * Los arreglos de {@value #UMBRAL_DIVISION} elementos o más se parten en mitades que se ordenan en paralelo
+ * con la estrategia y luego se mezclan. Los hilos libres roban las tareas pendientes de los demás.
+ * <p>Funciona con cualquier {@link EstrategiaOrdenamiento}. Cada hilo usa su propia instancia (creada con la
+ * fábrica), porque no todas las estrategias se pueden usar desde varios hilos a la vez.
+ */
+public class OrdenamientoPorLotes
+    {
+        // Elementos que una tarea ordena sin volver a dividirse (agrupando arreglos chicos)
+        public static final int ELEMENTOS_POR_TAREA = 1 << 14;
+        // A partir de este tamaño un arreglo se parte en mitades ordenadas en paralelo y mezcladas
+        public static final int UMBRAL_DIVISION = 1 << 17;
+
+        private final ForkJoinPool pool;
+        private final String nombre;
+        private final ThreadLocal<EstrategiaOrdenamiento> estrategias;
+
+        /**
+         * Crea el ordenamiento por lotes sobre el pool común de la JVM.
+         * @param fabrica Crea una instancia de la estrategia para cada hilo.
+         */
+        public OrdenamientoPorLotes(Supplier<? extends EstrategiaOrdenamiento> fabrica)
+            {
+                this(fabrica, ForkJoinPool.commonPool());
+            }
+
+        /**
+         * @param fabrica Crea una instancia de la estrategia para cada hilo.
+         * @param pool Pool donde se ejecutan las tareas, por ejemplo para fijar el número de hilos.
+         */
+        public OrdenamientoPorLotes(Supplier<? extends EstrategiaOrdenamiento> fabrica, ForkJoinPool pool)
+            {
+                this.pool = pool;
+                this.estrategias = ThreadLocal.withInitial(fabrica);
+                this.nombre = estrategias.get().getNombre();
+            }
+
+        /**
+         * @param algoritmo Nombre de una estrategia del catálogo ({@link AnalizadorEficiencia#crearAlgoritmos()}).
+         * @return El ordenamiento por lotes con esa estrategia, sobre el pool común.
+         * @throws IllegalArgumentException si el algoritmo no está registrado.
+         */
+        public static OrdenamientoPorLotes con(String algoritmo)
+            {
+                AnalizadorEficiencia.buscarAlgoritmo(algoritmo); // Falla aquí si el nombre no existe
+                return new OrdenamientoPorLotes(() -> AnalizadorEficiencia.buscarAlgoritmo(algoritmo));
+            }
+
+        /**
+         * @return Nombre de la estrategia que ordena cada arreglo.
+         */
+        public String getNombre()
+            {
+                return nombre;
+            }
+
+        /**
+         * Ordena cada arreglo del lote por separado. Los elementos nulos se ignoran.
+         * @param arreglos Los arreglos a ordenar.
+         */
+        public void ordenar(int[][] arreglos)
+            {
+                if (arreglos == null || arreglos.length == 0)
+                    return;
+                long[] prefijos = new long[arreglos.length + 1];
+                for (int i = 0; i < arreglos.length; i++)
+                    prefijos[i + 1] = prefijos[i] + (arreglos[i] == null ? 0 : arreglos[i].length);
+                pool.invoke(new TareaLote(new Lote(arreglos, null, prefijos), 0, arreglos.length));
+            }
+
+        /**
+         * Ordena cada segmento de un arreglo plano por separado.
+         * @param datos Los elementos de todos los segmentos, uno tras otro.
+         * @param desplazamientos Inicio de cada segmento más el fin del último (k + 1 valores para k segmentos), no decrecientes.
+         * @throws IllegalArgumentException si los desplazamientos no son válidos para {@code datos}.
+         */
+        public void ordenar(int[] datos, int[] desplazamientos)
+            {
+                if (desplazamientos == null || desplazamientos.length < 2)
+                    return;
+                long[] prefijos = new long[desplazamientos.length];
+                for (int i = 0; i < desplazamientos.length; i++)
+                    {
+                        if (desplazamientos[i] < 0 || desplazamientos[i] > datos.length || (i > 0 && desplazamientos[i] < desplazamientos[i - 1]))
+                            throw new IllegalArgumentException("Desplazamiento inválido en la posición " + i + ": " + desplazamientos[i]);
+                        prefijos[i] = desplazamientos[i];
+                    }
+                pool.invoke(new TareaLote(new Lote(null, datos, prefijos), 0, desplazamientos.length - 1));
+            }
+
+        // Ordena un arreglo completo: en este hilo si es chico, partiéndolo en tareas si es grande
+        private void ordenarArreglo(int[] a)
+            {
+                if (a.length >= UMBRAL_DIVISION && pool.getParallelism() > 1)
+                    {
+                        // Dentro de una tarea del pool se divide ahí mismo; desde otro hilo se entrega al pool
+                        if (ForkJoinTask.getPool() == pool)
+                            new TareaDividir(a).invoke();
+                        else
+                            pool.invoke(new TareaDividir(a));
+                    }
+                else
+                    estrategias.get().ordenar(a);
+            }
+
+        /**
+         * Los arreglos de un lote: o {@code int[][]} o un arreglo plano con desplazamientos.
+         * {@code prefijos[i]} es el número de elementos antes del arreglo i (en el plano, su desplazamiento).
+         */
+        private static final class Lote
+            {
+                private final int[][] arreglos;
+                private final int[] datos;
+                private final long[] prefijos;
+
+                Lote(int[][] arreglos, int[] datos, long[] prefijos)
+                    {
+                        this.arreglos = arreglos;
+                        this.datos = datos;
+                        this.prefijos = prefijos;
+                    }
+
+                long peso(int desde, int hasta)
+                    {
+                        return prefijos[hasta] - prefijos[desde];
+                    }
+            }
+
+        /**
+         * Ordena los arreglos [desde, hasta) de un lote, partiendo el rango por peso.
+         */
+        private final class TareaLote extends RecursiveAction
+            {
+                private static final long serialVersionUID = 1L;
+
+                private final Lote lote;
+                private final int desde;
+                private final int hasta;
+
+                TareaLote(Lote lote, int desde, int hasta)
+                    {
+                        this.lote = lote;
+                        this.desde = desde;
+                        this.hasta = hasta;
+                    }
+
+                @Override
+                protected void compute()
+                    {
+                        if (hasta - desde == 1 || lote.peso(desde, hasta) <= ELEMENTOS_POR_TAREA)
+                            {
+                                for (int i = desde; i < hasta; i++)
+                                    ordenarSegmento(i);
+                                return;
+                            }
+
+                        // Corte donde el peso acumulado llega a la mitad, dejando al menos un arreglo de cada lado
+                        long mitad = lote.prefijos[desde] + lote.peso(desde, hasta) / 2;
+                        int corte = Arrays.binarySearch(lote.prefijos, desde + 1, hasta, mitad);
+                        corte = corte >= 0 ? corte : -corte - 1;
+                        corte = Math.max(desde + 1, Math.min(hasta - 1, corte));
+                        invokeAll(new TareaLote(lote, desde, corte), new TareaLote(lote, corte, hasta));
+                    }
+
+                private void ordenarSegmento(int i)
+                    {
+                        if (lote.arreglos != null)
+                            {
+                                if (lote.arreglos[i] != null && lote.arreglos[i].length > 1)
+                                    ordenarArreglo(lote.arreglos[i]);
+                                return;
+                            }
+                        int inicio = (int) lote.prefijos[i];
+                        int fin = (int) lote.prefijos[i + 1];
+                        if (fin - inicio < 2)
+                            return;
+                        // Las estrategias ordenan arreglos completos: el segmento se copia, se ordena y se devuelve
+                        int[] segmento = Arrays.copyOfRange(lote.datos, inicio, fin);
+                        ordenarArreglo(segmento);
+                        System.arraycopy(segmento, 0, lote.datos, inicio, segmento.length);
+                    }
+            }
+
+        /**
+         * Ordena un arreglo grande: cada mitad se copia y se ordena en paralelo (dividiéndose otra vez si
+         * sigue siendo grande) y las dos se mezclan de vuelta en el arreglo.
+         */
+        private final class TareaDividir extends RecursiveAction
+            {
+                private static final long serialVersionUID = 1L;
+
+                private final int[] a;
+
+                TareaDividir(int[] a)
+                    {
+                        this.a = a;
+                    }
+
+                @Override
+                protected void compute()
+                    {
+                        if (a.length < UMBRAL_DIVISION)
+                            {
+                                estrategias.get().ordenar(a);
+                                return;
+                            }
+
+                        int m = a.length >>> 1;
+                        int[] izquierda = Arrays.copyOfRange(a, 0, m);
+                        int[] derecha = Arrays.copyOfRange(a, m, a.length);
+                        invokeAll(new TareaDividir(izquierda), new TareaDividir(derecha));
+
+                        int i = 0, j = 0, k = 0;
+                        while (i < izquierda.length && j < derecha.length)
+                            a[k++] = izquierda[i] <= derecha[j] ? izquierda[i++] : derecha[j++];
+                        while (i < izquierda.length)
+                            a[k++] = izquierda[i++];
+                        while (j < derecha.length)
+                            a[k++] = derecha[j++];
+                    }
+            }
+    }
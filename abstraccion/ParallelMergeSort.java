@@ -0,0 +1,537 @@
+package abstraccion;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementación paralela de Merge Sort sobre un {@link ForkJoinPool}.
+ * <p>Divide la recursión de {@link MergeSort} en tareas: cada mitad se ordena en paralelo hasta llegar
+ * a un umbral secuencial, y las mezclas de mitades grandes también se reparten entre hilos
+ * (se toma la mediana de la mitad mayor, se busca su posición en la otra y ambas partes se mezclan por separado).
+ * Usa un solo arreglo auxiliar de tamaño n por ordenamiento.
+ */
+public class ParallelMergeSort implements EstrategiaOrdenamiento
+    {
+        // Por debajo de este tamaño ordenar o mezclar en paralelo cuesta más de lo que ahorra
+        private static final int UMBRAL_SECUENCIAL = 8192;
+        private static final int UMBRAL_MEZCLA_PARALELA = 8192;
+
+        private final ForkJoinPool pool;
+
+        /**
+         * Crea la estrategia usando el pool común de la JVM.
+         */
+        public ParallelMergeSort()
+            {
+                this(ForkJoinPool.commonPool());
+            }
+
+        /**
+         * Crea la estrategia con un pool propio, por ejemplo para fijar el número de hilos.
+         * @param pool Pool donde se ejecutan las tareas.
+         */
+        public ParallelMergeSort(ForkJoinPool pool)
+            {
+                this.pool = pool;
+            }
+
+        @Override
+        public void ordenar(int[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                int[] aux = new int[arreglo.length];
+                if (arreglo.length <= UMBRAL_SECUENCIAL)
+                    mergeSortSecuencial(arreglo, aux, 0, arreglo.length);
+                else
+                    pool.invoke(new TareaOrdenar(Operaciones.INT, arreglo, aux, 0, arreglo.length));
+            }
+
+        @Override
+        public void ordenar(long[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                long[] aux = new long[arreglo.length];
+                if (arreglo.length <= UMBRAL_SECUENCIAL)
+                    mergeSortSecuencial(arreglo, aux, 0, arreglo.length);
+                else
+                    pool.invoke(new TareaOrdenar(Operaciones.LONG, arreglo, aux, 0, arreglo.length));
+            }
+
+        @Override
+        public void ordenar(double[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int fin = OrdenDouble.moverNaNAlFinal(arreglo);
+                double[] aux = new double[fin];
+                if (fin <= UMBRAL_SECUENCIAL)
+                    mergeSortSecuencial(arreglo, aux, 0, fin);
+                else
+                    pool.invoke(new TareaOrdenar(Operaciones.DOUBLE, arreglo, aux, 0, fin));
+                OrdenDouble.colocarCerosNegativos(arreglo, fin);
+            }
+
+        @Override
+        public void ordenar(short[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                short[] aux = new short[arreglo.length];
+                if (arreglo.length <= UMBRAL_SECUENCIAL)
+                    mergeSortSecuencial(arreglo, aux, 0, arreglo.length);
+                else
+                    pool.invoke(new TareaOrdenar(Operaciones.SHORT, arreglo, aux, 0, arreglo.length));
+            }
+
+        // Ordena a[lo, hi) usando aux como espacio de mezcla
+        private static void mergeSortSecuencial(int[] a, int[] aux, int lo, int hi)
+            {
+                if (hi - lo < 2)
+                    return;
+                int m = (lo + hi) >>> 1;
+                mergeSortSecuencial(a, aux, lo, m);
+                mergeSortSecuencial(a, aux, m, hi);
+                if (a[m - 1] <= a[m])
+                    return; // Las mitades ya están en orden
+                mezclar(a, lo, m, m, hi, aux, lo);
+                System.arraycopy(aux, lo, a, lo, hi - lo);
+            }
+
+        // Mezcla a[lo1, hi1) y a[lo2, hi2) en dst a partir de dstLo
+        private static void mezclar(int[] a, int lo1, int hi1, int lo2, int hi2, int[] dst, int dstLo)
+            {
+                int i = lo1, j = lo2, k = dstLo;
+                while (i < hi1 && j < hi2)
+                    {
+                        if (a[i] <= a[j])
+                            dst[k++] = a[i++];
+                        else dst[k++] = a[j++];
+                    }
+                while (i < hi1)
+                    dst[k++] = a[i++];
+                while (j < hi2)
+                    dst[k++] = a[j++];
+            }
+
+        // Primer índice en a[lo, hi) cuyo valor es >= clave
+        private static int cotaInferior(int[] a, int lo, int hi, int clave)
+            {
+                while (lo < hi)
+                    {
+                        int m = (lo + hi) >>> 1;
+                        if (a[m] < clave)
+                            lo = m + 1;
+                        else
+                            hi = m;
+                    }
+                return lo;
+            }
+
+        // Versiones para long[], double[] y short[]: el mismo algoritmo con el tipo de elemento cambiado
+
+        // Ordena a[lo, hi) usando aux como espacio de mezcla
+        private static void mergeSortSecuencial(long[] a, long[] aux, int lo, int hi)
+            {
+                if (hi - lo < 2)
+                    return;
+                int m = (lo + hi) >>> 1;
+                mergeSortSecuencial(a, aux, lo, m);
+                mergeSortSecuencial(a, aux, m, hi);
+                if (a[m - 1] <= a[m])
+                    return; // Las mitades ya están en orden
+                mezclar(a, lo, m, m, hi, aux, lo);
+                System.arraycopy(aux, lo, a, lo, hi - lo);
+            }
+
+        // Mezcla a[lo1, hi1) y a[lo2, hi2) en dst a partir de dstLo
+        private static void mezclar(long[] a, int lo1, int hi1, int lo2, int hi2, long[] dst, int dstLo)
+            {
+                int i = lo1, j = lo2, k = dstLo;
+                while (i < hi1 && j < hi2)
+                    {
+                        if (a[i] <= a[j])
+                            dst[k++] = a[i++];
+                        else dst[k++] = a[j++];
+                    }
+                while (i < hi1)
+                    dst[k++] = a[i++];
+                while (j < hi2)
+                    dst[k++] = a[j++];
+            }
+
+        // Primer índice en a[lo, hi) cuyo valor es >= clave
+        private static int cotaInferior(long[] a, int lo, int hi, long clave)
+            {
+                while (lo < hi)
+                    {
+                        int m = (lo + hi) >>> 1;
+                        if (a[m] < clave)
+                            lo = m + 1;
+                        else
+                            hi = m;
+                    }
+                return lo;
+            }
+
+        // Ordena a[lo, hi) usando aux como espacio de mezcla
+        private static void mergeSortSecuencial(double[] a, double[] aux, int lo, int hi)
+            {
+                if (hi - lo < 2)
+                    return;
+                int m = (lo + hi) >>> 1;
+                mergeSortSecuencial(a, aux, lo, m);
+                mergeSortSecuencial(a, aux, m, hi);
+                if (a[m - 1] <= a[m])
+                    return; // Las mitades ya están en orden
+                mezclar(a, lo, m, m, hi, aux, lo);
+                System.arraycopy(aux, lo, a, lo, hi - lo);
+            }
+
+        // Mezcla a[lo1, hi1) y a[lo2, hi2) en dst a partir de dstLo
+        private static void mezclar(double[] a, int lo1, int hi1, int lo2, int hi2, double[] dst, int dstLo)
+            {
+                int i = lo1, j = lo2, k = dstLo;
+                while (i < hi1 && j < hi2)
+                    {
+                        if (a[i] <= a[j])
+                            dst[k++] = a[i++];
+                        else dst[k++] = a[j++];
+                    }
+                while (i < hi1)
+                    dst[k++] = a[i++];
+                while (j < hi2)
+                    dst[k++] = a[j++];
+            }
+
+        // Primer índice en a[lo, hi) cuyo valor es >= clave
+        private static int cotaInferior(double[] a, int lo, int hi, double clave)
+            {
+                while (lo < hi)
+                    {
+                        int m = (lo + hi) >>> 1;
+                        if (a[m] < clave)
+                            lo = m + 1;
+                        else
+                            hi = m;
+                    }
+                return lo;
+            }
+
+        // Ordena a[lo, hi) usando aux como espacio de mezcla
+        private static void mergeSortSecuencial(short[] a, short[] aux, int lo, int hi)
+            {
+                if (hi - lo < 2)
+                    return;
+                int m = (lo + hi) >>> 1;
+                mergeSortSecuencial(a, aux, lo, m);
+                mergeSortSecuencial(a, aux, m, hi);
+                if (a[m - 1] <= a[m])
+                    return; // Las mitades ya están en orden
+                mezclar(a, lo, m, m, hi, aux, lo);
+                System.arraycopy(aux, lo, a, lo, hi - lo);
+            }
+
+        // Mezcla a[lo1, hi1) y a[lo2, hi2) en dst a partir de dstLo
+        private static void mezclar(short[] a, int lo1, int hi1, int lo2, int hi2, short[] dst, int dstLo)
+            {
+                int i = lo1, j = lo2, k = dstLo;
+                while (i < hi1 && j < hi2)
+                    {
+                        if (a[i] <= a[j])
+                            dst[k++] = a[i++];
+                        else dst[k++] = a[j++];
+                    }
+                while (i < hi1)
+                    dst[k++] = a[i++];
+                while (j < hi2)
+                    dst[k++] = a[j++];
+            }
+
+        // Primer índice en a[lo, hi) cuyo valor es >= clave
+        private static int cotaInferior(short[] a, int lo, int hi, short clave)
+            {
+                while (lo < hi)
+                    {
+                        int m = (lo + hi) >>> 1;
+                        if (a[m] < clave)
+                            lo = m + 1;
+                        else
+                            hi = m;
+                    }
+                return lo;
+            }
+
+        /**
+         * Operaciones sobre el arreglo de cada tipo primitivo que necesitan las tareas. Las tareas guardan
+         * el arreglo como {@code Object} para no repetirse por tipo; el trabajo por elemento se hace en los
+         * métodos especializados, así que el costo de la llamada virtual es uno por tarea, no por elemento.
+         */
+        private enum Operaciones
+            {
+                INT
+                    {
+                        @Override
+                        void ordenarSecuencial(Object a, Object aux, int lo, int hi)
+                            {
+                                mergeSortSecuencial((int[]) a, (int[]) aux, lo, hi);
+                            }
+
+                        @Override
+                        boolean enOrden(Object a, int m)
+                            {
+                                return ((int[]) a)[m - 1] <= ((int[]) a)[m];
+                            }
+
+                        @Override
+                        void mezclarSecuencial(Object a, int lo1, int hi1, int lo2, int hi2, Object dst, int dstLo)
+                            {
+                                mezclar((int[]) a, lo1, hi1, lo2, hi2, (int[]) dst, dstLo);
+                            }
+
+                        @Override
+                        int cotaInferiorDe(Object a, int lo, int hi, int indiceClave)
+                            {
+                                return cotaInferior((int[]) a, lo, hi, ((int[]) a)[indiceClave]);
+                            }
+                    },
+                LONG
+                    {
+                        @Override
+                        void ordenarSecuencial(Object a, Object aux, int lo, int hi)
+                            {
+                                mergeSortSecuencial((long[]) a, (long[]) aux, lo, hi);
+                            }
+
+                        @Override
+                        boolean enOrden(Object a, int m)
+                            {
+                                return ((long[]) a)[m - 1] <= ((long[]) a)[m];
+                            }
+
+                        @Override
+                        void mezclarSecuencial(Object a, int lo1, int hi1, int lo2, int hi2, Object dst, int dstLo)
+                            {
+                                mezclar((long[]) a, lo1, hi1, lo2, hi2, (long[]) dst, dstLo);
+                            }
+
+                        @Override
+                        int cotaInferiorDe(Object a, int lo, int hi, int indiceClave)
+                            {
+                                return cotaInferior((long[]) a, lo, hi, ((long[]) a)[indiceClave]);
+                            }
+                    },
+                DOUBLE
+                    {
+                        @Override
+                        void ordenarSecuencial(Object a, Object aux, int lo, int hi)
+                            {
+                                mergeSortSecuencial((double[]) a, (double[]) aux, lo, hi);
+                            }
+
+                        @Override
+                        boolean enOrden(Object a, int m)
+                            {
+                                return ((double[]) a)[m - 1] <= ((double[]) a)[m];
+                            }
+
+                        @Override
+                        void mezclarSecuencial(Object a, int lo1, int hi1, int lo2, int hi2, Object dst, int dstLo)
+                            {
+                                mezclar((double[]) a, lo1, hi1, lo2, hi2, (double[]) dst, dstLo);
+                            }
+
+                        @Override
+                        int cotaInferiorDe(Object a, int lo, int hi, int indiceClave)
+                            {
+                                return cotaInferior((double[]) a, lo, hi, ((double[]) a)[indiceClave]);
+                            }
+                    },
+                SHORT
+                    {
+                        @Override
+                        void ordenarSecuencial(Object a, Object aux, int lo, int hi)
+                            {
+                                mergeSortSecuencial((short[]) a, (short[]) aux, lo, hi);
+                            }
+
+                        @Override
+                        boolean enOrden(Object a, int m)
+                            {
+                                return ((short[]) a)[m - 1] <= ((short[]) a)[m];
+                            }
+
+                        @Override
+                        void mezclarSecuencial(Object a, int lo1, int hi1, int lo2, int hi2, Object dst, int dstLo)
+                            {
+                                mezclar((short[]) a, lo1, hi1, lo2, hi2, (short[]) dst, dstLo);
+                            }
+
+                        @Override
+                        int cotaInferiorDe(Object a, int lo, int hi, int indiceClave)
+                            {
+                                return cotaInferior((short[]) a, lo, hi, ((short[]) a)[indiceClave]);
+                            }
+                    };
+
+                abstract void ordenarSecuencial(Object a, Object aux, int lo, int hi);
+
+                // a[m - 1] <= a[m]
+                abstract boolean enOrden(Object a, int m);
+
+                abstract void mezclarSecuencial(Object a, int lo1, int hi1, int lo2, int hi2, Object dst, int dstLo);
+
+                // Primer índice en a[lo, hi) cuyo valor es >= a[indiceClave]
+                abstract int cotaInferiorDe(Object a, int lo, int hi, int indiceClave);
+            }
+
+        /**
+         * Ordena a[lo, hi): ambas mitades en paralelo y después una mezcla paralela hacia aux.
+         */
+        private static final class TareaOrdenar extends RecursiveAction
+            {
+                private static final long serialVersionUID = 1L;
+
+                private final Operaciones ops;
+                private final Object a;
+                private final Object aux;
+                private final int lo;
+                private final int hi;
+
+                TareaOrdenar(Operaciones ops, Object a, Object aux, int lo, int hi)
+                    {
+                        this.ops = ops;
+                        this.a = a;
+                        this.aux = aux;
+                        this.lo = lo;
+                        this.hi = hi;
+                    }
+
+                @Override
+                protected void compute()
+                    {
+                        if (hi - lo <= UMBRAL_SECUENCIAL)
+                            {
+                                ops.ordenarSecuencial(a, aux, lo, hi);
+                                return;
+                            }
+
+                        int m = (lo + hi) >>> 1;
+                        invokeAll(new TareaOrdenar(ops, a, aux, lo, m), new TareaOrdenar(ops, a, aux, m, hi));
+
+                        if (ops.enOrden(a, m))
+                            return;
+
+                        new TareaMezclar(ops, a, lo, m, m, hi, aux, lo).invoke();
+                        System.arraycopy(aux, lo, a, lo, hi - lo);
+                    }
+            }
+
+        /**
+         * Mezcla dos tramos ordenados de a en dst, dividiendo el trabajo cuando los tramos son grandes.
+         */
+        private static final class TareaMezclar extends RecursiveAction
+            {
+                private static final long serialVersionUID = 1L;
+
+                private final Operaciones ops;
+                private final Object a;
+                private final int lo1, hi1, lo2, hi2;
+                private final Object dst;
+                private final int dstLo;
+
+                TareaMezclar(Operaciones ops, Object a, int lo1, int hi1, int lo2, int hi2, Object dst, int dstLo)
+                    {
+                        this.ops = ops;
+                        this.a = a;
+                        this.lo1 = lo1;
+                        this.hi1 = hi1;
+                        this.lo2 = lo2;
+                        this.hi2 = hi2;
+                        this.dst = dst;
+                        this.dstLo = dstLo;
+                    }
+
+                @Override
+                protected void compute()
+                    {
+                        int n1 = hi1 - lo1;
+                        int n2 = hi2 - lo2;
+
+                        if (n1 + n2 <= UMBRAL_MEZCLA_PARALELA)
+                            {
+                                ops.mezclarSecuencial(a, lo1, hi1, lo2, hi2, dst, dstLo);
+                                return;
+                            }
+
+                        // Siempre partimos el tramo más grande para que las dos subtareas queden balanceadas
+                        if (n1 < n2)
+                            {
+                                new TareaMezclar(ops, a, lo2, hi2, lo1, hi1, dst, dstLo).compute();
+                                return;
+                            }
+
+                        int m1 = (lo1 + hi1) >>> 1;
+                        int m2 = ops.cotaInferiorDe(a, lo2, hi2, m1);
+                        int dstM = dstLo + (m1 - lo1) + (m2 - lo2);
+                        System.arraycopy(a, m1, dst, dstM, 1);
+
+                        invokeAll(new TareaMezclar(ops, a, lo1, m1, lo2, m2, dst, dstLo),
+                                  new TareaMezclar(ops, a, m1 + 1, hi1, m2, hi2, dst, dstM + 1));
+                    }
+            }
+
+        /**
+         * Versión instrumentada. Se cuenta la misma recursión en el hilo que llama (el contador no es atómico),
+         * con mezclas secuenciales: coincide con la versión paralela salvo por las búsquedas binarias con que
+         * esta corta las mezclas grandes, unas pocas comparaciones por tarea.
+         */
+        @Override
+        public void ordenar(ArregloContado arreglo)
+            {
+                if (arreglo == null || arreglo.longitud() < 2)
+                    return;
+                mergeSortSecuencial(arreglo, arreglo.auxiliar(arreglo.longitud()), 0, arreglo.longitud());
+            }
+
+        private static void mergeSortSecuencial(ArregloContado a, ArregloContado aux, int lo, int hi)
+            {
+                if (hi - lo < 2)
+                    return;
+                int m = (lo + hi) >>> 1;
+                mergeSortSecuencial(a, aux, lo, m);
+                mergeSortSecuencial(a, aux, m, hi);
+                if (a.menorOIgual(a.leer(m - 1), a.leer(m)))
+                    return;
+                int i = lo, j = m, k = lo;
+                while (i < m && j < hi)
+                    {
+                        if (a.menorOIgual(a.leer(i), a.leer(j)))
+                            aux.escribir(k++, a.leer(i++));
+                        else aux.escribir(k++, a.leer(j++));
+                    }
+                while (i < m)
+                    aux.escribir(k++, a.leer(i++));
+                while (j < hi)
+                    aux.escribir(k++, a.leer(j++));
+                aux.copiarA(lo, a, lo, hi - lo);
+            }
+
+        @Override
+        public String getNombre()
+            {
+                return "ParallelMergeSort";
+            }
+
+        @Override
+        public String getReferenciaSecuencial()
+            {
+                return "MergeSort";
+            }
+    }
@@ -0,0 +1,447 @@
+package abstraccion;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementación paralela de Quick Sort sobre un {@link ForkJoinPool}.
+ * <p>Parte igual que {@link QuickSort} (pivote aleatorio, partición de Lomuto) y, mientras el tramo supere
+ * {@value #UMBRAL_SECUENCIAL} elementos, ordena las dos particiones como tareas en paralelo. La creación de
+ * tareas se corta a una profundidad fija que depende del paralelismo del pool (unas 8 tareas hoja por hilo,
+ * para repartir bien aunque las particiones salgan desparejas); de ahí para abajo la recursión es secuencial.
+ * <p>El pivote sale de {@link ThreadLocalRandom}, así que no hay estado compartido entre hilos y una misma
+ * instancia se puede usar desde varios hilos a la vez. La partición es la de {@link QuickSort}, para que la
+ * aceleración contra él mida solo el paralelismo.
+ */
+public class ParallelQuickSort implements EstrategiaOrdenamiento
+    {
+        // Por debajo de este tamaño crear una tarea cuesta más de lo que ahorra
+        private static final int UMBRAL_SECUENCIAL = 8192;
+        // Niveles extra de tareas sobre log2(paralelismo): 2^3 = 8 tareas hoja por hilo
+        private static final int NIVELES_EXTRA = 3;
+
+        private final ForkJoinPool pool;
+
+        /**
+         * Crea la estrategia usando el pool común de la JVM.
+         */
+        public ParallelQuickSort()
+            {
+                this(ForkJoinPool.commonPool());
+            }
+
+        /**
+         * Crea la estrategia con un pool propio, por ejemplo para fijar el número de hilos.
+         * @param pool Pool donde se ejecutan las tareas.
+         */
+        public ParallelQuickSort(ForkJoinPool pool)
+            {
+                this.pool = pool;
+            }
+
+        // Profundidad hasta la que se crean tareas
+        private int profundidadMaxima()
+            {
+                return 32 - Integer.numberOfLeadingZeros(pool.getParallelism()) + NIVELES_EXTRA;
+            }
+
+        @Override
+        public void ordenar(int[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                if (arreglo.length <= UMBRAL_SECUENCIAL)
+                    quickSort(arreglo, 0, arreglo.length - 1);
+                else
+                    pool.invoke(new TareaOrdenar(Operaciones.INT, arreglo, 0, arreglo.length - 1, profundidadMaxima()));
+            }
+
+        @Override
+        public void ordenar(long[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                if (arreglo.length <= UMBRAL_SECUENCIAL)
+                    quickSort(arreglo, 0, arreglo.length - 1);
+                else
+                    pool.invoke(new TareaOrdenar(Operaciones.LONG, arreglo, 0, arreglo.length - 1, profundidadMaxima()));
+            }
+
+        @Override
+        public void ordenar(double[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int fin = OrdenDouble.moverNaNAlFinal(arreglo);
+                if (fin <= UMBRAL_SECUENCIAL)
+                    quickSort(arreglo, 0, fin - 1);
+                else
+                    pool.invoke(new TareaOrdenar(Operaciones.DOUBLE, arreglo, 0, fin - 1, profundidadMaxima()));
+                OrdenDouble.colocarCerosNegativos(arreglo, fin);
+            }
+
+        @Override
+        public void ordenar(short[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                if (arreglo.length <= UMBRAL_SECUENCIAL)
+                    quickSort(arreglo, 0, arreglo.length - 1);
+                else
+                    pool.invoke(new TareaOrdenar(Operaciones.SHORT, arreglo, 0, arreglo.length - 1, profundidadMaxima()));
+            }
+
+        // Ordena a[l, r] en este hilo: recursión sobre la partición menor y ciclo sobre la mayor (pila O(log n))
+        private static void quickSort(int[] a, int l, int r)
+            {
+                while (l < r)
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p)
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private static int partition(int[] a, int l, int r)
+            {
+                // Pivote aleatorio del generador propio del hilo
+                int pivotIndex = l + ThreadLocalRandom.current().nextInt(r - l + 1);
+                int pivot = a[pivotIndex];
+                swap(a, pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++)
+                    {
+                        if (a[i] < pivot)
+                            {
+                                swap(a, i, store);
+                                store++;
+                            }
+                    }
+                swap(a, store, r);
+                return store;
+            }
+
+        private static void swap(int[] a, int i, int j)
+            {
+                int tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        // Versiones para long[], double[] y short[]: el mismo algoritmo con el tipo de elemento cambiado
+
+        // Ordena a[l, r] en este hilo: recursión sobre la partición menor y ciclo sobre la mayor (pila O(log n))
+        private static void quickSort(long[] a, int l, int r)
+            {
+                while (l < r)
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p)
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private static int partition(long[] a, int l, int r)
+            {
+                // Pivote aleatorio del generador propio del hilo
+                int pivotIndex = l + ThreadLocalRandom.current().nextInt(r - l + 1);
+                long pivot = a[pivotIndex];
+                swap(a, pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++)
+                    {
+                        if (a[i] < pivot)
+                            {
+                                swap(a, i, store);
+                                store++;
+                            }
+                    }
+                swap(a, store, r);
+                return store;
+            }
+
+        private static void swap(long[] a, int i, int j)
+            {
+                long tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        // Ordena a[l, r] en este hilo: recursión sobre la partición menor y ciclo sobre la mayor (pila O(log n))
+        private static void quickSort(double[] a, int l, int r)
+            {
+                while (l < r)
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p)
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private static int partition(double[] a, int l, int r)
+            {
+                // Pivote aleatorio del generador propio del hilo
+                int pivotIndex = l + ThreadLocalRandom.current().nextInt(r - l + 1);
+                double pivot = a[pivotIndex];
+                swap(a, pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++)
+                    {
+                        if (a[i] < pivot)
+                            {
+                                swap(a, i, store);
+                                store++;
+                            }
+                    }
+                swap(a, store, r);
+                return store;
+            }
+
+        private static void swap(double[] a, int i, int j)
+            {
+                double tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        // Ordena a[l, r] en este hilo: recursión sobre la partición menor y ciclo sobre la mayor (pila O(log n))
+        private static void quickSort(short[] a, int l, int r)
+            {
+                while (l < r)
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p)
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private static int partition(short[] a, int l, int r)
+            {
+                // Pivote aleatorio del generador propio del hilo
+                int pivotIndex = l + ThreadLocalRandom.current().nextInt(r - l + 1);
+                short pivot = a[pivotIndex];
+                swap(a, pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++)
+                    {
+                        if (a[i] < pivot)
+                            {
+                                swap(a, i, store);
+                                store++;
+                            }
+                    }
+                swap(a, store, r);
+                return store;
+            }
+
+        private static void swap(short[] a, int i, int j)
+            {
+                short tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        /**
+         * Operaciones de cada tipo de elemento, para que las tareas no dependan del tipo del arreglo.
+         */
+        private enum Operaciones
+            {
+                INT
+                    {
+                        @Override
+                        int particionar(Object a, int l, int r)
+                            {
+                                return partition((int[]) a, l, r);
+                            }
+
+                        @Override
+                        void ordenarSecuencial(Object a, int l, int r)
+                            {
+                                quickSort((int[]) a, l, r);
+                            }
+                    },
+                LONG
+                    {
+                        @Override
+                        int particionar(Object a, int l, int r)
+                            {
+                                return partition((long[]) a, l, r);
+                            }
+
+                        @Override
+                        void ordenarSecuencial(Object a, int l, int r)
+                            {
+                                quickSort((long[]) a, l, r);
+                            }
+                    },
+                DOUBLE
+                    {
+                        @Override
+                        int particionar(Object a, int l, int r)
+                            {
+                                return partition((double[]) a, l, r);
+                            }
+
+                        @Override
+                        void ordenarSecuencial(Object a, int l, int r)
+                            {
+                                quickSort((double[]) a, l, r);
+                            }
+                    },
+                SHORT
+                    {
+                        @Override
+                        int particionar(Object a, int l, int r)
+                            {
+                                return partition((short[]) a, l, r);
+                            }
+
+                        @Override
+                        void ordenarSecuencial(Object a, int l, int r)
+                            {
+                                quickSort((short[]) a, l, r);
+                            }
+                    };
+
+                // Parte a[l, r] y devuelve la posición final del pivote
+                abstract int particionar(Object a, int l, int r);
+
+                abstract void ordenarSecuencial(Object a, int l, int r);
+            }
+
+        /**
+         * Ordena a[l, r]: parte el tramo y ordena las dos particiones en paralelo mientras sean grandes
+         * y no se haya llegado a la profundidad máxima.
+         */
+        private static final class TareaOrdenar extends RecursiveAction
+            {
+                private static final long serialVersionUID = 1L;
+
+                private final Operaciones ops;
+                private final Object a;
+                private final int l;
+                private final int r;
+                private final int profundidad;
+
+                TareaOrdenar(Operaciones ops, Object a, int l, int r, int profundidad)
+                    {
+                        this.ops = ops;
+                        this.a = a;
+                        this.l = l;
+                        this.r = r;
+                        this.profundidad = profundidad;
+                    }
+
+                @Override
+                protected void compute()
+                    {
+                        if (r - l < UMBRAL_SECUENCIAL || profundidad == 0)
+                            {
+                                ops.ordenarSecuencial(a, l, r);
+                                return;
+                            }
+
+                        int p = ops.particionar(a, l, r);
+                        invokeAll(new TareaOrdenar(ops, a, l, p - 1, profundidad - 1),
+                                  new TareaOrdenar(ops, a, p + 1, r, profundidad - 1));
+                    }
+            }
+
+        /**
+         * Versión instrumentada. Se cuenta la misma recursión en el hilo que llama (el contador no es atómico):
+         * las particiones son las mismas que en la versión paralela, solo cambia qué hilo las hace.
+         */
+        @Override
+        public void ordenar(ArregloContado arreglo)
+            {
+                if (arreglo == null || arreglo.longitud() < 2)
+                    return;
+                quickSort(arreglo, 0, arreglo.longitud() - 1);
+            }
+
+        private static void quickSort(ArregloContado a, int l, int r)
+            {
+                while (l < r)
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p)
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private static int partition(ArregloContado a, int l, int r)
+            {
+                int pivotIndex = l + ThreadLocalRandom.current().nextInt(r - l + 1);
+                int pivot = a.leer(pivotIndex);
+                a.intercambiar(pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++)
+                    {
+                        if (a.menor(a.leer(i), pivot))
+                            {
+                                a.intercambiar(i, store);
+                                store++;
+                            }
+                    }
+                a.intercambiar(store, r);
+                return store;
+            }
+
+        @Override
+        public String getNombre()
+            {
+                return "ParallelQuickSort";
+            }
+
+        @Override
+        public String getReferenciaSecuencial()
+            {
+                return "QuickSort";
+            }
+    }
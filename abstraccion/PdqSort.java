@@ -0,0 +1,1869 @@
+package abstraccion;
+
+/**
+ * Implementación de Pattern-defeating Quicksort (pdqsort, Orson Peters).
+ * <p>Corrige los problemas de {@link QuickSort} con datos repetidos y recursión profunda:
+ * <ul>
+ * <li>Pivote por mediana de 3, o pseudomediana de 9 (ninther) en tramos grandes.</li>
+ * <li>Partición por bloques sin saltos (BlockQuicksort): primero se anotan los desplazamientos de los
+ * elementos fuera de lugar y luego se intercambian, sin bifurcaciones impredecibles en la comparación.</li>
+ * <li>Partición de claves iguales: si el pivote es igual al elemento anterior al tramo, todos los iguales
+ * van a la izquierda y ese lado ya no se ordena. Con muchos duplicados (como los de {@link Arreglo},
+ * valores 0-9999) el costo se mantiene en O(n log k) para k valores distintos.</li>
+ * <li>Inserción directa en tramos pequeños, e inserción parcial cuando el tramo ya venía particionado.</li>
+ * <li>Si hay demasiadas particiones desbalanceadas se cambia a heapsort, garantizando O(n log n).</li>
+ * </ul>
+ * Solo se recursa sobre el lado izquierdo y el derecho se procesa en el mismo ciclo; como las particiones
+ * desbalanceadas están limitadas, la profundidad de la pila es O(log n).
+ */
+public class PdqSort implements EstrategiaOrdenamiento
+    {
+        private static final int UMBRAL_INSERCION = 24;
+        private static final int UMBRAL_NINTHER = 128;
+        private static final int LIMITE_INSERCION_PARCIAL = 8;
+        private static final int TAMANO_BLOQUE = 64;
+
+        @Override
+        public void ordenar(int[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Arreglos de desplazamientos propios de cada llamada: la instancia se puede compartir entre hilos
+                int[] desplIzq = new int[TAMANO_BLOQUE];
+                int[] desplDer = new int[TAMANO_BLOQUE];
+                int malasPermitidas = 31 - Integer.numberOfLeadingZeros(arreglo.length);
+
+                pdqsort(arreglo, 0, arreglo.length, malasPermitidas, true, desplIzq, desplDer);
+            }
+
+        // Ordena a[inicio, fin); 'extremoIzq' indica que no hay un elemento anterior que sirva de centinela
+        private static void pdqsort(int[] a, int inicio, int fin, int malasPermitidas, boolean extremoIzq,
+                                    int[] desplIzq, int[] desplDer)
+            {
+                while (true)
+                    {
+                        int tamano = fin - inicio;
+
+                        if (tamano < UMBRAL_INSERCION)
+                            {
+                                if (extremoIzq)
+                                    insercion(a, inicio, fin);
+                                else
+                                    insercionSinGuarda(a, inicio, fin);
+                                return;
+                            }
+
+                        // 1. Pivote (queda en a[inicio])
+                        int mitad = tamano / 2;
+                        if (tamano > UMBRAL_NINTHER)
+                            {
+                                ordenar3(a, inicio, inicio + mitad, fin - 1);
+                                ordenar3(a, inicio + 1, inicio + mitad - 1, fin - 2);
+                                ordenar3(a, inicio + 2, inicio + mitad + 1, fin - 3);
+                                ordenar3(a, inicio + mitad - 1, inicio + mitad, inicio + mitad + 1);
+                                swap(a, inicio, inicio + mitad);
+                            }
+                        else
+                            ordenar3(a, inicio + mitad, inicio, fin - 1);
+
+                        // 2. Si el pivote es igual al elemento anterior, los iguales van a la izquierda y quedan listos
+                        if (!extremoIzq && a[inicio - 1] >= a[inicio])
+                            {
+                                inicio = particionIzquierda(a, inicio, fin) + 1;
+                                continue;
+                            }
+
+                        // 3. Partición por bloques
+                        long resultado = particionDerecha(a, inicio, fin, desplIzq, desplDer);
+                        int posPivote = (int) (resultado >>> 1);
+                        boolean yaParticionado = (resultado & 1L) != 0;
+
+                        int tamIzq = posPivote - inicio;
+                        int tamDer = fin - (posPivote + 1);
+                        boolean muyDesbalanceado = tamIzq < tamano / 8 || tamDer < tamano / 8;
+
+                        if (muyDesbalanceado)
+                            {
+                                // Demasiadas particiones malas: heapsort garantiza O(n log n)
+                                if (--malasPermitidas == 0)
+                                    {
+                                        heapSort(a, inicio, fin);
+                                        return;
+                                    }
+
+                                // Se mezclan algunos elementos para romper el patrón que causó la mala partición
+                                if (tamIzq >= UMBRAL_INSERCION)
+                                    {
+                                        swap(a, inicio, inicio + tamIzq / 4);
+                                        swap(a, posPivote - 1, posPivote - tamIzq / 4);
+                                        if (tamIzq > UMBRAL_NINTHER)
+                                            {
+                                                swap(a, inicio + 1, inicio + tamIzq / 4 + 1);
+                                                swap(a, inicio + 2, inicio + tamIzq / 4 + 2);
+                                                swap(a, posPivote - 2, posPivote - (tamIzq / 4 + 1));
+                                                swap(a, posPivote - 3, posPivote - (tamIzq / 4 + 2));
+                                            }
+                                    }
+                                if (tamDer >= UMBRAL_INSERCION)
+                                    {
+                                        swap(a, posPivote + 1, posPivote + 1 + tamDer / 4);
+                                        swap(a, fin - 1, fin - tamDer / 4);
+                                        if (tamDer > UMBRAL_NINTHER)
+                                            {
+                                                swap(a, posPivote + 2, posPivote + 2 + tamDer / 4);
+                                                swap(a, posPivote + 3, posPivote + 3 + tamDer / 4);
+                                                swap(a, fin - 2, fin - (1 + tamDer / 4));
+                                                swap(a, fin - 3, fin - (2 + tamDer / 4));
+                                            }
+                                    }
+                            }
+                        else if (yaParticionado
+                                 && insercionParcial(a, inicio, posPivote)
+                                 && insercionParcial(a, posPivote + 1, fin))
+                            {
+                                // El tramo venía (casi) ordenado: la inserción parcial lo terminó
+                                return;
+                            }
+
+                        // 4. Recursión sobre la izquierda y ciclo sobre la derecha
+                        pdqsort(a, inicio, posPivote, malasPermitidas, extremoIzq, desplIzq, desplDer);
+                        inicio = posPivote + 1;
+                        extremoIzq = false;
+                    }
+            }
+
+        /**
+         * Partición con el pivote a[inicio]: menores a la izquierda, mayores o iguales a la derecha.
+         * @return (posición del pivote << 1) | 1 si el tramo ya estaba particionado.
+         */
+        private static long particionDerecha(int[] a, int inicio, int fin, int[] desplIzq, int[] desplDer)
+            {
+                int pivote = a[inicio];
+                int primero = inicio;
+                int ultimo = fin;
+
+                // La elección del pivote deja centinelas: a[fin - 1] >= pivote, y si primero avanzó hay un menor a la izquierda
+                while (a[++primero] < pivote);
+
+                if (primero - 1 == inicio)
+                    while (primero < ultimo && !(a[--ultimo] < pivote));
+                else
+                    while (!(a[--ultimo] < pivote));
+
+                boolean yaParticionado = primero >= ultimo;
+
+                if (!yaParticionado)
+                    {
+                        swap(a, primero, ultimo);
+                        primero++;
+
+                        int baseIzq = primero;
+                        int baseDer = ultimo;
+                        int numIzq = 0, numDer = 0, iniIzq = 0, iniDer = 0;
+
+                        while (primero < ultimo)
+                            {
+                                // Cuántos elementos desconocidos se revisan de cada lado
+                                int desconocidos = ultimo - primero;
+                                int corteIzq = numIzq == 0 ? (numDer == 0 ? desconocidos / 2 : desconocidos) : 0;
+                                int corteDer = numDer == 0 ? (desconocidos - corteIzq) : 0;
+
+                                // Se anota el desplazamiento de cada elemento y el contador solo avanza si está fuera de lugar
+                                if (corteIzq > 0)
+                                    {
+                                        int limite = Math.min(corteIzq, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                desplIzq[numIzq] = i;
+                                                numIzq += a[primero] >= pivote ? 1 : 0;
+                                                primero++;
+                                            }
+                                    }
+                                if (corteDer > 0)
+                                    {
+                                        int limite = Math.min(corteDer, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                ultimo--;
+                                                desplDer[numDer] = i + 1;
+                                                numDer += a[ultimo] < pivote ? 1 : 0;
+                                            }
+                                    }
+
+                                // Intercambio de los pares fuera de lugar
+                                int num = Math.min(numIzq, numDer);
+                                intercambiarDesplazamientos(a, baseIzq, baseDer, desplIzq, iniIzq, desplDer, iniDer, num, numIzq == numDer);
+                                numIzq -= num;
+                                numDer -= num;
+                                iniIzq += num;
+                                iniDer += num;
+
+                                if (numIzq == 0)
+                                    {
+                                        iniIzq = 0;
+                                        baseIzq = primero;
+                                    }
+                                if (numDer == 0)
+                                    {
+                                        iniDer = 0;
+                                        baseDer = ultimo;
+                                    }
+                            }
+
+                        // Quedan elementos fuera de lugar de un solo lado: se llevan al borde
+                        if (numIzq > 0)
+                            {
+                                while (numIzq-- > 0)
+                                    swap(a, baseIzq + desplIzq[iniIzq + numIzq], --ultimo);
+                                primero = ultimo;
+                            }
+                        if (numDer > 0)
+                            {
+                                while (numDer-- > 0)
+                                    {
+                                        swap(a, baseDer - desplDer[iniDer + numDer], primero);
+                                        primero++;
+                                    }
+                                ultimo = primero;
+                            }
+                    }
+
+                // El pivote va a su lugar definitivo
+                int posPivote = primero - 1;
+                a[inicio] = a[posPivote];
+                a[posPivote] = pivote;
+
+                return ((long) posPivote << 1) | (yaParticionado ? 1L : 0L);
+            }
+
+        // Intercambia los pares anotados; con cantidades distintas se hace un ciclo de movimientos en lugar de swaps
+        private static void intercambiarDesplazamientos(int[] a, int baseIzq, int baseDer,
+                                                        int[] desplIzq, int iniIzq, int[] desplDer, int iniDer,
+                                                        int num, boolean usarSwaps)
+            {
+                if (usarSwaps)
+                    {
+                        for (int i = 0; i < num; i++)
+                            swap(a, baseIzq + desplIzq[iniIzq + i], baseDer - desplDer[iniDer + i]);
+                    }
+                else if (num > 0)
+                    {
+                        int l = baseIzq + desplIzq[iniIzq];
+                        int r = baseDer - desplDer[iniDer];
+                        int tmp = a[l];
+                        a[l] = a[r];
+                        for (int i = 1; i < num; i++)
+                            {
+                                l = baseIzq + desplIzq[iniIzq + i];
+                                a[r] = a[l];
+                                r = baseDer - desplDer[iniDer + i];
+                                a[l] = a[r];
+                            }
+                        a[r] = tmp;
+                    }
+            }
+
+        /**
+         * Partición con el pivote a[inicio] que deja los iguales a la izquierda y los mayores a la derecha.
+         * @return La posición final del pivote.
+         */
+        private static int particionIzquierda(int[] a, int inicio, int fin)
+            {
+                int pivote = a[inicio];
+                int primero = inicio;
+                int ultimo = fin;
+
+                while (pivote < a[--ultimo]);
+
+                if (ultimo + 1 == fin)
+                    while (primero < ultimo && !(pivote < a[++primero]));
+                else
+                    while (!(pivote < a[++primero]));
+
+                while (primero < ultimo)
+                    {
+                        swap(a, primero, ultimo);
+                        while (pivote < a[--ultimo]);
+                        while (!(pivote < a[++primero]));
+                    }
+
+                a[inicio] = a[ultimo];
+                a[ultimo] = pivote;
+                return ultimo;
+            }
+
+        // Inserción directa sobre a[inicio, fin)
+        private static void insercion(int[] a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        int key = a[i];
+                        int j = i - 1;
+                        while (j >= inicio && a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Inserción sin revisar el límite izquierdo: a[inicio - 1] es menor o igual que todo el tramo
+        private static void insercionSinGuarda(int[] a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        int key = a[i];
+                        int j = i - 1;
+                        while (a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Inserción que se rinde si tiene que mover más de LIMITE_INSERCION_PARCIAL elementos
+        private static boolean insercionParcial(int[] a, int inicio, int fin)
+            {
+                int movimientos = 0;
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        if (a[i] < a[i - 1])
+                            {
+                                int key = a[i];
+                                int j = i;
+                                do
+                                    {
+                                        a[j] = a[j - 1];
+                                        j--;
+                                    }
+                                while (j > inicio && key < a[j - 1]);
+                                a[j] = key;
+                                movimientos += i - j;
+                            }
+                        if (movimientos > LIMITE_INSERCION_PARCIAL)
+                            return false;
+                    }
+                return true;
+            }
+
+        // Heapsort sobre a[inicio, fin), usado como respaldo
+        private static void heapSort(int[] a, int inicio, int fin)
+            {
+                int n = fin - inicio;
+                for (int i = n / 2 - 1; i >= 0; i--)
+                    hundir(a, inicio, i, n);
+                for (int i = n - 1; i > 0; i--)
+                    {
+                        swap(a, inicio, inicio + i);
+                        hundir(a, inicio, 0, i);
+                    }
+            }
+
+        private static void hundir(int[] a, int base, int i, int n)
+            {
+                int valor = a[base + i];
+                while (true)
+                    {
+                        int hijo = 2 * i + 1;
+                        if (hijo >= n)
+                            break;
+                        if (hijo + 1 < n && a[base + hijo + 1] > a[base + hijo])
+                            hijo++;
+                        if (a[base + hijo] <= valor)
+                            break;
+                        a[base + i] = a[base + hijo];
+                        i = hijo;
+                    }
+                a[base + i] = valor;
+            }
+
+        // Deja a[i] <= a[j] <= a[k]
+        private static void ordenar3(int[] a, int i, int j, int k)
+            {
+                if (a[j] < a[i]) swap(a, i, j);
+                if (a[k] < a[j]) swap(a, j, k);
+                if (a[j] < a[i]) swap(a, i, j);
+            }
+
+        private static void swap(int[] a, int i, int j)
+            {
+                int tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        // Versiones para long[], double[] y short[]: el mismo algoritmo con el tipo de elemento cambiado
+
+        @Override
+        public void ordenar(long[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Arreglos de desplazamientos propios de cada llamada: la instancia se puede compartir entre hilos
+                int[] desplIzq = new int[TAMANO_BLOQUE];
+                int[] desplDer = new int[TAMANO_BLOQUE];
+                int malasPermitidas = 31 - Integer.numberOfLeadingZeros(arreglo.length);
+
+                pdqsort(arreglo, 0, arreglo.length, malasPermitidas, true, desplIzq, desplDer);
+            }
+
+        // Ordena a[inicio, fin); 'extremoIzq' indica que no hay un elemento anterior que sirva de centinela
+        private static void pdqsort(long[] a, int inicio, int fin, int malasPermitidas, boolean extremoIzq,
+                                    int[] desplIzq, int[] desplDer)
+            {
+                while (true)
+                    {
+                        int tamano = fin - inicio;
+
+                        if (tamano < UMBRAL_INSERCION)
+                            {
+                                if (extremoIzq)
+                                    insercion(a, inicio, fin);
+                                else
+                                    insercionSinGuarda(a, inicio, fin);
+                                return;
+                            }
+
+                        // 1. Pivote (queda en a[inicio])
+                        int mitad = tamano / 2;
+                        if (tamano > UMBRAL_NINTHER)
+                            {
+                                ordenar3(a, inicio, inicio + mitad, fin - 1);
+                                ordenar3(a, inicio + 1, inicio + mitad - 1, fin - 2);
+                                ordenar3(a, inicio + 2, inicio + mitad + 1, fin - 3);
+                                ordenar3(a, inicio + mitad - 1, inicio + mitad, inicio + mitad + 1);
+                                swap(a, inicio, inicio + mitad);
+                            }
+                        else
+                            ordenar3(a, inicio + mitad, inicio, fin - 1);
+
+                        // 2. Si el pivote es igual al elemento anterior, los iguales van a la izquierda y quedan listos
+                        if (!extremoIzq && a[inicio - 1] >= a[inicio])
+                            {
+                                inicio = particionIzquierda(a, inicio, fin) + 1;
+                                continue;
+                            }
+
+                        // 3. Partición por bloques
+                        long resultado = particionDerecha(a, inicio, fin, desplIzq, desplDer);
+                        int posPivote = (int) (resultado >>> 1);
+                        boolean yaParticionado = (resultado & 1L) != 0;
+
+                        int tamIzq = posPivote - inicio;
+                        int tamDer = fin - (posPivote + 1);
+                        boolean muyDesbalanceado = tamIzq < tamano / 8 || tamDer < tamano / 8;
+
+                        if (muyDesbalanceado)
+                            {
+                                // Demasiadas particiones malas: heapsort garantiza O(n log n)
+                                if (--malasPermitidas == 0)
+                                    {
+                                        heapSort(a, inicio, fin);
+                                        return;
+                                    }
+
+                                // Se mezclan algunos elementos para romper el patrón que causó la mala partición
+                                if (tamIzq >= UMBRAL_INSERCION)
+                                    {
+                                        swap(a, inicio, inicio + tamIzq / 4);
+                                        swap(a, posPivote - 1, posPivote - tamIzq / 4);
+                                        if (tamIzq > UMBRAL_NINTHER)
+                                            {
+                                                swap(a, inicio + 1, inicio + tamIzq / 4 + 1);
+                                                swap(a, inicio + 2, inicio + tamIzq / 4 + 2);
+                                                swap(a, posPivote - 2, posPivote - (tamIzq / 4 + 1));
+                                                swap(a, posPivote - 3, posPivote - (tamIzq / 4 + 2));
+                                            }
+                                    }
+                                if (tamDer >= UMBRAL_INSERCION)
+                                    {
+                                        swap(a, posPivote + 1, posPivote + 1 + tamDer / 4);
+                                        swap(a, fin - 1, fin - tamDer / 4);
+                                        if (tamDer > UMBRAL_NINTHER)
+                                            {
+                                                swap(a, posPivote + 2, posPivote + 2 + tamDer / 4);
+                                                swap(a, posPivote + 3, posPivote + 3 + tamDer / 4);
+                                                swap(a, fin - 2, fin - (1 + tamDer / 4));
+                                                swap(a, fin - 3, fin - (2 + tamDer / 4));
+                                            }
+                                    }
+                            }
+                        else if (yaParticionado
+                                 && insercionParcial(a, inicio, posPivote)
+                                 && insercionParcial(a, posPivote + 1, fin))
+                            {
+                                // El tramo venía (casi) ordenado: la inserción parcial lo terminó
+                                return;
+                            }
+
+                        // 4. Recursión sobre la izquierda y ciclo sobre la derecha
+                        pdqsort(a, inicio, posPivote, malasPermitidas, extremoIzq, desplIzq, desplDer);
+                        inicio = posPivote + 1;
+                        extremoIzq = false;
+                    }
+            }
+
+        /**
+         * Partición con el pivote a[inicio]: menores a la izquierda, mayores o iguales a la derecha.
+         * @return (posición del pivote << 1) | 1 si el tramo ya estaba particionado.
+         */
+        private static long particionDerecha(long[] a, int inicio, int fin, int[] desplIzq, int[] desplDer)
+            {
+                long pivote = a[inicio];
+                int primero = inicio;
+                int ultimo = fin;
+
+                // La elección del pivote deja centinelas: a[fin - 1] >= pivote, y si primero avanzó hay un menor a la izquierda
+                while (a[++primero] < pivote);
+
+                if (primero - 1 == inicio)
+                    while (primero < ultimo && !(a[--ultimo] < pivote));
+                else
+                    while (!(a[--ultimo] < pivote));
+
+                boolean yaParticionado = primero >= ultimo;
+
+                if (!yaParticionado)
+                    {
+                        swap(a, primero, ultimo);
+                        primero++;
+
+                        int baseIzq = primero;
+                        int baseDer = ultimo;
+                        int numIzq = 0, numDer = 0, iniIzq = 0, iniDer = 0;
+
+                        while (primero < ultimo)
+                            {
+                                // Cuántos elementos desconocidos se revisan de cada lado
+                                int desconocidos = ultimo - primero;
+                                int corteIzq = numIzq == 0 ? (numDer == 0 ? desconocidos / 2 : desconocidos) : 0;
+                                int corteDer = numDer == 0 ? (desconocidos - corteIzq) : 0;
+
+                                // Se anota el desplazamiento de cada elemento y el contador solo avanza si está fuera de lugar
+                                if (corteIzq > 0)
+                                    {
+                                        int limite = Math.min(corteIzq, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                desplIzq[numIzq] = i;
+                                                numIzq += a[primero] >= pivote ? 1 : 0;
+                                                primero++;
+                                            }
+                                    }
+                                if (corteDer > 0)
+                                    {
+                                        int limite = Math.min(corteDer, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                ultimo--;
+                                                desplDer[numDer] = i + 1;
+                                                numDer += a[ultimo] < pivote ? 1 : 0;
+                                            }
+                                    }
+
+                                // Intercambio de los pares fuera de lugar
+                                int num = Math.min(numIzq, numDer);
+                                intercambiarDesplazamientos(a, baseIzq, baseDer, desplIzq, iniIzq, desplDer, iniDer, num, numIzq == numDer);
+                                numIzq -= num;
+                                numDer -= num;
+                                iniIzq += num;
+                                iniDer += num;
+
+                                if (numIzq == 0)
+                                    {
+                                        iniIzq = 0;
+                                        baseIzq = primero;
+                                    }
+                                if (numDer == 0)
+                                    {
+                                        iniDer = 0;
+                                        baseDer = ultimo;
+                                    }
+                            }
+
+                        // Quedan elementos fuera de lugar de un solo lado: se llevan al borde
+                        if (numIzq > 0)
+                            {
+                                while (numIzq-- > 0)
+                                    swap(a, baseIzq + desplIzq[iniIzq + numIzq], --ultimo);
+                                primero = ultimo;
+                            }
+                        if (numDer > 0)
+                            {
+                                while (numDer-- > 0)
+                                    {
+                                        swap(a, baseDer - desplDer[iniDer + numDer], primero);
+                                        primero++;
+                                    }
+                                ultimo = primero;
+                            }
+                    }
+
+                // El pivote va a su lugar definitivo
+                int posPivote = primero - 1;
+                a[inicio] = a[posPivote];
+                a[posPivote] = pivote;
+
+                return ((long) posPivote << 1) | (yaParticionado ? 1L : 0L);
+            }
+
+        // Intercambia los pares anotados; con cantidades distintas se hace un ciclo de movimientos en lugar de swaps
+        private static void intercambiarDesplazamientos(long[] a, int baseIzq, int baseDer,
+                                                        int[] desplIzq, int iniIzq, int[] desplDer, int iniDer,
+                                                        int num, boolean usarSwaps)
+            {
+                if (usarSwaps)
+                    {
+                        for (int i = 0; i < num; i++)
+                            swap(a, baseIzq + desplIzq[iniIzq + i], baseDer - desplDer[iniDer + i]);
+                    }
+                else if (num > 0)
+                    {
+                        int l = baseIzq + desplIzq[iniIzq];
+                        int r = baseDer - desplDer[iniDer];
+                        long tmp = a[l];
+                        a[l] = a[r];
+                        for (int i = 1; i < num; i++)
+                            {
+                                l = baseIzq + desplIzq[iniIzq + i];
+                                a[r] = a[l];
+                                r = baseDer - desplDer[iniDer + i];
+                                a[l] = a[r];
+                            }
+                        a[r] = tmp;
+                    }
+            }
+
+        /**
+         * Partición con el pivote a[inicio] que deja los iguales a la izquierda y los mayores a la derecha.
+         * @return La posición final del pivote.
+         */
+        private static int particionIzquierda(long[] a, int inicio, int fin)
+            {
+                long pivote = a[inicio];
+                int primero = inicio;
+                int ultimo = fin;
+
+                while (pivote < a[--ultimo]);
+
+                if (ultimo + 1 == fin)
+                    while (primero < ultimo && !(pivote < a[++primero]));
+                else
+                    while (!(pivote < a[++primero]));
+
+                while (primero < ultimo)
+                    {
+                        swap(a, primero, ultimo);
+                        while (pivote < a[--ultimo]);
+                        while (!(pivote < a[++primero]));
+                    }
+
+                a[inicio] = a[ultimo];
+                a[ultimo] = pivote;
+                return ultimo;
+            }
+
+        // Inserción directa sobre a[inicio, fin)
+        private static void insercion(long[] a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        long key = a[i];
+                        int j = i - 1;
+                        while (j >= inicio && a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Inserción sin revisar el límite izquierdo: a[inicio - 1] es menor o igual que todo el tramo
+        private static void insercionSinGuarda(long[] a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        long key = a[i];
+                        int j = i - 1;
+                        while (a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Inserción que se rinde si tiene que mover más de LIMITE_INSERCION_PARCIAL elementos
+        private static boolean insercionParcial(long[] a, int inicio, int fin)
+            {
+                int movimientos = 0;
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        if (a[i] < a[i - 1])
+                            {
+                                long key = a[i];
+                                int j = i;
+                                do
+                                    {
+                                        a[j] = a[j - 1];
+                                        j--;
+                                    }
+                                while (j > inicio && key < a[j - 1]);
+                                a[j] = key;
+                                movimientos += i - j;
+                            }
+                        if (movimientos > LIMITE_INSERCION_PARCIAL)
+                            return false;
+                    }
+                return true;
+            }
+
+        // Heapsort sobre a[inicio, fin), usado como respaldo
+        private static void heapSort(long[] a, int inicio, int fin)
+            {
+                int n = fin - inicio;
+                for (int i = n / 2 - 1; i >= 0; i--)
+                    hundir(a, inicio, i, n);
+                for (int i = n - 1; i > 0; i--)
+                    {
+                        swap(a, inicio, inicio + i);
+                        hundir(a, inicio, 0, i);
+                    }
+            }
+
+        private static void hundir(long[] a, int base, int i, int n)
+            {
+                long valor = a[base + i];
+                while (true)
+                    {
+                        int hijo = 2 * i + 1;
+                        if (hijo >= n)
+                            break;
+                        if (hijo + 1 < n && a[base + hijo + 1] > a[base + hijo])
+                            hijo++;
+                        if (a[base + hijo] <= valor)
+                            break;
+                        a[base + i] = a[base + hijo];
+                        i = hijo;
+                    }
+                a[base + i] = valor;
+            }
+
+        // Deja a[i] <= a[j] <= a[k]
+        private static void ordenar3(long[] a, int i, int j, int k)
+            {
+                if (a[j] < a[i]) swap(a, i, j);
+                if (a[k] < a[j]) swap(a, j, k);
+                if (a[j] < a[i]) swap(a, i, j);
+            }
+
+        private static void swap(long[] a, int i, int j)
+            {
+                long tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        @Override
+        public void ordenar(double[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Arreglos de desplazamientos propios de cada llamada: la instancia se puede compartir entre hilos
+                int[] desplIzq = new int[TAMANO_BLOQUE];
+                int[] desplDer = new int[TAMANO_BLOQUE];
+
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int fin = OrdenDouble.moverNaNAlFinal(arreglo);
+                if (fin > 1)
+                    pdqsort(arreglo, 0, fin, 31 - Integer.numberOfLeadingZeros(fin), true, desplIzq, desplDer);
+                OrdenDouble.colocarCerosNegativos(arreglo, fin);
+            }
+
+        // Ordena a[inicio, fin); 'extremoIzq' indica que no hay un elemento anterior que sirva de centinela
+        private static void pdqsort(double[] a, int inicio, int fin, int malasPermitidas, boolean extremoIzq,
+                                    int[] desplIzq, int[] desplDer)
+            {
+                while (true)
+                    {
+                        int tamano = fin - inicio;
+
+                        if (tamano < UMBRAL_INSERCION)
+                            {
+                                if (extremoIzq)
+                                    insercion(a, inicio, fin);
+                                else
+                                    insercionSinGuarda(a, inicio, fin);
+                                return;
+                            }
+
+                        // 1. Pivote (queda en a[inicio])
+                        int mitad = tamano / 2;
+                        if (tamano > UMBRAL_NINTHER)
+                            {
+                                ordenar3(a, inicio, inicio + mitad, fin - 1);
+                                ordenar3(a, inicio + 1, inicio + mitad - 1, fin - 2);
+                                ordenar3(a, inicio + 2, inicio + mitad + 1, fin - 3);
+                                ordenar3(a, inicio + mitad - 1, inicio + mitad, inicio + mitad + 1);
+                                swap(a, inicio, inicio + mitad);
+                            }
+                        else
+                            ordenar3(a, inicio + mitad, inicio, fin - 1);
+
+                        // 2. Si el pivote es igual al elemento anterior, los iguales van a la izquierda y quedan listos
+                        if (!extremoIzq && a[inicio - 1] >= a[inicio])
+                            {
+                                inicio = particionIzquierda(a, inicio, fin) + 1;
+                                continue;
+                            }
+
+                        // 3. Partición por bloques
+                        long resultado = particionDerecha(a, inicio, fin, desplIzq, desplDer);
+                        int posPivote = (int) (resultado >>> 1);
+                        boolean yaParticionado = (resultado & 1L) != 0;
+
+                        int tamIzq = posPivote - inicio;
+                        int tamDer = fin - (posPivote + 1);
+                        boolean muyDesbalanceado = tamIzq < tamano / 8 || tamDer < tamano / 8;
+
+                        if (muyDesbalanceado)
+                            {
+                                // Demasiadas particiones malas: heapsort garantiza O(n log n)
+                                if (--malasPermitidas == 0)
+                                    {
+                                        heapSort(a, inicio, fin);
+                                        return;
+                                    }
+
+                                // Se mezclan algunos elementos para romper el patrón que causó la mala partición
+                                if (tamIzq >= UMBRAL_INSERCION)
+                                    {
+                                        swap(a, inicio, inicio + tamIzq / 4);
+                                        swap(a, posPivote - 1, posPivote - tamIzq / 4);
+                                        if (tamIzq > UMBRAL_NINTHER)
+                                            {
+                                                swap(a, inicio + 1, inicio + tamIzq / 4 + 1);
+                                                swap(a, inicio + 2, inicio + tamIzq / 4 + 2);
+                                                swap(a, posPivote - 2, posPivote - (tamIzq / 4 + 1));
+                                                swap(a, posPivote - 3, posPivote - (tamIzq / 4 + 2));
+                                            }
+                                    }
+                                if (tamDer >= UMBRAL_INSERCION)
+                                    {
+                                        swap(a, posPivote + 1, posPivote + 1 + tamDer / 4);
+                                        swap(a, fin - 1, fin - tamDer / 4);
+                                        if (tamDer > UMBRAL_NINTHER)
+                                            {
+                                                swap(a, posPivote + 2, posPivote + 2 + tamDer / 4);
+                                                swap(a, posPivote + 3, posPivote + 3 + tamDer / 4);
+                                                swap(a, fin - 2, fin - (1 + tamDer / 4));
+                                                swap(a, fin - 3, fin - (2 + tamDer / 4));
+                                            }
+                                    }
+                            }
+                        else if (yaParticionado
+                                 && insercionParcial(a, inicio, posPivote)
+                                 && insercionParcial(a, posPivote + 1, fin))
+                            {
+                                // El tramo venía (casi) ordenado: la inserción parcial lo terminó
+                                return;
+                            }
+
+                        // 4. Recursión sobre la izquierda y ciclo sobre la derecha
+                        pdqsort(a, inicio, posPivote, malasPermitidas, extremoIzq, desplIzq, desplDer);
+                        inicio = posPivote + 1;
+                        extremoIzq = false;
+                    }
+            }
+
+        /**
+         * Partición con el pivote a[inicio]: menores a la izquierda, mayores o iguales a la derecha.
+         * @return (posición del pivote << 1) | 1 si el tramo ya estaba particionado.
+         */
+        private static long particionDerecha(double[] a, int inicio, int fin, int[] desplIzq, int[] desplDer)
+            {
+                double pivote = a[inicio];
+                int primero = inicio;
+                int ultimo = fin;
+
+                // La elección del pivote deja centinelas: a[fin - 1] >= pivote, y si primero avanzó hay un menor a la izquierda
+                while (a[++primero] < pivote);
+
+                if (primero - 1 == inicio)
+                    while (primero < ultimo && !(a[--ultimo] < pivote));
+                else
+                    while (!(a[--ultimo] < pivote));
+
+                boolean yaParticionado = primero >= ultimo;
+
+                if (!yaParticionado)
+                    {
+                        swap(a, primero, ultimo);
+                        primero++;
+
+                        int baseIzq = primero;
+                        int baseDer = ultimo;
+                        int numIzq = 0, numDer = 0, iniIzq = 0, iniDer = 0;
+
+                        while (primero < ultimo)
+                            {
+                                // Cuántos elementos desconocidos se revisan de cada lado
+                                int desconocidos = ultimo - primero;
+                                int corteIzq = numIzq == 0 ? (numDer == 0 ? desconocidos / 2 : desconocidos) : 0;
+                                int corteDer = numDer == 0 ? (desconocidos - corteIzq) : 0;
+
+                                // Se anota el desplazamiento de cada elemento y el contador solo avanza si está fuera de lugar
+                                if (corteIzq > 0)
+                                    {
+                                        int limite = Math.min(corteIzq, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                desplIzq[numIzq] = i;
+                                                numIzq += a[primero] >= pivote ? 1 : 0;
+                                                primero++;
+                                            }
+                                    }
+                                if (corteDer > 0)
+                                    {
+                                        int limite = Math.min(corteDer, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                ultimo--;
+                                                desplDer[numDer] = i + 1;
+                                                numDer += a[ultimo] < pivote ? 1 : 0;
+                                            }
+                                    }
+
+                                // Intercambio de los pares fuera de lugar
+                                int num = Math.min(numIzq, numDer);
+                                intercambiarDesplazamientos(a, baseIzq, baseDer, desplIzq, iniIzq, desplDer, iniDer, num, numIzq == numDer);
+                                numIzq -= num;
+                                numDer -= num;
+                                iniIzq += num;
+                                iniDer += num;
+
+                                if (numIzq == 0)
+                                    {
+                                        iniIzq = 0;
+                                        baseIzq = primero;
+                                    }
+                                if (numDer == 0)
+                                    {
+                                        iniDer = 0;
+                                        baseDer = ultimo;
+                                    }
+                            }
+
+                        // Quedan elementos fuera de lugar de un solo lado: se llevan al borde
+                        if (numIzq > 0)
+                            {
+                                while (numIzq-- > 0)
+                                    swap(a, baseIzq + desplIzq[iniIzq + numIzq], --ultimo);
+                                primero = ultimo;
+                            }
+                        if (numDer > 0)
+                            {
+                                while (numDer-- > 0)
+                                    {
+                                        swap(a, baseDer - desplDer[iniDer + numDer], primero);
+                                        primero++;
+                                    }
+                                ultimo = primero;
+                            }
+                    }
+
+                // El pivote va a su lugar definitivo
+                int posPivote = primero - 1;
+                a[inicio] = a[posPivote];
+                a[posPivote] = pivote;
+
+                return ((long) posPivote << 1) | (yaParticionado ? 1L : 0L);
+            }
+
+        // Intercambia los pares anotados; con cantidades distintas se hace un ciclo de movimientos en lugar de swaps
+        private static void intercambiarDesplazamientos(double[] a, int baseIzq, int baseDer,
+                                                        int[] desplIzq, int iniIzq, int[] desplDer, int iniDer,
+                                                        int num, boolean usarSwaps)
+            {
+                if (usarSwaps)
+                    {
+                        for (int i = 0; i < num; i++)
+                            swap(a, baseIzq + desplIzq[iniIzq + i], baseDer - desplDer[iniDer + i]);
+                    }
+                else if (num > 0)
+                    {
+                        int l = baseIzq + desplIzq[iniIzq];
+                        int r = baseDer - desplDer[iniDer];
+                        double tmp = a[l];
+                        a[l] = a[r];
+                        for (int i = 1; i < num; i++)
+                            {
+                                l = baseIzq + desplIzq[iniIzq + i];
+                                a[r] = a[l];
+                                r = baseDer - desplDer[iniDer + i];
+                                a[l] = a[r];
+                            }
+                        a[r] = tmp;
+                    }
+            }
+
+        /**
+         * Partición con el pivote a[inicio] que deja los iguales a la izquierda y los mayores a la derecha.
+         * @return La posición final del pivote.
+         */
+        private static int particionIzquierda(double[] a, int inicio, int fin)
+            {
+                double pivote = a[inicio];
+                int primero = inicio;
+                int ultimo = fin;
+
+                while (pivote < a[--ultimo]);
+
+                if (ultimo + 1 == fin)
+                    while (primero < ultimo && !(pivote < a[++primero]));
+                else
+                    while (!(pivote < a[++primero]));
+
+                while (primero < ultimo)
+                    {
+                        swap(a, primero, ultimo);
+                        while (pivote < a[--ultimo]);
+                        while (!(pivote < a[++primero]));
+                    }
+
+                a[inicio] = a[ultimo];
+                a[ultimo] = pivote;
+                return ultimo;
+            }
+
+        // Inserción directa sobre a[inicio, fin)
+        private static void insercion(double[] a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        double key = a[i];
+                        int j = i - 1;
+                        while (j >= inicio && a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Inserción sin revisar el límite izquierdo: a[inicio - 1] es menor o igual que todo el tramo
+        private static void insercionSinGuarda(double[] a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        double key = a[i];
+                        int j = i - 1;
+                        while (a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Inserción que se rinde si tiene que mover más de LIMITE_INSERCION_PARCIAL elementos
+        private static boolean insercionParcial(double[] a, int inicio, int fin)
+            {
+                int movimientos = 0;
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        if (a[i] < a[i - 1])
+                            {
+                                double key = a[i];
+                                int j = i;
+                                do
+                                    {
+                                        a[j] = a[j - 1];
+                                        j--;
+                                    }
+                                while (j > inicio && key < a[j - 1]);
+                                a[j] = key;
+                                movimientos += i - j;
+                            }
+                        if (movimientos > LIMITE_INSERCION_PARCIAL)
+                            return false;
+                    }
+                return true;
+            }
+
+        // Heapsort sobre a[inicio, fin), usado como respaldo
+        private static void heapSort(double[] a, int inicio, int fin)
+            {
+                int n = fin - inicio;
+                for (int i = n / 2 - 1; i >= 0; i--)
+                    hundir(a, inicio, i, n);
+                for (int i = n - 1; i > 0; i--)
+                    {
+                        swap(a, inicio, inicio + i);
+                        hundir(a, inicio, 0, i);
+                    }
+            }
+
+        private static void hundir(double[] a, int base, int i, int n)
+            {
+                double valor = a[base + i];
+                while (true)
+                    {
+                        int hijo = 2 * i + 1;
+                        if (hijo >= n)
+                            break;
+                        if (hijo + 1 < n && a[base + hijo + 1] > a[base + hijo])
+                            hijo++;
+                        if (a[base + hijo] <= valor)
+                            break;
+                        a[base + i] = a[base + hijo];
+                        i = hijo;
+                    }
+                a[base + i] = valor;
+            }
+
+        // Deja a[i] <= a[j] <= a[k]
+        private static void ordenar3(double[] a, int i, int j, int k)
+            {
+                if (a[j] < a[i]) swap(a, i, j);
+                if (a[k] < a[j]) swap(a, j, k);
+                if (a[j] < a[i]) swap(a, i, j);
+            }
+
+        private static void swap(double[] a, int i, int j)
+            {
+                double tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        @Override
+        public void ordenar(short[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Arreglos de desplazamientos propios de cada llamada: la instancia se puede compartir entre hilos
+                int[] desplIzq = new int[TAMANO_BLOQUE];
+                int[] desplDer = new int[TAMANO_BLOQUE];
+                int malasPermitidas = 31 - Integer.numberOfLeadingZeros(arreglo.length);
+
+                pdqsort(arreglo, 0, arreglo.length, malasPermitidas, true, desplIzq, desplDer);
+            }
+
+        // Ordena a[inicio, fin); 'extremoIzq' indica que no hay un elemento anterior que sirva de centinela
+        private static void pdqsort(short[] a, int inicio, int fin, int malasPermitidas, boolean extremoIzq,
+                                    int[] desplIzq, int[] desplDer)
+            {
+                while (true)
+                    {
+                        int tamano = fin - inicio;
+
+                        if (tamano < UMBRAL_INSERCION)
+                            {
+                                if (extremoIzq)
+                                    insercion(a, inicio, fin);
+                                else
+                                    insercionSinGuarda(a, inicio, fin);
+                                return;
+                            }
+
+                        // 1. Pivote (queda en a[inicio])
+                        int mitad = tamano / 2;
+                        if (tamano > UMBRAL_NINTHER)
+                            {
+                                ordenar3(a, inicio, inicio + mitad, fin - 1);
+                                ordenar3(a, inicio + 1, inicio + mitad - 1, fin - 2);
+                                ordenar3(a, inicio + 2, inicio + mitad + 1, fin - 3);
+                                ordenar3(a, inicio + mitad - 1, inicio + mitad, inicio + mitad + 1);
+                                swap(a, inicio, inicio + mitad);
+                            }
+                        else
+                            ordenar3(a, inicio + mitad, inicio, fin - 1);
+
+                        // 2. Si el pivote es igual al elemento anterior, los iguales van a la izquierda y quedan listos
+                        if (!extremoIzq && a[inicio - 1] >= a[inicio])
+                            {
+                                inicio = particionIzquierda(a, inicio, fin) + 1;
+                                continue;
+                            }
+
+                        // 3. Partición por bloques
+                        long resultado = particionDerecha(a, inicio, fin, desplIzq, desplDer);
+                        int posPivote = (int) (resultado >>> 1);
+                        boolean yaParticionado = (resultado & 1L) != 0;
+
+                        int tamIzq = posPivote - inicio;
+                        int tamDer = fin - (posPivote + 1);
+                        boolean muyDesbalanceado = tamIzq < tamano / 8 || tamDer < tamano / 8;
+
+                        if (muyDesbalanceado)
+                            {
+                                // Demasiadas particiones malas: heapsort garantiza O(n log n)
+                                if (--malasPermitidas == 0)
+                                    {
+                                        heapSort(a, inicio, fin);
+                                        return;
+                                    }
+
+                                // Se mezclan algunos elementos para romper el patrón que causó la mala partición
+                                if (tamIzq >= UMBRAL_INSERCION)
+                                    {
+                                        swap(a, inicio, inicio + tamIzq / 4);
+                                        swap(a, posPivote - 1, posPivote - tamIzq / 4);
+                                        if (tamIzq > UMBRAL_NINTHER)
+                                            {
+                                                swap(a, inicio + 1, inicio + tamIzq / 4 + 1);
+                                                swap(a, inicio + 2, inicio + tamIzq / 4 + 2);
+                                                swap(a, posPivote - 2, posPivote - (tamIzq / 4 + 1));
+                                                swap(a, posPivote - 3, posPivote - (tamIzq / 4 + 2));
+                                            }
+                                    }
+                                if (tamDer >= UMBRAL_INSERCION)
+                                    {
+                                        swap(a, posPivote + 1, posPivote + 1 + tamDer / 4);
+                                        swap(a, fin - 1, fin - tamDer / 4);
+                                        if (tamDer > UMBRAL_NINTHER)
+                                            {
+                                                swap(a, posPivote + 2, posPivote + 2 + tamDer / 4);
+                                                swap(a, posPivote + 3, posPivote + 3 + tamDer / 4);
+                                                swap(a, fin - 2, fin - (1 + tamDer / 4));
+                                                swap(a, fin - 3, fin - (2 + tamDer / 4));
+                                            }
+                                    }
+                            }
+                        else if (yaParticionado
+                                 && insercionParcial(a, inicio, posPivote)
+                                 && insercionParcial(a, posPivote + 1, fin))
+                            {
+                                // El tramo venía (casi) ordenado: la inserción parcial lo terminó
+                                return;
+                            }
+
+                        // 4. Recursión sobre la izquierda y ciclo sobre la derecha
+                        pdqsort(a, inicio, posPivote, malasPermitidas, extremoIzq, desplIzq, desplDer);
+                        inicio = posPivote + 1;
+                        extremoIzq = false;
+                    }
+            }
+
+        /**
+         * Partición con el pivote a[inicio]: menores a la izquierda, mayores o iguales a la derecha.
+         * @return (posición del pivote << 1) | 1 si el tramo ya estaba particionado.
+         */
+        private static long particionDerecha(short[] a, int inicio, int fin, int[] desplIzq, int[] desplDer)
+            {
+                short pivote = a[inicio];
+                int primero = inicio;
+                int ultimo = fin;
+
+                // La elección del pivote deja centinelas: a[fin - 1] >= pivote, y si primero avanzó hay un menor a la izquierda
+                while (a[++primero] < pivote);
+
+                if (primero - 1 == inicio)
+                    while (primero < ultimo && !(a[--ultimo] < pivote));
+                else
+                    while (!(a[--ultimo] < pivote));
+
+                boolean yaParticionado = primero >= ultimo;
+
+                if (!yaParticionado)
+                    {
+                        swap(a, primero, ultimo);
+                        primero++;
+
+                        int baseIzq = primero;
+                        int baseDer = ultimo;
+                        int numIzq = 0, numDer = 0, iniIzq = 0, iniDer = 0;
+
+                        while (primero < ultimo)
+                            {
+                                // Cuántos elementos desconocidos se revisan de cada lado
+                                int desconocidos = ultimo - primero;
+                                int corteIzq = numIzq == 0 ? (numDer == 0 ? desconocidos / 2 : desconocidos) : 0;
+                                int corteDer = numDer == 0 ? (desconocidos - corteIzq) : 0;
+
+                                // Se anota el desplazamiento de cada elemento y el contador solo avanza si está fuera de lugar
+                                if (corteIzq > 0)
+                                    {
+                                        int limite = Math.min(corteIzq, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                desplIzq[numIzq] = i;
+                                                numIzq += a[primero] >= pivote ? 1 : 0;
+                                                primero++;
+                                            }
+                                    }
+                                if (corteDer > 0)
+                                    {
+                                        int limite = Math.min(corteDer, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                ultimo--;
+                                                desplDer[numDer] = i + 1;
+                                                numDer += a[ultimo] < pivote ? 1 : 0;
+                                            }
+                                    }
+
+                                // Intercambio de los pares fuera de lugar
+                                int num = Math.min(numIzq, numDer);
+                                intercambiarDesplazamientos(a, baseIzq, baseDer, desplIzq, iniIzq, desplDer, iniDer, num, numIzq == numDer);
+                                numIzq -= num;
+                                numDer -= num;
+                                iniIzq += num;
+                                iniDer += num;
+
+                                if (numIzq == 0)
+                                    {
+                                        iniIzq = 0;
+                                        baseIzq = primero;
+                                    }
+                                if (numDer == 0)
+                                    {
+                                        iniDer = 0;
+                                        baseDer = ultimo;
+                                    }
+                            }
+
+                        // Quedan elementos fuera de lugar de un solo lado: se llevan al borde
+                        if (numIzq > 0)
+                            {
+                                while (numIzq-- > 0)
+                                    swap(a, baseIzq + desplIzq[iniIzq + numIzq], --ultimo);
+                                primero = ultimo;
+                            }
+                        if (numDer > 0)
+                            {
+                                while (numDer-- > 0)
+                                    {
+                                        swap(a, baseDer - desplDer[iniDer + numDer], primero);
+                                        primero++;
+                                    }
+                                ultimo = primero;
+                            }
+                    }
+
+                // El pivote va a su lugar definitivo
+                int posPivote = primero - 1;
+                a[inicio] = a[posPivote];
+                a[posPivote] = pivote;
+
+                return ((long) posPivote << 1) | (yaParticionado ? 1L : 0L);
+            }
+
+        // Intercambia los pares anotados; con cantidades distintas se hace un ciclo de movimientos en lugar de swaps
+        private static void intercambiarDesplazamientos(short[] a, int baseIzq, int baseDer,
+                                                        int[] desplIzq, int iniIzq, int[] desplDer, int iniDer,
+                                                        int num, boolean usarSwaps)
+            {
+                if (usarSwaps)
+                    {
+                        for (int i = 0; i < num; i++)
+                            swap(a, baseIzq + desplIzq[iniIzq + i], baseDer - desplDer[iniDer + i]);
+                    }
+                else if (num > 0)
+                    {
+                        int l = baseIzq + desplIzq[iniIzq];
+                        int r = baseDer - desplDer[iniDer];
+                        short tmp = a[l];
+                        a[l] = a[r];
+                        for (int i = 1; i < num; i++)
+                            {
+                                l = baseIzq + desplIzq[iniIzq + i];
+                                a[r] = a[l];
+                                r = baseDer - desplDer[iniDer + i];
+                                a[l] = a[r];
+                            }
+                        a[r] = tmp;
+                    }
+            }
+
+        /**
+         * Partición con el pivote a[inicio] que deja los iguales a la izquierda y los mayores a la derecha.
+         * @return La posición final del pivote.
+         */
+        private static int particionIzquierda(short[] a, int inicio, int fin)
+            {
+                short pivote = a[inicio];
+                int primero = inicio;
+                int ultimo = fin;
+
+                while (pivote < a[--ultimo]);
+
+                if (ultimo + 1 == fin)
+                    while (primero < ultimo && !(pivote < a[++primero]));
+                else
+                    while (!(pivote < a[++primero]));
+
+                while (primero < ultimo)
+                    {
+                        swap(a, primero, ultimo);
+                        while (pivote < a[--ultimo]);
+                        while (!(pivote < a[++primero]));
+                    }
+
+                a[inicio] = a[ultimo];
+                a[ultimo] = pivote;
+                return ultimo;
+            }
+
+        // Inserción directa sobre a[inicio, fin)
+        private static void insercion(short[] a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        short key = a[i];
+                        int j = i - 1;
+                        while (j >= inicio && a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Inserción sin revisar el límite izquierdo: a[inicio - 1] es menor o igual que todo el tramo
+        private static void insercionSinGuarda(short[] a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        short key = a[i];
+                        int j = i - 1;
+                        while (a[j] > key)
+                            {
+                                a[j + 1] = a[j];
+                                j--;
+                            }
+                        a[j + 1] = key;
+                    }
+            }
+
+        // Inserción que se rinde si tiene que mover más de LIMITE_INSERCION_PARCIAL elementos
+        private static boolean insercionParcial(short[] a, int inicio, int fin)
+            {
+                int movimientos = 0;
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        if (a[i] < a[i - 1])
+                            {
+                                short key = a[i];
+                                int j = i;
+                                do
+                                    {
+                                        a[j] = a[j - 1];
+                                        j--;
+                                    }
+                                while (j > inicio && key < a[j - 1]);
+                                a[j] = key;
+                                movimientos += i - j;
+                            }
+                        if (movimientos > LIMITE_INSERCION_PARCIAL)
+                            return false;
+                    }
+                return true;
+            }
+
+        // Heapsort sobre a[inicio, fin), usado como respaldo
+        private static void heapSort(short[] a, int inicio, int fin)
+            {
+                int n = fin - inicio;
+                for (int i = n / 2 - 1; i >= 0; i--)
+                    hundir(a, inicio, i, n);
+                for (int i = n - 1; i > 0; i--)
+                    {
+                        swap(a, inicio, inicio + i);
+                        hundir(a, inicio, 0, i);
+                    }
+            }
+
+        private static void hundir(short[] a, int base, int i, int n)
+            {
+                short valor = a[base + i];
+                while (true)
+                    {
+                        int hijo = 2 * i + 1;
+                        if (hijo >= n)
+                            break;
+                        if (hijo + 1 < n && a[base + hijo + 1] > a[base + hijo])
+                            hijo++;
+                        if (a[base + hijo] <= valor)
+                            break;
+                        a[base + i] = a[base + hijo];
+                        i = hijo;
+                    }
+                a[base + i] = valor;
+            }
+
+        // Deja a[i] <= a[j] <= a[k]
+        private static void ordenar3(short[] a, int i, int j, int k)
+            {
+                if (a[j] < a[i]) swap(a, i, j);
+                if (a[k] < a[j]) swap(a, j, k);
+                if (a[j] < a[i]) swap(a, i, j);
+            }
+
+        private static void swap(short[] a, int i, int j)
+            {
+                short tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        // Versión instrumentada: el mismo algoritmo contando comparaciones, intercambios y escrituras.
+        // Las comparaciones de la partición por bloques también se cuentan, aunque ahí no generen saltos.
+
+        @Override
+        public void ordenar(ArregloContado arreglo)
+            {
+                if (arreglo == null || arreglo.longitud() < 2)
+                    return;
+
+                int[] desplIzq = new int[TAMANO_BLOQUE];
+                int[] desplDer = new int[TAMANO_BLOQUE];
+                int malasPermitidas = 31 - Integer.numberOfLeadingZeros(arreglo.longitud());
+
+                pdqsort(arreglo, 0, arreglo.longitud(), malasPermitidas, true, desplIzq, desplDer);
+            }
+
+        private static void pdqsort(ArregloContado a, int inicio, int fin, int malasPermitidas, boolean extremoIzq,
+                                    int[] desplIzq, int[] desplDer)
+            {
+                while (true)
+                    {
+                        int tamano = fin - inicio;
+
+                        if (tamano < UMBRAL_INSERCION)
+                            {
+                                if (extremoIzq)
+                                    insercion(a, inicio, fin);
+                                else
+                                    insercionSinGuarda(a, inicio, fin);
+                                return;
+                            }
+
+                        int mitad = tamano / 2;
+                        if (tamano > UMBRAL_NINTHER)
+                            {
+                                ordenar3(a, inicio, inicio + mitad, fin - 1);
+                                ordenar3(a, inicio + 1, inicio + mitad - 1, fin - 2);
+                                ordenar3(a, inicio + 2, inicio + mitad + 1, fin - 3);
+                                ordenar3(a, inicio + mitad - 1, inicio + mitad, inicio + mitad + 1);
+                                a.intercambiar(inicio, inicio + mitad);
+                            }
+                        else
+                            ordenar3(a, inicio + mitad, inicio, fin - 1);
+
+                        if (!extremoIzq && !a.menor(a.leer(inicio - 1), a.leer(inicio)))
+                            {
+                                inicio = particionIzquierda(a, inicio, fin) + 1;
+                                continue;
+                            }
+
+                        long resultado = particionDerecha(a, inicio, fin, desplIzq, desplDer);
+                        int posPivote = (int) (resultado >>> 1);
+                        boolean yaParticionado = (resultado & 1L) != 0;
+
+                        int tamIzq = posPivote - inicio;
+                        int tamDer = fin - (posPivote + 1);
+                        boolean muyDesbalanceado = tamIzq < tamano / 8 || tamDer < tamano / 8;
+
+                        if (muyDesbalanceado)
+                            {
+                                if (--malasPermitidas == 0)
+                                    {
+                                        heapSort(a, inicio, fin);
+                                        return;
+                                    }
+
+                                if (tamIzq >= UMBRAL_INSERCION)
+                                    {
+                                        a.intercambiar(inicio, inicio + tamIzq / 4);
+                                        a.intercambiar(posPivote - 1, posPivote - tamIzq / 4);
+                                        if (tamIzq > UMBRAL_NINTHER)
+                                            {
+                                                a.intercambiar(inicio + 1, inicio + tamIzq / 4 + 1);
+                                                a.intercambiar(inicio + 2, inicio + tamIzq / 4 + 2);
+                                                a.intercambiar(posPivote - 2, posPivote - (tamIzq / 4 + 1));
+                                                a.intercambiar(posPivote - 3, posPivote - (tamIzq / 4 + 2));
+                                            }
+                                    }
+                                if (tamDer >= UMBRAL_INSERCION)
+                                    {
+                                        a.intercambiar(posPivote + 1, posPivote + 1 + tamDer / 4);
+                                        a.intercambiar(fin - 1, fin - tamDer / 4);
+                                        if (tamDer > UMBRAL_NINTHER)
+                                            {
+                                                a.intercambiar(posPivote + 2, posPivote + 2 + tamDer / 4);
+                                                a.intercambiar(posPivote + 3, posPivote + 3 + tamDer / 4);
+                                                a.intercambiar(fin - 2, fin - (1 + tamDer / 4));
+                                                a.intercambiar(fin - 3, fin - (2 + tamDer / 4));
+                                            }
+                                    }
+                            }
+                        else if (yaParticionado
+                                 && insercionParcial(a, inicio, posPivote)
+                                 && insercionParcial(a, posPivote + 1, fin))
+                            {
+                                return;
+                            }
+
+                        pdqsort(a, inicio, posPivote, malasPermitidas, extremoIzq, desplIzq, desplDer);
+                        inicio = posPivote + 1;
+                        extremoIzq = false;
+                    }
+            }
+
+        private static long particionDerecha(ArregloContado a, int inicio, int fin, int[] desplIzq, int[] desplDer)
+            {
+                int pivote = a.leer(inicio);
+                int primero = inicio;
+                int ultimo = fin;
+
+                while (a.menor(a.leer(++primero), pivote));
+
+                if (primero - 1 == inicio)
+                    while (primero < ultimo && !a.menor(a.leer(--ultimo), pivote));
+                else
+                    while (!a.menor(a.leer(--ultimo), pivote));
+
+                boolean yaParticionado = primero >= ultimo;
+
+                if (!yaParticionado)
+                    {
+                        a.intercambiar(primero, ultimo);
+                        primero++;
+
+                        int baseIzq = primero;
+                        int baseDer = ultimo;
+                        int numIzq = 0, numDer = 0, iniIzq = 0, iniDer = 0;
+
+                        while (primero < ultimo)
+                            {
+                                int desconocidos = ultimo - primero;
+                                int corteIzq = numIzq == 0 ? (numDer == 0 ? desconocidos / 2 : desconocidos) : 0;
+                                int corteDer = numDer == 0 ? (desconocidos - corteIzq) : 0;
+
+                                if (corteIzq > 0)
+                                    {
+                                        int limite = Math.min(corteIzq, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                desplIzq[numIzq] = i;
+                                                numIzq += a.menor(a.leer(primero), pivote) ? 0 : 1;
+                                                primero++;
+                                            }
+                                    }
+                                if (corteDer > 0)
+                                    {
+                                        int limite = Math.min(corteDer, TAMANO_BLOQUE);
+                                        for (int i = 0; i < limite; i++)
+                                            {
+                                                ultimo--;
+                                                desplDer[numDer] = i + 1;
+                                                numDer += a.menor(a.leer(ultimo), pivote) ? 1 : 0;
+                                            }
+                                    }
+
+                                int num = Math.min(numIzq, numDer);
+                                intercambiarDesplazamientos(a, baseIzq, baseDer, desplIzq, iniIzq, desplDer, iniDer, num, numIzq == numDer);
+                                numIzq -= num;
+                                numDer -= num;
+                                iniIzq += num;
+                                iniDer += num;
+
+                                if (numIzq == 0)
+                                    {
+                                        iniIzq = 0;
+                                        baseIzq = primero;
+                                    }
+                                if (numDer == 0)
+                                    {
+                                        iniDer = 0;
+                                        baseDer = ultimo;
+                                    }
+                            }
+
+                        if (numIzq > 0)
+                            {
+                                while (numIzq-- > 0)
+                                    a.intercambiar(baseIzq + desplIzq[iniIzq + numIzq], --ultimo);
+                                primero = ultimo;
+                            }
+                        if (numDer > 0)
+                            {
+                                while (numDer-- > 0)
+                                    {
+                                        a.intercambiar(baseDer - desplDer[iniDer + numDer], primero);
+                                        primero++;
+                                    }
+                                ultimo = primero;
+                            }
+                    }
+
+                int posPivote = primero - 1;
+                a.escribir(inicio, a.leer(posPivote));
+                a.escribir(posPivote, pivote);
+
+                return ((long) posPivote << 1) | (yaParticionado ? 1L : 0L);
+            }
+
+        // El ciclo de movimientos cuenta como escrituras, no como intercambios
+        private static void intercambiarDesplazamientos(ArregloContado a, int baseIzq, int baseDer,
+                                                        int[] desplIzq, int iniIzq, int[] desplDer, int iniDer,
+                                                        int num, boolean usarSwaps)
+            {
+                if (usarSwaps)
+                    {
+                        for (int i = 0; i < num; i++)
+                            a.intercambiar(baseIzq + desplIzq[iniIzq + i], baseDer - desplDer[iniDer + i]);
+                    }
+                else if (num > 0)
+                    {
+                        int l = baseIzq + desplIzq[iniIzq];
+                        int r = baseDer - desplDer[iniDer];
+                        int tmp = a.leer(l);
+                        a.escribir(l, a.leer(r));
+                        for (int i = 1; i < num; i++)
+                            {
+                                l = baseIzq + desplIzq[iniIzq + i];
+                                a.escribir(r, a.leer(l));
+                                r = baseDer - desplDer[iniDer + i];
+                                a.escribir(l, a.leer(r));
+                            }
+                        a.escribir(r, tmp);
+                    }
+            }
+
+        private static int particionIzquierda(ArregloContado a, int inicio, int fin)
+            {
+                int pivote = a.leer(inicio);
+                int primero = inicio;
+                int ultimo = fin;
+
+                while (a.menor(pivote, a.leer(--ultimo)));
+
+                if (ultimo + 1 == fin)
+                    while (primero < ultimo && !a.menor(pivote, a.leer(++primero)));
+                else
+                    while (!a.menor(pivote, a.leer(++primero)));
+
+                while (primero < ultimo)
+                    {
+                        a.intercambiar(primero, ultimo);
+                        while (a.menor(pivote, a.leer(--ultimo)));
+                        while (!a.menor(pivote, a.leer(++primero)));
+                    }
+
+                a.escribir(inicio, a.leer(ultimo));
+                a.escribir(ultimo, pivote);
+                return ultimo;
+            }
+
+        private static void insercion(ArregloContado a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        int key = a.leer(i);
+                        int j = i - 1;
+                        while (j >= inicio && a.menor(key, a.leer(j)))
+                            {
+                                a.escribir(j + 1, a.leer(j));
+                                j--;
+                            }
+                        a.escribir(j + 1, key);
+                    }
+            }
+
+        private static void insercionSinGuarda(ArregloContado a, int inicio, int fin)
+            {
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        int key = a.leer(i);
+                        int j = i - 1;
+                        while (a.menor(key, a.leer(j)))
+                            {
+                                a.escribir(j + 1, a.leer(j));
+                                j--;
+                            }
+                        a.escribir(j + 1, key);
+                    }
+            }
+
+        private static boolean insercionParcial(ArregloContado a, int inicio, int fin)
+            {
+                int movimientos = 0;
+                for (int i = inicio + 1; i < fin; i++)
+                    {
+                        if (a.menor(a.leer(i), a.leer(i - 1)))
+                            {
+                                int key = a.leer(i);
+                                int j = i;
+                                do
+                                    {
+                                        a.escribir(j, a.leer(j - 1));
+                                        j--;
+                                    }
+                                while (j > inicio && a.menor(key, a.leer(j - 1)));
+                                a.escribir(j, key);
+                                movimientos += i - j;
+                            }
+                        if (movimientos > LIMITE_INSERCION_PARCIAL)
+                            return false;
+                    }
+                return true;
+            }
+
+        private static void heapSort(ArregloContado a, int inicio, int fin)
+            {
+                int n = fin - inicio;
+                for (int i = n / 2 - 1; i >= 0; i--)
+                    hundir(a, inicio, i, n);
+                for (int i = n - 1; i > 0; i--)
+                    {
+                        a.intercambiar(inicio, inicio + i);
+                        hundir(a, inicio, 0, i);
+                    }
+            }
+
+        private static void hundir(ArregloContado a, int base, int i, int n)
+            {
+                int valor = a.leer(base + i);
+                while (true)
+                    {
+                        int hijo = 2 * i + 1;
+                        if (hijo >= n)
+                            break;
+                        if (hijo + 1 < n && a.menor(a.leer(base + hijo), a.leer(base + hijo + 1)))
+                            hijo++;
+                        if (a.menorOIgual(a.leer(base + hijo), valor))
+                            break;
+                        a.escribir(base + i, a.leer(base + hijo));
+                        i = hijo;
+                    }
+                a.escribir(base + i, valor);
+            }
+
+        private static void ordenar3(ArregloContado a, int i, int j, int k)
+            {
+                if (a.menor(a.leer(j), a.leer(i))) a.intercambiar(i, j);
+                if (a.menor(a.leer(k), a.leer(j))) a.intercambiar(j, k);
+                if (a.menor(a.leer(j), a.leer(i))) a.intercambiar(i, j);
+            }
+
+        @Override
+        public String getNombre()
+            {
+                return "PdqSort";
+            }
+    }
@@ -0,0 +1,87 @@
+package abstraccion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lleva el avance de un análisis en curso a partir de los resultados que va recibiendo.
+ * <p>Cada celda pesa según su costo estimado ({@link AnalizadorEficiencia#costoEstimado(String, String, int)}),
+ * así una celda cuadrática grande avanza la barra mucho más que una lineal pequeña, y el tiempo restante
+ * se extrapola con el ritmo observado por unidad de costo. Es una estimación: las constantes de cada
+ * algoritmo no se conocen de antemano.
+ * <p>Las estrategias se buscan en un mapa armado una sola vez al crearlo: {@link #recibir(Resultado)} corre
+ * dentro del candado de {@link GestorResultados} que comparten todos los hilos del análisis.
+ */
+public class ProgresoAnalisis implements ReceptorResultados
+    {
+        private final int totalCeldas;
+        private final double costoTotal;
+        private final long inicioNs;
+        // Estrategia de cada nombre, para calcular el costo de las celdas que van llegando
+        private final Map<String, EstrategiaOrdenamiento> estrategias = new HashMap<>();
+
+        private int celdasTerminadas;
+        private double costoTerminado;
+
+        /**
+         * @param analizador Análisis que se va a seguir (todavía sin ejecutar).
+         */
+        public ProgresoAnalisis(AnalizadorEficiencia analizador)
+            {
+                this.totalCeldas = analizador.getTotalCeldas();
+                this.costoTotal = analizador.getCostoEstimadoTotal();
+                for (EstrategiaOrdenamiento estrategia : AnalizadorEficiencia.crearAlgoritmos())
+                    estrategias.put(estrategia.getNombre(), estrategia);
+                this.inicioNs = System.nanoTime();
+            }
+
+        @Override
+        public synchronized void recibir(Resultado resultado)
+            {
+                celdasTerminadas++;
+                EstrategiaOrdenamiento estrategia = estrategias.get(resultado.getAlgoritmo());
+                if (estrategia != null)
+                    costoTerminado += estrategia.getComplejidad(resultado.getCaso()).costo(resultado.getTamano());
+            }
+
+        public synchronized int getCeldasTerminadas()
+            {
+                return celdasTerminadas;
+            }
+
+        public int getTotalCeldas()
+            {
+                return totalCeldas;
+            }
+
+        /**
+         * @return Avance entre 0 y 1, ponderado por costo estimado.
+         */
+        public synchronized double getFraccion()
+            {
+                if (costoTotal <= 0)
+                    return totalCeldas == 0 ? 1.0 : (double) celdasTerminadas / totalCeldas;
+                return Math.min(1.0, costoTerminado / costoTotal);
+            }
+
+        /**
+         * @return Segundos transcurridos desde que se creó el seguimiento.
+         */
+        public double getSegundosTranscurridos()
+            {
+                return (System.nanoTime() - inicioNs) / 1e9;
+            }
+
+        /**
+         * Tiempo restante estimado.
+         * @return Segundos, o -1 si todavía no hay datos suficientes.
+         */
+        public double getSegundosRestantes()
+            {
+                double fraccion = getFraccion();
+                if (fraccion <= 0)
+                    return -1;
+                double transcurridos = getSegundosTranscurridos();
+                return transcurridos * (1.0 - fraccion) / fraccion;
+            }
+    }
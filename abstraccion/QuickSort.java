@@ -15,13 +15,25 @@ public class QuickSort implements EstrategiaOrdenamiento
                 quickSort(arreglo, 0, arreglo.length - 1);
             }
 
+        // Mismo pivote y partición de siempre; solo cambia el orden de la recursión. Con las distribuciones
+        // de muchos repetidos (Iguales, PocosUnicos) la partición sale desbalanceada y recurrir en ambos
+        // lados desbordaba la pila; recurriendo solo en la menor la pila queda en O(log n)
         private void quickSort(int[] a, int l, int r) 
             {
-                if (l >= r) 
-                    return;
-                int p = partition(a, l, r);
-                quickSort(a, l, p - 1);
-                quickSort(a, p + 1, r);
+                while (l < r) 
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p) 
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else 
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
             }
 
         private int partition(int[] a, int l, int r) 
@@ -50,6 +62,207 @@ public class QuickSort implements EstrategiaOrdenamiento
                 a[j] = tmp;
             }
 
+        // Versiones para long[], double[] y short[]: el mismo algoritmo con el tipo de elemento cambiado
+
+        @Override
+        public void ordenar(long[] arreglo) 
+            {
+                quickSort(arreglo, 0, arreglo.length - 1);
+            }
+
+        // Recursión sobre la partición menor y ciclo sobre la mayor: la pila queda en O(log n)
+        // aunque la partición salga desbalanceada (p. ej. con muchos elementos iguales)
+        private void quickSort(long[] a, int l, int r) 
+            {
+                while (l < r) 
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p) 
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else 
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private int partition(long[] a, int l, int r) 
+            {
+                // Elegir pivote aleatorio para evitar peor caso en arreglos ordenados
+                int pivotIndex = l + rnd.nextInt(r - l + 1);
+                long pivot = a[pivotIndex];
+                swap(a, pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++) 
+                    {
+                        if (a[i] < pivot) 
+                            {
+                                swap(a, i, store);
+                                store++;
+                            }
+                    }
+                swap(a, store, r);
+                return store;
+            }
+
+        private void swap(long[] a, int i, int j) 
+            {
+                long tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        @Override
+        public void ordenar(double[] arreglo) 
+            {
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int fin = OrdenDouble.moverNaNAlFinal(arreglo);
+                quickSort(arreglo, 0, fin - 1);
+                OrdenDouble.colocarCerosNegativos(arreglo, fin);
+            }
+
+        private void quickSort(double[] a, int l, int r) 
+            {
+                while (l < r) 
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p) 
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else 
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private int partition(double[] a, int l, int r) 
+            {
+                // Elegir pivote aleatorio para evitar peor caso en arreglos ordenados
+                int pivotIndex = l + rnd.nextInt(r - l + 1);
+                double pivot = a[pivotIndex];
+                swap(a, pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++) 
+                    {
+                        if (a[i] < pivot) 
+                            {
+                                swap(a, i, store);
+                                store++;
+                            }
+                    }
+                swap(a, store, r);
+                return store;
+            }
+
+        private void swap(double[] a, int i, int j) 
+            {
+                double tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        @Override
+        public void ordenar(short[] arreglo) 
+            {
+                quickSort(arreglo, 0, arreglo.length - 1);
+            }
+
+        private void quickSort(short[] a, int l, int r) 
+            {
+                while (l < r) 
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p) 
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else 
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private int partition(short[] a, int l, int r) 
+            {
+                // Elegir pivote aleatorio para evitar peor caso en arreglos ordenados
+                int pivotIndex = l + rnd.nextInt(r - l + 1);
+                short pivot = a[pivotIndex];
+                swap(a, pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++) 
+                    {
+                        if (a[i] < pivot) 
+                            {
+                                swap(a, i, store);
+                                store++;
+                            }
+                    }
+                swap(a, store, r);
+                return store;
+            }
+
+        private void swap(short[] a, int i, int j) 
+            {
+                short tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+
+        // Versión instrumentada: el mismo algoritmo contando comparaciones, intercambios y escrituras
+
+        @Override
+        public void ordenar(ArregloContado arreglo) 
+            {
+                quickSort(arreglo, 0, arreglo.longitud() - 1);
+            }
+
+        private void quickSort(ArregloContado a, int l, int r) 
+            {
+                while (l < r) 
+                    {
+                        int p = partition(a, l, r);
+                        if (p - l < r - p) 
+                            {
+                                quickSort(a, l, p - 1);
+                                l = p + 1;
+                            }
+                        else 
+                            {
+                                quickSort(a, p + 1, r);
+                                r = p - 1;
+                            }
+                    }
+            }
+
+        private int partition(ArregloContado a, int l, int r) 
+            {
+                int pivotIndex = l + rnd.nextInt(r - l + 1);
+                int pivot = a.leer(pivotIndex);
+                a.intercambiar(pivotIndex, r);
+                int store = l;
+                for (int i = l; i < r; i++) 
+                    {
+                        if (a.menor(a.leer(i), pivot)) 
+                            {
+                                a.intercambiar(i, store);
+                                store++;
+                            }
+                    }
+                a.intercambiar(store, r);
+                return store;
+            }
+
         @Override
         public String getNombre() 
             {
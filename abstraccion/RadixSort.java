@@ -0,0 +1,288 @@
+package abstraccion;
+
+/**
+ * Implementación de Radix Sort LSD (dígito menos significativo primero).
+ * <p>No compara elementos: ordena por dígitos de 8 bits en pasadas estables de conteo
+ * (cuatro para int, ocho para long y double, dos para short).
+ * <ul>
+ * <li>Los cuatro histogramas se calculan en un solo recorrido previo.</li>
+ * <li>Si todos los elementos comparten un dígito (p. ej. los bytes altos de valores 0-9999), esa pasada se omite.</li>
+ * <li>Los negativos se ordenan antes que los positivos invirtiendo el bit de signo en el dígito más alto.</li>
+ * </ul>
+ * Costo O(n) por pasada, con un arreglo auxiliar de tamaño n por ordenamiento.
+ * <p>Los double se ordenan por la clave de bits de {@link OrdenDouble#clave(double)}, que ya da -0.0 antes
+ * que 0.0; los NaN se apartan al final antes de ordenar.
+ */
+public class RadixSort implements EstrategiaOrdenamiento
+    {
+        private static final int BITS_DIGITO = 8;
+        private static final int CUBETAS = 1 << BITS_DIGITO;
+        private static final int MASCARA = CUBETAS - 1;
+        private static final int PASADAS = Integer.SIZE / BITS_DIGITO;
+        private static final int PASADAS_LONG = Long.SIZE / BITS_DIGITO;
+        private static final int PASADAS_SHORT = Short.SIZE / BITS_DIGITO;
+
+        @Override
+        public void ordenar(int[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                // 1. Histogramas de los cuatro dígitos en un solo recorrido
+                int[][] conteos = new int[PASADAS][CUBETAS];
+                for (int i = 0; i < n; i++)
+                    {
+                        int v = arreglo[i];
+                        for (int p = 0; p < PASADAS; p++)
+                            conteos[p][digito(v, p)]++;
+                    }
+
+                // 2. Una pasada estable por dígito, alternando entre el arreglo y el auxiliar
+                int[] origen = arreglo;
+                int[] destino = new int[n];
+                for (int p = 0; p < PASADAS; p++)
+                    {
+                        int[] conteo = conteos[p];
+
+                        // Todos caen en la misma cubeta: el orden no cambia
+                        if (conteo[digito(origen[0], p)] == n)
+                            continue;
+
+                        // Conteos a posiciones iniciales
+                        int suma = 0;
+                        for (int c = 0; c < CUBETAS; c++)
+                            {
+                                int tmp = conteo[c];
+                                conteo[c] = suma;
+                                suma += tmp;
+                            }
+
+                        for (int i = 0; i < n; i++)
+                            {
+                                int v = origen[i];
+                                destino[conteo[digito(v, p)]++] = v;
+                            }
+
+                        int[] tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                if (origen != arreglo)
+                    System.arraycopy(origen, 0, arreglo, 0, n);
+            }
+
+        // Dígito p (0 = el menos significativo); en el más alto se invierte el signo para que los negativos queden primero
+        private static int digito(int v, int p)
+            {
+                int d = (v >>> (p * BITS_DIGITO)) & MASCARA;
+                return p == PASADAS - 1 ? d ^ (CUBETAS >>> 1) : d;
+            }
+
+        // Versiones para long[], double[] y short[]: el mismo algoritmo con el número de pasadas del tipo
+
+        @Override
+        public void ordenar(long[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                int[][] conteos = new int[PASADAS_LONG][CUBETAS];
+                for (int i = 0; i < n; i++)
+                    {
+                        long v = arreglo[i];
+                        for (int p = 0; p < PASADAS_LONG; p++)
+                            conteos[p][digito(v, p)]++;
+                    }
+
+                long[] origen = arreglo;
+                long[] destino = new long[n];
+                for (int p = 0; p < PASADAS_LONG; p++)
+                    {
+                        int[] conteo = conteos[p];
+                        if (conteo[digito(origen[0], p)] == n)
+                            continue;
+                        acumular(conteo);
+
+                        for (int i = 0; i < n; i++)
+                            {
+                                long v = origen[i];
+                                destino[conteo[digito(v, p)]++] = v;
+                            }
+
+                        long[] tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                if (origen != arreglo)
+                    System.arraycopy(origen, 0, arreglo, 0, n);
+            }
+
+        @Override
+        public void ordenar(double[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Los NaN quedan al final; el resto se ordena por su clave de bits (sin signo)
+                int n = OrdenDouble.moverNaNAlFinal(arreglo);
+                if (n < 2)
+                    return;
+
+                int[][] conteos = new int[PASADAS_LONG][CUBETAS];
+                for (int i = 0; i < n; i++)
+                    {
+                        long clave = OrdenDouble.clave(arreglo[i]);
+                        for (int p = 0; p < PASADAS_LONG; p++)
+                            conteos[p][digitoSinSigno(clave, p)]++;
+                    }
+
+                double[] origen = arreglo;
+                double[] destino = new double[n];
+                for (int p = 0; p < PASADAS_LONG; p++)
+                    {
+                        int[] conteo = conteos[p];
+                        if (conteo[digitoSinSigno(OrdenDouble.clave(origen[0]), p)] == n)
+                            continue;
+                        acumular(conteo);
+
+                        for (int i = 0; i < n; i++)
+                            {
+                                double v = origen[i];
+                                destino[conteo[digitoSinSigno(OrdenDouble.clave(v), p)]++] = v;
+                            }
+
+                        double[] tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                if (origen != arreglo)
+                    System.arraycopy(origen, 0, arreglo, 0, n);
+            }
+
+        @Override
+        public void ordenar(short[] arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.length;
+                if (n < 2)
+                    return;
+
+                int[][] conteos = new int[PASADAS_SHORT][CUBETAS];
+                for (int i = 0; i < n; i++)
+                    {
+                        short v = arreglo[i];
+                        for (int p = 0; p < PASADAS_SHORT; p++)
+                            conteos[p][digito(v, p)]++;
+                    }
+
+                short[] origen = arreglo;
+                short[] destino = new short[n];
+                for (int p = 0; p < PASADAS_SHORT; p++)
+                    {
+                        int[] conteo = conteos[p];
+                        if (conteo[digito(origen[0], p)] == n)
+                            continue;
+                        acumular(conteo);
+
+                        for (int i = 0; i < n; i++)
+                            {
+                                short v = origen[i];
+                                destino[conteo[digito(v, p)]++] = v;
+                            }
+
+                        short[] tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                if (origen != arreglo)
+                    System.arraycopy(origen, 0, arreglo, 0, n);
+            }
+
+        // Conteos a posiciones iniciales
+        private static void acumular(int[] conteo)
+            {
+                int suma = 0;
+                for (int c = 0; c < CUBETAS; c++)
+                    {
+                        int tmp = conteo[c];
+                        conteo[c] = suma;
+                        suma += tmp;
+                    }
+            }
+
+        private static int digito(long v, int p)
+            {
+                int d = (int) (v >>> (p * BITS_DIGITO)) & MASCARA;
+                return p == PASADAS_LONG - 1 ? d ^ (CUBETAS >>> 1) : d;
+            }
+
+        // Para claves que ya se comparan sin signo (las de OrdenDouble.clave)
+        private static int digitoSinSigno(long clave, int p)
+            {
+                return (int) (clave >>> (p * BITS_DIGITO)) & MASCARA;
+            }
+
+        private static int digito(short v, int p)
+            {
+                int d = (v >>> (p * BITS_DIGITO)) & MASCARA;
+                return p == PASADAS_SHORT - 1 ? d ^ (CUBETAS >>> 1) : d;
+            }
+
+        // Versión instrumentada: el mismo algoritmo (sin comparaciones) contando las escrituras de cada pasada
+
+        @Override
+        public void ordenar(ArregloContado arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.longitud();
+                if (n < 2)
+                    return;
+
+                int[][] conteos = new int[PASADAS][CUBETAS];
+                for (int i = 0; i < n; i++)
+                    {
+                        int v = arreglo.leer(i);
+                        for (int p = 0; p < PASADAS; p++)
+                            conteos[p][digito(v, p)]++;
+                    }
+
+                ArregloContado origen = arreglo;
+                ArregloContado destino = arreglo.auxiliar(n);
+                for (int p = 0; p < PASADAS; p++)
+                    {
+                        int[] conteo = conteos[p];
+                        if (conteo[digito(origen.leer(0), p)] == n)
+                            continue;
+                        acumular(conteo);
+
+                        for (int i = 0; i < n; i++)
+                            {
+                                int v = origen.leer(i);
+                                destino.escribir(conteo[digito(v, p)]++, v);
+                            }
+
+                        ArregloContado tmp = origen;
+                        origen = destino;
+                        destino = tmp;
+                    }
+
+                if (origen != arreglo)
+                    origen.copiarA(0, arreglo, 0, n);
+            }
+
+        @Override
+        public String getNombre()
+            {
+                return "RadixSort";
+            }
+
+        @Override
+        public Complejidad getComplejidad(String caso)
+            {
+                return Complejidad.LINEAL;
+            }
+    }
@@ -0,0 +1,73 @@
+package abstraccion;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Receptor que agrega cada resultado al final de un archivo CSV y lo vacía a disco de inmediato.
+ * <p>Usa el mismo formato que {@link GestorResultados#exportarResultadosCSV(String)}. Si el análisis
+ * se interrumpe, el archivo conserva todas las celdas terminadas hasta ese momento.
+ */
+public class ReceptorCSV implements ReceptorResultados
+    {
+        private final String nombreArchivo;
+        private final BufferedWriter writer;
+
+        /**
+         * Abre el archivo en modo de anexar; si no existe o está vacío, escribe la cabecera.
+         * @param nombreArchivo Ruta del archivo CSV.
+         * @throws IOException si no se puede abrir el archivo.
+         */
+        public ReceptorCSV(String nombreArchivo) throws IOException
+            {
+                this(nombreArchivo, true);
+            }
+
+        /**
+         * @param nombreArchivo Ruta del archivo CSV.
+         * @param anexar {@code false} para empezar el archivo desde cero.
+         * @throws IOException si no se puede abrir el archivo.
+         */
+        public ReceptorCSV(String nombreArchivo, boolean anexar) throws IOException
+            {
+                this.nombreArchivo = nombreArchivo;
+                boolean nuevo = !anexar || new File(nombreArchivo).length() == 0;
+
+                this.writer = new BufferedWriter(new FileWriter(nombreArchivo, anexar));
+                if (nuevo)
+                    {
+                        writer.write(GestorResultados.CABECERA_CSV);
+                        writer.flush();
+                    }
+            }
+
+        @Override
+        public synchronized void recibir(Resultado resultado)
+            {
+                try
+                    {
+                        writer.write(GestorResultados.filaCSV(resultado));
+                        writer.flush();
+                    }
+                catch (IOException e)
+                    {
+                        throw new UncheckedIOException("Error al escribir " + nombreArchivo, e);
+                    }
+            }
+
+        @Override
+        public synchronized void cerrar()
+            {
+                try
+                    {
+                        writer.close();
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("Error al cerrar " + nombreArchivo + ": " + e.getMessage());
+                    }
+            }
+    }
@@ -0,0 +1,13 @@
+package abstraccion;
+
+/**
+ * Receptor que imprime cada resultado en la salida estándar.
+ */
+public class ReceptorConsola implements ReceptorResultados
+    {
+        @Override
+        public void recibir(Resultado resultado)
+            {
+                System.out.println(resultado);
+            }
+    }
@@ -0,0 +1,42 @@
+package abstraccion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Receptor que guarda cada resultado en el {@link HistorialResultados}, dentro de una corrida nueva
+ * que se registra al crear el receptor con los datos del proceso actual.
+ */
+public class ReceptorHistorial implements ReceptorResultados
+    {
+        private final HistorialResultados historial;
+        private final MetadatosCorrida corrida;
+
+        /**
+         * @param historial Historial donde se agregan los resultados.
+         * @throws IOException si no se puede registrar la corrida.
+         */
+        public ReceptorHistorial(HistorialResultados historial) throws IOException
+            {
+                this.historial = historial;
+                this.corrida = historial.iniciarCorrida();
+            }
+
+        public MetadatosCorrida getCorrida()
+            {
+                return corrida;
+            }
+
+        @Override
+        public void recibir(Resultado resultado)
+            {
+                try
+                    {
+                        historial.agregar(corrida.getId(), resultado);
+                    }
+                catch (IOException e)
+                    {
+                        throw new UncheckedIOException("Error al guardar en el historial", e);
+                    }
+            }
+    }
@@ -0,0 +1,43 @@
+package abstraccion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Receptor que guarda los resultados en una lista en memoria.
+ * <p>Es el almacenamiento que usa {@link GestorResultados} para la interfaz y las exportaciones;
+ * en corridas muy grandes se puede desactivar con {@link GestorResultados#setRetenerEnMemoria(boolean)}.
+ */
+public class ReceptorMemoria implements ReceptorResultados
+    {
+        private final List<Resultado> resultados = new ArrayList<>();
+
+        @Override
+        public synchronized void recibir(Resultado resultado)
+            {
+                resultados.add(resultado);
+            }
+
+        /**
+         * @return Una copia de los resultados recibidos hasta ahora; se puede recorrer aunque sigan llegando más.
+         */
+        public synchronized List<Resultado> getResultados()
+            {
+                return List.copyOf(resultados);
+            }
+
+        /**
+         * Reordena los resultados guardados.
+         * @param orden Criterio de orden
+         */
+        public synchronized void ordenar(Comparator<Resultado> orden)
+            {
+                resultados.sort(orden);
+            }
+
+        public synchronized void limpiar()
+            {
+                resultados.clear();
+            }
+    }
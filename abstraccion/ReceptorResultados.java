@@ -0,0 +1,24 @@
+package abstraccion;
+
+/**
+ * Recibe cada {@link Resultado} en cuanto el análisis lo produce.
+ * <p>Los receptores se registran en {@link GestorResultados#agregarReceptor(ReceptorResultados)}.
+ * Con la ejecución en paralelo se llama desde varios hilos, aunque nunca a la vez:
+ * el gestor entrega los resultados de uno en uno. Si {@link #recibir(Resultado)} lanza una excepción,
+ * el gestor quita el receptor y sigue con los demás.
+ *
+ * @see ReceptorCSV
+ * @see ReceptorConsola
+ * @see ReceptorMemoria
+ */
+public interface ReceptorResultados
+    {
+        void recibir(Resultado resultado);
+
+        /**
+         * Libera los recursos del receptor (archivos abiertos, etc.). Por omisión no hace nada.
+         */
+        default void cerrar()
+            {
+            }
+    }
@@ -0,0 +1,43 @@
+package abstraccion;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Arreglos de trabajo reutilizables para las repeticiones de una celda.
+ * <p>Cada hilo tiene un arreglo por {@link TipoClave}; se crea la primera vez y solo se vuelve a crear
+ * cuando cambia el tamaño pedido. Antes de cada repetición se rellena con {@link TipoClave#rellenar},
+ * así que medir no asigna memoria ni provoca recolecciones por las copias de los datos.
+ * <p>Los arreglos se liberan con {@link #vaciar()} (o junto con la reserva).
+ */
+final class ReservaArreglos
+    {
+        // Arreglos de cada hilo, uno por tipo de clave (índice = ordinal)
+        private final ConcurrentHashMap<Thread, Object[]> porHilo = new ConcurrentHashMap<>();
+
+        /**
+         * @param tipo Tipo de clave.
+         * @param n Número de elementos.
+         * @return Un arreglo de este hilo del tipo y tamaño pedidos; su contenido es el de su último uso.
+         */
+        Object obtener(TipoClave tipo, int n)
+            {
+                Object[] arreglos = porHilo.computeIfAbsent(Thread.currentThread(), h -> new Object[TipoClave.values().length]);
+                int i = tipo.ordinal();
+                if (arreglos[i] == null || Array.getLength(arreglos[i]) != n)
+                    {
+                        // Se suelta el anterior antes de crear el nuevo, para no tener los dos a la vez
+                        arreglos[i] = null;
+                        arreglos[i] = tipo.crearArreglo(n);
+                    }
+                return arreglos[i];
+            }
+
+        /**
+         * Suelta los arreglos de todos los hilos.
+         */
+        void vaciar()
+            {
+                porHilo.clear();
+            }
+    }
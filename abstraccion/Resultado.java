@@ -11,6 +11,38 @@ public class Resultado
         private final double tiempoMs;
         private final String caso;
 
+        // Tipo primitivo de las claves ordenadas ("int" salvo que el análisis pida otros)
+        private String tipoClave = TipoClave.INT.getNombre();
+
+        // Número de repeticiones medidas (0 si el tiempo fue extrapolado o importado)
+        private int repeticiones = 0;
+        // Semiancho del intervalo de confianza al 95 % del promedio, relativo a él; NaN si no se calculó
+        private double intervaloRelativo = Double.NaN;
+        // true si la celda no se midió y el tiempo se predijo a partir de tamaños menores
+        private boolean extrapolado = false;
+
+        // Bytes asignados en el heap por cada llamada a ordenar (promedio); -1 si no se midió
+        private long bytesPorOrdenamiento = -1;
+
+        // Tiempo de CPU del hilo por llamada a ordenar (promedio); NaN si no se midió
+        private double cpuMs = Double.NaN;
+        // Recolecciones de basura (de todo el proceso) durante las repeticiones medidas y su tiempo total; -1 si no se midieron
+        private long recoleccionesGc = -1;
+        private long tiempoGcMs = -1;
+
+        // Operaciones de un ordenamiento instrumentado (ver ArregloContado); -1 si no se contaron
+        private long comparaciones = -1;
+        private long intercambios = -1;
+        private long escrituras = -1;
+
+        // Distribución de las repeticiones en ms; NaN si solo se conoce el promedio (p. ej. resultados de JMH)
+        private double minMs = Double.NaN;
+        private double p50Ms = Double.NaN;
+        private double p90Ms = Double.NaN;
+        private double p99Ms = Double.NaN;
+        private double maxMs = Double.NaN;
+        private double desviacionMs = Double.NaN;
+
         // Constructor completo
         public Resultado(String algoritmo, int tamano, double tiempoMs, String caso) 
             {
@@ -36,9 +68,192 @@ public class Resultado
             return caso;
         }
 
+        /**
+         * @return Tipo de los elementos ordenados: "short", "int", "long" o "double".
+         */
+        public String getTipoClave() {
+            return tipoClave;
+        }
+
+        public void setTipoClave(String tipoClave) {
+            this.tipoClave = tipoClave;
+        }
+
+        /**
+         * Nombre con que se agrupa el resultado en tablas y gráficas: el algoritmo, y el tipo de clave
+         * entre corchetes cuando no es int (p. ej. "MergeSort [long]").
+         * @return El nombre de la serie.
+         */
+        public String getSerie() {
+            return TipoClave.INT.getNombre().equals(tipoClave) ? algoritmo : algoritmo + " [" + tipoClave + "]";
+        }
+
+        public int getRepeticiones() {
+            return repeticiones;
+        }
+
+        public void setRepeticiones(int repeticiones) {
+            this.repeticiones = repeticiones;
+        }
+
+        /**
+         * Precisión alcanzada por el promedio: semiancho del intervalo de confianza al 95 % dividido entre el promedio.
+         * @return El intervalo relativo (0.02 = ±2 %), o NaN si no se calculó (extrapolado, importado o una sola repetición).
+         */
+        public double getIntervaloRelativo() {
+            return intervaloRelativo;
+        }
+
+        public void setIntervaloRelativo(double intervaloRelativo) {
+            this.intervaloRelativo = intervaloRelativo;
+        }
+
+        /**
+         * @return {@code true} si la celda se saltó por presupuesto y su tiempo es una predicción.
+         */
+        public boolean isExtrapolado() {
+            return extrapolado;
+        }
+
+        public void setExtrapolado(boolean extrapolado) {
+            this.extrapolado = extrapolado;
+        }
+
+        /**
+         * Bytes asignados por el hilo que llamó a ordenar, promedio por llamada. En las estrategias paralelas
+         * incluye los de los trabajadores del pool común; si otras celdas usaban el pool al mismo tiempo no se mide.
+         * @return Bytes por ordenamiento, o -1 si no se midió.
+         */
+        public long getBytesPorOrdenamiento() {
+            return bytesPorOrdenamiento;
+        }
+
+        public void setBytesPorOrdenamiento(long bytesPorOrdenamiento) {
+            this.bytesPorOrdenamiento = bytesPorOrdenamiento;
+        }
+
+        /**
+         * Tiempo de CPU del hilo que llamó a ordenar, promedio por llamada. Como los bytes, en las estrategias
+         * paralelas incluye el de los trabajadores del pool común, así que puede superar al tiempo medido;
+         * si es mucho menor, los hilos estuvieron esperando.
+         * @return Milisegundos de CPU por ordenamiento, o NaN si no se midió.
+         */
+        public double getCpuMs() {
+            return cpuMs;
+        }
+
+        public void setCpuMs(double cpuMs) {
+            this.cpuMs = cpuMs;
+        }
+
+        /**
+         * Recolecciones de basura ocurridas durante las repeticiones medidas de la celda (en todo el
+         * proceso, no solo las que provocó este ordenamiento).
+         * @return Número de recolecciones, o -1 si no se midió.
+         */
+        public long getRecoleccionesGc() {
+            return recoleccionesGc;
+        }
+
+        /**
+         * @return Milisegundos totales de esas recolecciones, o -1 si no se midió.
+         */
+        public long getTiempoGcMs() {
+            return tiempoGcMs;
+        }
+
+        public void setRecoleccionesGc(long recoleccionesGc, long tiempoGcMs) {
+            this.recoleccionesGc = recoleccionesGc;
+            this.tiempoGcMs = tiempoGcMs;
+        }
+
+        /**
+         * @return Comparaciones entre claves de un ordenamiento de la celda, o -1 si no se contaron.
+         */
+        public long getComparaciones() {
+            return comparaciones;
+        }
+
+        /**
+         * @return Pares de elementos intercambiados, o -1 si no se contaron.
+         */
+        public long getIntercambios() {
+            return intercambios;
+        }
+
+        /**
+         * @return Elementos escritos en el arreglo y sus auxiliares (cada intercambio son dos), o -1 si no se contaron.
+         */
+        public long getEscrituras() {
+            return escrituras;
+        }
+
+        /**
+         * Copia los conteos de una pasada instrumentada.
+         * @param contador Contador de la pasada.
+         */
+        public void setOperaciones(ContadorOperaciones contador) {
+            setOperaciones(contador.getComparaciones(), contador.getIntercambios(), contador.getEscrituras());
+        }
+
+        // Conteos ya calculados, p. ej. al leerlos del historial
+        void setOperaciones(long comparaciones, long intercambios, long escrituras) {
+            this.comparaciones = comparaciones;
+            this.intercambios = intercambios;
+            this.escrituras = escrituras;
+        }
+
+        /**
+         * Copia la distribución de las repeticiones (mínimo, percentiles, máximo y desviación estándar).
+         * @param histograma Histograma con una muestra por repetición.
+         */
+        public void setDistribucion(HistogramaLatencias histograma) {
+            this.minMs = histograma.getMinimoNs() / 1_000_000.0;
+            this.p50Ms = histograma.getPercentilNs(50) / 1_000_000.0;
+            this.p90Ms = histograma.getPercentilNs(90) / 1_000_000.0;
+            this.p99Ms = histograma.getPercentilNs(99) / 1_000_000.0;
+            this.maxMs = histograma.getMaximoNs() / 1_000_000.0;
+            this.desviacionMs = histograma.getDesviacionNs() / 1_000_000.0;
+        }
+
+        // Distribución ya calculada, p. ej. al leerla del historial
+        void setDistribucion(double minMs, double p50Ms, double p90Ms, double p99Ms, double maxMs, double desviacionMs) {
+            this.minMs = minMs;
+            this.p50Ms = p50Ms;
+            this.p90Ms = p90Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+            this.desviacionMs = desviacionMs;
+        }
+
+        public double getMinMs() {
+            return minMs;
+        }
+
+        public double getP50Ms() {
+            return p50Ms;
+        }
+
+        public double getP90Ms() {
+            return p90Ms;
+        }
+
+        public double getP99Ms() {
+            return p99Ms;
+        }
+
+        public double getMaxMs() {
+            return maxMs;
+        }
+
+        public double getDesviacionMs() {
+            return desviacionMs;
+        }
+
         @Override
         public String toString() 
             {
-                return String.format("Algoritmo: %s | Tamaño: %d | Tiempo: %.6f ms | Caso: %s", algoritmo, tamano, tiempoMs, caso);
+                return String.format("Algoritmo: %s | Clave: %s | Tamaño: %d | Tiempo: %.6f ms%s | IC95: ±%.2f %% (%d rep.) | Caso: %s | Bytes/ordenamiento: %d | CPU: %.6f ms | GC: %d (%d ms) | p50: %.6f ms | p99: %.6f ms | Máx: %.6f ms",
+                        algoritmo, tipoClave, tamano, tiempoMs, extrapolado ? " (extrapolado)" : "", intervaloRelativo * 100, repeticiones, caso, bytesPorOrdenamiento, cpuMs, recoleccionesGc, tiempoGcMs, p50Ms, p99Ms, maxMs);
             }
     }
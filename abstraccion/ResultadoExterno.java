@@ -0,0 +1,124 @@
+package abstraccion;
+
+/**
+ * Resultado de un ordenamiento externo ({@link OrdenamientoExterno}): además del tiempo total guarda
+ * los bytes de entrada/salida y el tiempo de cada fase.
+ * <p>El caso es siempre {@value #CASO} y el tamaño es el número de elementos del archivo (acotado a
+ * {@code Integer.MAX_VALUE}; el valor exacto está en {@link #getElementos()}).
+ */
+public class ResultadoExterno extends Resultado
+    {
+        public static final String CASO = "Externo";
+
+        private final long elementos;
+
+        private int tramos;
+        private int pasadasMezcla;
+        private long bytesLeidos;
+        private long bytesEscritos;
+
+        // Tiempo de cada fase en ms
+        private double lecturaMs;
+        private double ordenamientoMs;
+        private double escrituraTramosMs;
+        private double mezclaMs;
+
+        /**
+         * @param algoritmo Nombre de la estrategia que ordenó cada tramo.
+         * @param elementos Número de enteros del archivo.
+         * @param tiempoMs Tiempo total del ordenamiento en ms.
+         */
+        public ResultadoExterno(String algoritmo, long elementos, double tiempoMs)
+            {
+                super(algoritmo, (int) Math.min(elementos, Integer.MAX_VALUE), tiempoMs, CASO);
+                this.elementos = elementos;
+            }
+
+        public long getElementos() {
+            return elementos;
+        }
+
+        /**
+         * @return Número de tramos ordenados en memoria que se escribieron a disco.
+         */
+        public int getTramos() {
+            return tramos;
+        }
+
+        /**
+         * @return Número de pasadas de mezcla (más de una si había más tramos que el máximo que cabe en memoria).
+         */
+        public int getPasadasMezcla() {
+            return pasadasMezcla;
+        }
+
+        public long getBytesLeidos() {
+            return bytesLeidos;
+        }
+
+        public long getBytesEscritos() {
+            return bytesEscritos;
+        }
+
+        /**
+         * @return Tiempo leyendo el archivo de entrada hacia memoria.
+         */
+        public double getLecturaMs() {
+            return lecturaMs;
+        }
+
+        /**
+         * @return Tiempo ordenando los tramos en memoria con la estrategia.
+         */
+        public double getOrdenamientoMs() {
+            return ordenamientoMs;
+        }
+
+        /**
+         * @return Tiempo escribiendo los tramos ordenados a disco.
+         */
+        public double getEscrituraTramosMs() {
+            return escrituraTramosMs;
+        }
+
+        /**
+         * @return Tiempo de todas las pasadas de mezcla (lectura de tramos, mezcla y escritura).
+         */
+        public double getMezclaMs() {
+            return mezclaMs;
+        }
+
+        /**
+         * @return Megabytes leídos y escritos por segundo, sobre el tiempo total.
+         */
+        public double getRendimientoMBs() {
+            double segundos = getTiempoMs() / 1000.0;
+            return segundos <= 0 ? 0.0 : (bytesLeidos + bytesEscritos) / (1024.0 * 1024.0) / segundos;
+        }
+
+        void setTramos(int tramos, int pasadasMezcla) {
+            this.tramos = tramos;
+            this.pasadasMezcla = pasadasMezcla;
+        }
+
+        void setBytes(long bytesLeidos, long bytesEscritos) {
+            this.bytesLeidos = bytesLeidos;
+            this.bytesEscritos = bytesEscritos;
+        }
+
+        void setFases(double lecturaMs, double ordenamientoMs, double escrituraTramosMs, double mezclaMs) {
+            this.lecturaMs = lecturaMs;
+            this.ordenamientoMs = ordenamientoMs;
+            this.escrituraTramosMs = escrituraTramosMs;
+            this.mezclaMs = mezclaMs;
+        }
+
+        @Override
+        public String toString()
+            {
+                return String.format("Externo: %s | Elementos: %d | Tiempo: %.3f ms | Tramos: %d | Pasadas de mezcla: %d | "
+                        + "Leídos: %d B | Escritos: %d B | Lectura: %.3f ms | Ordenamiento: %.3f ms | Escritura: %.3f ms | Mezcla: %.3f ms | %.1f MB/s",
+                        getAlgoritmo(), elementos, getTiempoMs(), tramos, pasadasMezcla, bytesLeidos, bytesEscritos,
+                        lecturaMs, ordenamientoMs, escrituraTramosMs, mezclaMs, getRendimientoMBs());
+            }
+    }
@@ -0,0 +1,83 @@
+package abstraccion;
+
+/**
+ * Resultado del benchmark de ordenamiento por lotes ({@link OrdenamientoPorLotes}): además del tiempo
+ * promedio del lote guarda el rendimiento en arreglos y elementos por segundo, y el tiempo de ordenar el
+ * mismo lote arreglo por arreglo en un ciclo, para ver cuánto gana el reparto entre hilos.
+ * <p>El caso es siempre {@value #CASO} y el tamaño es el total de elementos del lote (acotado a
+ * {@code Integer.MAX_VALUE}; el valor exacto está en {@link #getElementos()}).
+ */
+public class ResultadoLotes extends Resultado
+    {
+        public static final String CASO = "Lotes";
+
+        private final int arreglos;
+        private final long elementos;
+        private final double cicloMs;
+        private int hilos;
+
+        /**
+         * @param algoritmo Nombre de la estrategia que ordenó cada arreglo.
+         * @param arreglos Número de arreglos del lote.
+         * @param elementos Total de elementos del lote.
+         * @param tiempoMs Tiempo promedio de ordenar el lote con {@link OrdenamientoPorLotes}, en ms.
+         * @param cicloMs Tiempo promedio de ordenar el lote con un ciclo de llamadas a la estrategia, en ms.
+         */
+        public ResultadoLotes(String algoritmo, int arreglos, long elementos, double tiempoMs, double cicloMs)
+            {
+                super(algoritmo, (int) Math.min(elementos, Integer.MAX_VALUE), tiempoMs, CASO);
+                this.arreglos = arreglos;
+                this.elementos = elementos;
+                this.cicloMs = cicloMs;
+            }
+
+        public int getArreglos() {
+            return arreglos;
+        }
+
+        public long getElementos() {
+            return elementos;
+        }
+
+        /**
+         * @return Tiempo de ordenar el mismo lote llamando a la estrategia arreglo por arreglo en un solo hilo.
+         */
+        public double getCicloMs() {
+            return cicloMs;
+        }
+
+        /**
+         * @return Hilos del pool que ordenó el lote.
+         */
+        public int getHilos() {
+            return hilos;
+        }
+
+        void setHilos(int hilos) {
+            this.hilos = hilos;
+        }
+
+        public double getArreglosPorSegundo() {
+            return getTiempoMs() <= 0 ? 0.0 : arreglos / (getTiempoMs() / 1000.0);
+        }
+
+        public double getElementosPorSegundo() {
+            return getTiempoMs() <= 0 ? 0.0 : elementos / (getTiempoMs() / 1000.0);
+        }
+
+        /**
+         * @return Cuántas veces más rápido es el lote que el ciclo (mayor que 1 = el lote gana).
+         */
+        public double getAceleracion() {
+            return getTiempoMs() <= 0 ? 0.0 : cicloMs / getTiempoMs();
+        }
+
+        @Override
+        public String toString()
+            {
+                return String.format("Lotes: %s | Arreglos: %d | Elementos: %d | Tiempo: %.3f ms (ciclo: %.3f ms, x%.2f con %d hilos) | "
+                        + "%.0f arreglos/s | %.0f elementos/s | IC95: ±%.2f %% (%d rep.)",
+                        getAlgoritmo(), arreglos, elementos, getTiempoMs(), cicloMs, getAceleracion(), hilos,
+                        getArreglosPorSegundo(), getElementosPorSegundo(), getIntervaloRelativo() * 100, getRepeticiones());
+            }
+    }
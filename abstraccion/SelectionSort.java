@@ -25,9 +25,97 @@ public class SelectionSort implements EstrategiaOrdenamiento
                     }
             }
 
+        @Override
+        public void ordenar(long[] arreglo) 
+            {
+                int n = arreglo.length;
+                for (int i = 0; i < n - 1; i++) 
+                    {
+                        int minIdx = i;
+                        for (int j = i + 1; j < n; j++) 
+                        {
+                            if (arreglo[j] < arreglo[minIdx]) 
+                                {
+                                    minIdx = j;
+                                }
+                        }
+                        long tmp = arreglo[minIdx];
+                        arreglo[minIdx] = arreglo[i];
+                        arreglo[i] = tmp;
+                    }
+            }
+
+        @Override
+        public void ordenar(double[] arreglo) 
+            {
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int n = OrdenDouble.moverNaNAlFinal(arreglo);
+                for (int i = 0; i < n - 1; i++) 
+                    {
+                        int minIdx = i;
+                        for (int j = i + 1; j < n; j++) 
+                        {
+                            if (arreglo[j] < arreglo[minIdx]) 
+                                {
+                                    minIdx = j;
+                                }
+                        }
+                        double tmp = arreglo[minIdx];
+                        arreglo[minIdx] = arreglo[i];
+                        arreglo[i] = tmp;
+                    }
+                OrdenDouble.colocarCerosNegativos(arreglo, n);
+            }
+
+        @Override
+        public void ordenar(short[] arreglo) 
+            {
+                int n = arreglo.length;
+                for (int i = 0; i < n - 1; i++) 
+                    {
+                        int minIdx = i;
+                        for (int j = i + 1; j < n; j++) 
+                        {
+                            if (arreglo[j] < arreglo[minIdx]) 
+                                {
+                                    minIdx = j;
+                                }
+                        }
+                        short tmp = arreglo[minIdx];
+                        arreglo[minIdx] = arreglo[i];
+                        arreglo[i] = tmp;
+                    }
+            }
+
+        // Versión instrumentada: el mismo algoritmo contando comparaciones, intercambios y escrituras
+
+        @Override
+        public void ordenar(ArregloContado arreglo) 
+            {
+                int n = arreglo.longitud();
+                for (int i = 0; i < n - 1; i++) 
+                    {
+                        int minIdx = i;
+                        for (int j = i + 1; j < n; j++) 
+                        {
+                            if (arreglo.menor(arreglo.leer(j), arreglo.leer(minIdx))) 
+                                {
+                                    minIdx = j;
+                                }
+                        }
+                        arreglo.intercambiar(minIdx, i);
+                    }
+            }
+
         @Override
         public String getNombre() 
             {
                 return "SelectionSort";
             }
+
+        @Override
+        public Complejidad getComplejidad(String caso)
+            {
+                return Complejidad.CUADRATICA;
+            }
     }
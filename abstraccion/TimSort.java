@@ -0,0 +1,1075 @@
+package abstraccion;
+
+/**
+ * Merge sort natural al estilo de TimSort: aprovecha el orden que ya traen los datos.
+ * <ul>
+ * <li>Recorre el arreglo buscando tramos ya ordenados: ascendentes (no decrecientes) o estrictamente
+ * descendentes, que se invierten en su lugar (estrictos para no cambiar el orden relativo de los iguales).</li>
+ * <li>Los tramos más cortos que un mínimo (entre {@value #MIN_MEZCLA}/2 y {@value #MIN_MEZCLA}, según n) se
+ * extienden con inserción binaria.</li>
+ * <li>Los tramos se apilan y se mezclan manteniendo el invariante de la pila (cada tramo es más largo que
+ * la suma de los dos de arriba), lo que acota la pila a O(log n) tramos y equilibra las mezclas.</li>
+ * <li>Antes de mezclar se descartan por búsqueda exponencial ("galope") los elementos que ya están en su
+ * lugar, y durante la mezcla, cuando un lado gana {@value #MIN_GALOPE} veces seguidas, se galopa para copiar
+ * de una vez el bloque que sigue ganando.</li>
+ * </ul>
+ * Con datos ya ordenados hay un solo tramo y el costo es O(n) (el caso "Mejor"); en general es O(n log n).
+ * El búfer de mezcla y la pila son propios de cada llamada, así que una instancia se puede usar desde
+ * varios hilos a la vez; con datos ordenados no se asigna búfer.
+ */
+public class TimSort implements EstrategiaOrdenamiento
+    {
+        // Por debajo de este tamaño se ordena todo con inserción binaria
+        private static final int MIN_MEZCLA = 32;
+        // Victorias seguidas de un lado de la mezcla a partir de las cuales se galopa
+        private static final int MIN_GALOPE = 7;
+        // Con el invariante, 64 tramos alcanzan para cualquier arreglo de Java
+        private static final int TAMANO_PILA = 64;
+
+        @Override
+        public void ordenar(int[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+                ordenarTramo(arreglo, 0, arreglo.length);
+            }
+
+        // Ordena a[lo, hi): tramos naturales extendidos al mínimo, apilados y mezclados según el invariante
+        private static void ordenarTramo(int[] a, int lo, int hi)
+            {
+                int n = hi - lo;
+                if (n < MIN_MEZCLA)
+                    {
+                        insercionBinaria(a, lo, hi, lo + contarTramo(a, lo, hi));
+                        return;
+                    }
+
+                Pila pila = new Pila();
+                int[] tmp = new int[0];
+                int minimo = minTramo(n);
+                int actual = lo;
+                while (actual < hi)
+                    {
+                        int largo = contarTramo(a, actual, hi);
+                        // Tramo corto: se extiende hasta el mínimo con inserción binaria
+                        if (largo < minimo)
+                            {
+                                int forzado = Math.min(minimo, hi - actual);
+                                insercionBinaria(a, actual, actual + forzado, actual + largo);
+                                largo = forzado;
+                            }
+                        pila.apilar(actual, largo);
+                        for (int i = pila.siguienteMezcla(); i >= 0; i = pila.siguienteMezcla())
+                            tmp = mezclarEn(a, pila, i, tmp);
+                        actual += largo;
+                    }
+                while (pila.tamano > 1)
+                    tmp = mezclarEn(a, pila, pila.siguienteMezclaFinal(), tmp);
+            }
+
+        // Largo del tramo ordenado que empieza en lo; si es estrictamente descendente lo invierte
+        private static int contarTramo(int[] a, int lo, int hi)
+            {
+                int fin = lo + 1;
+                if (fin == hi)
+                    return 1;
+                if (a[fin++] < a[lo])
+                    {
+                        while (fin < hi && a[fin] < a[fin - 1])
+                            fin++;
+                        for (int i = lo, j = fin - 1; i < j; i++, j--)
+                            {
+                                int t = a[i];
+                                a[i] = a[j];
+                                a[j] = t;
+                            }
+                    }
+                else
+                    {
+                        while (fin < hi && a[fin] >= a[fin - 1])
+                            fin++;
+                    }
+                return fin - lo;
+            }
+
+        // Inserción binaria sobre a[lo, hi), sabiendo que a[lo, inicio) ya está ordenado
+        private static void insercionBinaria(int[] a, int lo, int hi, int inicio)
+            {
+                for (int i = Math.max(inicio, lo + 1); i < hi; i++)
+                    {
+                        int pivote = a[i];
+                        // Primera posición con un elemento mayor (los iguales quedan antes: estable)
+                        int izq = lo, der = i;
+                        while (izq < der)
+                            {
+                                int m = (izq + der) >>> 1;
+                                if (pivote < a[m])
+                                    der = m;
+                                else
+                                    izq = m + 1;
+                            }
+                        System.arraycopy(a, izq, a, izq + 1, i - izq);
+                        a[izq] = pivote;
+                    }
+            }
+
+        // Mezcla los tramos i e i + 1 de la pila; devuelve el búfer (más grande si hizo falta)
+        private static int[] mezclarEn(int[] a, Pila pila, int i, int[] tmp)
+            {
+                int base1 = pila.base[i], largo1 = pila.largo[i];
+                int base2 = pila.base[i + 1], largo2 = pila.largo[i + 1];
+                pila.fusionar(i);
+
+                // Lo que del primer tramo no supera al primero del segundo ya está en su lugar
+                int k = galopeDerecha(a[base2], a, base1, largo1);
+                base1 += k;
+                largo1 -= k;
+                if (largo1 == 0)
+                    return tmp;
+                // Y lo que del segundo no es menor que el último del primero, también
+                largo2 = galopeIzquierda(a[base1 + largo1 - 1], a, base2, largo2);
+                if (largo2 == 0)
+                    return tmp;
+
+                if (tmp.length < largo1)
+                    tmp = new int[Math.max(largo1, Math.min(a.length / 2, tmp.length * 2))];
+                System.arraycopy(a, base1, tmp, 0, largo1);
+                mezclarBajo(a, tmp, base1, largo1, base2, largo2);
+                return tmp;
+            }
+
+        // Mezcla tmp[0, largo1) (el primer tramo) con a[base2, base2 + largo2) en a[base1, ...)
+        private static void mezclarBajo(int[] a, int[] tmp, int base1, int largo1, int base2, int largo2)
+            {
+                int i = 0, j = base2, k = base1;
+                int finJ = base2 + largo2;
+                int minGalope = MIN_GALOPE;
+                int ganaIzq = 0, ganaDer = 0;
+                while (i < largo1 && j < finJ)
+                    {
+                        if (a[j] < tmp[i])
+                            {
+                                a[k++] = a[j++];
+                                ganaIzq = 0;
+                                if (++ganaDer >= minGalope && j < finJ)
+                                    {
+                                        // Galope: todo lo del segundo tramo que sigue siendo menor se copia de una vez
+                                        int c = galopeIzquierda(tmp[i], a, j, finJ - j);
+                                        System.arraycopy(a, j, a, k, c);
+                                        j += c;
+                                        k += c;
+                                        ganaDer = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                        else
+                            {
+                                a[k++] = tmp[i++];
+                                ganaDer = 0;
+                                if (++ganaIzq >= minGalope && i < largo1)
+                                    {
+                                        int c = galopeDerecha(a[j], tmp, i, largo1 - i);
+                                        System.arraycopy(tmp, i, a, k, c);
+                                        i += c;
+                                        k += c;
+                                        ganaIzq = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                    }
+                // Lo que queda del segundo tramo ya está en su lugar
+                System.arraycopy(tmp, i, a, k, largo1 - i);
+            }
+
+        // Cuántos de los primeros elementos de a[base, base + largo) son menores que clave (búsqueda exponencial y binaria)
+        private static int galopeIzquierda(int clave, int[] a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a[base + hi - 1] < clave)
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a[base + m] < clave)
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        // Cuántos de los primeros elementos de a[base, base + largo) son menores o iguales que clave
+        private static int galopeDerecha(int clave, int[] a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a[base + hi - 1] <= clave)
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a[base + m] <= clave)
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        // Largo mínimo de los tramos: entre MIN_MEZCLA/2 y MIN_MEZCLA, elegido para que n / mínimo sea
+        // una potencia de dos o un poco menos (así las mezclas finales quedan equilibradas)
+        private static int minTramo(int n)
+            {
+                int resto = 0;
+                while (n >= MIN_MEZCLA)
+                    {
+                        resto |= n & 1;
+                        n >>= 1;
+                    }
+                return n + resto;
+            }
+
+        /**
+         * Pila de tramos pendientes de mezclar (inicio y largo), con el invariante de TimSort:
+         * largo[k - 2] > largo[k - 1] + largo[k] y largo[k - 1] > largo[k] para los tramos de arriba.
+         */
+        private static final class Pila
+            {
+                private final int[] base = new int[TAMANO_PILA];
+                private final int[] largo = new int[TAMANO_PILA];
+                private int tamano;
+
+                void apilar(int inicio, int largoTramo)
+                    {
+                        base[tamano] = inicio;
+                        largo[tamano] = largoTramo;
+                        tamano++;
+                    }
+
+                // Tramo (con el siguiente) que hay que mezclar para restablecer el invariante, o -1 si ya se cumple
+                int siguienteMezcla()
+                    {
+                        if (tamano < 2)
+                            return -1;
+                        int n = tamano - 2;
+                        // Se revisan los tres de arriba y también el cuarto, que es lo que garantiza el invariante en toda la pila
+                        if ((n > 0 && largo[n - 1] <= largo[n] + largo[n + 1]) || (n > 1 && largo[n - 2] <= largo[n - 1] + largo[n]))
+                            return largo[n - 1] < largo[n + 1] ? n - 1 : n;
+                        return largo[n] <= largo[n + 1] ? n : -1;
+                    }
+
+                // Al terminar se mezcla todo, siempre con el vecino más corto
+                int siguienteMezclaFinal()
+                    {
+                        int n = tamano - 2;
+                        return n > 0 && largo[n - 1] < largo[n + 1] ? n - 1 : n;
+                    }
+
+                // Registra la mezcla del tramo i con el i + 1
+                void fusionar(int i)
+                    {
+                        largo[i] += largo[i + 1];
+                        if (i == tamano - 3)
+                            {
+                                base[i + 1] = base[i + 2];
+                                largo[i + 1] = largo[i + 2];
+                            }
+                        tamano--;
+                    }
+            }
+
+        // Versiones para long[], double[] y short[]: el mismo algoritmo con el tipo de elemento cambiado
+
+        @Override
+        public void ordenar(long[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+                ordenarTramo(arreglo, 0, arreglo.length);
+            }
+
+        // Ordena a[lo, hi): tramos naturales extendidos al mínimo, apilados y mezclados según el invariante
+        private static void ordenarTramo(long[] a, int lo, int hi)
+            {
+                int n = hi - lo;
+                if (n < MIN_MEZCLA)
+                    {
+                        insercionBinaria(a, lo, hi, lo + contarTramo(a, lo, hi));
+                        return;
+                    }
+
+                Pila pila = new Pila();
+                long[] tmp = new long[0];
+                int minimo = minTramo(n);
+                int actual = lo;
+                while (actual < hi)
+                    {
+                        int largo = contarTramo(a, actual, hi);
+                        // Tramo corto: se extiende hasta el mínimo con inserción binaria
+                        if (largo < minimo)
+                            {
+                                int forzado = Math.min(minimo, hi - actual);
+                                insercionBinaria(a, actual, actual + forzado, actual + largo);
+                                largo = forzado;
+                            }
+                        pila.apilar(actual, largo);
+                        for (int i = pila.siguienteMezcla(); i >= 0; i = pila.siguienteMezcla())
+                            tmp = mezclarEn(a, pila, i, tmp);
+                        actual += largo;
+                    }
+                while (pila.tamano > 1)
+                    tmp = mezclarEn(a, pila, pila.siguienteMezclaFinal(), tmp);
+            }
+
+        // Largo del tramo ordenado que empieza en lo; si es estrictamente descendente lo invierte
+        private static int contarTramo(long[] a, int lo, int hi)
+            {
+                int fin = lo + 1;
+                if (fin == hi)
+                    return 1;
+                if (a[fin++] < a[lo])
+                    {
+                        while (fin < hi && a[fin] < a[fin - 1])
+                            fin++;
+                        for (int i = lo, j = fin - 1; i < j; i++, j--)
+                            {
+                                long t = a[i];
+                                a[i] = a[j];
+                                a[j] = t;
+                            }
+                    }
+                else
+                    {
+                        while (fin < hi && a[fin] >= a[fin - 1])
+                            fin++;
+                    }
+                return fin - lo;
+            }
+
+        // Inserción binaria sobre a[lo, hi), sabiendo que a[lo, inicio) ya está ordenado
+        private static void insercionBinaria(long[] a, int lo, int hi, int inicio)
+            {
+                for (int i = Math.max(inicio, lo + 1); i < hi; i++)
+                    {
+                        long pivote = a[i];
+                        // Primera posición con un elemento mayor (los iguales quedan antes: estable)
+                        int izq = lo, der = i;
+                        while (izq < der)
+                            {
+                                int m = (izq + der) >>> 1;
+                                if (pivote < a[m])
+                                    der = m;
+                                else
+                                    izq = m + 1;
+                            }
+                        System.arraycopy(a, izq, a, izq + 1, i - izq);
+                        a[izq] = pivote;
+                    }
+            }
+
+        // Mezcla los tramos i e i + 1 de la pila; devuelve el búfer (más grande si hizo falta)
+        private static long[] mezclarEn(long[] a, Pila pila, int i, long[] tmp)
+            {
+                int base1 = pila.base[i], largo1 = pila.largo[i];
+                int base2 = pila.base[i + 1], largo2 = pila.largo[i + 1];
+                pila.fusionar(i);
+
+                // Lo que del primer tramo no supera al primero del segundo ya está en su lugar
+                int k = galopeDerecha(a[base2], a, base1, largo1);
+                base1 += k;
+                largo1 -= k;
+                if (largo1 == 0)
+                    return tmp;
+                // Y lo que del segundo no es menor que el último del primero, también
+                largo2 = galopeIzquierda(a[base1 + largo1 - 1], a, base2, largo2);
+                if (largo2 == 0)
+                    return tmp;
+
+                if (tmp.length < largo1)
+                    tmp = new long[Math.max(largo1, Math.min(a.length / 2, tmp.length * 2))];
+                System.arraycopy(a, base1, tmp, 0, largo1);
+                mezclarBajo(a, tmp, base1, largo1, base2, largo2);
+                return tmp;
+            }
+
+        // Mezcla tmp[0, largo1) (el primer tramo) con a[base2, base2 + largo2) en a[base1, ...)
+        private static void mezclarBajo(long[] a, long[] tmp, int base1, int largo1, int base2, int largo2)
+            {
+                int i = 0, j = base2, k = base1;
+                int finJ = base2 + largo2;
+                int minGalope = MIN_GALOPE;
+                int ganaIzq = 0, ganaDer = 0;
+                while (i < largo1 && j < finJ)
+                    {
+                        if (a[j] < tmp[i])
+                            {
+                                a[k++] = a[j++];
+                                ganaIzq = 0;
+                                if (++ganaDer >= minGalope && j < finJ)
+                                    {
+                                        // Galope: todo lo del segundo tramo que sigue siendo menor se copia de una vez
+                                        int c = galopeIzquierda(tmp[i], a, j, finJ - j);
+                                        System.arraycopy(a, j, a, k, c);
+                                        j += c;
+                                        k += c;
+                                        ganaDer = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                        else
+                            {
+                                a[k++] = tmp[i++];
+                                ganaDer = 0;
+                                if (++ganaIzq >= minGalope && i < largo1)
+                                    {
+                                        int c = galopeDerecha(a[j], tmp, i, largo1 - i);
+                                        System.arraycopy(tmp, i, a, k, c);
+                                        i += c;
+                                        k += c;
+                                        ganaIzq = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                    }
+                // Lo que queda del segundo tramo ya está en su lugar
+                System.arraycopy(tmp, i, a, k, largo1 - i);
+            }
+
+        // Cuántos de los primeros elementos de a[base, base + largo) son menores que clave (búsqueda exponencial y binaria)
+        private static int galopeIzquierda(long clave, long[] a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a[base + hi - 1] < clave)
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a[base + m] < clave)
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        // Cuántos de los primeros elementos de a[base, base + largo) son menores o iguales que clave
+        private static int galopeDerecha(long clave, long[] a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a[base + hi - 1] <= clave)
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a[base + m] <= clave)
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        @Override
+        public void ordenar(double[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+
+                // Los NaN quedan al final, fuera del tramo que se ordena
+                int fin = OrdenDouble.moverNaNAlFinal(arreglo);
+                if (fin > 1)
+                    ordenarTramo(arreglo, 0, fin);
+                OrdenDouble.colocarCerosNegativos(arreglo, fin);
+            }
+
+        // Ordena a[lo, hi): tramos naturales extendidos al mínimo, apilados y mezclados según el invariante
+        private static void ordenarTramo(double[] a, int lo, int hi)
+            {
+                int n = hi - lo;
+                if (n < MIN_MEZCLA)
+                    {
+                        insercionBinaria(a, lo, hi, lo + contarTramo(a, lo, hi));
+                        return;
+                    }
+
+                Pila pila = new Pila();
+                double[] tmp = new double[0];
+                int minimo = minTramo(n);
+                int actual = lo;
+                while (actual < hi)
+                    {
+                        int largo = contarTramo(a, actual, hi);
+                        // Tramo corto: se extiende hasta el mínimo con inserción binaria
+                        if (largo < minimo)
+                            {
+                                int forzado = Math.min(minimo, hi - actual);
+                                insercionBinaria(a, actual, actual + forzado, actual + largo);
+                                largo = forzado;
+                            }
+                        pila.apilar(actual, largo);
+                        for (int i = pila.siguienteMezcla(); i >= 0; i = pila.siguienteMezcla())
+                            tmp = mezclarEn(a, pila, i, tmp);
+                        actual += largo;
+                    }
+                while (pila.tamano > 1)
+                    tmp = mezclarEn(a, pila, pila.siguienteMezclaFinal(), tmp);
+            }
+
+        // Largo del tramo ordenado que empieza en lo; si es estrictamente descendente lo invierte
+        private static int contarTramo(double[] a, int lo, int hi)
+            {
+                int fin = lo + 1;
+                if (fin == hi)
+                    return 1;
+                if (a[fin++] < a[lo])
+                    {
+                        while (fin < hi && a[fin] < a[fin - 1])
+                            fin++;
+                        for (int i = lo, j = fin - 1; i < j; i++, j--)
+                            {
+                                double t = a[i];
+                                a[i] = a[j];
+                                a[j] = t;
+                            }
+                    }
+                else
+                    {
+                        while (fin < hi && a[fin] >= a[fin - 1])
+                            fin++;
+                    }
+                return fin - lo;
+            }
+
+        // Inserción binaria sobre a[lo, hi), sabiendo que a[lo, inicio) ya está ordenado
+        private static void insercionBinaria(double[] a, int lo, int hi, int inicio)
+            {
+                for (int i = Math.max(inicio, lo + 1); i < hi; i++)
+                    {
+                        double pivote = a[i];
+                        // Primera posición con un elemento mayor (los iguales quedan antes: estable)
+                        int izq = lo, der = i;
+                        while (izq < der)
+                            {
+                                int m = (izq + der) >>> 1;
+                                if (pivote < a[m])
+                                    der = m;
+                                else
+                                    izq = m + 1;
+                            }
+                        System.arraycopy(a, izq, a, izq + 1, i - izq);
+                        a[izq] = pivote;
+                    }
+            }
+
+        // Mezcla los tramos i e i + 1 de la pila; devuelve el búfer (más grande si hizo falta)
+        private static double[] mezclarEn(double[] a, Pila pila, int i, double[] tmp)
+            {
+                int base1 = pila.base[i], largo1 = pila.largo[i];
+                int base2 = pila.base[i + 1], largo2 = pila.largo[i + 1];
+                pila.fusionar(i);
+
+                // Lo que del primer tramo no supera al primero del segundo ya está en su lugar
+                int k = galopeDerecha(a[base2], a, base1, largo1);
+                base1 += k;
+                largo1 -= k;
+                if (largo1 == 0)
+                    return tmp;
+                // Y lo que del segundo no es menor que el último del primero, también
+                largo2 = galopeIzquierda(a[base1 + largo1 - 1], a, base2, largo2);
+                if (largo2 == 0)
+                    return tmp;
+
+                if (tmp.length < largo1)
+                    tmp = new double[Math.max(largo1, Math.min(a.length / 2, tmp.length * 2))];
+                System.arraycopy(a, base1, tmp, 0, largo1);
+                mezclarBajo(a, tmp, base1, largo1, base2, largo2);
+                return tmp;
+            }
+
+        // Mezcla tmp[0, largo1) (el primer tramo) con a[base2, base2 + largo2) en a[base1, ...)
+        private static void mezclarBajo(double[] a, double[] tmp, int base1, int largo1, int base2, int largo2)
+            {
+                int i = 0, j = base2, k = base1;
+                int finJ = base2 + largo2;
+                int minGalope = MIN_GALOPE;
+                int ganaIzq = 0, ganaDer = 0;
+                while (i < largo1 && j < finJ)
+                    {
+                        if (a[j] < tmp[i])
+                            {
+                                a[k++] = a[j++];
+                                ganaIzq = 0;
+                                if (++ganaDer >= minGalope && j < finJ)
+                                    {
+                                        // Galope: todo lo del segundo tramo que sigue siendo menor se copia de una vez
+                                        int c = galopeIzquierda(tmp[i], a, j, finJ - j);
+                                        System.arraycopy(a, j, a, k, c);
+                                        j += c;
+                                        k += c;
+                                        ganaDer = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                        else
+                            {
+                                a[k++] = tmp[i++];
+                                ganaDer = 0;
+                                if (++ganaIzq >= minGalope && i < largo1)
+                                    {
+                                        int c = galopeDerecha(a[j], tmp, i, largo1 - i);
+                                        System.arraycopy(tmp, i, a, k, c);
+                                        i += c;
+                                        k += c;
+                                        ganaIzq = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                    }
+                // Lo que queda del segundo tramo ya está en su lugar
+                System.arraycopy(tmp, i, a, k, largo1 - i);
+            }
+
+        // Cuántos de los primeros elementos de a[base, base + largo) son menores que clave (búsqueda exponencial y binaria)
+        private static int galopeIzquierda(double clave, double[] a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a[base + hi - 1] < clave)
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a[base + m] < clave)
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        // Cuántos de los primeros elementos de a[base, base + largo) son menores o iguales que clave
+        private static int galopeDerecha(double clave, double[] a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a[base + hi - 1] <= clave)
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a[base + m] <= clave)
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        @Override
+        public void ordenar(short[] arreglo)
+            {
+                if (arreglo == null || arreglo.length < 2)
+                    return;
+                ordenarTramo(arreglo, 0, arreglo.length);
+            }
+
+        // Ordena a[lo, hi): tramos naturales extendidos al mínimo, apilados y mezclados según el invariante
+        private static void ordenarTramo(short[] a, int lo, int hi)
+            {
+                int n = hi - lo;
+                if (n < MIN_MEZCLA)
+                    {
+                        insercionBinaria(a, lo, hi, lo + contarTramo(a, lo, hi));
+                        return;
+                    }
+
+                Pila pila = new Pila();
+                short[] tmp = new short[0];
+                int minimo = minTramo(n);
+                int actual = lo;
+                while (actual < hi)
+                    {
+                        int largo = contarTramo(a, actual, hi);
+                        // Tramo corto: se extiende hasta el mínimo con inserción binaria
+                        if (largo < minimo)
+                            {
+                                int forzado = Math.min(minimo, hi - actual);
+                                insercionBinaria(a, actual, actual + forzado, actual + largo);
+                                largo = forzado;
+                            }
+                        pila.apilar(actual, largo);
+                        for (int i = pila.siguienteMezcla(); i >= 0; i = pila.siguienteMezcla())
+                            tmp = mezclarEn(a, pila, i, tmp);
+                        actual += largo;
+                    }
+                while (pila.tamano > 1)
+                    tmp = mezclarEn(a, pila, pila.siguienteMezclaFinal(), tmp);
+            }
+
+        // Largo del tramo ordenado que empieza en lo; si es estrictamente descendente lo invierte
+        private static int contarTramo(short[] a, int lo, int hi)
+            {
+                int fin = lo + 1;
+                if (fin == hi)
+                    return 1;
+                if (a[fin++] < a[lo])
+                    {
+                        while (fin < hi && a[fin] < a[fin - 1])
+                            fin++;
+                        for (int i = lo, j = fin - 1; i < j; i++, j--)
+                            {
+                                short t = a[i];
+                                a[i] = a[j];
+                                a[j] = t;
+                            }
+                    }
+                else
+                    {
+                        while (fin < hi && a[fin] >= a[fin - 1])
+                            fin++;
+                    }
+                return fin - lo;
+            }
+
+        // Inserción binaria sobre a[lo, hi), sabiendo que a[lo, inicio) ya está ordenado
+        private static void insercionBinaria(short[] a, int lo, int hi, int inicio)
+            {
+                for (int i = Math.max(inicio, lo + 1); i < hi; i++)
+                    {
+                        short pivote = a[i];
+                        // Primera posición con un elemento mayor (los iguales quedan antes: estable)
+                        int izq = lo, der = i;
+                        while (izq < der)
+                            {
+                                int m = (izq + der) >>> 1;
+                                if (pivote < a[m])
+                                    der = m;
+                                else
+                                    izq = m + 1;
+                            }
+                        System.arraycopy(a, izq, a, izq + 1, i - izq);
+                        a[izq] = pivote;
+                    }
+            }
+
+        // Mezcla los tramos i e i + 1 de la pila; devuelve el búfer (más grande si hizo falta)
+        private static short[] mezclarEn(short[] a, Pila pila, int i, short[] tmp)
+            {
+                int base1 = pila.base[i], largo1 = pila.largo[i];
+                int base2 = pila.base[i + 1], largo2 = pila.largo[i + 1];
+                pila.fusionar(i);
+
+                // Lo que del primer tramo no supera al primero del segundo ya está en su lugar
+                int k = galopeDerecha(a[base2], a, base1, largo1);
+                base1 += k;
+                largo1 -= k;
+                if (largo1 == 0)
+                    return tmp;
+                // Y lo que del segundo no es menor que el último del primero, también
+                largo2 = galopeIzquierda(a[base1 + largo1 - 1], a, base2, largo2);
+                if (largo2 == 0)
+                    return tmp;
+
+                if (tmp.length < largo1)
+                    tmp = new short[Math.max(largo1, Math.min(a.length / 2, tmp.length * 2))];
+                System.arraycopy(a, base1, tmp, 0, largo1);
+                mezclarBajo(a, tmp, base1, largo1, base2, largo2);
+                return tmp;
+            }
+
+        // Mezcla tmp[0, largo1) (el primer tramo) con a[base2, base2 + largo2) en a[base1, ...)
+        private static void mezclarBajo(short[] a, short[] tmp, int base1, int largo1, int base2, int largo2)
+            {
+                int i = 0, j = base2, k = base1;
+                int finJ = base2 + largo2;
+                int minGalope = MIN_GALOPE;
+                int ganaIzq = 0, ganaDer = 0;
+                while (i < largo1 && j < finJ)
+                    {
+                        if (a[j] < tmp[i])
+                            {
+                                a[k++] = a[j++];
+                                ganaIzq = 0;
+                                if (++ganaDer >= minGalope && j < finJ)
+                                    {
+                                        // Galope: todo lo del segundo tramo que sigue siendo menor se copia de una vez
+                                        int c = galopeIzquierda(tmp[i], a, j, finJ - j);
+                                        System.arraycopy(a, j, a, k, c);
+                                        j += c;
+                                        k += c;
+                                        ganaDer = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                        else
+                            {
+                                a[k++] = tmp[i++];
+                                ganaDer = 0;
+                                if (++ganaIzq >= minGalope && i < largo1)
+                                    {
+                                        int c = galopeDerecha(a[j], tmp, i, largo1 - i);
+                                        System.arraycopy(tmp, i, a, k, c);
+                                        i += c;
+                                        k += c;
+                                        ganaIzq = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                    }
+                // Lo que queda del segundo tramo ya está en su lugar
+                System.arraycopy(tmp, i, a, k, largo1 - i);
+            }
+
+        // Cuántos de los primeros elementos de a[base, base + largo) son menores que clave (búsqueda exponencial y binaria)
+        private static int galopeIzquierda(short clave, short[] a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a[base + hi - 1] < clave)
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a[base + m] < clave)
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        // Cuántos de los primeros elementos de a[base, base + largo) son menores o iguales que clave
+        private static int galopeDerecha(short clave, short[] a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a[base + hi - 1] <= clave)
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a[base + m] <= clave)
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        // Versión instrumentada: el mismo algoritmo contando comparaciones y escrituras
+
+        @Override
+        public void ordenar(ArregloContado arreglo)
+            {
+                int n = arreglo == null ? 0 : arreglo.longitud();
+                if (n < 2)
+                    return;
+                if (n < MIN_MEZCLA)
+                    {
+                        insercionBinaria(arreglo, 0, n, contarTramo(arreglo, 0, n));
+                        return;
+                    }
+
+                Pila pila = new Pila();
+                ArregloContado tmp = null;
+                int minimo = minTramo(n);
+                int actual = 0;
+                while (actual < n)
+                    {
+                        int largo = contarTramo(arreglo, actual, n);
+                        if (largo < minimo)
+                            {
+                                int forzado = Math.min(minimo, n - actual);
+                                insercionBinaria(arreglo, actual, actual + forzado, actual + largo);
+                                largo = forzado;
+                            }
+                        pila.apilar(actual, largo);
+                        for (int i = pila.siguienteMezcla(); i >= 0; i = pila.siguienteMezcla())
+                            tmp = mezclarEn(arreglo, pila, i, tmp);
+                        actual += largo;
+                    }
+                while (pila.tamano > 1)
+                    tmp = mezclarEn(arreglo, pila, pila.siguienteMezclaFinal(), tmp);
+            }
+
+        private static int contarTramo(ArregloContado a, int lo, int hi)
+            {
+                int fin = lo + 1;
+                if (fin == hi)
+                    return 1;
+                if (a.menor(a.leer(fin++), a.leer(lo)))
+                    {
+                        while (fin < hi && a.menor(a.leer(fin), a.leer(fin - 1)))
+                            fin++;
+                        for (int i = lo, j = fin - 1; i < j; i++, j--)
+                            a.intercambiar(i, j);
+                    }
+                else
+                    {
+                        while (fin < hi && a.menorOIgual(a.leer(fin - 1), a.leer(fin)))
+                            fin++;
+                    }
+                return fin - lo;
+            }
+
+        private static void insercionBinaria(ArregloContado a, int lo, int hi, int inicio)
+            {
+                for (int i = Math.max(inicio, lo + 1); i < hi; i++)
+                    {
+                        int pivote = a.leer(i);
+                        int izq = lo, der = i;
+                        while (izq < der)
+                            {
+                                int m = (izq + der) >>> 1;
+                                if (a.menor(pivote, a.leer(m)))
+                                    der = m;
+                                else
+                                    izq = m + 1;
+                            }
+                        a.copiarA(izq, a, izq + 1, i - izq);
+                        a.escribir(izq, pivote);
+                    }
+            }
+
+        private static ArregloContado mezclarEn(ArregloContado a, Pila pila, int i, ArregloContado tmp)
+            {
+                int base1 = pila.base[i], largo1 = pila.largo[i];
+                int base2 = pila.base[i + 1], largo2 = pila.largo[i + 1];
+                pila.fusionar(i);
+
+                int k = galopeDerecha(a.leer(base2), a, base1, largo1);
+                base1 += k;
+                largo1 -= k;
+                if (largo1 == 0)
+                    return tmp;
+                largo2 = galopeIzquierda(a.leer(base1 + largo1 - 1), a, base2, largo2);
+                if (largo2 == 0)
+                    return tmp;
+
+                if (tmp == null || tmp.longitud() < largo1)
+                    tmp = a.auxiliar(Math.max(largo1, Math.min(a.longitud() / 2, tmp == null ? 0 : tmp.longitud() * 2)));
+                a.copiarA(base1, tmp, 0, largo1);
+                mezclarBajo(a, tmp, base1, largo1, base2, largo2);
+                return tmp;
+            }
+
+        private static void mezclarBajo(ArregloContado a, ArregloContado tmp, int base1, int largo1, int base2, int largo2)
+            {
+                int i = 0, j = base2, k = base1;
+                int finJ = base2 + largo2;
+                int minGalope = MIN_GALOPE;
+                int ganaIzq = 0, ganaDer = 0;
+                while (i < largo1 && j < finJ)
+                    {
+                        if (a.menor(a.leer(j), tmp.leer(i)))
+                            {
+                                a.escribir(k++, a.leer(j++));
+                                ganaIzq = 0;
+                                if (++ganaDer >= minGalope && j < finJ)
+                                    {
+                                        int c = galopeIzquierda(tmp.leer(i), a, j, finJ - j);
+                                        a.copiarA(j, a, k, c);
+                                        j += c;
+                                        k += c;
+                                        ganaDer = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                        else
+                            {
+                                a.escribir(k++, tmp.leer(i++));
+                                ganaDer = 0;
+                                if (++ganaIzq >= minGalope && i < largo1)
+                                    {
+                                        int c = galopeDerecha(a.leer(j), tmp, i, largo1 - i);
+                                        tmp.copiarA(i, a, k, c);
+                                        i += c;
+                                        k += c;
+                                        ganaIzq = 0;
+                                        minGalope = c >= MIN_GALOPE ? Math.max(1, minGalope - 1) : minGalope + 1;
+                                    }
+                            }
+                    }
+                tmp.copiarA(i, a, k, largo1 - i);
+            }
+
+        private static int galopeIzquierda(int clave, ArregloContado a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a.menor(a.leer(base + hi - 1), clave))
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a.menor(a.leer(base + m), clave))
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        private static int galopeDerecha(int clave, ArregloContado a, int base, int largo)
+            {
+                int lo = 0, hi = 1;
+                while (hi <= largo && a.menorOIgual(a.leer(base + hi - 1), clave))
+                    {
+                        lo = hi;
+                        hi = hi > (largo >> 1) ? largo + 1 : (hi << 1) + 1;
+                    }
+                int limite = Math.min(hi - 1, largo);
+                while (lo < limite)
+                    {
+                        int m = (lo + limite) >>> 1;
+                        if (a.menorOIgual(a.leer(base + m), clave))
+                            lo = m + 1;
+                        else
+                            limite = m;
+                    }
+                return lo;
+            }
+
+        @Override
+        public String getNombre()
+            {
+                return "TimSort";
+            }
+
+        @Override
+        public Complejidad getComplejidad(String caso)
+            {
+                // Con el arreglo ya ordenado hay un solo tramo
+                return "Mejor".equals(caso) ? Complejidad.LINEAL : Complejidad.N_LOG_N;
+            }
+    }
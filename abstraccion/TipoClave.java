@@ -0,0 +1,196 @@
+package abstraccion;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Tipo primitivo de las claves a ordenar. Es una dimensión más del análisis: con los mismos valores
+ * guardados en elementos de 2, 4 u 8 bytes se ve cómo el ancho afecta el uso de caché y el rendimiento.
+ * <p>Cada constante sabe crear, copiar y ordenar su tipo de arreglo, así que el análisis maneja los datos
+ * como {@code Object} sin convertir nunca los elementos a objetos.
+ */
+public enum TipoClave
+    {
+        SHORT("short", Short.BYTES, short.class)
+            {
+                @Override
+                public Object convertir(int[] datos)
+                    {
+                        short[] r = new short[datos.length];
+                        for (int i = 0; i < datos.length; i++)
+                            r[i] = (short) datos[i];
+                        return r;
+                    }
+
+                @Override
+                public Object copiar(Object datos)
+                    {
+                        short[] a = (short[]) datos;
+                        return Arrays.copyOf(a, a.length);
+                    }
+
+                @Override
+                public void ordenar(EstrategiaOrdenamiento estrategia, Object datos)
+                    {
+                        estrategia.ordenar((short[]) datos);
+                    }
+            },
+        INT("int", Integer.BYTES, int.class)
+            {
+                @Override
+                public Object convertir(int[] datos)
+                    {
+                        return datos;
+                    }
+
+                @Override
+                public Object copiar(Object datos)
+                    {
+                        int[] a = (int[]) datos;
+                        return Arrays.copyOf(a, a.length);
+                    }
+
+                @Override
+                public void ordenar(EstrategiaOrdenamiento estrategia, Object datos)
+                    {
+                        estrategia.ordenar((int[]) datos);
+                    }
+            },
+        LONG("long", Long.BYTES, long.class)
+            {
+                @Override
+                public Object convertir(int[] datos)
+                    {
+                        long[] r = new long[datos.length];
+                        for (int i = 0; i < datos.length; i++)
+                            r[i] = datos[i];
+                        return r;
+                    }
+
+                @Override
+                public Object copiar(Object datos)
+                    {
+                        long[] a = (long[]) datos;
+                        return Arrays.copyOf(a, a.length);
+                    }
+
+                @Override
+                public void ordenar(EstrategiaOrdenamiento estrategia, Object datos)
+                    {
+                        estrategia.ordenar((long[]) datos);
+                    }
+            },
+        DOUBLE("double", Double.BYTES, double.class)
+            {
+                @Override
+                public Object convertir(int[] datos)
+                    {
+                        double[] r = new double[datos.length];
+                        for (int i = 0; i < datos.length; i++)
+                            r[i] = datos[i];
+                        return r;
+                    }
+
+                @Override
+                public Object copiar(Object datos)
+                    {
+                        double[] a = (double[]) datos;
+                        return Arrays.copyOf(a, a.length);
+                    }
+
+                @Override
+                public void ordenar(EstrategiaOrdenamiento estrategia, Object datos)
+                    {
+                        estrategia.ordenar((double[]) datos);
+                    }
+            };
+
+        private final String nombre;
+        private final int bytes;
+        private final Class<?> clase;
+
+        TipoClave(String nombre, int bytes, Class<?> clase)
+            {
+                this.nombre = nombre;
+                this.bytes = bytes;
+                this.clase = clase;
+            }
+
+        /**
+         * Convierte los valores generados por {@link Arreglo} (enteros 0-9999) a este tipo.
+         * Los valores no cambian, solo el ancho de cada elemento.
+         * @param datos Los datos en int; para {@link #INT} se devuelven tal cual, sin copiar.
+         * @return Un arreglo primitivo de este tipo.
+         */
+        public abstract Object convertir(int[] datos);
+
+        /**
+         * @param datos Arreglo de este tipo.
+         * @return Una copia del arreglo.
+         */
+        public abstract Object copiar(Object datos);
+
+        /**
+         * @param n Número de elementos.
+         * @return Un arreglo nuevo de este tipo, lleno de ceros.
+         */
+        public Object crearArreglo(int n)
+            {
+                return Array.newInstance(clase, n);
+            }
+
+        /**
+         * Copia todo el origen al inicio del destino con {@link System#arraycopy}, sin asignar memoria.
+         * @param origen Arreglo de este tipo.
+         * @param destino Arreglo de este tipo, al menos tan largo como el origen.
+         */
+        public void rellenar(Object origen, Object destino)
+            {
+                System.arraycopy(origen, 0, destino, 0, Array.getLength(origen));
+            }
+
+        /**
+         * Ordena un arreglo de este tipo con la versión especializada de la estrategia.
+         * @param estrategia Estrategia a usar.
+         * @param datos Arreglo de este tipo; se ordena en su lugar.
+         */
+        public abstract void ordenar(EstrategiaOrdenamiento estrategia, Object datos);
+
+        /**
+         * @return Nombre del tipo en Java ("short", "int", "long" o "double").
+         */
+        public String getNombre()
+            {
+                return nombre;
+            }
+
+        /**
+         * @return Tamaño de cada elemento en bytes.
+         */
+        public int getBytes()
+            {
+                return bytes;
+            }
+
+        @Override
+        public String toString()
+            {
+                return nombre;
+            }
+
+        /**
+         * Busca un tipo por su nombre en Java, sin importar mayúsculas.
+         * @param nombre "short", "int", "long" o "double".
+         * @return El tipo correspondiente.
+         * @throws IllegalArgumentException si el nombre no corresponde a ningún tipo.
+         */
+        public static TipoClave buscar(String nombre)
+            {
+                for (TipoClave tipo : values())
+                    {
+                        if (tipo.nombre.equalsIgnoreCase(nombre.trim()))
+                            return tipo;
+                    }
+                throw new IllegalArgumentException("Tipo de clave desconocido: " + nombre);
+            }
+    }
@@ -0,0 +1,158 @@
+package abstraccion;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara la corrida actual contra una corrida base guardada y decide si algún algoritmo se volvió más lento.
+ * <p>Cada celda (algoritmo, caso, tamaño y tipo de clave) presente en las dos se clasifica con su
+ * {@link Veredicto}: es una regresión si el promedio subió más que el umbral y la diferencia es significativa
+ * según la prueba de Welch ({@link ComparacionCelda#isSignificativa()}); una mejora, igual pero hacia abajo.
+ * Así ni el ruido de una celda con mucha varianza ni una diferencia significativa pero minúscula hacen
+ * fallar la verificación. Si un lado no tiene desviación o repeticiones (p. ej. una base de una versión
+ * anterior), se decide solo con el umbral.
+ * <p>El reporte CSV ({@link #escribirReporte(String, List)}) tiene una fila por celda con su veredicto.
+ */
+public class VerificadorRegresiones
+    {
+        public static final String ARCHIVO_REPORTE = "regresiones.csv";
+        public static final double UMBRAL_POR_OMISION = 5.0;
+
+        /**
+         * Clasificación de una celda.
+         */
+        public enum Veredicto
+            {
+                /** Más lenta que la base, por encima del umbral y con diferencia significativa. */
+                REGRESION,
+                /** Más rápida que la base, por encima del umbral y con diferencia significativa. */
+                MEJORA,
+                /** Dentro del umbral o sin diferencia significativa. */
+                SIN_CAMBIO,
+                /** Falta en alguno de los dos lados o alguno fue extrapolado. */
+                NO_COMPARABLE
+            }
+
+        private double umbralPorcentaje = UMBRAL_POR_OMISION;
+
+        /**
+         * @param umbralPorcentaje Cambio mínimo del promedio, en porcentaje, para contar como regresión o mejora.
+         */
+        public void setUmbralPorcentaje(double umbralPorcentaje)
+            {
+                this.umbralPorcentaje = Math.max(0, umbralPorcentaje);
+            }
+
+        public double getUmbralPorcentaje()
+            {
+                return umbralPorcentaje;
+            }
+
+        /**
+         * Empareja las celdas de la base y de la corrida actual.
+         * @param base Resultados de la corrida base (p. ej. de {@link GestorResultados#leerResultadosCSV(String)}).
+         * @param actual Resultados de la corrida actual.
+         * @return Una comparación por celda presente en alguno de los dos, ordenadas por algoritmo, caso, tipo y tamaño.
+         */
+        public List<ComparacionCelda> comparar(List<Resultado> base, List<Resultado> actual)
+            {
+                Map<String, Resultado[]> celdas = new LinkedHashMap<>();
+                for (Resultado r : base)
+                    celdas.computeIfAbsent(claveCelda(r), k -> new Resultado[2])[0] = r;
+                for (Resultado r : actual)
+                    celdas.computeIfAbsent(claveCelda(r), k -> new Resultado[2])[1] = r;
+
+                List<ComparacionCelda> comparaciones = new ArrayList<>(celdas.size());
+                for (Resultado[] par : celdas.values())
+                    comparaciones.add(new ComparacionCelda(par[0], par[1]));
+                comparaciones.sort(Comparator.comparing(ComparacionCelda::getAlgoritmo)
+                                             .thenComparing(ComparacionCelda::getCaso)
+                                             .thenComparing(ComparacionCelda::getTipoClave)
+                                             .thenComparingInt(ComparacionCelda::getTamano));
+                return comparaciones;
+            }
+
+        private static String claveCelda(Resultado r)
+            {
+                return r.getAlgoritmo() + "|" + r.getCaso() + "|" + r.getTamano() + "|" + r.getTipoClave();
+            }
+
+        /**
+         * @param c Una celda de {@link #comparar(List, List)}.
+         * @return Su veredicto con el umbral configurado.
+         */
+        public Veredicto clasificar(ComparacionCelda c)
+            {
+                Resultado anterior = c.getAnterior();
+                Resultado nuevo = c.getNuevo();
+                if (anterior == null || nuevo == null || anterior.isExtrapolado() || nuevo.isExtrapolado())
+                    return Veredicto.NO_COMPARABLE;
+
+                double cambio = c.getCambioPorcentual();
+                if (Double.isNaN(cambio) || Math.abs(cambio) <= umbralPorcentaje)
+                    return Veredicto.SIN_CAMBIO;
+                // Sin estadística de algún lado solo queda el umbral
+                if (c.isComparable() && !c.isSignificativa())
+                    return Veredicto.SIN_CAMBIO;
+                return cambio > 0 ? Veredicto.REGRESION : Veredicto.MEJORA;
+            }
+
+        /**
+         * @param comparaciones Celdas de {@link #comparar(List, List)}.
+         * @return Las celdas con veredicto {@link Veredicto#REGRESION}.
+         */
+        public List<ComparacionCelda> getRegresiones(List<ComparacionCelda> comparaciones)
+            {
+                List<ComparacionCelda> regresiones = new ArrayList<>();
+                for (ComparacionCelda c : comparaciones)
+                    {
+                        if (clasificar(c) == Veredicto.REGRESION)
+                            regresiones.add(c);
+                    }
+                return regresiones;
+            }
+
+        /**
+         * Escribe una fila por celda con los dos promedios, el cambio, la prueba de Welch y el veredicto,
+         * siempre con punto decimal.
+         * @param nombreArchivo El nombre del archivo a crear.
+         * @param comparaciones Celdas de {@link #comparar(List, List)}.
+         * @return Número de regresiones.
+         * @throws IOException si el archivo no se puede escribir.
+         */
+        public int escribirReporte(String nombreArchivo, List<ComparacionCelda> comparaciones) throws IOException
+            {
+                int regresiones = 0;
+                try (FileWriter writer = new FileWriter(nombreArchivo))
+                    {
+                        writer.write("Algoritmo,Caso,TipoClave,Tamaño,BaseMs,ActualMs,CambioPorcentual,EstadisticoT,GradosLibertad,Significativa,UmbralPorcentual,Veredicto\n");
+                        for (ComparacionCelda c : comparaciones)
+                            {
+                                Veredicto veredicto = clasificar(c);
+                                if (veredicto == Veredicto.REGRESION)
+                                    regresiones++;
+                                writer.write(String.format(Locale.ROOT, "%s,%s,%s,%d,%.6f,%.6f,%.3f,%.3f,%.1f,%b,%.3f,%s\n",
+                                    c.getAlgoritmo(),
+                                    c.getCaso(),
+                                    c.getTipoClave(),
+                                    c.getTamano(),
+                                    c.getAnterior() == null ? Double.NaN : c.getAnterior().getTiempoMs(),
+                                    c.getNuevo() == null ? Double.NaN : c.getNuevo().getTiempoMs(),
+                                    c.getCambioPorcentual(),
+                                    c.getEstadisticoT(),
+                                    c.getGradosLibertad(),
+                                    c.isSignificativa(),
+                                    umbralPorcentaje,
+                                    veredicto));
+                            }
+                    }
+                System.out.println("Reporte de regresiones exportado a '" + nombreArchivo + "'.");
+                return regresiones;
+            }
+    }
@@ -0,0 +1,139 @@
+package benchmark;
+
+import abstraccion.AnalizadorEficiencia;
+import abstraccion.Arreglo;
+import abstraccion.EstrategiaOrdenamiento;
+import abstraccion.TipoClave;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH para todas las {@link EstrategiaOrdenamiento} registradas en {@link AnalizadorEficiencia}.
+ * <p>Es la contraparte "seria" del ciclo con {@code System.nanoTime()} de
+ * {@link AnalizadorEficiencia#ejecutarAnalisis()}: cada combinación se mide en JVMs separadas (fork),
+ * con iteraciones de calentamiento y de medición, y el arreglo ordenado se devuelve para que JMH
+ * evite la eliminación de código muerto.
+ * <p>Cada llamada ordena un lote de {@value #LOTE} copias preparadas fuera de la medición y JMH divide el
+ * tiempo entre las {@value #LOTE} operaciones. Así la preparación por llamada ({@code Level.Invocation})
+ * envuelve cientos de microsegundos de trabajo aun con 1000 elementos, en lugar de un solo ordenamiento
+ * de unos pocos microsegundos, donde su costo fijo distorsionaría la medición.
+ * <p>Los parámetros son:
+ * <ul>
+ * <li>{@code algoritmo}: nombre de la estrategia, tal como lo devuelve {@link EstrategiaOrdenamiento#getNombre()}.</li>
+ * <li>{@code tamanio}: tamaño del arreglo.</li>
+ * <li>{@code caso}: cualquier {@link abstraccion.Distribucion} registrada ("Promedio", "Mejor", "Peor", "CasiOrdenado", ...),
+ * generada por {@link Arreglo#getDatosCaso(String, TipoClave)} con la semilla por omisión del análisis.</li>
+ * <li>{@code tipoClave}: tipo primitivo de los elementos ("int", "long", "double" o "short"), ver {@link TipoClave}.</li>
+ * </ul>
+ * <p>La matriz por omisión (algoritmos O(n log n) u O(n), los tres casos clásicos y claves int) son 81
+ * combinaciones, alrededor de una hora con 3 forks de 15 s. Los algoritmos cuadráticos, las demás
+ * distribuciones y los otros tipos de clave se agregan con {@code -p} (ver el comentario al final del archivo).
+ * Los resultados se guardan con {@code -rf csv} y se cargan de vuelta con
+ * {@link abstraccion.GestorResultados#importarResultadosJMH(String)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class BenchmarkOrdenamiento
+    {
+        // Ordenamientos por llamada al benchmark
+        public static final int LOTE = 32;
+
+        @Param({"MergeSort", "QuickSort", "ParallelMergeSort", "BottomUpMergeSort", "ParallelQuickSort",
+                "PdqSort", "CountingSort", "RadixSort", "TimSort"})
+        public String algoritmo;
+
+        @Param({"1000", "10000", "100000"})
+        public int tamanio;
+
+        @Param({"Promedio", "Mejor", "Peor"})
+        public String caso;
+
+        @Param({"int"})
+        public String tipoClave;
+
+        private EstrategiaOrdenamiento estrategia;
+        private TipoClave tipo;
+        // Arreglos primitivos del tipo de clave (nunca se convierten los elementos a objetos)
+        private Object datosCaso;
+        private final Object[] copias = new Object[LOTE];
+
+        /**
+         * Genera los datos del caso una sola vez por corrida (trial) de cada combinación.
+         */
+        @Setup(Level.Trial)
+        public void prepararDatos()
+            {
+                estrategia = AnalizadorEficiencia.buscarAlgoritmo(algoritmo);
+                tipo = TipoClave.buscar(tipoClave);
+                estrategia.reservar(tipo, tamanio);
+                datosCaso = tipo.copiar(new Arreglo(tamanio, AnalizadorEficiencia.SEMILLA_POR_OMISION).getDatosCaso(caso, tipo));
+                for (int i = 0; i < LOTE; i++)
+                    copias[i] = tipo.copiar(datosCaso);
+            }
+
+        /**
+         * Restaura las copias desordenadas antes de cada llamada; JMH no incluye este tiempo en la medición.
+         */
+        @Setup(Level.Invocation)
+        public void restaurarCopias()
+            {
+                for (Object copia : copias)
+                    System.arraycopy(datosCaso, 0, copia, 0, tamanio);
+            }
+
+        @Benchmark
+        @OperationsPerInvocation(LOTE)
+        public Object ordenar()
+            {
+                for (Object copia : copias)
+                    tipo.ordenar(estrategia, copia);
+                return copias;
+            }
+    }
+
+/*
+ * Módulo de benchmarks (requiere jmh-core y jmh-generator-annprocess 1.37 en $PATH_TO_JMH)
+ * Para compilar desde carpeta raíz
+ * $ javac -cp "$PATH_TO_JMH/*" -d out-jmh \
+ *       abstraccion/*.java benchmark/*.java
+ *
+ * Para ejecutar la matriz por omisión (guarda los resultados en jmh-result.csv)
+ * $ java -cp "out-jmh:$PATH_TO_JMH/*" org.openjdk.jmh.Main BenchmarkOrdenamiento \
+ *       -rf csv -rff jmh-result.csv
+ *
+ * Para ver los bytes asignados por operación (gc.alloc.rate.norm) se agrega "-prof gc"; al importar el CSV
+ * (GestorResultados.importarResultadosJMH) pasan a la columna BytesPorOrdenamiento.
+ *
+ * Para reducir la matriz, por ejemplo:
+ * $ ... BenchmarkOrdenamiento -p algoritmo=MergeSort,QuickSort -p tamanio=1000000 -rf csv -rff jmh-result.csv
+ *
+ * Para ampliarla, cada -p reemplaza la lista de ese parámetro. Los algoritmos cuadráticos conviene medirlos
+ * solo con tamaños chicos (con 100000 elementos cada lote tarda minutos):
+ * $ ... BenchmarkOrdenamiento -p algoritmo=BubbleSort,InsertionSort,SelectionSort -p tamanio=1000,10000 -rf csv -rff jmh-result.csv
+ *
+ * Las demás distribuciones de abstraccion.Distribucion:
+ * $ ... BenchmarkOrdenamiento -p caso=CasiOrdenado,PocosUnicos,DienteSierra,Organo,Zipf,Iguales -rf csv -rff jmh-result.csv
+ *
+ * Para comparar solo el ancho de las claves con un algoritmo:
+ * $ ... BenchmarkOrdenamiento -p algoritmo=RadixSort -p tipoClave=short,int,long -rf csv -rff jmh-result.csv
+ *
+ * El archivo jmh-result.csv se carga desde el botón "Cargar resultados JMH" de la interfaz.
+ */
@@ -1,6 +1,13 @@
 package control;
 
 import abstraccion.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -8,6 +15,31 @@ import java.util.List;
  */
 public class ControladorEjecucion 
     {
+        // Archivo que se va llenando durante el análisis, una fila por celda terminada
+        public static final String ARCHIVO_EN_CURSO = "resultados_en_curso.csv";
+
+        // Configuración que se aplica a cada análisis nuevo
+        private int hilos = 1;
+        private boolean aislado = false;
+        private long presupuestoCeldaMs = 0;
+        private long presupuestoTotalMs = 0;
+        private double objetivoIntervalo = 0.02;
+        private int repeticionesMin = 5;
+        private int repeticionesMax = 1000;
+        private TipoClave[] tiposClave = { TipoClave.INT };
+        private String[] casos = {};
+        private String[] algoritmos = {};
+        private long semilla = AnalizadorEficiencia.SEMILLA_POR_OMISION;
+        private boolean contarOperaciones = false;
+        private long[] tamanosPrediccion = Grafica.TAMANOS_PREDICCION_POR_OMISION.clone();
+
+        // Análisis en curso, para poder cancelarlo desde otro hilo (la interfaz)
+        private volatile AnalizadorEficiencia analizadorActual;
+        private volatile boolean cancelacionSolicitada = false;
+
+        // Celdas que fallaron en el último análisis
+        private List<String> celdasFallidas = Collections.emptyList();
+
         /**
          * Inicia la comparación para tamaños hasta n (divide en 10 segmentos para mejor análisis).
          *
@@ -20,13 +52,223 @@ public class ControladorEjecucion
                 System.out.println("Iniciando comparación para tamaño máximo: " + n);
 
                 // Instanciamos la clase Analizador Edificiencia para lanzar el análisis
-                AnalizadorEficiencia analizador = new AnalizadorEficiencia(n);
-                // Llamamos al método ejecutar análisis de la nueva instancia analizador
-                analizador.ejecutarAnalisis();
+                ejecutarComparacion(new AnalizadorEficiencia(n));
+            }
+
+        /**
+         * Inicia la comparación con una lista explícita de tamaños (p. ej. una escalera geométrica).
+         *
+         * @param tamanos tamaños a medir
+         * @throws IllegalArgumentException si no hay ningún tamaño mayor que 0
+         */
+        public void iniciarComparacion(int[] tamanos) 
+            {
+                AnalizadorEficiencia analizador = new AnalizadorEficiencia(tamanos);
+                this.limpiarResultados();
+
+                System.out.println("Iniciando comparación para los tamaños: " + Arrays.toString(analizador.getTamanos()));
+                ejecutarComparacion(analizador);
+            }
+
+        // Aplica la configuración al analizador y lo ejecuta con los receptores de disco e historial
+        private void ejecutarComparacion(AnalizadorEficiencia analizador)
+            {
+                analizador.setAlgoritmos(algoritmos);
+                analizador.setHilos(hilos);
+                analizador.setAislado(aislado);
+                analizador.setPresupuestoCeldaMs(presupuestoCeldaMs);
+                analizador.setPresupuestoTotalMs(presupuestoTotalMs);
+                analizador.setObjetivoIntervalo(objetivoIntervalo);
+                analizador.setRepeticiones(repeticionesMin, repeticionesMax);
+                analizador.setTiposClave(tiposClave);
+                analizador.setCasos(casos);
+                analizador.setSemilla(semilla);
+                analizador.setContarOperaciones(contarOperaciones);
+
+                this.analizadorActual = analizador;
+                if (cancelacionSolicitada)
+                    analizador.cancelar(); // Se pidió cancelar antes de que el análisis arrancara
+
+                // Cada resultado se escribe a disco en cuanto se mide, así una falla a media corrida no pierde lo ya medido
+                ReceptorCSV receptorDisco = null;
+                try
+                    {
+                        receptorDisco = new ReceptorCSV(ARCHIVO_EN_CURSO, false);
+                        GestorResultados.getInstancia().agregarReceptor(receptorDisco);
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("No se pudo abrir " + ARCHIVO_EN_CURSO + ", los resultados solo quedarán en memoria: " + e.getMessage());
+                    }
+
+                // Y también se agrega al historial, como una corrida nueva con los datos de la JVM y la revisión de git
+                ReceptorHistorial receptorHistorial = null;
+                try
+                    {
+                        receptorHistorial = new ReceptorHistorial(GestorResultados.getInstancia().getHistorial());
+                        GestorResultados.getInstancia().agregarReceptor(receptorHistorial);
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("No se pudo abrir " + GestorResultados.ARCHIVO_HISTORIAL + ", la corrida no quedará en el historial: " + e.getMessage());
+                    }
+
+                try
+                    {
+                        // Llamamos al método ejecutar análisis de la nueva instancia analizador
+                        analizador.ejecutarAnalisis();
+                    }
+                finally
+                    {
+                        if (receptorDisco != null)
+                            GestorResultados.getInstancia().quitarReceptor(receptorDisco);
+                        if (receptorHistorial != null)
+                            GestorResultados.getInstancia().quitarReceptor(receptorHistorial);
+                        this.celdasFallidas = analizador.getCeldasFallidas();
+                        this.analizadorActual = null;
+                        this.cancelacionSolicitada = false;
+                    }
                 // Usando Singleton llamamos a la única instancia de Gestor Resultados para exportarlos a "resultados.csv"
                 //GestorResultados.getInstancia().exportarResultadosCSV("resultados.csv");
             }
 
+        /**
+         * Inicia la comparación repartiendo las celdas del análisis entre varios hilos.
+         *
+         * @param n tamaño máximo del arreglo
+         * @param hilos número de hilos de trabajo (1 = ejecución secuencial)
+         * @param aislado limita la concurrencia para que las mediciones no se interfieran
+         */
+        public void iniciarComparacion(int n, int hilos, boolean aislado) 
+            {
+                setHilos(hilos);
+                setAislado(aislado);
+                iniciarComparacion(n);
+            }
+
+        /**
+         * Pide detener el análisis en curso. Las celdas ya terminadas se conservan.
+         * Se puede llamar desde el hilo de la interfaz mientras iniciarComparacion corre en otro.
+         */
+        public void cancelarComparacion()
+            {
+                this.cancelacionSolicitada = true;
+                AnalizadorEficiencia analizador = this.analizadorActual;
+                if (analizador != null)
+                    analizador.cancelar();
+            }
+
+        /**
+         * @param hilos número de hilos de trabajo para los siguientes análisis (1 = secuencial)
+         */
+        public void setHilos(int hilos)
+            {
+                this.hilos = hilos;
+            }
+
+        /**
+         * @param aislado limita la concurrencia para que las mediciones no se interfieran
+         */
+        public void setAislado(boolean aislado)
+            {
+                this.aislado = aislado;
+            }
+
+        /**
+         * @param presupuestoCeldaMs tiempo máximo por celda en ms (0 = sin límite)
+         */
+        public void setPresupuestoCeldaMs(long presupuestoCeldaMs)
+            {
+                this.presupuestoCeldaMs = presupuestoCeldaMs;
+            }
+
+        /**
+         * @param presupuestoTotalMs tiempo máximo de toda la corrida en ms (0 = sin límite)
+         */
+        public void setPresupuestoTotalMs(long presupuestoTotalMs)
+            {
+                this.presupuestoTotalMs = presupuestoTotalMs;
+            }
+
+        /**
+         * @param objetivoIntervalo precisión buscada por celda, como intervalo de confianza relativo (0.02 = ±2 %; 0 = siempre el máximo)
+         */
+        public void setObjetivoIntervalo(double objetivoIntervalo)
+            {
+                this.objetivoIntervalo = objetivoIntervalo;
+            }
+
+        /**
+         * @param minimo repeticiones que siempre se hacen por celda
+         * @param maximo tope de repeticiones por celda
+         */
+        public void setRepeticiones(int minimo, int maximo)
+            {
+                this.repeticionesMin = minimo;
+                this.repeticionesMax = maximo;
+            }
+
+        /**
+         * @param tiposClave tipos primitivos con que se mide cada celda (por omisión solo int)
+         */
+        public void setTiposClave(TipoClave... tiposClave)
+            {
+                this.tiposClave = tiposClave.clone();
+            }
+
+        /**
+         * @param casos nombres de las distribuciones registradas a medir (sin argumentos: Promedio, Mejor y Peor)
+         */
+        public void setCasos(String... casos)
+            {
+                this.casos = casos.clone();
+            }
+
+        /**
+         * @param algoritmos nombres de las estrategias a medir (sin argumentos: todo el catálogo)
+         */
+        public void setAlgoritmos(String... algoritmos)
+            {
+                this.algoritmos = algoritmos.clone();
+            }
+
+        /**
+         * @param semilla semilla de los datos de los siguientes análisis
+         */
+        public void setSemilla(long semilla)
+            {
+                this.semilla = semilla;
+            }
+
+        public long getSemilla()
+            {
+                return semilla;
+            }
+
+        /**
+         * @param contar cuenta comparaciones, intercambios y escrituras de cada celda (pasada aparte, sin cronometrar)
+         */
+        public void setContarOperaciones(boolean contar)
+            {
+                this.contarOperaciones = contar;
+            }
+
+        /**
+         * @param tamanos tamaños para los que la exportación predice el tiempo de cada serie con el ajuste de complejidad
+         */
+        public void setTamanosPrediccion(long... tamanos)
+            {
+                this.tamanosPrediccion = tamanos.clone();
+            }
+
+        /**
+         * @return Las celdas que fallaron en el último análisis (vacía si todas se midieron), descritas con su error.
+         */
+        public List<String> getCeldasFallidas()
+            {
+                return celdasFallidas;
+            }
+
         /**
          * Función para devolver los resultsdos del análisis.
          * Llamado por MainApp para construir las gráficas.
@@ -53,14 +295,14 @@ public class ControladorEjecucion
                     }
                 try
                     {
-                        // Exportamos el .csv principal
-                        GestorResultados.getInstancia().exportarResultadosCSV(("resultados_completos.csv"));
-
-                        // Exportamos los .csv de la clase Gráfica
+                        // Exportamos el .csv principal y los .csv de la clase Gráfica en una sola pasada
                         Grafica grafica = new Grafica();
-                        grafica.generarGrafica();
+                        grafica.setTamanosPrediccion(tamanosPrediccion);
+                        String resumen = grafica.generarGrafica("resultados_completos.csv");
+                        if (resumen == null)
+                            return "Error durante la exportación, revisa la consola";
 
-                        return "Exportación completa!";
+                        return "Exportación completa! " + resumen;
                     }
                 catch(Exception e)
                     {
@@ -69,6 +311,250 @@ public class ControladorEjecucion
                     }
             }
 
+        /**
+         * Exporta los resultados a un directorio, sin los archivos por serie de la gráfica.
+         * Pensado para la ejecución sin interfaz, donde un error tiene que llegar al código de salida.
+         * @param directorio directorio de salida (se crea si no existe)
+         * @param csv {@code true} para escribir {@code resultados_completos.csv}
+         * @param json {@code true} para escribir {@code resultados.json}
+         * @return Las rutas de los archivos escritos
+         * @throws IOException si no hay resultados o falla la escritura
+         */
+        public List<String> exportarResultados(String directorio, boolean csv, boolean json) throws IOException
+            {
+                List<Resultado> resultados = getResultadosCompletos();
+                if (resultados.isEmpty())
+                    throw new IOException("No hay resultados para exportar");
+
+                Path destino = Paths.get(directorio);
+                Files.createDirectories(destino);
+                List<String> archivos = new ArrayList<>();
+                if (csv)
+                    {
+                        String archivo = destino.resolve("resultados_completos.csv").toString();
+                        ExportadorCSV exportador = new ExportadorCSV();
+                        exportador.setArchivoCompleto(archivo);
+                        exportador.exportar(resultados);
+                        System.out.println("Resultados exportados a '" + archivo + "'. " + exportador.getResumen());
+                        archivos.add(archivo);
+                    }
+                if (json)
+                    {
+                        String archivo = destino.resolve("resultados.json").toString();
+                        GestorResultados.getInstancia().exportarResultadosJSON(archivo);
+                        archivos.add(archivo);
+                    }
+                return archivos;
+            }
+
+        /**
+         * Lee una corrida base guardada con el formato de {@code resultados_completos.csv}, sin cargarla en el gestor.
+         * @param archivo ruta del CSV
+         * @return Los resultados de la base
+         * @throws IOException si el archivo no se puede leer o no tiene el formato esperado
+         */
+        public List<Resultado> leerResultadosBase(String archivo) throws IOException
+            {
+                return GestorResultados.getInstancia().leerResultadosCSV(archivo);
+            }
+
+        /**
+         * Compara los resultados actuales contra una corrida base y escribe el reporte de regresiones y mejoras.
+         * @param archivoBase CSV de la corrida base (formato de {@code resultados_completos.csv})
+         * @param archivoReporte CSV del reporte, una fila por celda con su veredicto
+         * @param umbralPorcentaje cambio mínimo del promedio para contar como regresión o mejora
+         * @return Número de celdas con regresión
+         * @throws IOException si no se puede leer la base o escribir el reporte
+         */
+        public int verificarRegresiones(String archivoBase, String archivoReporte, double umbralPorcentaje) throws IOException
+            {
+                VerificadorRegresiones verificador = new VerificadorRegresiones();
+                verificador.setUmbralPorcentaje(umbralPorcentaje);
+                List<ComparacionCelda> comparaciones = verificador.comparar(leerResultadosBase(archivoBase), getResultadosCompletos());
+                int regresiones = verificador.escribirReporte(archivoReporte, comparaciones);
+
+                int mejoras = 0, sinComparar = 0;
+                for (ComparacionCelda c : comparaciones)
+                    {
+                        VerificadorRegresiones.Veredicto veredicto = verificador.clasificar(c);
+                        if (veredicto == VerificadorRegresiones.Veredicto.MEJORA)
+                            mejoras++;
+                        else if (veredicto == VerificadorRegresiones.Veredicto.NO_COMPARABLE)
+                            sinComparar++;
+                        else if (veredicto == VerificadorRegresiones.Veredicto.REGRESION)
+                            System.out.printf("REGRESIÓN %s / %s / %s / n=%d: %.4f ms -> %.4f ms (%+.1f %%)%n",
+                                              c.getAlgoritmo(), c.getCaso(), c.getTipoClave(), c.getTamano(),
+                                              c.getAnterior().getTiempoMs(), c.getNuevo().getTiempoMs(), c.getCambioPorcentual());
+                    }
+                System.out.printf("Comparación contra %s (umbral %.1f %%): %d celdas, %d regresiones, %d mejoras, %d sin comparar%n",
+                                  archivoBase, umbralPorcentaje, comparaciones.size(), regresiones, mejoras, sinComparar);
+                return regresiones;
+            }
+
+        /**
+         * Crea el seguimiento de avance para un análisis de tamaño máximo n.
+         * Hay que registrarlo con {@link #agregarReceptor(ReceptorResultados)} antes de iniciar la comparación.
+         * @param n tamaño máximo del arreglo
+         * @return El seguimiento del avance
+         */
+        public ProgresoAnalisis crearProgreso(int n)
+            {
+                AnalizadorEficiencia analizador = new AnalizadorEficiencia(n);
+                analizador.setAlgoritmos(algoritmos);
+                analizador.setTiposClave(tiposClave);
+                analizador.setCasos(casos);
+                return new ProgresoAnalisis(analizador);
+            }
+
+        /**
+         * Registra un receptor que recibirá cada resultado en cuanto se mida (p. ej. la interfaz, para actualizarse en vivo).
+         * @param receptor El receptor a registrar
+         */
+        public void agregarReceptor(ReceptorResultados receptor)
+            {
+                GestorResultados.getInstancia().agregarReceptor(receptor);
+            }
+
+        /**
+         * Quita un receptor registrado con {@link #agregarReceptor(ReceptorResultados)}.
+         * @param receptor El receptor a quitar
+         */
+        public void quitarReceptor(ReceptorResultados receptor)
+            {
+                GestorResultados.getInstancia().quitarReceptor(receptor);
+            }
+
+        /**
+         * Devuelve el algoritmo secuencial contra el que se compara una estrategia paralela.
+         * @param algoritmo Nombre del algoritmo
+         * @return Nombre del algoritmo secuencial, o null si no es paralelo o no está registrado
+         */
+        public String getReferenciaSecuencial(String algoritmo)
+            {
+                try
+                    {
+                        return AnalizadorEficiencia.buscarAlgoritmo(algoritmo).getReferenciaSecuencial();
+                    }
+                catch (IllegalArgumentException e)
+                    {
+                        return null; // p. ej. resultados importados de un algoritmo que ya no existe
+                    }
+            }
+
+        /**
+         * Carga en el gestor los resultados de una corrida del módulo JMH (archivo generado con {@code -rf csv}).
+         * Reemplaza los resultados actuales para que la interfaz y la exportación muestren solo los de JMH.
+         * @param archivo Ruta del CSV de JMH
+         * @return Un mensaje de éxito o error
+         */
+        public String importarResultadosJMH(String archivo)
+            {
+                this.limpiarResultados();
+                try
+                    {
+                        int importados = GestorResultados.getInstancia().importarResultadosJMH(archivo);
+                        if (importados == 0)
+                            return "Error, el archivo " + archivo + " no contiene resultados";
+                        return "Se importaron " + importados + " resultados de JMH";
+                    }
+                catch (Exception e)
+                    {
+                        e.printStackTrace();
+                        return "Error al importar " + archivo + ": " + e.getMessage();
+                    }
+            }
+
+        /**
+         * Ordena un archivo binario de enteros que no cabe en memoria con un merge sort externo.
+         * Cada bloque en memoria se ordena con el algoritmo indicado; el resultado (tiempo por fase y bytes
+         * de entrada/salida) se agrega al gestor y se exporta a {@code resultados_externos.csv}.
+         * @param entrada Archivo de enteros de 4 bytes en big-endian
+         * @param salida Archivo donde se escribe el resultado
+         * @param algoritmo Nombre del algoritmo para los bloques en memoria
+         * @param memoriaBytes Memoria máxima a usar
+         * @param mapeado {@code true} para leer los tramos con archivos mapeados en memoria
+         * @return Un mensaje de éxito o error
+         */
+        public String ordenarArchivoExterno(String entrada, String salida, String algoritmo, long memoriaBytes, boolean mapeado)
+            {
+                try
+                    {
+                        OrdenamientoExterno externo = new OrdenamientoExterno(AnalizadorEficiencia.buscarAlgoritmo(algoritmo));
+                        externo.setMemoriaBytes(memoriaBytes);
+                        externo.setMapeado(mapeado);
+                        ResultadoExterno r = externo.ordenar(Paths.get(entrada), Paths.get(salida));
+                        GestorResultados.getInstancia().exportarResultadosExternosCSV("resultados_externos.csv");
+                        return r.toString();
+                    }
+                catch (Exception e)
+                    {
+                        e.printStackTrace();
+                        return "Error al ordenar " + entrada + ": " + e.getMessage();
+                    }
+            }
+
+        /**
+         * Mide el rendimiento de ordenar muchos arreglos independientes a la vez ({@link OrdenamientoPorLotes})
+         * contra ordenarlos uno por uno en un ciclo. El resultado se agrega al gestor.
+         * @param algoritmo Nombre del algoritmo que ordena cada arreglo
+         * @param arreglos Número de arreglos del lote
+         * @param tamanoMin Tamaño mínimo de cada arreglo
+         * @param tamanoMax Tamaño máximo de cada arreglo
+         * @return Un mensaje con arreglos/s y elementos/s, o de error
+         */
+        public String medirLotes(String algoritmo, int arreglos, int tamanoMin, int tamanoMax)
+            {
+                try
+                    {
+                        AnalizadorEficiencia analizador = new AnalizadorEficiencia(tamanoMax);
+                        analizador.setSemilla(semilla);
+                        analizador.setRepeticiones(repeticionesMin, repeticionesMax);
+                        analizador.setObjetivoIntervalo(objetivoIntervalo);
+                        return analizador.medirLotes(algoritmo, arreglos, tamanoMin, tamanoMax).toString();
+                    }
+                catch (Exception e)
+                    {
+                        e.printStackTrace();
+                        return "Error al medir lotes de " + algoritmo + ": " + e.getMessage();
+                    }
+            }
+
+        /**
+         * Devuelve las corridas guardadas en el historial.
+         * @return Las corridas, de la más antigua a la más reciente (vacío si el historial no se puede abrir)
+         */
+        public List<MetadatosCorrida> getCorridas()
+            {
+                try
+                    {
+                        return GestorResultados.getInstancia().getCorridas();
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("No se pudo leer " + GestorResultados.ARCHIVO_HISTORIAL + ": " + e.getMessage());
+                        return new ArrayList<>();
+                    }
+            }
+
+        /**
+         * Compara dos corridas del historial celda por celda.
+         * @param idAnterior Corrida de referencia
+         * @param idNueva Corrida a comparar
+         * @return Las comparaciones por celda (vacío si el historial no se puede leer)
+         */
+        public List<ComparacionCelda> compararCorridas(long idAnterior, long idNueva)
+            {
+                try
+                    {
+                        return GestorResultados.getInstancia().compararCorridas(idAnterior, idNueva);
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("No se pudo leer " + GestorResultados.ARCHIVO_HISTORIAL + ": " + e.getMessage());
+                        return new ArrayList<>();
+                    }
+            }
+
         /*
          * Función para limpiar los datos de todo el sistema, se llama después de una ejecución con el botón "Salir"
          */
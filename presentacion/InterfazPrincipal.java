@@ -1,8 +1,16 @@
 package presentacion;
 
+import abstraccion.AnalizadorEficiencia;
+import abstraccion.ComparacionCelda;
+import abstraccion.Distribucion;
+import abstraccion.MetadatosCorrida;
+import abstraccion.ProgresoAnalisis;
+import abstraccion.ReceptorResultados;
 import abstraccion.Resultado;
+import abstraccion.TipoClave;
 import control.ControladorEjecucion;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.collections.FXCollections;
 import javafx.concurrent.Task; 
@@ -13,8 +21,11 @@ import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
@@ -24,9 +35,12 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 /**
@@ -45,6 +59,21 @@ public class InterfazPrincipal extends Application
         
         private List<Resultado> todosLosResultados; 
 
+        // Presupuestos opcionales de la pantalla de inicio (vacío = sin límite)
+        private TextField campoPresupuestoCelda;
+        private TextField campoPresupuestoTotal;
+
+        // Tipos de clave a medir (int marcado por omisión)
+        private final Map<TipoClave, CheckBox> casillasTipoClave = new LinkedHashMap<>();
+
+        // Casos (distribuciones registradas) a medir y semilla opcional de los datos
+        private final Map<String, CheckBox> casillasCaso = new LinkedHashMap<>();
+        private TextField campoSemilla;
+        private CheckBox casillaContarOperaciones;
+
+        // Intervalo mínimo entre refrescos de la pantalla en vivo (250 ms)
+        private static final long INTERVALO_REFRESCO_NS = 250_000_000L;
+
         @Override
         public void start(Stage primaryStage) 
             {
@@ -81,6 +110,60 @@ public class InterfazPrincipal extends Application
                 campoTamano.setPrefWidth(150);
                 seccionEntrada.getChildren().addAll(etiquetaEntrada, campoTamano);
 
+                HBox seccionPresupuestos = new HBox(15);
+                seccionPresupuestos.setAlignment(Pos.CENTER);
+                Label etiquetaPresupuestos = new Label("Presupuesto opcional por celda (s) y total (min):");
+                etiquetaPresupuestos.getStyleClass().add("input-label");
+
+                campoPresupuestoCelda = new TextField();
+                campoPresupuestoCelda.setPromptText("sin límite");
+                campoPresupuestoCelda.getStyleClass().add("size-field");
+                campoPresupuestoCelda.setPrefWidth(100);
+
+                campoPresupuestoTotal = new TextField();
+                campoPresupuestoTotal.setPromptText("sin límite");
+                campoPresupuestoTotal.getStyleClass().add("size-field");
+                campoPresupuestoTotal.setPrefWidth(100);
+                seccionPresupuestos.getChildren().addAll(etiquetaPresupuestos, campoPresupuestoCelda, campoPresupuestoTotal);
+
+                HBox seccionTipos = new HBox(15);
+                seccionTipos.setAlignment(Pos.CENTER);
+                Label etiquetaTipos = new Label("Tipos de clave:");
+                etiquetaTipos.getStyleClass().add("input-label");
+                seccionTipos.getChildren().add(etiquetaTipos);
+                for (TipoClave tipo : TipoClave.values())
+                    {
+                        CheckBox casilla = new CheckBox(tipo.getNombre() + " (" + tipo.getBytes() + " B)");
+                        casilla.setSelected(tipo == TipoClave.INT);
+                        casillasTipoClave.put(tipo, casilla);
+                        seccionTipos.getChildren().add(casilla);
+                    }
+
+                HBox seccionCasos = new HBox(10);
+                seccionCasos.setAlignment(Pos.CENTER);
+                Label etiquetaCasos = new Label("Casos:");
+                etiquetaCasos.getStyleClass().add("input-label");
+                seccionCasos.getChildren().add(etiquetaCasos);
+                List<Distribucion> clasicos = Distribucion.getCasosClasicos();
+                for (Distribucion distribucion : Distribucion.getRegistradas())
+                    {
+                        CheckBox casilla = new CheckBox(distribucion.getNombre());
+                        casilla.setSelected(clasicos.contains(distribucion));
+                        casillasCaso.put(distribucion.getNombre(), casilla);
+                        seccionCasos.getChildren().add(casilla);
+                    }
+
+                HBox seccionSemilla = new HBox(15);
+                seccionSemilla.setAlignment(Pos.CENTER);
+                Label etiquetaSemilla = new Label("Semilla de los datos:");
+                etiquetaSemilla.getStyleClass().add("input-label");
+                campoSemilla = new TextField();
+                campoSemilla.setPromptText(String.valueOf(controlador.getSemilla()));
+                campoSemilla.getStyleClass().add("size-field");
+                campoSemilla.setPrefWidth(150);
+                casillaContarOperaciones = new CheckBox("Contar comparaciones, intercambios y escrituras");
+                seccionSemilla.getChildren().addAll(etiquetaSemilla, campoSemilla, casillaContarOperaciones);
+
                 Label etiquetaNotificacion = new Label();
                 etiquetaNotificacion.getStyleClass().add("notification-label");
                 
@@ -97,10 +180,47 @@ public class InterfazPrincipal extends Application
                         ejecutarLogicaInicio(campoTamano, etiquetaNotificacion, botonInicio);
                     });
 
-                contenidoPrincipal.getChildren().addAll(tituloBienvenida, seccionEntrada, etiquetaNotificacion, botonInicio);
+                Button botonCargarJMH = new Button("Cargar resultados JMH");
+                botonCargarJMH.getStyleClass().add("action-button-green");
+
+                botonCargarJMH.setOnAction(e -> 
+                    {
+                        // Archivo generado por el módulo benchmark con "-rf csv -rff jmh-result.csv"
+                        String msg = controlador.importarResultadosJMH("jmh-result.csv");
+                        if (msg.startsWith("Error"))
+                            {
+                                etiquetaNotificacion.setText(msg);
+                                etiquetaNotificacion.setStyle("-fx-text-fill: red;");
+                                return;
+                            }
+
+                        etiquetaNotificacion.setText("");
+                        this.todosLosResultados = controlador.getResultadosCompletos();
+                        this.escenaResultados = crearEscenaResultados();
+                        escenarioPrincipal.setScene(this.escenaResultados);
+                    });
+
+                Button botonHistorial = new Button("Comparar corridas anteriores");
+                botonHistorial.getStyleClass().add("action-button-blue");
+
+                botonHistorial.setOnAction(e -> 
+                    {
+                        List<MetadatosCorrida> corridas = controlador.getCorridas();
+                        if (corridas.size() < 2)
+                            {
+                                etiquetaNotificacion.setText("Se necesitan al menos dos corridas en el historial para comparar");
+                                etiquetaNotificacion.setStyle("-fx-text-fill: red;");
+                                return;
+                            }
+
+                        etiquetaNotificacion.setText("");
+                        escenarioPrincipal.setScene(crearEscenaHistorial(corridas));
+                    });
+
+                contenidoPrincipal.getChildren().addAll(tituloBienvenida, seccionEntrada, seccionPresupuestos, seccionTipos, seccionCasos, seccionSemilla, etiquetaNotificacion, botonInicio, botonCargarJMH, botonHistorial);
                 panelRaiz.setCenter(contenidoPrincipal);
 
-                Scene escena = new Scene(panelRaiz, 800, 500);
+                Scene escena = new Scene(panelRaiz, 900, 620);
                 escena.getStylesheets().add(getClass().getResource("styles.css").toExternalForm());
                 return escena;
             }
@@ -127,11 +247,98 @@ public class InterfazPrincipal extends Application
                         return;
                     }
 
-                etiquetaNotificacion.setText("Analizando... esto puede tardar un poco, gracias por tu paciencia (:");
-                etiquetaNotificacion.setStyle("-fx-text-fill: #007AFF;");
+                long presupuestoCeldaMs;
+                long presupuestoTotalMs;
+                try
+                    {
+                        presupuestoCeldaMs = leerPresupuestoMs(campoPresupuestoCelda, 1000);
+                        presupuestoTotalMs = leerPresupuestoMs(campoPresupuestoTotal, 60_000);
+                    }
+                catch (NumberFormatException ex)
+                    {
+                        etiquetaNotificacion.setText("Error: Los presupuestos deben ser números positivos o quedar vacíos.");
+                        etiquetaNotificacion.setStyle("-fx-text-fill: red;");
+                        return;
+                    }
+                controlador.setPresupuestoCeldaMs(presupuestoCeldaMs);
+                controlador.setPresupuestoTotalMs(presupuestoTotalMs);
+
+                List<TipoClave> tiposElegidos = new ArrayList<>();
+                for (Map.Entry<TipoClave, CheckBox> entrada : casillasTipoClave.entrySet())
+                    {
+                        if (entrada.getValue().isSelected())
+                            tiposElegidos.add(entrada.getKey());
+                    }
+                if (tiposElegidos.isEmpty())
+                    {
+                        etiquetaNotificacion.setText("Error: Elige al menos un tipo de clave.");
+                        etiquetaNotificacion.setStyle("-fx-text-fill: red;");
+                        return;
+                    }
+                controlador.setTiposClave(tiposElegidos.toArray(new TipoClave[0]));
+
+                List<String> casosElegidos = new ArrayList<>();
+                for (Map.Entry<String, CheckBox> entrada : casillasCaso.entrySet())
+                    {
+                        if (entrada.getValue().isSelected())
+                            casosElegidos.add(entrada.getKey());
+                    }
+                if (casosElegidos.isEmpty())
+                    {
+                        etiquetaNotificacion.setText("Error: Elige al menos un caso.");
+                        etiquetaNotificacion.setStyle("-fx-text-fill: red;");
+                        return;
+                    }
+                controlador.setCasos(casosElegidos.toArray(new String[0]));
+
+                // Semilla vacía = la de siempre, así dos corridas sin tocarla miden los mismos datos
+                String textoSemilla = campoSemilla.getText() == null ? "" : campoSemilla.getText().trim();
+                try
+                    {
+                        controlador.setSemilla(textoSemilla.isEmpty() ? AnalizadorEficiencia.SEMILLA_POR_OMISION : Long.parseLong(textoSemilla));
+                    }
+                catch (NumberFormatException ex)
+                    {
+                        etiquetaNotificacion.setText("Error: La semilla debe ser un número entero o quedar vacía.");
+                        etiquetaNotificacion.setStyle("-fx-text-fill: red;");
+                        return;
+                    }
+
+                controlador.setContarOperaciones(casillaContarOperaciones.isSelected());
+
+                etiquetaNotificacion.setText("");
                 botonInicio.setDisable(true);
                 campoTamano.setDisable(true);
 
+                // Los resultados llegan desde el hilo del análisis y se acumulan aquí hasta el siguiente refresco de pantalla
+                ProgresoAnalisis progreso = controlador.crearProgreso(n);
+                ConcurrentLinkedQueue<Resultado> pendientes = new ConcurrentLinkedQueue<>();
+                ReceptorResultados receptorEnVivo = r -> 
+                    {
+                        progreso.recibir(r);
+                        pendientes.add(r);
+                    };
+                controlador.agregarReceptor(receptorEnVivo);
+
+                VistaEnVivo vista = new VistaEnVivo(n, casosElegidos);
+                escenarioPrincipal.setScene(vista.getEscena());
+
+                // Refresco acotado: como máximo una actualización de la gráfica y la tabla cada INTERVALO_REFRESCO_NS
+                AnimationTimer refresco = new AnimationTimer() 
+                    {
+                        private long ultimo = 0;
+
+                        @Override
+                        public void handle(long ahora) 
+                            {
+                                if (ahora - ultimo < INTERVALO_REFRESCO_NS)
+                                    return;
+                                ultimo = ahora;
+                                vista.actualizar(vaciar(pendientes), progreso);
+                            }
+                    };
+                refresco.start();
+
                 Task<List<Resultado>> tareaAnalisis = new Task<>() 
                     {
                         @Override
@@ -144,19 +351,34 @@ public class InterfazPrincipal extends Application
 
                 tareaAnalisis.setOnSucceeded(workerStateEvent -> 
                     {
+                        refresco.stop();
+                        controlador.quitarReceptor(receptorEnVivo);
                         this.todosLosResultados = tareaAnalisis.getValue();
-                        
-                        this.escenaResultados = crearEscenaResultados(); 
-                        escenarioPrincipal.setScene(this.escenaResultados);
 
                         botonInicio.setDisable(false);
                         campoTamano.setDisable(false);
                         campoTamano.clear();
                         etiquetaNotificacion.setText("");
+
+                        // Cancelado antes de terminar la primera celda: no hay nada que mostrar
+                        if (this.todosLosResultados == null || this.todosLosResultados.isEmpty())
+                            {
+                                escenarioPrincipal.setScene(this.escenaInicio);
+                                etiquetaNotificacion.setText("El análisis se canceló antes de obtener resultados.");
+                                etiquetaNotificacion.setStyle("-fx-text-fill: #007AFF;");
+                                return;
+                            }
+                        
+                        this.escenaResultados = crearEscenaResultados(); 
+                        escenarioPrincipal.setScene(this.escenaResultados);
                     });
 
                 tareaAnalisis.setOnFailed(workerStateEvent -> 
                     {
+                        refresco.stop();
+                        controlador.quitarReceptor(receptorEnVivo);
+                        escenarioPrincipal.setScene(this.escenaInicio);
+
                         etiquetaNotificacion.setText("Error: Ocurrió un fallo durante el análisis.");
                         etiquetaNotificacion.setStyle("-fx-text-fill: red;");
                         botonInicio.setDisable(false);
@@ -164,7 +386,223 @@ public class InterfazPrincipal extends Application
                         tareaAnalisis.getException().printStackTrace();
                     });
 
-                new Thread(tareaAnalisis).start();
+                Thread hiloAnalisis = new Thread(tareaAnalisis, "analisis");
+                hiloAnalisis.setDaemon(true); // Si se cierra la ventana, no mantiene viva la JVM
+                hiloAnalisis.start();
+            }
+
+        // Lee un presupuesto opcional: vacío = 0 (sin límite); 'msPorUnidad' convierte segundos o minutos a ms
+        private static long leerPresupuestoMs(TextField campo, long msPorUnidad)
+            {
+                String texto = campo.getText() == null ? "" : campo.getText().trim();
+                if (texto.isEmpty())
+                    return 0;
+                double valor = Double.parseDouble(texto);
+                if (!(valor > 0))
+                    throw new NumberFormatException();
+                return Math.round(valor * msPorUnidad);
+            }
+
+        // Saca todo lo que haya en la cola en este momento
+        private static List<Resultado> vaciar(ConcurrentLinkedQueue<Resultado> cola)
+            {
+                List<Resultado> lote = new ArrayList<>();
+                Resultado r;
+                while ((r = cola.poll()) != null)
+                    lote.add(r);
+                return lote;
+            }
+
+        /**
+         * Pantalla que se muestra mientras corre el análisis: barra de avance con tiempo restante estimado,
+         * gráfica comparativa y tabla con el último tamaño medido de cada algoritmo, que se llenan
+         * conforme terminan las celdas.
+         */
+        private class VistaEnVivo
+            {
+                private final List<Resultado> recibidos = new ArrayList<>();
+                private final Map<String, XYChart.Series<Number, Number>> mapaSeries = new HashMap<>();
+
+                private final Scene escena;
+                private final ProgressBar barraProgreso = new ProgressBar(0);
+                private final Label etiquetaProgreso = new Label("Preparando el análisis...");
+                private final ComboBox<String> comboCaso = new ComboBox<>();
+                private final LineChart<Number, Number> graficaLinea;
+                private final VBox contenedorTabla = new VBox();
+
+                VistaEnVivo(int n, List<String> casos)
+                    {
+                        BorderPane panelRaiz = new BorderPane();
+                        panelRaiz.setStyle("-fx-background-color: #FFFFFF; -fx-background-radius: 10px;");
+                        panelRaiz.setTop(crearEncabezado());
+
+                        VBox contenidoPrincipal = new VBox(15);
+                        contenidoPrincipal.setAlignment(Pos.TOP_CENTER);
+                        contenidoPrincipal.setPadding(new Insets(20, 40, 30, 40));
+
+                        Label titulo = new Label("Analizando hasta n = " + String.format("%,d", n));
+                        titulo.getStyleClass().add("results-title");
+
+                        barraProgreso.setPrefWidth(500);
+                        etiquetaProgreso.getStyleClass().add("notification-label");
+
+                        HBox panelFiltros = new HBox(10);
+                        panelFiltros.setAlignment(Pos.CENTER);
+                        Label etiquetaFiltroCaso = new Label("Caso:");
+                        etiquetaFiltroCaso.getStyleClass().add("input-label");
+                        comboCaso.setItems(FXCollections.observableArrayList(casos));
+                        comboCaso.setValue(casos.get(0));
+                        comboCaso.getStyleClass().add("filter-combo");
+                        comboCaso.setOnAction(e -> redibujar());
+                        panelFiltros.getChildren().addAll(etiquetaFiltroCaso, comboCaso);
+
+                        NumberAxis ejeX = new NumberAxis();
+                        ejeX.setLabel("Tamaño del Arreglo (n)");
+                        ejeX.getStyleClass().add("axis-label");
+
+                        NumberAxis ejeY = new NumberAxis();
+                        ejeY.setLabel("Tiempo (ms) - Real");
+                        ejeY.getStyleClass().add("axis-label");
+
+                        graficaLinea = new LineChart<>(ejeX, ejeY);
+                        graficaLinea.setAnimated(false); // Con datos llegando seguido, las animaciones solo estorban
+                        graficaLinea.getStyleClass().add("chart-title");
+
+                        contenedorTabla.setAlignment(Pos.TOP_CENTER);
+                        contenedorTabla.getChildren().add(crearTablaEnVivo());
+
+                        contenidoPrincipal.getChildren().addAll(titulo, barraProgreso, etiquetaProgreso, panelFiltros, graficaLinea, contenedorTabla);
+                        panelRaiz.setCenter(contenidoPrincipal);
+
+                        // Cancelar conserva lo medido hasta ahora y pasa a la pantalla de resultados
+                        HBox barraBotones = new HBox(20);
+                        barraBotones.setAlignment(Pos.CENTER);
+                        barraBotones.setPadding(new Insets(0, 0, 20, 0));
+                        Button botonCancelar = new Button("Cancelar");
+                        botonCancelar.getStyleClass().add("action-button-red");
+                        botonCancelar.setOnAction(e -> 
+                            {
+                                botonCancelar.setDisable(true);
+                                etiquetaProgreso.setText("Cancelando... se termina la repetición en curso.");
+                                controlador.cancelarComparacion();
+                            });
+                        barraBotones.getChildren().add(botonCancelar);
+                        panelRaiz.setBottom(barraBotones);
+
+                        escena = new Scene(panelRaiz, 1000, 800);
+                        escena.getStylesheets().add(getClass().getResource("styles.css").toExternalForm());
+                    }
+
+                Scene getEscena()
+                    {
+                        return escena;
+                    }
+
+                /**
+                 * Incorpora un lote de resultados y refresca el avance. Se llama en el hilo de JavaFX.
+                 */
+                void actualizar(List<Resultado> lote, ProgresoAnalisis progreso)
+                    {
+                        barraProgreso.setProgress(progreso.getFraccion());
+                        etiquetaProgreso.setText(String.format("%d de %d celdas · transcurrido %s · restante estimado %s",
+                                progreso.getCeldasTerminadas(), progreso.getTotalCeldas(),
+                                formatearDuracion(progreso.getSegundosTranscurridos()),
+                                formatearDuracion(progreso.getSegundosRestantes())));
+
+                        if (lote.isEmpty())
+                            return;
+
+                        recibidos.addAll(lote);
+                        String caso = comboCaso.getValue();
+                        for (Resultado r : lote)
+                            {
+                                if (r.getCaso().equals(caso))
+                                    agregarPunto(r);
+                            }
+                        contenedorTabla.getChildren().setAll(List.of(crearTablaEnVivo()));
+                    }
+
+                // Al cambiar de caso se reconstruyen gráfica y tabla con lo recibido hasta ahora
+                private void redibujar()
+                    {
+                        mapaSeries.clear();
+                        graficaLinea.getData().clear();
+                        String caso = comboCaso.getValue();
+                        for (Resultado r : recibidos)
+                            {
+                                if (r.getCaso().equals(caso))
+                                    agregarPunto(r);
+                            }
+                        contenedorTabla.getChildren().setAll(List.of(crearTablaEnVivo()));
+                    }
+
+                private void agregarPunto(Resultado r)
+                    {
+                        XYChart.Series<Number, Number> series = mapaSeries.get(r.getSerie());
+                        if (series == null)
+                            {
+                                series = new XYChart.Series<>();
+                                series.setName(r.getSerie());
+                                mapaSeries.put(r.getSerie(), series);
+                                graficaLinea.getData().add(series);
+                            }
+                        series.getData().add(new XYChart.Data<>(r.getTamano(), r.getTiempoMs()));
+                    }
+
+                // Último (mayor) tamaño medido de cada algoritmo en el caso elegido
+                private GridPane crearTablaEnVivo()
+                    {
+                        GridPane tabla = new GridPane();
+                        tabla.setAlignment(Pos.CENTER);
+                        tabla.setHgap(30);
+                        tabla.setVgap(6);
+
+                        String[] cabeceras = {"Algoritmo", "Tamaño", "Tiempo", "p99"};
+                        for (int i = 0; i < cabeceras.length; i++)
+                            {
+                                Label etiquetaCabecera = new Label(cabeceras[i]);
+                                etiquetaCabecera.getStyleClass().add("grid-header");
+                                tabla.add(etiquetaCabecera, i, 0);
+                            }
+
+                        Map<String, Resultado> ultimos = new LinkedHashMap<>();
+                        String caso = comboCaso.getValue();
+                        for (Resultado r : recibidos)
+                            {
+                                if (!r.getCaso().equals(caso))
+                                    continue;
+                                Resultado previo = ultimos.get(r.getSerie());
+                                if (previo == null || r.getTamano() >= previo.getTamano())
+                                    ultimos.put(r.getSerie(), r);
+                            }
+
+                        int indiceFila = 1;
+                        for (Resultado r : ultimos.values())
+                            {
+                                tabla.add(new Label(r.getSerie()), 0, indiceFila);
+                                tabla.add(new Label(String.format("%,d", r.getTamano())), 1, indiceFila);
+                                tabla.add(new Label(formatearMs(r.getTiempoMs()) + (r.isExtrapolado() ? " (extrapolado)" : "")), 2, indiceFila);
+                                tabla.add(new Label(formatearMs(r.getP99Ms())), 3, indiceFila);
+                                indiceFila++;
+                            }
+                        return tabla;
+                    }
+            }
+
+        /**
+         * Método de ayuda para mostrar una duración en segundos como "1 h 02 min", "3 min 05 s" o "12 s"
+         * @param segundos La duración, o un valor negativo si todavía no se conoce
+         */
+        private static String formatearDuracion(double segundos)
+            {
+                if (segundos < 0 || Double.isNaN(segundos) || Double.isInfinite(segundos))
+                    return "calculando...";
+                long s = Math.round(segundos);
+                if (s >= 3600)
+                    return String.format("%d h %02d min", s / 3600, (s % 3600) / 60);
+                if (s >= 60)
+                    return String.format("%d min %02d s", s / 60, s % 60);
+                return s + " s";
             }
 
         private Scene crearEscenaResultados() 
@@ -186,18 +624,28 @@ public class InterfazPrincipal extends Application
                 Label etiquetaFiltroAlgo = new Label("Ver comportamiento de:");
                 etiquetaFiltroAlgo.getStyleClass().add("input-label");
                 
+                // Los algoritmos salen de los resultados, así aparecen también los nuevos o los importados de JMH
+                List<String> nombresAlgoritmos = this.todosLosResultados.stream()
+                    .map(Resultado::getSerie)
+                    .distinct()
+                    .collect(Collectors.toList());
+
                 ComboBox<String> comboAlgoritmo = new ComboBox<>();
-                comboAlgoritmo.setItems(FXCollections.observableArrayList(
-                    "BubbleSort", "InsertionSort", "SelectionSort", "MergeSort", "QuickSort"
-                ));
-                comboAlgoritmo.setValue("BubbleSort");
+                comboAlgoritmo.setItems(FXCollections.observableArrayList(nombresAlgoritmos));
+                comboAlgoritmo.setValue(nombresAlgoritmos.isEmpty() ? null : nombresAlgoritmos.get(0));
                 comboAlgoritmo.getStyleClass().add("filter-combo");
 
                 Label etiquetaFiltroCaso = new Label("Caso:");
                 etiquetaFiltroCaso.getStyleClass().add("input-label");
+                // Igual con los casos: los de la corrida, en el orden en que se midieron
+                List<String> nombresCasos = this.todosLosResultados.stream()
+                    .map(Resultado::getCaso)
+                    .distinct()
+                    .collect(Collectors.toList());
+
                 ComboBox<String> comboCaso = new ComboBox<>();
-                comboCaso.setItems(FXCollections.observableArrayList("Promedio", "Mejor", "Peor"));
-                comboCaso.setValue("Promedio"); 
+                comboCaso.setItems(FXCollections.observableArrayList(nombresCasos));
+                comboCaso.setValue(nombresCasos.contains("Promedio") ? "Promedio" : nombresCasos.get(0)); 
                 comboCaso.getStyleClass().add("filter-combo");
                 
                 Button botonGraficaCrecimiento = new Button("Ver Gráfica de Crecimiento");
@@ -270,11 +718,114 @@ public class InterfazPrincipal extends Application
                 barraBotones.getChildren().addAll(botonExportar, botonGraficaComparativa, botonSalir);
                 panelRaiz.setBottom(barraBotones);
 
-                Scene escena = new Scene(panelRaiz, 800, 650); 
+                // Más ancha que las demás: la tabla incluye CPU y recolecciones de basura
+                Scene escena = new Scene(panelRaiz, 1360, 650); 
+                escena.getStylesheets().add(getClass().getResource("styles.css").toExternalForm());
+                return escena;
+            }
+
+        // Pantalla de comparación entre dos corridas del historial
+        private Scene crearEscenaHistorial(List<MetadatosCorrida> corridas)
+            {
+                BorderPane panelRaiz = new BorderPane();
+                panelRaiz.setStyle("-fx-background-color: #FFFFFF; -fx-background-radius: 10px;");
+                panelRaiz.setTop(crearEncabezado());
+
+                VBox contenidoPrincipal = new VBox(20);
+                contenidoPrincipal.setAlignment(Pos.TOP_CENTER);
+                contenidoPrincipal.setPadding(new Insets(25, 40, 40, 40));
+
+                Label tituloHistorial = new Label("Comparación de corridas");
+                tituloHistorial.getStyleClass().add("results-title");
+
+                // Por omisión se comparan las dos corridas más recientes
+                ComboBox<MetadatosCorrida> comboAnterior = new ComboBox<>();
+                comboAnterior.setItems(FXCollections.observableArrayList(corridas));
+                comboAnterior.setValue(corridas.get(corridas.size() - 2));
+                comboAnterior.getStyleClass().add("filter-combo");
+
+                ComboBox<MetadatosCorrida> comboNueva = new ComboBox<>();
+                comboNueva.setItems(FXCollections.observableArrayList(corridas));
+                comboNueva.setValue(corridas.get(corridas.size() - 1));
+                comboNueva.getStyleClass().add("filter-combo");
+
+                Label etiquetaAnterior = new Label("Referencia:");
+                etiquetaAnterior.getStyleClass().add("input-label");
+                HBox filaAnterior = new HBox(10, etiquetaAnterior, comboAnterior);
+                filaAnterior.setAlignment(Pos.CENTER);
+
+                Label etiquetaNueva = new Label("Comparar con:");
+                etiquetaNueva.getStyleClass().add("input-label");
+                HBox filaNueva = new HBox(10, etiquetaNueva, comboNueva);
+                filaNueva.setAlignment(Pos.CENTER);
+
+                ScrollPane panelTabla = new ScrollPane(crearTablaComparacion(comboAnterior.getValue(), comboNueva.getValue()));
+                panelTabla.setFitToWidth(true);
+                VBox.setVgrow(panelTabla, Priority.ALWAYS);
+
+                comboAnterior.setOnAction(e -> panelTabla.setContent(crearTablaComparacion(comboAnterior.getValue(), comboNueva.getValue())));
+                comboNueva.setOnAction(e -> panelTabla.setContent(crearTablaComparacion(comboAnterior.getValue(), comboNueva.getValue())));
+
+                contenidoPrincipal.getChildren().addAll(tituloHistorial, filaAnterior, filaNueva, panelTabla);
+                panelRaiz.setCenter(contenidoPrincipal);
+
+                HBox barraBotones = new HBox(20);
+                barraBotones.setAlignment(Pos.CENTER);
+                barraBotones.setPadding(new Insets(0, 0, 30, 0));
+                Button botonVolver = new Button("Volver");
+                botonVolver.getStyleClass().add("action-button-blue");
+                botonVolver.setOnAction(e -> escenarioPrincipal.setScene(this.escenaInicio));
+                barraBotones.getChildren().add(botonVolver);
+                
+                panelRaiz.setBottom(barraBotones);
+
+                Scene escena = new Scene(panelRaiz, 1200, 650);
                 escena.getStylesheets().add(getClass().getResource("styles.css").toExternalForm());
                 return escena;
             }
 
+        /**
+         * Método de ayuda para crear la tabla celda por celda de dos corridas del historial,
+         * con el cambio porcentual del tiempo (verde si la segunda es más rápida, rojo si es más lenta)
+         * @param anterior La corrida de referencia
+         * @param nueva La corrida a comparar
+         */
+        private GridPane crearTablaComparacion(MetadatosCorrida anterior, MetadatosCorrida nueva)
+            {
+                GridPane tabla = new GridPane();
+                tabla.setAlignment(Pos.CENTER);
+                tabla.setHgap(20);
+                tabla.setVgap(8);
+                tabla.setPadding(new Insets(10, 0, 0, 0));
+
+                String[] cabeceras = {"Algoritmo", "Caso", "Tamaño", "Tiempo #" + anterior.getId(), "Tiempo #" + nueva.getId(), "Cambio"};
+                for (int i = 0; i < cabeceras.length; i++)
+                    {
+                        Label etiquetaCabecera = new Label(cabeceras[i]);
+                        etiquetaCabecera.getStyleClass().add("grid-header");
+                        tabla.add(etiquetaCabecera, i, 0);
+                    }
+
+                int indiceFila = 1;
+                for (ComparacionCelda c : controlador.compararCorridas(anterior.getId(), nueva.getId()))
+                    {
+                        tabla.add(new Label(c.getSerie()), 0, indiceFila);
+                        tabla.add(new Label(c.getCaso()), 1, indiceFila);
+                        tabla.add(new Label(String.format("%,d", c.getTamano())), 2, indiceFila);
+                        tabla.add(new Label(c.getAnterior() == null ? "-" : formatearMs(c.getAnterior().getTiempoMs())), 3, indiceFila);
+                        tabla.add(new Label(c.getNuevo() == null ? "-" : formatearMs(c.getNuevo().getTiempoMs())), 4, indiceFila);
+
+                        double cambio = c.getCambioPorcentual();
+                        Label etiquetaCambio = new Label(Double.isNaN(cambio) ? "-" : String.format("%+.1f %%", cambio));
+                        if (!Double.isNaN(cambio))
+                            etiquetaCambio.setStyle(cambio <= 0 ? "-fx-text-fill: green;" : "-fx-text-fill: red;");
+                        tabla.add(etiquetaCambio, 5, indiceFila);
+
+                        indiceFila++;
+                    }
+                return tabla;
+            }
+
         // Pantalla de gráficas comparativas
         private Scene crearEscenaGraficaComparativa(String caso)
             {
@@ -306,13 +857,13 @@ public class InterfazPrincipal extends Application
                     {
                         if (r.getCaso().equals(caso)) 
                         {
-                            mapaSeries.computeIfAbsent(r.getAlgoritmo(), nombre -> {
+                            mapaSeries.computeIfAbsent(r.getSerie(), nombre -> {
                                 XYChart.Series<Number, Number> series = new XYChart.Series<>();
                                 series.setName(nombre);
                                 return series;
                             });
                             
-                            mapaSeries.get(r.getAlgoritmo()).getData().add(new XYChart.Data<>(r.getTamano(), r.getTiempoMs()));
+                            mapaSeries.get(r.getSerie()).getData().add(new XYChart.Data<>(r.getTamano(), r.getTiempoMs()));
                         }
                     }
                 
@@ -368,7 +919,7 @@ public class InterfazPrincipal extends Application
                 
                 for (Resultado r : this.todosLosResultados)
                     {
-                        if (r.getAlgoritmo().equals(nombreAlgoritmo) && r.getCaso().equals(caso)) 
+                        if (r.getSerie().equals(nombreAlgoritmo) && r.getCaso().equals(caso)) 
                             {
                                 series.getData().add(new XYChart.Data<>(r.getTamano(), r.getTiempoMs()));
                             }
@@ -427,7 +978,7 @@ public class InterfazPrincipal extends Application
             {
                 GridPane tablaResultados = new GridPane();
                 tablaResultados.setAlignment(Pos.CENTER);
-                tablaResultados.setHgap(50);
+                tablaResultados.setHgap(16);
                 tablaResultados.setVgap(12);
                 tablaResultados.setPadding(new Insets(20, 0, 0, 0));
 
@@ -443,6 +994,31 @@ public class InterfazPrincipal extends Application
                 etiquetaCabeceraTiempo.getStyleClass().add("grid-header");
                 tablaResultados.add(etiquetaCabeceraTiempo, 2, 0);
 
+                Label etiquetaCabeceraAceleracion = new Label("Aceleración");
+                etiquetaCabeceraAceleracion.getStyleClass().add("grid-header");
+                tablaResultados.add(etiquetaCabeceraAceleracion, 3, 0);
+
+                Label etiquetaCabeceraMemoria = new Label("Memoria");
+                etiquetaCabeceraMemoria.getStyleClass().add("grid-header");
+                tablaResultados.add(etiquetaCabeceraMemoria, 4, 0);
+
+                Label etiquetaCabeceraCpu = new Label("CPU");
+                etiquetaCabeceraCpu.getStyleClass().add("grid-header");
+                tablaResultados.add(etiquetaCabeceraCpu, 5, 0);
+
+                Label etiquetaCabeceraGc = new Label("GC");
+                etiquetaCabeceraGc.getStyleClass().add("grid-header");
+                tablaResultados.add(etiquetaCabeceraGc, 6, 0);
+
+                // Distribución de las repeticiones
+                String[] cabecerasDistribucion = {"Mín", "p50", "p90", "p99", "Máx", "Desv. est."};
+                for (int i = 0; i < cabecerasDistribucion.length; i++)
+                    {
+                        Label etiquetaCabecera = new Label(cabecerasDistribucion[i]);
+                        etiquetaCabecera.getStyleClass().add("grid-header");
+                        tablaResultados.add(etiquetaCabecera, 7 + i, 0);
+                    }
+
                 if (todosLosResultados == null || todosLosResultados.isEmpty()){}
                 else
                     {
@@ -460,11 +1036,25 @@ public class InterfazPrincipal extends Application
                         int indiceFila = 1;
                         for (Resultado r : resultadosFinales)
                             {
-                                tablaResultados.add(new Label(r.getAlgoritmo()), 0, indiceFila);
+                                tablaResultados.add(new Label(r.getSerie()), 0, indiceFila);
                                 
                                 tablaResultados.add(new Label(String.format("%,d", r.getTamano())), 1, indiceFila);
                                 
-                                tablaResultados.add(crearCeldaTiempo(r.getTiempoMs()), 2, indiceFila);
+                                tablaResultados.add(crearCeldaTiempo(r), 2, indiceFila);
+
+                                tablaResultados.add(crearCeldaAceleracion(r, resultadosFinales), 3, indiceFila);
+
+                                tablaResultados.add(new Label(formatearBytes(r.getBytesPorOrdenamiento())), 4, indiceFila);
+
+                                tablaResultados.add(new Label(formatearMs(r.getCpuMs())), 5, indiceFila);
+
+                                tablaResultados.add(new Label(formatearRecolecciones(r)), 6, indiceFila);
+
+                                double[] distribucion = {r.getMinMs(), r.getP50Ms(), r.getP90Ms(), r.getP99Ms(), r.getMaxMs(), r.getDesviacionMs()};
+                                for (int i = 0; i < distribucion.length; i++)
+                                    {
+                                        tablaResultados.add(new Label(formatearMs(distribucion[i])), 7 + i, indiceFila);
+                                    }
                                 
                                 indiceFila++;
                             }
@@ -475,10 +1065,12 @@ public class InterfazPrincipal extends Application
         
         /**
          * Método de ayuda para crear la celda de tiempo con dos líneas
-         * @param timeMs El tiempo real en milisegundos
+         * (con la precisión alcanzada y las repeticiones, o la marca de extrapolado)
+         * @param r El resultado de la fila
          */
-        private VBox crearCeldaTiempo(double timeMs) 
+        private VBox crearCeldaTiempo(Resultado r) 
             {
+                double timeMs = r.getTiempoMs();
                 VBox celda = new VBox(0);
                 celda.setAlignment(Pos.CENTER_LEFT);
                 
@@ -496,10 +1088,87 @@ public class InterfazPrincipal extends Application
                         etiquetaSecundaria.getStyleClass().add("time-secondary");
                         celda.getChildren().add(etiquetaSecundaria);
                     }
+
+                if (r.isExtrapolado())
+                    {
+                        Label etiquetaExtrapolado = new Label("(extrapolado)");
+                        etiquetaExtrapolado.getStyleClass().add("time-secondary");
+                        celda.getChildren().add(etiquetaExtrapolado);
+                    }
+                else if (!Double.isNaN(r.getIntervaloRelativo()))
+                    {
+                        String precision = String.format("±%.1f %% (%d rep.)", r.getIntervaloRelativo() * 100, r.getRepeticiones());
+                        Label etiquetaPrecision = new Label(precision);
+                        etiquetaPrecision.getStyleClass().add("time-secondary");
+                        celda.getChildren().add(etiquetaPrecision);
+                    }
                 
                 return celda;
             }
 
+        /**
+         * Método de ayuda para crear la celda de aceleración de las versiones paralelas
+         * (tiempo del algoritmo secuencial de referencia / tiempo de la versión paralela)
+         * @param r El resultado de la fila
+         * @param resultadosFila Los resultados del mismo tamaño y caso, donde se busca la referencia
+         */
+        private Label crearCeldaAceleracion(Resultado r, List<Resultado> resultadosFila)
+            {
+                String referencia = controlador.getReferenciaSecuencial(r.getAlgoritmo());
+                if (referencia == null)
+                    return new Label("-");
+
+                for (Resultado otro : resultadosFila)
+                    {
+                        if (otro.getAlgoritmo().equals(referencia) && otro.getTipoClave().equals(r.getTipoClave()) && r.getTiempoMs() > 0)
+                            {
+                                double aceleracion = otro.getTiempoMs() / r.getTiempoMs();
+                                return new Label(String.format("%.2fx vs %s", aceleracion, referencia));
+                            }
+                    }
+                return new Label("-");
+            }
+
+        /**
+         * Método de ayuda para mostrar un tiempo corto en µs o ms según su magnitud
+         * @param ms El tiempo en milisegundos, o NaN si no se midió
+         */
+        private String formatearMs(double ms)
+            {
+                if (Double.isNaN(ms))
+                    return "-";
+                if (ms < 1.0)
+                    return String.format("%.1f µs", ms * 1000.0);
+                return String.format("%,.2f ms", ms);
+            }
+
+        /**
+         * Método de ayuda para mostrar los bytes asignados por ordenamiento en B, KB o MB
+         * @param bytes Los bytes medidos, o un valor negativo si no se midieron
+         */
+        private String formatearBytes(long bytes)
+            {
+                if (bytes < 0)
+                    return "-";
+                if (bytes < 1024)
+                    return bytes + " B";
+                if (bytes < 1024 * 1024)
+                    return String.format("%.1f KB", bytes / 1024.0);
+                return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+            }
+
+        /**
+         * Método de ayuda para mostrar las recolecciones de basura de una celda y su tiempo total
+         */
+        private String formatearRecolecciones(Resultado r)
+            {
+                if (r.getRecoleccionesGc() < 0)
+                    return "-";
+                if (r.getRecoleccionesGc() == 0)
+                    return "0";
+                return String.format("%d (%d ms)", r.getRecoleccionesGc(), r.getTiempoGcMs());
+            }
+
         public static void main(String[] args) 
             {
                 launch(args);
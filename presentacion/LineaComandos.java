@@ -0,0 +1,337 @@
+package presentacion;
+
+import abstraccion.AnalizadorEficiencia;
+import abstraccion.Distribucion;
+import abstraccion.Resultado;
+import abstraccion.TipoClave;
+import abstraccion.VerificadorRegresiones;
+import control.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ejecución sin interfaz ni preguntas, para correr el análisis desde scripts (p. ej. las corridas nocturnas).
+ * <p>Recibe toda la configuración como opciones, maneja el análisis con {@link ControladorEjecucion}
+ * y termina con un código de salida: {@value #SALIDA_OK} si todo salió bien, {@value #SALIDA_ERROR}
+ * si el análisis, alguna celda o la exportación fallaron (lo que sí se midió se exporta igual), {@value #SALIDA_USO} si las opciones no son válidas y
+ * {@value #SALIDA_REGRESION} si, comparando contra una corrida base ({@code --base}), alguna celda se
+ * volvió más lenta (ver {@link abstraccion.VerificadorRegresiones}).
+ * No usa JavaFX, así que corre sin pantalla y sin JavaFX en el classpath.
+ * <p>Los resultados van al directorio de salida; el archivo en curso y el historial se siguen escribiendo
+ * en el directorio de trabajo, como en la interfaz.
+ */
+public class LineaComandos
+    {
+        public static final int SALIDA_OK = 0;
+        public static final int SALIDA_ERROR = 1;
+        public static final int SALIDA_USO = 2;
+        public static final int SALIDA_REGRESION = 3;
+
+        private static final String USO = String.join("\n",
+            "Uso: java presentacion.Principal [opciones]",
+            "Sin opciones se pregunta el tamaño en la consola.",
+            "",
+            "Tamaños (se usa uno de los tres):",
+            "  --n N                      hasta N en 10 escalones iguales",
+            "  --tamanos A,B,C            lista de tamaños",
+            "  --escalera INICIO:FIN:F    escalera geométrica (INICIO, INICIO*F, ... , FIN)",
+            "Qué medir:",
+            "  --algoritmos A,B           nombres de las estrategias (por omisión todas)",
+            "  --casos C,D                distribuciones registradas (por omisión Promedio,Mejor,Peor)",
+            "  --tipos int,long,...       tipos de clave (por omisión int)",
+            "  --semilla S                semilla de los datos",
+            "  --contar-operaciones       cuenta comparaciones, intercambios y escrituras",
+            "Repeticiones:",
+            "  --repeticiones N | MIN:MAX repeticiones fijas o límites de las adaptativas",
+            "  --intervalo X              intervalo de confianza relativo buscado (0.02 = 2 %, 0 = siempre el máximo)",
+            "  --presupuesto-celda MS     tiempo máximo por celda",
+            "  --presupuesto-total MS     tiempo máximo de la corrida",
+            "Ejecución y salida:",
+            "  --hilos N                  hilos que reparten las celdas",
+            "  --aislado                  limita la concurrencia para no interferir las mediciones",
+            "  --salida DIR               directorio de salida (por omisión el actual)",
+            "  --formato csv|json|ambos   formato de los resultados (por omisión csv)",
+            "Verificación de regresiones:",
+            "  --base ARCHIVO             compara contra una corrida base (formato de resultados_completos.csv);",
+            "                             sin tamaños, algoritmos o casos se usan los de la base",
+            "  --umbral PCT               cambio mínimo para regresión o mejora (por omisión 5)",
+            "  --reporte ARCHIVO          reporte por celda (por omisión regresiones.csv en la salida)",
+            "  --ayuda                    muestra esta ayuda");
+
+        /**
+         * Ejecuta el análisis con las opciones dadas.
+         * @param args Opciones de la línea de comandos ("--opcion valor" o "--opcion=valor").
+         * @return El código de salida.
+         */
+        public int ejecutar(String[] args)
+            {
+                ControladorEjecucion controlador = new ControladorEjecucion();
+                int[] tamanos = null;
+                int n = 0;
+                String directorio = ".";
+                boolean csv = true;
+                boolean json = false;
+                String base = null;
+                double umbral = VerificadorRegresiones.UMBRAL_POR_OMISION;
+                String reporte = null;
+                boolean conAlgoritmos = false;
+                boolean conCasos = false;
+
+                try
+                    {
+                        List<String> opciones = separar(args);
+                        for (int i = 0; i < opciones.size(); i++)
+                            {
+                                String opcion = opciones.get(i);
+                                switch (opcion)
+                                    {
+                                        case "--ayuda":
+                                        case "-h":
+                                        case "--help":
+                                            System.out.println(USO);
+                                            return SALIDA_OK;
+                                        case "--aislado":
+                                            controlador.setAislado(true);
+                                            continue;
+                                        case "--contar-operaciones":
+                                            controlador.setContarOperaciones(true);
+                                            continue;
+                                        default:
+                                            break;
+                                    }
+
+                                if (i + 1 >= opciones.size())
+                                    throw new IllegalArgumentException("Falta el valor de " + opcion);
+                                String valor = opciones.get(++i);
+                                switch (opcion)
+                                    {
+                                        case "--n":
+                                            n = entero(opcion, valor);
+                                            break;
+                                        case "--tamanos":
+                                            tamanos = Arrays.stream(lista(valor)).mapToInt(t -> entero(opcion, t)).toArray();
+                                            break;
+                                        case "--escalera":
+                                            String[] partes = valor.split(":");
+                                            if (partes.length != 3)
+                                                throw new IllegalArgumentException("--escalera espera INICIO:FIN:FACTOR");
+                                            tamanos = AnalizadorEficiencia.escaleraGeometrica(entero(opcion, partes[0]), entero(opcion, partes[1]),
+                                                                                              decimal(opcion, partes[2]));
+                                            break;
+                                        case "--algoritmos":
+                                            for (String algoritmo : lista(valor))
+                                                AnalizadorEficiencia.buscarAlgoritmo(algoritmo); // Valida antes de empezar
+                                            controlador.setAlgoritmos(lista(valor));
+                                            conAlgoritmos = true;
+                                            break;
+                                        case "--casos":
+                                            for (String caso : lista(valor))
+                                                Distribucion.buscar(caso);
+                                            controlador.setCasos(lista(valor));
+                                            conCasos = true;
+                                            break;
+                                        case "--tipos":
+                                            controlador.setTiposClave(Arrays.stream(lista(valor)).map(TipoClave::buscar).toArray(TipoClave[]::new));
+                                            break;
+                                        case "--semilla":
+                                            controlador.setSemilla(Long.parseLong(valor.trim()));
+                                            break;
+                                        case "--repeticiones":
+                                            String[] limites = valor.split(":");
+                                            int minimo = entero(opcion, limites[0]);
+                                            int maximo = limites.length > 1 ? entero(opcion, limites[1]) : minimo;
+                                            if (maximo < minimo)
+                                                throw new IllegalArgumentException("--repeticiones: el máximo es menor que el mínimo");
+                                            controlador.setRepeticiones(minimo, maximo);
+                                            break;
+                                        case "--intervalo":
+                                            controlador.setObjetivoIntervalo(decimal(opcion, valor));
+                                            break;
+                                        case "--presupuesto-celda":
+                                            controlador.setPresupuestoCeldaMs(entero(opcion, valor));
+                                            break;
+                                        case "--presupuesto-total":
+                                            controlador.setPresupuestoTotalMs(entero(opcion, valor));
+                                            break;
+                                        case "--hilos":
+                                            controlador.setHilos(entero(opcion, valor));
+                                            break;
+                                        case "--salida":
+                                            directorio = valor;
+                                            break;
+                                        case "--formato":
+                                            switch (valor.trim().toLowerCase())
+                                                {
+                                                    case "csv":   csv = true;  json = false; break;
+                                                    case "json":  csv = false; json = true;  break;
+                                                    case "ambos": csv = true;  json = true;  break;
+                                                    default:
+                                                        throw new IllegalArgumentException("Formato desconocido: " + valor + " (csv, json o ambos)");
+                                                }
+                                            break;
+                                        case "--base":
+                                            base = valor;
+                                            break;
+                                        case "--umbral":
+                                            umbral = decimal(opcion, valor);
+                                            break;
+                                        case "--reporte":
+                                            reporte = valor;
+                                            break;
+                                        default:
+                                            throw new IllegalArgumentException("Opción desconocida: " + opcion);
+                                    }
+                            }
+                        // Lo que no se indicó se toma de la base, para medir la misma matriz
+                        if (base != null)
+                            {
+                                List<Resultado> resultadosBase = controlador.leerResultadosBase(base);
+                                if (resultadosBase.isEmpty())
+                                    throw new IllegalArgumentException("La base " + base + " no tiene resultados");
+                                if (tamanos == null && n <= 0)
+                                    tamanos = resultadosBase.stream().mapToInt(Resultado::getTamano).distinct().sorted().toArray();
+                                if (!conAlgoritmos)
+                                    controlador.setAlgoritmos(resultadosBase.stream().map(Resultado::getAlgoritmo).distinct()
+                                                                            .filter(LineaComandos::registrado).toArray(String[]::new));
+                                if (!conCasos)
+                                    controlador.setCasos(resultadosBase.stream().map(Resultado::getCaso).distinct().toArray(String[]::new));
+                            }
+                        if (tamanos == null && n <= 0)
+                            throw new IllegalArgumentException("Hace falta --n, --tamanos o --escalera");
+                    }
+                catch (IllegalArgumentException e)
+                    {
+                        System.err.println("Error: " + e.getMessage());
+                        System.err.println(USO);
+                        return SALIDA_USO;
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("No se pudo leer la base: " + e.getMessage());
+                        return SALIDA_ERROR;
+                    }
+
+                // Si el análisis falla a la mitad se exporta lo que alcanzó a medir y se termina con error
+                boolean fallo = false;
+                try
+                    {
+                        if (tamanos != null)
+                            controlador.iniciarComparacion(tamanos);
+                        else
+                            controlador.iniciarComparacion(n);
+                    }
+                catch (RuntimeException | StackOverflowError e)
+                    {
+                        System.err.println("El análisis falló: " + e);
+                        fallo = true;
+                    }
+                List<String> celdasFallidas = controlador.getCeldasFallidas();
+                if (!celdasFallidas.isEmpty())
+                    {
+                        System.err.println(celdasFallidas.size() + " celda(s) fallaron:");
+                        for (String celda : celdasFallidas)
+                            System.err.println("  " + celda);
+                        fallo = true;
+                    }
+
+                List<Resultado> resultados = controlador.getResultadosCompletos();
+                if (resultados.isEmpty())
+                    {
+                        System.err.println("El análisis no produjo resultados.");
+                        return SALIDA_ERROR;
+                    }
+
+                try
+                    {
+                        List<String> archivos = controlador.exportarResultados(directorio, csv, json);
+                        System.out.println("Ejecución finalizada: " + resultados.size() + " resultados en " + archivos);
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("Error al exportar los resultados: " + e.getMessage());
+                        return SALIDA_ERROR;
+                    }
+
+                if (base == null)
+                    return fallo ? SALIDA_ERROR : SALIDA_OK;
+                try
+                    {
+                        String archivoReporte = reporte != null ? reporte : Paths.get(directorio, VerificadorRegresiones.ARCHIVO_REPORTE).toString();
+                        int regresiones = controlador.verificarRegresiones(base, archivoReporte, umbral);
+                        if (fallo)
+                            return SALIDA_ERROR;
+                        return regresiones > 0 ? SALIDA_REGRESION : SALIDA_OK;
+                    }
+                catch (IOException e)
+                    {
+                        System.err.println("Error al comparar contra la base: " + e.getMessage());
+                        return SALIDA_ERROR;
+                    }
+            }
+
+        // Algoritmos de la base que siguen en el catálogo (una base vieja puede tener alguno que ya no existe)
+        private static boolean registrado(String algoritmo)
+            {
+                try
+                    {
+                        AnalizadorEficiencia.buscarAlgoritmo(algoritmo);
+                        return true;
+                    }
+                catch (IllegalArgumentException e)
+                    {
+                        System.err.println("Se omite " + algoritmo + " de la base: ya no está en el catálogo.");
+                        return false;
+                    }
+            }
+
+        // Separa "--opcion=valor" en dos elementos
+        private static List<String> separar(String[] args)
+            {
+                List<String> opciones = new ArrayList<>();
+                for (String arg : args)
+                    {
+                        int igual = arg.indexOf('=');
+                        if (arg.startsWith("--") && igual > 0)
+                            {
+                                opciones.add(arg.substring(0, igual));
+                                opciones.add(arg.substring(igual + 1));
+                            }
+                        else
+                            opciones.add(arg);
+                    }
+                return opciones;
+            }
+
+        private static String[] lista(String valor)
+            {
+                return Arrays.stream(valor.split(",")).map(String::trim).filter(v -> !v.isEmpty()).toArray(String[]::new);
+            }
+
+        private static int entero(String opcion, String valor)
+            {
+                try
+                    {
+                        return Integer.parseInt(valor.trim().replace("_", ""));
+                    }
+                catch (NumberFormatException e)
+                    {
+                        throw new IllegalArgumentException(opcion + " espera un entero: " + valor);
+                    }
+            }
+
+        private static double decimal(String opcion, String valor)
+            {
+                try
+                    {
+                        return Double.parseDouble(valor.trim());
+                    }
+                catch (NumberFormatException e)
+                    {
+                        throw new IllegalArgumentException(opcion + " espera un número: " + valor);
+                    }
+            }
+    }
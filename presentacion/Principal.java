@@ -6,12 +6,16 @@ import java.util.Scanner;
 
 /**
  * Clase principal para iniciar la aplicación desde consola.
- * Pide al usuario el tamaño n y si desea generar la gráfica.
+ * Sin argumentos pide al usuario el tamaño n y si desea generar la gráfica; con argumentos corre
+ * sin preguntas ({@link LineaComandos}) y termina con su código de salida.
  */
 public class Principal 
     {
         public static void main(String[] args) 
             {
+                if (args.length > 0)
+                    System.exit(new LineaComandos().ejecutar(args));
+
                 Scanner sc = new Scanner(System.in);
                 System.out.println("*** ANALIZADOR DE EFICIENCIA DE ALGORITMOS DE ORDENAMIENTO ***");
                 System.out.print("Introduce tamaño máximo del arreglo (n): ");
@@ -31,15 +35,14 @@ public class Principal
                 String resp = sc.nextLine().trim().toLowerCase();
                 if (resp.equals("s") || resp.equals("si")) 
                     {
-                       //controlador.mostrarGrafica();
-                        System.out.println("Resumen y CSV de gráfica generados.");
+                        System.out.println(controlador.exportarReportesCSV());
                     } 
                 else 
                     {
-                        System.out.println("No se generó gráfica. Puedes usar 'resultados.csv' para graficar externamente.");
+                        System.out.println("No se generó gráfica. Puedes usar '" + ControladorEjecucion.ARCHIVO_EN_CURSO + "' para graficar externamente.");
                     }
 
-                System.out.println("Ejecución finalizada. Archivo con resultados: resultados.csv");
+                System.out.println("Ejecución finalizada. Archivo con resultados: " + ControladorEjecucion.ARCHIVO_EN_CURSO);
                 sc.close();
             }
     }